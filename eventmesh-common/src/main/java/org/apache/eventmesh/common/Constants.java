@@ -46,6 +46,11 @@ public class Constants {
 
     public static final Integer DEFAULT_CLIENT_UNACK = 12;
 
+    /**
+     * LISTEN_REQUEST property carrying the number of unacked messages the client accepts in flight
+     */
+    public static final String LISTEN_CREDITS = "credits";
+
     public static final String CONSTANTS_SERVICE_DESC_ENV = "env";
 
     public static final String CONSTANTS_SERVICE_DESC_VERSION = "version";
@@ -104,6 +109,8 @@ public class Constants {
 
     public static final String INSTANCE_NAME = "instanceName";
 
+    public static final String EVENT_MESH_NAME = "eventMeshName";
+
     public static final String ACCESS_POINTS = "ACCESS_POINTS";
 
     public static final String REGION = "REGION";
@@ -17,6 +17,9 @@
 
 package org.apache.eventmesh.common.config;
 
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
+import org.apache.eventmesh.common.transport.NettyTransport;
 import org.apache.eventmesh.common.utils.AssertUtils;
 import org.apache.eventmesh.common.utils.ConfigurationContextUtil;
 import org.apache.eventmesh.common.utils.IPUtils;
@@ -60,10 +63,47 @@ public class CommonConfiguration {
     
     private transient boolean eventMeshServerTraceEnable = false;
 
+    /**
+     * extensions of the events recorded as span attributes
+     */
+    private transient List<String> eventMeshServerTraceAttributes = Arrays.asList(ProtocolKey.ClientInstanceKey.BIZSEQNO,
+        ProtocolKey.ClientInstanceKey.UNIQUEID, ProtocolKey.ClientInstanceKey.PRODUCERGROUP, ProtocolKey.ClientInstanceKey.CONSUMERGROUP,
+        Constants.PROTOCOL_TYPE, Constants.PROTOCOL_VERSION);
+
     protected transient ConfigurationWrapper configurationWrapper;
 
     private transient String eventMeshWebhookOrigin = "eventmesh." + eventMeshIDC;
 
+    /**
+     * netty transport of the remoting servers: auto, nio or epoll
+     */
+    private transient String eventMeshServerNettyTransport = NettyTransport.AUTO;
+
+    /**
+     * acceptor threads sharing the server port through SO_REUSEPORT, only used by native transports
+     */
+    private transient int eventMeshServerAcceptorNum = 1;
+
+    /**
+     * max pending retries of one consumer group, 0 means a group may use the whole retry queue
+     */
+    private transient int eventMeshServerRetryGroupBudget = 0;
+
+    /**
+     * upper bound of the exponential retry backoff
+     */
+    private transient int eventMeshServerRetryMaxBackoffInMills = 60000;
+
+    /**
+     * consume the events of the connectors in batches, committing the runs of events with the same action at once
+     */
+    private transient boolean eventMeshServerBatchConsumeEnable = false;
+
+    /**
+     * max age of the cached registry view, refreshed earlier by the watch of the registry plugin
+     */
+    private transient int eventMeshServerRegistryCacheTtlInMills = 30000;
+
     public CommonConfiguration(ConfigurationWrapper configurationWrapper) {
         this.configurationWrapper = configurationWrapper;
     }
@@ -113,10 +153,36 @@ public class CommonConfiguration {
 
             eventMeshProvideServerProtocols = getProvideServerProtocols();
 
+            eventMeshServerNettyTransport = get(ConfKeys.KEYS_EVENTMESH_SERVER_NETTY_TRANSPORT, () -> NettyTransport.AUTO);
+
+            eventMeshServerAcceptorNum = configurationWrapper.getIntProp(ConfKeys.KEYS_EVENTMESH_SERVER_ACCEPTOR_NUM,
+                eventMeshServerAcceptorNum);
+
+            eventMeshServerRetryGroupBudget = configurationWrapper.getIntProp(ConfKeys.KEYS_EVENTMESH_SERVER_RETRY_GROUP_BUDGET,
+                eventMeshServerRetryGroupBudget);
+
+            eventMeshServerRetryMaxBackoffInMills = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_RETRY_MAX_BACKOFF_IN_MILLS, eventMeshServerRetryMaxBackoffInMills);
+
+            eventMeshServerRegistryCacheTtlInMills = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_REGISTRY_CACHE_TTL_IN_MILLS, eventMeshServerRegistryCacheTtlInMills);
+
+            eventMeshServerBatchConsumeEnable = Boolean.parseBoolean(get(ConfKeys.KEYS_EVENTMESH_SERVER_BATCH_CONSUME_ENABLED,
+                () -> "false"));
+
             eventMeshServerTraceEnable = Boolean.parseBoolean(get(ConfKeys.KEYS_EVENTMESH_TRACE_ENABLED, () -> "false"));
             if (eventMeshServerTraceEnable) {
                 eventMeshTracePluginType = checkNotEmpty(ConfKeys.KEYS_EVENTMESH_TRACE_PLUGIN_TYPE);
             }
+
+            String traceAttributes = configurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_SERVER_TRACE_ATTRIBUTES);
+            if (StringUtils.isNotEmpty(traceAttributes)) {
+                eventMeshServerTraceAttributes = Arrays
+                        .stream(traceAttributes.split(","))
+                        .filter(StringUtils::isNotBlank)
+                        .map(String::trim)
+                        .collect(Collectors.toList());
+            }
         }
     }
 
@@ -174,6 +240,8 @@ public class CommonConfiguration {
 
         public static final String KEYS_EVENTMESH_SERVER_FETCH_REGISTRY_ADDR_INTERVAL = "eventMesh.server.registry.fetchRegistryAddrIntervalInMills";
 
+        public static final String KEYS_EVENTMESH_SERVER_REGISTRY_CACHE_TTL_IN_MILLS = "eventMesh.server.registry.cacheTtlInMills";
+
         public static final String KEYS_ENENTMESH_CONNECTOR_PLUGIN_TYPE = "eventMesh.connector.plugin.type";
 
         public static final String KEYS_EVENTMESH_SECURITY_ENABLED = "eventMesh.server.security.enabled";
@@ -195,5 +263,17 @@ public class CommonConfiguration {
         public static final String KEYS_EVENTMESH_TRACE_ENABLED = "eventMesh.server.trace.enabled";
 
         public static final String KEYS_EVENTMESH_TRACE_PLUGIN_TYPE = "eventMesh.trace.plugin";
+
+        public static final String KEYS_EVENTMESH_SERVER_TRACE_ATTRIBUTES = "eventMesh.server.trace.attributes";
+
+        public static final String KEYS_EVENTMESH_SERVER_NETTY_TRANSPORT = "eventMesh.server.netty.transport";
+
+        public static final String KEYS_EVENTMESH_SERVER_ACCEPTOR_NUM = "eventMesh.server.netty.acceptorNum";
+
+        public static final String KEYS_EVENTMESH_SERVER_RETRY_GROUP_BUDGET = "eventMesh.server.retry.groupBudget";
+
+        public static final String KEYS_EVENTMESH_SERVER_RETRY_MAX_BACKOFF_IN_MILLS = "eventMesh.server.retry.maxBackoffInMills";
+
+        public static final String KEYS_EVENTMESH_SERVER_BATCH_CONSUME_ENABLED = "eventMesh.server.consume.batch.enabled";
     }
 }
\ No newline at end of file
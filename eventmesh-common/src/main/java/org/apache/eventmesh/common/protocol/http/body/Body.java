@@ -30,12 +30,45 @@ import org.apache.eventmesh.common.protocol.http.body.message.SendMessageBatchV2
 import org.apache.eventmesh.common.protocol.http.body.message.SendMessageRequestBody;
 import org.apache.eventmesh.common.protocol.http.common.RequestCode;
 
+import java.nio.charset.Charset;
 import java.util.Map;
 
+import io.netty.buffer.ByteBuf;
+
 public abstract class Body {
 
     public abstract Map<String, Object> toMap();
 
+    /**
+     * Decode form encoded content straight into the body of the message send requests.
+     *
+     * @return the body, or null if the request code has no streaming decoder and {@link #buildBody} should be used
+     */
+    public static Body decodeBody(String requestCode, ByteBuf content, Charset charset) {
+        if (String.valueOf(RequestCode.MSG_BATCH_SEND_V2.getRequestCode()).equals(requestCode)) {
+            return SendMessageBatchV2RequestBody.decode(content, charset);
+        } else if (String.valueOf(RequestCode.MSG_SEND_ASYNC.getRequestCode()).equals(requestCode)
+            || String.valueOf(RequestCode.MSG_SEND_SYNC.getRequestCode()).equals(requestCode)) {
+            return SendMessageRequestBody.decode(content, charset);
+        }
+        return null;
+    }
+
+    /**
+     * Decode json content straight into the body of the message send requests.
+     *
+     * @return the body, or null if the request code has no streaming decoder and {@link #buildBody} should be used
+     */
+    public static Body decodeJsonBody(String requestCode, ByteBuf content) {
+        if (String.valueOf(RequestCode.MSG_BATCH_SEND_V2.getRequestCode()).equals(requestCode)) {
+            return SendMessageBatchV2RequestBody.decodeJson(content);
+        } else if (String.valueOf(RequestCode.MSG_SEND_ASYNC.getRequestCode()).equals(requestCode)
+            || String.valueOf(RequestCode.MSG_SEND_SYNC.getRequestCode()).equals(requestCode)) {
+            return SendMessageRequestBody.decodeJson(content);
+        }
+        return null;
+    }
+
     public static Body buildBody(String requestCode, Map<String, Object> originalMap) throws Exception {
         if (String.valueOf(RequestCode.MSG_BATCH_SEND.getRequestCode()).equals(requestCode)) {
             return SendMessageBatchRequestBody.buildBody(originalMap);
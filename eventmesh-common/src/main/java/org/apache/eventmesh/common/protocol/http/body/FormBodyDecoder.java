@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.http.body;
+
+import java.nio.charset.Charset;
+import java.util.function.BiConsumer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ByteProcessor;
+
+/**
+ * Decode an application/x-www-form-urlencoded body straight from the request content.
+ * Each field is handed to the consumer as soon as it is decoded, so no attribute objects or intermediate map are built,
+ * and a field without escapes costs a single string allocation.
+ */
+public final class FormBodyDecoder {
+
+    private static final ByteProcessor FIND_AMPERSAND = new ByteProcessor.IndexOfProcessor((byte) '&');
+
+    private static final ByteProcessor FIND_EQUALS = new ByteProcessor.IndexOfProcessor((byte) '=');
+
+    private static final ByteProcessor FIND_ESCAPE = value -> value != '%' && value != '+';
+
+    private FormBodyDecoder() {
+    }
+
+    /**
+     * @param content  form content, its reader index is not moved
+     * @param charset  charset of the decoded names and values
+     * @param consumer receives every (name, value) pair in order
+     */
+    public static void decode(ByteBuf content, Charset charset, BiConsumer<String, String> consumer) {
+        int index = content.readerIndex();
+        int end = content.writerIndex();
+        while (index < end) {
+            int fieldEnd = content.forEachByte(index, end - index, FIND_AMPERSAND);
+            if (fieldEnd < 0) {
+                fieldEnd = end;
+            }
+            if (fieldEnd > index) {
+                int separator = content.forEachByte(index, fieldEnd - index, FIND_EQUALS);
+                if (separator < 0) {
+                    consumer.accept(decodeComponent(content, index, fieldEnd, charset), "");
+                } else {
+                    consumer.accept(decodeComponent(content, index, separator, charset),
+                        decodeComponent(content, separator + 1, fieldEnd, charset));
+                }
+            }
+            index = fieldEnd + 1;
+        }
+    }
+
+    static String decodeComponent(ByteBuf content, int from, int to, Charset charset) {
+        int length = to - from;
+        if (length == 0) {
+            return "";
+        }
+        int firstEscape = content.forEachByte(from, length, FIND_ESCAPE);
+        if (firstEscape < 0) {
+            return content.toString(from, length, charset);
+        }
+
+        byte[] decoded = new byte[length];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            byte b = content.getByte(i);
+            if (b == '+') {
+                decoded[size++] = ' ';
+            } else if (b == '%') {
+                if (i + 2 >= to) {
+                    throw new IllegalArgumentException("unterminated escape sequence at index " + (i - from));
+                }
+                int high = Character.digit(content.getByte(i + 1), 16);
+                int low = Character.digit(content.getByte(i + 2), 16);
+                if (high < 0 || low < 0) {
+                    throw new IllegalArgumentException("invalid escape sequence at index " + (i - from));
+                }
+                decoded[size++] = (byte) ((high << 4) + low);
+                i += 2;
+            } else {
+                decoded[size++] = b;
+            }
+        }
+        return new String(decoded, 0, size, charset);
+    }
+}
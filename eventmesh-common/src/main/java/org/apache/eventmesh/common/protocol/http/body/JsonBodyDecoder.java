@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.http.body;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.function.BiConsumer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Decode the fields of a json object body straight from the request content, the counterpart of {@link FormBodyDecoder}.
+ * The content is read as a token stream, so no tree or map of the whole body is built. A scalar field is handed over
+ * as its text, a nested object or array as its json text, and a null field is skipped.
+ */
+public final class JsonBodyDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private JsonBodyDecoder() {
+    }
+
+    /**
+     * @param content  json content holding one object, its reader index is not moved
+     * @param consumer receives every (name, value) pair of the object in order
+     */
+    public static void decode(ByteBuf content, BiConsumer<String, String> consumer) {
+        try (InputStream in = new ByteBufInputStream(content.duplicate());
+             JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("json body is not an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    consumer.accept(name, copyStructure(parser));
+                } else if (token != JsonToken.VALUE_NULL) {
+                    consumer.accept(name, parser.getText());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("invalid json body", e);
+        }
+    }
+
+    private static String copyStructure(JsonParser parser) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return writer.toString();
+    }
+}
@@ -37,12 +37,26 @@ public class SubscribeRequestBody extends Body {
 
     public static final String CONSUMERGROUP = "consumerGroup";
 
+    public static final String PUSHBATCHSIZE = "pushBatchSize";
+
+    public static final String PUSHBATCHLATENCY = "pushBatchLatency";
+
     private List<SubscriptionItem> topics;
 
     private String url;
 
     private String consumerGroup;
 
+    /**
+     * max events of one batched push, 0 or 1 pushes the events one by one
+     */
+    private int pushBatchSize;
+
+    /**
+     * max time in millis an event waits for its batch to fill up
+     */
+    private int pushBatchLatency;
+
     public String getConsumerGroup() {
         return consumerGroup;
     }
@@ -67,6 +81,22 @@ public class SubscribeRequestBody extends Body {
         this.url = url;
     }
 
+    public int getPushBatchSize() {
+        return pushBatchSize;
+    }
+
+    public void setPushBatchSize(int pushBatchSize) {
+        this.pushBatchSize = pushBatchSize;
+    }
+
+    public int getPushBatchLatency() {
+        return pushBatchLatency;
+    }
+
+    public void setPushBatchLatency(int pushBatchLatency) {
+        this.pushBatchLatency = pushBatchLatency;
+    }
+
     public static SubscribeRequestBody buildBody(Map<String, Object> bodyParam) {
         SubscribeRequestBody body = new SubscribeRequestBody();
         body.setUrl(MapUtils.getString(bodyParam, URL));
@@ -74,6 +104,8 @@ public class SubscribeRequestBody extends Body {
                 new TypeReference<List<SubscriptionItem>>() {
                 }));
         body.setConsumerGroup(MapUtils.getString(bodyParam, CONSUMERGROUP));
+        body.setPushBatchSize(MapUtils.getIntValue(bodyParam, PUSHBATCHSIZE, 0));
+        body.setPushBatchLatency(MapUtils.getIntValue(bodyParam, PUSHBATCHLATENCY, 0));
         return body;
     }
 
@@ -83,6 +115,10 @@ public class SubscribeRequestBody extends Body {
         map.put(URL, url);
         map.put(TOPIC, JsonUtils.serialize(topics));
         map.put(CONSUMERGROUP, consumerGroup);
+        if (pushBatchSize > 1) {
+            map.put(PUSHBATCHSIZE, pushBatchSize);
+            map.put(PUSHBATCHLATENCY, pushBatchLatency);
+        }
         return map;
     }
 
@@ -92,6 +128,8 @@ public class SubscribeRequestBody extends Body {
                 + "consumerGroup='" + consumerGroup + '\''
                 + ", url='" + url + '\''
                 + ", topics=" + topics
+                + ", pushBatchSize=" + pushBatchSize
+                + ", pushBatchLatency=" + pushBatchLatency
                 + '}';
     }
 }
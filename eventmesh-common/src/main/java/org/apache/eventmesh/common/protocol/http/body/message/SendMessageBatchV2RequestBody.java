@@ -18,12 +18,17 @@
 package org.apache.eventmesh.common.protocol.http.body.message;
 
 import org.apache.eventmesh.common.protocol.http.body.Body;
+import org.apache.eventmesh.common.protocol.http.body.FormBodyDecoder;
+import org.apache.eventmesh.common.protocol.http.body.JsonBodyDecoder;
 
 import org.apache.commons.collections4.MapUtils;
 
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 
+import io.netty.buffer.ByteBuf;
+
 public class SendMessageBatchV2RequestBody extends Body {
 
     public static final String BIZSEQNO = "bizseqno";
@@ -114,6 +119,49 @@ public class SendMessageBatchV2RequestBody extends Body {
         return body;
     }
 
+    /**
+     * Build the body from form encoded content without an intermediate map, same result as {@link #buildBody(Map)}.
+     */
+    public static SendMessageBatchV2RequestBody decode(ByteBuf content, Charset charset) {
+        SendMessageBatchV2RequestBody body = new SendMessageBatchV2RequestBody();
+        FormBodyDecoder.decode(content, charset, (name, value) -> setField(body, name, value));
+        return body;
+    }
+
+    /**
+     * Build the body from a json object content without an intermediate map, the fields are the same as the form ones.
+     */
+    public static SendMessageBatchV2RequestBody decodeJson(ByteBuf content) {
+        SendMessageBatchV2RequestBody body = new SendMessageBatchV2RequestBody();
+        JsonBodyDecoder.decode(content, (name, value) -> setField(body, name, value));
+        return body;
+    }
+
+    private static void setField(SendMessageBatchV2RequestBody body, String name, String value) {
+        switch (name) {
+            case BIZSEQNO:
+                body.setBizSeqNo(value);
+                break;
+            case TOPIC:
+                body.setTopic(value);
+                break;
+            case MSG:
+                body.setMsg(value);
+                break;
+            case TAG:
+                body.setTag(value);
+                break;
+            case TTL:
+                body.setTtl(value);
+                break;
+            case PRODUCERGROUP:
+                body.setProducerGroup(value);
+                break;
+            default:
+                break;
+        }
+    }
+
     @Override
     public Map<String, Object> toMap() {
         Map<String, Object> map = new HashMap<String, Object>();
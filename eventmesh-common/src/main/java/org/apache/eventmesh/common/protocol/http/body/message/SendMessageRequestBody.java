@@ -18,14 +18,19 @@
 package org.apache.eventmesh.common.protocol.http.body.message;
 
 import org.apache.eventmesh.common.protocol.http.body.Body;
+import org.apache.eventmesh.common.protocol.http.body.FormBodyDecoder;
+import org.apache.eventmesh.common.protocol.http.body.JsonBodyDecoder;
 import org.apache.eventmesh.common.utils.JsonUtils;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 
+import io.netty.buffer.ByteBuf;
+
 import com.fasterxml.jackson.core.type.TypeReference;
 
 public class SendMessageRequestBody extends Body {
@@ -137,6 +142,59 @@ public class SendMessageRequestBody extends Body {
         return body;
     }
 
+    /**
+     * Build the body from form encoded content without an intermediate map, same result as {@link #buildBody(Map)}.
+     */
+    public static SendMessageRequestBody decode(ByteBuf content, Charset charset) {
+        SendMessageRequestBody body = new SendMessageRequestBody();
+        body.setTag("");
+        FormBodyDecoder.decode(content, charset, (name, value) -> setField(body, name, value));
+        return body;
+    }
+
+    /**
+     * Build the body from a json object content without an intermediate map, the fields are the same as the form ones.
+     */
+    public static SendMessageRequestBody decodeJson(ByteBuf content) {
+        SendMessageRequestBody body = new SendMessageRequestBody();
+        body.setTag("");
+        JsonBodyDecoder.decode(content, (name, value) -> setField(body, name, value));
+        return body;
+    }
+
+    private static void setField(SendMessageRequestBody body, String name, String value) {
+        switch (name) {
+            case TOPIC:
+                body.setTopic(value);
+                break;
+            case BIZSEQNO:
+                body.setBizSeqNo(value);
+                break;
+            case UNIQUEID:
+                body.setUniqueId(value);
+                break;
+            case TTL:
+                body.setTtl(value);
+                break;
+            case TAG:
+                body.setTag(value);
+                break;
+            case CONTENT:
+                body.setContent(value);
+                break;
+            case EXTFIELDS:
+                body.setExtFields(StringUtils.isNotBlank(value)
+                    ? JsonUtils.deserialize(value, new TypeReference<HashMap<String, String>>() {
+                    }) : null);
+                break;
+            case PRODUCERGROUP:
+                body.setProducerGroup(value);
+                break;
+            default:
+                break;
+        }
+    }
+
     @Override
     public Map<String, Object> toMap() {
         Map<String, Object> map = new HashMap<>();
@@ -40,12 +40,22 @@ public class UserAgent {
     private String purpose;
     @Builder.Default
     private int unack = 0;
+    /**
+     * Header format requested by the client, json when absent.
+     */
+    private String headerFormat;
 
     public UserAgent() {
     }
 
     public UserAgent(String env, String subsystem, String path, int pid, String host, int port, String version,
                      String username, String password, String idc, String group, String purpose, int unack) {
+        this(env, subsystem, path, pid, host, port, version, username, password, idc, group, purpose, unack, null);
+    }
+
+    public UserAgent(String env, String subsystem, String path, int pid, String host, int port, String version,
+                     String username, String password, String idc, String group, String purpose, int unack,
+                     String headerFormat) {
         this.env = env;
         this.subsystem = subsystem;
         this.path = path;
@@ -59,6 +69,7 @@ public class UserAgent {
         this.group = group;
         this.purpose = purpose;
         this.unack = unack;
+        this.headerFormat = headerFormat;
     }
 
     @Override
@@ -130,6 +141,10 @@ public class UserAgent {
             return false;
         }
 
+        if (!Objects.equals(headerFormat, userAgent.headerFormat)) {
+            return false;
+        }
+
         return Objects.equals(idc, userAgent.idc);
     }
 
@@ -148,6 +163,7 @@ public class UserAgent {
         result = 31 * result + (idc != null ? idc.hashCode() : 0);
         result = 31 * result + (env != null ? env.hashCode() : 0);
         result = 31 * result + unack;
+        result = 31 * result + (headerFormat != null ? headerFormat.hashCode() : 0);
         return result;
     }
 }
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.tcp.codec;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * Compact binary encoding of {@link Header}, used instead of json once both sides have negotiated it in HELLO.
+ * <pre>
+ * | cmd(1) | code(varint) | desc(string) | seq(string) | property count(varint) | (key(string) | value(tlv))* |
+ * </pre>
+ * Strings are written as varint(utf8 length + 1) followed by the utf8 bytes, a length of 0 stands for null.
+ * Property values keep the java types that json decoding would have produced.
+ */
+public final class BinaryHeaderCodec {
+
+    private static final byte NULL_COMMAND = (byte) 0xFF;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_DOUBLE = 5;
+
+    private BinaryHeaderCodec() {
+    }
+
+    public static void encode(Header header, ByteBuf out) {
+        Command cmd = header.getCmd();
+        out.writeByte(cmd == null ? NULL_COMMAND : cmd.getValue());
+        writeVarInt(out, zigZag(header.getCode()));
+        writeString(out, header.getDesc());
+        writeString(out, header.getSeq());
+
+        Map<String, Object> properties = header.getProperties();
+        if (properties == null || properties.isEmpty()) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, properties.size());
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    public static Header decode(ByteBuf in) {
+        Header header = new Header();
+        byte cmd = in.readByte();
+        header.setCmd(cmd == NULL_COMMAND ? null : Command.valueOf(cmd));
+        header.setCode(unZigZag(readVarInt(in)));
+        header.setDesc(readString(in));
+        header.setSeq(readString(in));
+
+        int size = readVarInt(in);
+        Map<String, Object> properties = new HashMap<>(Math.max(16, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            properties.put(key, readValue(in));
+        }
+        header.setProperties(properties);
+        return header;
+    }
+
+    private static void writeValue(ByteBuf out, Object value) {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INT);
+            writeVarInt(out, zigZag((Integer) value));
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else {
+            out.writeByte(TYPE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object readValue(ByteBuf in) {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(in);
+            case TYPE_INT:
+                return unZigZag(readVarInt(in));
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            default:
+                throw new IllegalArgumentException("invalid header property type: " + type);
+        }
+    }
+
+    private static void writeString(ByteBuf out, String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, ByteBufUtil.utf8Bytes(value) + 1);
+        ByteBufUtil.writeUtf8(out, value);
+    }
+
+    private static String readString(ByteBuf in) {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.readableBytes()) {
+            throw new IllegalArgumentException("invalid header string length: " + length);
+        }
+        String value = in.toString(in.readerIndex(), length, Constants.DEFAULT_CHARSET);
+        in.skipBytes(length);
+        return value;
+    }
+
+    static void writeVarInt(ByteBuf out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(ByteBuf in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint in header");
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -26,28 +26,44 @@ import org.apache.eventmesh.common.protocol.tcp.Subscription;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 import org.apache.eventmesh.common.utils.JsonUtils;
 
-import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.StringUtils;
-
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
 import io.netty.handler.codec.MessageToByteEncoder;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.AttributeKey;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.base.Preconditions;
 
+/**
+ * TCP frame codec, the frame layout is:
+ * <pre>
+ * | magic flag(9) | version(4) | length(4) | header length(4) | header | body |
+ * </pre>
+ * where length = 4 + 4 + header length + body length.
+ * The version tells how the header is encoded, json by default or {@link BinaryHeaderCodec binary} once a
+ * connection has negotiated {@link #HEADER_FORMAT_BINARY} in HELLO. Decoders accept both on every frame.
+ */
 public class Codec {
     private static final Logger LOG = LoggerFactory.getLogger(Codec.class);
 
@@ -55,12 +71,28 @@ public class Codec {
 
     private static final byte[] CONSTANT_MAGIC_FLAG = serializeBytes("EventMesh");
     private static final byte[] VERSION = serializeBytes("0000");
+    private static final byte[] BINARY_HEADER_VERSION = serializeBytes("0001");
+
+    private static final int LENGTH_FIELD_OFFSET = CONSTANT_MAGIC_FLAG.length + VERSION.length;
+    private static final int LENGTH_FIELD_LENGTH = 4;
+    private static final int HEADER_LENGTH_FIELD_LENGTH = 4;
+    private static final int PREFIX_LENGTH = LENGTH_FIELD_OFFSET + LENGTH_FIELD_LENGTH + HEADER_LENGTH_FIELD_LENGTH;
 
     // todo: move to constants
     public static final String CLOUD_EVENTS_PROTOCOL_NAME = "cloudevents";
     public static final String EM_MESSAGE_PROTOCOL_NAME = "eventmeshmessage";
     public static final String OPEN_MESSAGE_PROTOCOL_NAME = "openmessage";
 
+    public static final String HEADER_FORMAT_JSON = "json";
+    public static final String HEADER_FORMAT_BINARY = "binary";
+
+    /**
+     * Header property carried by HELLO_RESPONSE to confirm the header format requested in {@link UserAgent}.
+     */
+    public static final String HEADER_FORMAT_PROPERTY = "headerformat";
+
+    private static final AttributeKey<Boolean> BINARY_HEADER_KEY = AttributeKey.valueOf("eventmesh.tcp.binaryHeader");
+
     // todo: use json util
     private static ObjectMapper OBJECT_MAPPER;
 
@@ -69,9 +101,38 @@ public class Codec {
         OBJECT_MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         OBJECT_MAPPER.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         OBJECT_MAPPER.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        OBJECT_MAPPER.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
         OBJECT_MAPPER.setTimeZone(TimeZone.getDefault());
     }
 
+    /**
+     * Get the body of a decoded package as bytes, cloudevents bodies are kept as the raw bytes of the frame.
+     *
+     * @param pkg package
+     * @return body bytes, or null if the package has no body
+     */
+    public static byte[] getBodyBytes(Package pkg) {
+        Object body = pkg.getBody();
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        return serializeBytes(body.toString());
+    }
+
+    /**
+     * Switch the frames written to this channel to the binary header format.
+     */
+    public static void enableBinaryHeader(Channel channel) {
+        channel.attr(BINARY_HEADER_KEY).set(Boolean.TRUE);
+    }
+
+    public static boolean isBinaryHeaderEnabled(Channel channel) {
+        return Boolean.TRUE.equals(channel.attr(BINARY_HEADER_KEY).get());
+    }
+
     public static class Encoder extends MessageToByteEncoder<Package> {
         @Override
         public void encode(ChannelHandlerContext ctx, Package pkg, ByteBuf out) throws Exception {
@@ -82,117 +143,222 @@ public class Codec {
                 LOG.debug("Encoder pkg={}", JsonUtils.serialize(pkg));
             }
 
-            final byte[] headerData = serializeBytes(OBJECT_MAPPER.writeValueAsString(header));
-            final byte[] bodyData;
+            final boolean binaryHeader = ctx != null && isBinaryHeaderEnabled(ctx.channel());
+            final int startIndex = out.writerIndex();
+            out.writeBytes(CONSTANT_MAGIC_FLAG);
+            out.writeBytes(binaryHeader ? BINARY_HEADER_VERSION : VERSION);
+            // length and header length are back-filled once the header and body are written
+            out.writerIndex(startIndex + PREFIX_LENGTH);
 
-            if (StringUtils.equals(CLOUD_EVENTS_PROTOCOL_NAME, header.getStringProperty(Constants.PROTOCOL_TYPE))) {
-                bodyData = (byte[]) pkg.getBody();
+            final OutputStream outputStream = new ByteBufOutputStream(out);
+            if (binaryHeader) {
+                BinaryHeaderCodec.encode(header, out);
             } else {
-                bodyData = serializeBytes(OBJECT_MAPPER.writeValueAsString(pkg.getBody()));
+                OBJECT_MAPPER.writeValue(outputStream, header);
+            }
+            final int headerLength = out.writerIndex() - startIndex - PREFIX_LENGTH;
+
+            final Object body = pkg.getBody();
+            if (body instanceof byte[]) {
+                out.writeBytes((byte[]) body);
+            } else if (body != null
+                || !CLOUD_EVENTS_PROTOCOL_NAME.equals(header.getStringProperty(Constants.PROTOCOL_TYPE))) {
+                OBJECT_MAPPER.writeValue(outputStream, body);
             }
 
-            int headerLength = ArrayUtils.getLength(headerData);
-            int bodyLength = ArrayUtils.getLength(bodyData);
-
-            int length = 4 + 4 + headerLength + bodyLength;
-
+            final int length = out.writerIndex() - startIndex - LENGTH_FIELD_OFFSET;
             if (length > FRAME_MAX_LENGTH) {
+                out.writerIndex(startIndex);
                 throw new IllegalArgumentException("message size is exceed limit!");
             }
 
-            out.writeBytes(CONSTANT_MAGIC_FLAG);
-            out.writeBytes(VERSION);
-            out.writeInt(length);
-            out.writeInt(headerLength);
-            if (headerData != null) {
-                out.writeBytes(headerData);
-            }
-            if (bodyData != null) {
-                out.writeBytes(bodyData);
-            }
+            out.setInt(startIndex + LENGTH_FIELD_OFFSET, length);
+            out.setInt(startIndex + LENGTH_FIELD_OFFSET + LENGTH_FIELD_LENGTH, headerLength);
         }
     }
 
-    public static class Decoder extends ReplayingDecoder<Package> {
+    /**
+     * Callback of frame level decode events, used to monitor connections.
+     */
+    public interface DecoderListener {
+
+        /**
+         * The buffered bytes do not yet hold a whole frame, the decoder waits for the next read.
+         */
+        void onPartialFrame(ChannelHandlerContext ctx, int readableBytes, int frameLength);
+
+        /**
+         * The frame declared a length over the limit and the connection is rejected.
+         */
+        void onOversizeFrame(ChannelHandlerContext ctx, int length);
+    }
+
+    /**
+     * Cumulative decoder for length-prefixed frames. The prefix is validated and the declared length is checked as
+     * soon as the first 21 bytes arrive, and nothing is parsed until the whole frame is buffered, so a frame that
+     * arrives in pieces is decoded exactly once. The header and body are parsed straight from the cumulation buffer.
+     */
+    public static class Decoder extends ByteToMessageDecoder {
+
+        private final DecoderListener listener;
+
+        private final AtomicLong partialFrameWaits = new AtomicLong();
+
+        private final AtomicLong oversizeFrameRejections = new AtomicLong();
+
+        private boolean rejected;
+
+        public Decoder() {
+            this(null);
+        }
+
+        public Decoder(DecoderListener listener) {
+            this.listener = listener;
+        }
+
         @Override
-        public void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-            try {
-                if (null == in) {
-                    return;
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+            if (rejected) {
+                in.skipBytes(in.readableBytes());
+                return;
+            }
+            final int readableBytes = in.readableBytes();
+            if (readableBytes < PREFIX_LENGTH) {
+                if (readableBytes > 0) {
+                    onPartialFrame(ctx, readableBytes, -1);
                 }
+                return;
+            }
 
-                byte[] flagBytes = parseFlag(in);
-                byte[] versionBytes = parseVersion(in);
-                validateFlag(flagBytes, versionBytes, ctx);
+            final int frameIndex = in.readerIndex();
+            final boolean binaryHeader;
+            final int length = in.getInt(frameIndex + LENGTH_FIELD_OFFSET);
+            try {
+                binaryHeader = validateFlag(in, frameIndex, ctx);
+                validateLength(ctx, length);
+            } catch (Exception e) {
+                rejected = true;
+                in.skipBytes(in.readableBytes());
+                throw e;
+            }
 
-                final int length = in.readInt();
-                final int headerLength = in.readInt();
-                final int bodyLength = length - 8 - headerLength;
-                Header header = parseHeader(in, headerLength);
-                Object body = parseBody(in, header, bodyLength);
+            final int frameLength = LENGTH_FIELD_OFFSET + length;
+            if (readableBytes < frameLength) {
+                onPartialFrame(ctx, readableBytes, frameLength);
+                return;
+            }
 
-                Package pkg = new Package(header, body);
-                out.add(pkg);
+            final ByteBuf frame = in.readSlice(frameLength);
+            try {
+                out.add(decodeFrame(frame, binaryHeader, length));
             } catch (Exception e) {
-                LOG.error(String.format("decode error| receive: %s.", deserializeBytes(in.array())), e);
+                LOG.error(String.format("decode error| frameLength: %d|remoteAddress: %s",
+                    frameLength, ctx == null ? null : ctx.channel().remoteAddress()), e);
                 throw e;
             }
         }
 
-        private byte[] parseFlag(ByteBuf in) {
-            final byte[] flagBytes = new byte[CONSTANT_MAGIC_FLAG.length];
-            in.readBytes(flagBytes);
-            return flagBytes;
+        public long getPartialFrameWaits() {
+            return partialFrameWaits.get();
+        }
+
+        public long getOversizeFrameRejections() {
+            return oversizeFrameRejections.get();
+        }
+
+        private void onPartialFrame(ChannelHandlerContext ctx, int readableBytes, int frameLength) {
+            partialFrameWaits.incrementAndGet();
+            if (listener != null) {
+                listener.onPartialFrame(ctx, readableBytes, frameLength);
+            }
+        }
+
+        private void validateLength(ChannelHandlerContext ctx, int length) {
+            if (length < LENGTH_FIELD_LENGTH + HEADER_LENGTH_FIELD_LENGTH) {
+                throw new CorruptedFrameException("invalid frame length: " + length);
+            }
+            if (length > FRAME_MAX_LENGTH) {
+                oversizeFrameRejections.incrementAndGet();
+                if (listener != null) {
+                    listener.onOversizeFrame(ctx, length);
+                }
+                throw new TooLongFrameException(String.format("frame length %d exceeds %d|remoteAddress=%s",
+                    length, FRAME_MAX_LENGTH, ctx == null ? null : ctx.channel().remoteAddress()));
+            }
         }
 
-        private byte[] parseVersion(ByteBuf in) {
-            final byte[] versionBytes = new byte[VERSION.length];
-            in.readBytes(versionBytes);
-            return versionBytes;
+        private Package decodeFrame(ByteBuf frame, boolean binaryHeader, int length) throws IOException {
+            final int frameIndex = frame.readerIndex();
+            final int headerLength = frame.getInt(frameIndex + LENGTH_FIELD_OFFSET + LENGTH_FIELD_LENGTH);
+            final int bodyLength = length - LENGTH_FIELD_LENGTH - HEADER_LENGTH_FIELD_LENGTH - headerLength;
+            if (headerLength < 0 || bodyLength < 0) {
+                throw new IllegalArgumentException(
+                    String.format("invalid frame length|length=%d|headerLength=%d", length, headerLength));
+            }
+
+            final int headerIndex = frameIndex + PREFIX_LENGTH;
+            Header header = parseHeader(frame, headerIndex, headerLength, binaryHeader);
+            Object body = parseBody(frame, headerIndex + headerLength, header, bodyLength);
+            return new Package(header, body);
         }
 
-        private Header parseHeader(ByteBuf in, int headerLength) throws JsonProcessingException {
+        private Header parseHeader(ByteBuf frame, int index, int headerLength, boolean binaryHeader)
+            throws IOException {
             if (headerLength <= 0) {
                 return null;
             }
-            final byte[] headerData = new byte[headerLength];
-            in.readBytes(headerData);
+            if (binaryHeader) {
+                return BinaryHeaderCodec.decode(frame.slice(index, headerLength));
+            }
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Decode headerJson={}", deserializeBytes(headerData));
+                LOG.debug("Decode headerJson={}", frame.toString(index, headerLength, Constants.DEFAULT_CHARSET));
             }
-            return OBJECT_MAPPER.readValue(deserializeBytes(headerData), Header.class);
+            return readValue(frame, index, headerLength, Header.class);
         }
 
-        private Object parseBody(ByteBuf in, Header header, int bodyLength) throws JsonProcessingException {
+        private Object parseBody(ByteBuf frame, int index, Header header, int bodyLength) throws IOException {
             if (bodyLength <= 0 || header == null) {
                 return null;
             }
-            final byte[] bodyData = new byte[bodyLength];
-            in.readBytes(bodyData);
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Decode bodyJson={}", deserializeBytes(bodyData));
+                LOG.debug("Decode bodyJson={}", frame.toString(index, bodyLength, Constants.DEFAULT_CHARSET));
             }
-            return deserializeBody(deserializeBytes(bodyData), header);
+            return deserializeBody(frame, index, bodyLength, header);
         }
 
-        private void validateFlag(byte[] flagBytes, byte[] versionBytes, ChannelHandlerContext ctx) {
-            if (!Arrays.equals(flagBytes, CONSTANT_MAGIC_FLAG) || !Arrays.equals(versionBytes, VERSION)) {
-                String errorMsg = String.format("invalid magic flag or version|flag=%s|version=%s|remoteAddress=%s",
-                        deserializeBytes(flagBytes), deserializeBytes(versionBytes), ctx.channel().remoteAddress());
-                throw new IllegalArgumentException(errorMsg);
+        /**
+         * Validate magic flag and version.
+         *
+         * @return true if the header of this frame is binary encoded
+         */
+        private boolean validateFlag(ByteBuf frame, int index, ChannelHandlerContext ctx) {
+            final int versionIndex = index + CONSTANT_MAGIC_FLAG.length;
+            if (equalsBytes(frame, index, CONSTANT_MAGIC_FLAG)) {
+                if (equalsBytes(frame, versionIndex, VERSION)) {
+                    return false;
+                }
+                if (equalsBytes(frame, versionIndex, BINARY_HEADER_VERSION)) {
+                    return true;
+                }
             }
+            String errorMsg = String.format("invalid magic flag or version|flag=%s|version=%s|remoteAddress=%s",
+                frame.toString(index, CONSTANT_MAGIC_FLAG.length, Constants.DEFAULT_CHARSET),
+                frame.toString(versionIndex, VERSION.length, Constants.DEFAULT_CHARSET),
+                ctx == null ? null : ctx.channel().remoteAddress());
+            throw new IllegalArgumentException(errorMsg);
         }
     }
 
-    private static Object deserializeBody(String bodyJsonString, Header header) throws JsonProcessingException {
+    private static Object deserializeBody(ByteBuf frame, int index, int bodyLength, Header header)
+        throws IOException {
         Command command = header.getCmd();
         switch (command) {
             case HELLO_REQUEST:
             case RECOMMEND_REQUEST:
-                return OBJECT_MAPPER.readValue(bodyJsonString, UserAgent.class);
+                return readValue(frame, index, bodyLength, UserAgent.class);
             case SUBSCRIBE_REQUEST:
             case UNSUBSCRIBE_REQUEST:
-                return OBJECT_MAPPER.readValue(bodyJsonString, Subscription.class);
+                return readValue(frame, index, bodyLength, Subscription.class);
             case REQUEST_TO_SERVER:
             case RESPONSE_TO_SERVER:
             case ASYNC_MESSAGE_TO_SERVER:
@@ -205,11 +371,14 @@ public class Codec {
             case RESPONSE_TO_CLIENT_ACK:
             case ASYNC_MESSAGE_TO_CLIENT_ACK:
             case BROADCAST_MESSAGE_TO_CLIENT_ACK:
-                // The message string will be deserialized by protocol plugin, if the event is cloudevents, the body is
-                // just a string.
-                return bodyJsonString;
+                // The message will be deserialized by protocol plugin, if the event is cloudevents, the body is
+                // kept as raw bytes so that the plugin can hand them to the event format without another copy.
+                if (CLOUD_EVENTS_PROTOCOL_NAME.equals(header.getStringProperty(Constants.PROTOCOL_TYPE))) {
+                    return ByteBufUtil.getBytes(frame, index, bodyLength);
+                }
+                return frame.toString(index, bodyLength, Constants.DEFAULT_CHARSET);
             case REDIRECT_TO_CLIENT:
-                return OBJECT_MAPPER.readValue(bodyJsonString, RedirectInfo.class);
+                return readValue(frame, index, bodyLength, RedirectInfo.class);
             default:
                 if (LOG.isWarnEnabled()) {
                     LOG.warn("Invalidate TCP command: {}", command);
@@ -219,13 +388,24 @@ public class Codec {
     }
 
     /**
-     * Deserialize bytes to String.
-     *
-     * @param bytes
-     * @return
+     * Read json value from the given region of the buffer, the backing array is used directly when there is one.
      */
-    private static String deserializeBytes(byte[] bytes) {
-        return new String(bytes, Constants.DEFAULT_CHARSET);
+    private static <T> T readValue(ByteBuf buf, int index, int length, Class<T> clazz) throws IOException {
+        if (buf.hasArray()) {
+            return OBJECT_MAPPER.readValue(buf.array(), buf.arrayOffset() + index, length, clazz);
+        }
+        try (InputStream inputStream = new ByteBufInputStream(buf.slice(index, length))) {
+            return OBJECT_MAPPER.readValue(inputStream, clazz);
+        }
+    }
+
+    private static boolean equalsBytes(ByteBuf buf, int index, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (buf.getByte(index + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -240,6 +420,4 @@ public class Codec {
         }
         return str.getBytes(Constants.DEFAULT_CHARSET);
     }
-
-
 }
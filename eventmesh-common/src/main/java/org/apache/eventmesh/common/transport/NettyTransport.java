@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.transport;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * Netty transport used by the remoting servers and the tcp client.
+ * Native epoll is preferred on linux, and NIO is the fallback wherever the native library can not be loaded.
+ */
+public enum NettyTransport {
+
+    NIO {
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> serverChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> channelClass() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        public boolean isReusePortSupported() {
+            return false;
+        }
+
+        @Override
+        public void configure(ServerBootstrap bootstrap, boolean reusePort) {
+        }
+
+        @Override
+        public void configure(Bootstrap bootstrap) {
+        }
+    },
+
+    EPOLL {
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> serverChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> channelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        public boolean isReusePortSupported() {
+            return true;
+        }
+
+        @Override
+        public void configure(ServerBootstrap bootstrap, boolean reusePort) {
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, reusePort)
+                .option(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED)
+                .childOption(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED);
+        }
+
+        @Override
+        public void configure(Bootstrap bootstrap) {
+            bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED);
+        }
+    };
+
+    public static final String AUTO = "auto";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NettyTransport.class);
+
+    public abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+    public abstract Class<? extends ServerSocketChannel> serverChannelClass();
+
+    public abstract Class<? extends SocketChannel> channelClass();
+
+    /**
+     * Whether several server channels may bind the same port, so that each boss thread runs its own acceptor.
+     */
+    public abstract boolean isReusePortSupported();
+
+    public abstract void configure(ServerBootstrap bootstrap, boolean reusePort);
+
+    public abstract void configure(Bootstrap bootstrap);
+
+    /**
+     * Select the transport by name, {@link #AUTO} or blank picks epoll when it is available.
+     *
+     * @param name auto, nio or epoll
+     * @return the transport to use, NIO if the requested native transport is not available
+     */
+    public static NettyTransport select(String name) {
+        if (StringUtils.isBlank(name) || AUTO.equalsIgnoreCase(name)) {
+            return Epoll.isAvailable() ? EPOLL : NIO;
+        }
+        if (NIO.name().equalsIgnoreCase(name)) {
+            return NIO;
+        }
+        if (EPOLL.name().equalsIgnoreCase(name)) {
+            if (Epoll.isAvailable()) {
+                return EPOLL;
+            }
+            LOGGER.warn("epoll transport is not available, fall back to nio", Epoll.unavailabilityCause());
+            return NIO;
+        }
+        LOGGER.warn("unknown netty transport {}, fall back to nio", name);
+        return NIO;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.http.body;
+
+import org.apache.eventmesh.common.protocol.http.body.message.SendMessageBatchV2RequestBody;
+import org.apache.eventmesh.common.protocol.http.body.message.SendMessageRequestBody;
+import org.apache.eventmesh.common.protocol.http.common.RequestCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class FormBodyDecoderTest {
+
+    @Test
+    public void testDecodeFields() {
+        ByteBuf content = Unpooled.copiedBuffer("a=1&b=hello+world&c=%7B%22k%22%3A%22v%22%7D&&d=&e", StandardCharsets.UTF_8);
+        Map<String, String> fields = new LinkedHashMap<>();
+        FormBodyDecoder.decode(content, StandardCharsets.UTF_8, fields::put);
+
+        Assert.assertEquals(5, fields.size());
+        Assert.assertEquals("1", fields.get("a"));
+        Assert.assertEquals("hello world", fields.get("b"));
+        Assert.assertEquals("{\"k\":\"v\"}", fields.get("c"));
+        Assert.assertEquals("", fields.get("d"));
+        Assert.assertEquals("", fields.get("e"));
+        Assert.assertEquals(0, content.readerIndex());
+    }
+
+    @Test
+    public void testDecodeUtf8() {
+        ByteBuf content = Unpooled.copiedBuffer("content=%E4%BD%A0%E5%A5%BD", StandardCharsets.UTF_8);
+        Map<String, String> fields = new LinkedHashMap<>();
+        FormBodyDecoder.decode(content, StandardCharsets.UTF_8, fields::put);
+        Assert.assertEquals("你好", fields.get("content"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEscape() {
+        FormBodyDecoder.decode(Unpooled.copiedBuffer("a=%4", StandardCharsets.UTF_8), StandardCharsets.UTF_8,
+            (name, value) -> {
+            });
+    }
+
+    @Test
+    public void testDecodeSendMessageBody() {
+        ByteBuf content = Unpooled.copiedBuffer("topic=t1&bizseqno=123&uniqueid=u1&content=hello&ttl=4000"
+            + "&producergroup=pg&extFields=%7B%22k%22%3A%22v%22%7D", StandardCharsets.UTF_8);
+        Body body = Body.decodeBody(String.valueOf(RequestCode.MSG_SEND_ASYNC.getRequestCode()), content,
+            StandardCharsets.UTF_8);
+
+        Assert.assertTrue(body instanceof SendMessageRequestBody);
+        SendMessageRequestBody sendMessageRequestBody = (SendMessageRequestBody) body;
+        Assert.assertEquals("t1", sendMessageRequestBody.getTopic());
+        Assert.assertEquals("123", sendMessageRequestBody.getBizSeqNo());
+        Assert.assertEquals("u1", sendMessageRequestBody.getUniqueId());
+        Assert.assertEquals("hello", sendMessageRequestBody.getContent());
+        Assert.assertEquals("4000", sendMessageRequestBody.getTtl());
+        Assert.assertEquals("", sendMessageRequestBody.getTag());
+        Assert.assertEquals("pg", sendMessageRequestBody.getProducerGroup());
+        Assert.assertEquals("v", sendMessageRequestBody.getExtFields().get("k"));
+    }
+
+    @Test
+    public void testDecodeBatchV2Body() {
+        ByteBuf content = Unpooled.copiedBuffer("bizseqno=1&topic=t1&msg=m&tag=tg&ttl=3000&producergroup=pg",
+            StandardCharsets.UTF_8);
+        Body body = Body.decodeBody(String.valueOf(RequestCode.MSG_BATCH_SEND_V2.getRequestCode()), content,
+            StandardCharsets.UTF_8);
+
+        Assert.assertTrue(body instanceof SendMessageBatchV2RequestBody);
+        SendMessageBatchV2RequestBody batchBody = (SendMessageBatchV2RequestBody) body;
+        Assert.assertEquals("1", batchBody.getBizSeqNo());
+        Assert.assertEquals("t1", batchBody.getTopic());
+        Assert.assertEquals("m", batchBody.getMsg());
+        Assert.assertEquals("tg", batchBody.getTag());
+        Assert.assertEquals("3000", batchBody.getTtl());
+        Assert.assertEquals("pg", batchBody.getProducerGroup());
+    }
+
+    @Test
+    public void testNoStreamingDecoder() {
+        Assert.assertNull(Body.decodeBody(String.valueOf(RequestCode.HEARTBEAT.getRequestCode()),
+            Unpooled.EMPTY_BUFFER, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.http.body;
+
+import org.apache.eventmesh.common.protocol.http.body.message.SendMessageBatchV2RequestBody;
+import org.apache.eventmesh.common.protocol.http.body.message.SendMessageRequestBody;
+import org.apache.eventmesh.common.protocol.http.common.RequestCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class JsonBodyDecoderTest {
+
+    @Test
+    public void testDecodeFields() {
+        ByteBuf content = Unpooled.copiedBuffer("{\"a\":\"1\",\"b\":2,\"c\":{\"k\":\"v\"},\"d\":[1,2],\"e\":null,\"f\":true}",
+            StandardCharsets.UTF_8);
+        Map<String, String> fields = new LinkedHashMap<>();
+        JsonBodyDecoder.decode(content, fields::put);
+
+        Assert.assertEquals(5, fields.size());
+        Assert.assertEquals("1", fields.get("a"));
+        Assert.assertEquals("2", fields.get("b"));
+        Assert.assertEquals("{\"k\":\"v\"}", fields.get("c"));
+        Assert.assertEquals("[1,2]", fields.get("d"));
+        Assert.assertFalse(fields.containsKey("e"));
+        Assert.assertEquals("true", fields.get("f"));
+        Assert.assertEquals(0, content.readerIndex());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAnObject() {
+        JsonBodyDecoder.decode(Unpooled.copiedBuffer("[1]", StandardCharsets.UTF_8), (name, value) -> {
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformed() {
+        JsonBodyDecoder.decode(Unpooled.copiedBuffer("{\"a\":", StandardCharsets.UTF_8), (name, value) -> {
+        });
+    }
+
+    @Test
+    public void testDecodeSendMessageBody() {
+        ByteBuf content = Unpooled.copiedBuffer("{\"topic\":\"t1\",\"bizseqno\":\"123\",\"uniqueid\":\"u1\",\"content\":\"你好\","
+            + "\"ttl\":4000,\"producergroup\":\"pg\",\"extFields\":{\"k\":\"v\"}}", StandardCharsets.UTF_8);
+        Body body = Body.decodeJsonBody(String.valueOf(RequestCode.MSG_SEND_SYNC.getRequestCode()), content);
+
+        Assert.assertTrue(body instanceof SendMessageRequestBody);
+        SendMessageRequestBody sendMessageRequestBody = (SendMessageRequestBody) body;
+        Assert.assertEquals("t1", sendMessageRequestBody.getTopic());
+        Assert.assertEquals("123", sendMessageRequestBody.getBizSeqNo());
+        Assert.assertEquals("u1", sendMessageRequestBody.getUniqueId());
+        Assert.assertEquals("你好", sendMessageRequestBody.getContent());
+        Assert.assertEquals("4000", sendMessageRequestBody.getTtl());
+        Assert.assertEquals("", sendMessageRequestBody.getTag());
+        Assert.assertEquals("pg", sendMessageRequestBody.getProducerGroup());
+        Assert.assertEquals("v", sendMessageRequestBody.getExtFields().get("k"));
+    }
+
+    @Test
+    public void testDecodeBatchV2Body() {
+        ByteBuf content = Unpooled.copiedBuffer("{\"bizseqno\":\"1\",\"topic\":\"t1\",\"msg\":\"m\",\"tag\":\"tg\",\"ttl\":\"3000\","
+            + "\"producergroup\":\"pg\"}", StandardCharsets.UTF_8);
+        Body body = Body.decodeJsonBody(String.valueOf(RequestCode.MSG_BATCH_SEND_V2.getRequestCode()), content);
+
+        Assert.assertTrue(body instanceof SendMessageBatchV2RequestBody);
+        SendMessageBatchV2RequestBody batchBody = (SendMessageBatchV2RequestBody) body;
+        Assert.assertEquals("1", batchBody.getBizSeqNo());
+        Assert.assertEquals("t1", batchBody.getTopic());
+        Assert.assertEquals("m", batchBody.getMsg());
+        Assert.assertEquals("tg", batchBody.getTag());
+        Assert.assertEquals("3000", batchBody.getTtl());
+        Assert.assertEquals("pg", batchBody.getProducerGroup());
+    }
+
+    @Test
+    public void testNoStreamingDecoder() {
+        Assert.assertNull(Body.decodeJsonBody(String.valueOf(RequestCode.HEARTBEAT.getRequestCode()), Unpooled.EMPTY_BUFFER));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.tcp.codec;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.Package;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class BinaryHeaderCodecTest {
+
+    @Test
+    public void testEncodeAndDecode() {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_CLIENT, -1, "desc", "1234567890");
+        header.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+        header.putProperty("intValue", 300);
+        header.putProperty("longValue", Long.MAX_VALUE);
+        header.putProperty("boolValue", true);
+        header.putProperty("doubleValue", 1.5d);
+        header.putProperty("nullValue", null);
+
+        ByteBuf buf = Unpooled.buffer();
+        BinaryHeaderCodec.encode(header, buf);
+        Header decoded = BinaryHeaderCodec.decode(buf);
+        Assert.assertEquals(header, decoded);
+        Assert.assertFalse(buf.isReadable());
+    }
+
+    @Test
+    public void testNullFields() {
+        Header header = new Header();
+        header.setProperties(null);
+
+        ByteBuf buf = Unpooled.buffer();
+        BinaryHeaderCodec.encode(header, buf);
+        Header decoded = BinaryHeaderCodec.decode(buf);
+        Assert.assertNull(decoded.getCmd());
+        Assert.assertNull(decoded.getDesc());
+        Assert.assertNull(decoded.getSeq());
+        Assert.assertTrue(decoded.getProperties().isEmpty());
+    }
+
+    @Test
+    public void testBinaryHeaderFrame() {
+        EmbeddedChannel channel = new EmbeddedChannel(new Codec.Encoder(), new Codec.Decoder());
+        Codec.enableBinaryHeader(channel);
+
+        Header header = new Header(Command.HEARTBEAT_REQUEST, 0, null, "1");
+        channel.writeOutbound(new Package(header));
+        ByteBuf frame = channel.readOutbound();
+        Assert.assertEquals("0001", frame.toString(9, 4, Constants.DEFAULT_CHARSET));
+
+        channel.writeInbound(frame);
+        Package decoded = channel.readInbound();
+        Assert.assertEquals(header, decoded.getHeader());
+    }
+}
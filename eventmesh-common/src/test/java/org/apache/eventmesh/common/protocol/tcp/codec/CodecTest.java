@@ -17,17 +17,21 @@
 
 package org.apache.eventmesh.common.protocol.tcp.codec;
 
+import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
 
 public class CodecTest {
 
@@ -40,11 +44,64 @@ public class CodecTest {
         Codec.Encoder ce = new Codec.Encoder();
         ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
         ce.encode(null, testP, buf);
-        Codec.Decoder cd = new Codec.Decoder();
-        ArrayList<Object> result = new ArrayList<>();
-        cd.decode(null, buf, result);
-        Assert.assertNotNull(result.get(0));
-        Assert.assertEquals(testP.getHeader(), ((Package) result.get(0)).getHeader());
+        EmbeddedChannel channel = new EmbeddedChannel(new Codec.Decoder());
+        channel.writeInbound(buf);
+        Package result = channel.readInbound();
+        Assert.assertNotNull(result);
+        Assert.assertEquals(testP.getHeader(), result.getHeader());
+    }
+
+    @Test
+    public void testCloudEventsBodyKeptAsBytes() throws Exception {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_SERVER, 0, null, "1");
+        header.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+        byte[] body = "{\"specversion\":\"1.0\"}".getBytes(StandardCharsets.UTF_8);
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        new Codec.Encoder().encode(null, new Package(header, body), buf);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new Codec.Decoder());
+        channel.writeInbound(buf);
+        Package decoded = channel.readInbound();
+        Assert.assertEquals(header, decoded.getHeader());
+        Assert.assertArrayEquals(body, (byte[]) decoded.getBody());
+        Assert.assertArrayEquals(body, Codec.getBodyBytes(decoded));
+    }
+
+    @Test
+    public void testPartialFrame() throws Exception {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_SERVER, 0, null, "1");
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        new Codec.Encoder().encode(null, new Package(header, "message"), buf);
+        int frameLength = buf.readableBytes();
+        Assert.assertEquals(frameLength - 13, buf.getInt(13));
+
+        EmbeddedChannel channel = new EmbeddedChannel(new Codec.Decoder());
+        channel.writeInbound(buf.readRetainedSlice(frameLength - 1));
+        Assert.assertNull(channel.readInbound());
+
+        channel.writeInbound(buf);
+        Package decoded = channel.readInbound();
+        Assert.assertNotNull(decoded);
+        Assert.assertEquals("\"message\"", decoded.getBody());
+        Assert.assertEquals(1, channel.pipeline().get(Codec.Decoder.class).getPartialFrameWaits());
+    }
+
+    @Test
+    public void testOversizeFrameRejectedBeforeBuffering() {
+        Codec.Decoder decoder = new Codec.Decoder();
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeCharSequence("EventMesh0000", StandardCharsets.UTF_8);
+        buf.writeInt(Integer.MAX_VALUE);
+        buf.writeInt(0);
+        try {
+            channel.writeInbound(buf);
+            Assert.fail("oversize frame should be rejected");
+        } catch (TooLongFrameException e) {
+            Assert.assertFalse(buf.isReadable());
+        }
+        Assert.assertEquals(1, decoder.getOversizeFrameRejections());
+        Assert.assertEquals(0, decoder.getPartialFrameWaits());
     }
 
 }
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.transport;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.SocketChannel;
+
+/**
+ * Loopback benchmark of the available transports: connection rate and echo latency percentiles.
+ * <p>
+ * Not part of the test run, start it with {@link #main}, or pick the transports with {@code -p transport=nio,epoll}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NettyTransportBenchmark {
+
+    private static final int PAYLOAD_SIZE = 256;
+
+    @Param({"nio", "auto"})
+    private String transport;
+
+    private EventLoopGroup boss;
+
+    private EventLoopGroup io;
+
+    private EventLoopGroup client;
+
+    private Channel serverChannel;
+
+    private InetSocketAddress serverAddress;
+
+    private Bootstrap bootstrap;
+
+    private Channel channel;
+
+    private ByteBuf payload;
+
+    private final BlockingQueue<ByteBuf> replies = new ArrayBlockingQueue<>(16);
+
+    @Setup
+    public void setup() throws InterruptedException {
+        NettyTransport nettyTransport = NettyTransport.select(transport);
+        boss = nettyTransport.newEventLoopGroup(1, Executors.defaultThreadFactory());
+        io = nettyTransport.newEventLoopGroup(4, Executors.defaultThreadFactory());
+        client = nettyTransport.newEventLoopGroup(4, Executors.defaultThreadFactory());
+
+        ServerBootstrap server = new ServerBootstrap().group(boss, io).channel(nettyTransport.serverChannelClass())
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            ctx.writeAndFlush(msg);
+                        }
+                    });
+                }
+            });
+        nettyTransport.configure(server, false);
+        serverChannel = server.bind("127.0.0.1", 0).sync().channel();
+        serverAddress = (InetSocketAddress) serverChannel.localAddress();
+
+        bootstrap = new Bootstrap().group(client).channel(nettyTransport.channelClass())
+            .option(ChannelOption.TCP_NODELAY, true)
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    ch.pipeline().addLast(new SimpleChannelInboundHandler<ByteBuf>(false) {
+                        @Override
+                        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
+                            replies.offer(msg);
+                        }
+                    });
+                }
+            });
+        nettyTransport.configure(bootstrap);
+
+        channel = bootstrap.connect(serverAddress).sync().channel();
+        payload = Unpooled.directBuffer(PAYLOAD_SIZE).writeZero(PAYLOAD_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        payload.release();
+        channel.close().sync();
+        serverChannel.close().sync();
+        client.shutdownGracefully().sync();
+        io.shutdownGracefully().sync();
+        boss.shutdownGracefully().sync();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void connect() throws InterruptedException {
+        bootstrap.connect(serverAddress).sync().channel().close().sync();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int echo() throws InterruptedException {
+        channel.writeAndFlush(payload.retainedDuplicate());
+        int received = 0;
+        while (received < PAYLOAD_SIZE) {
+            ByteBuf reply = replies.poll(5, TimeUnit.SECONDS);
+            if (reply == null) {
+                throw new IllegalStateException("echo timed out");
+            }
+            received += reply.readableBytes();
+            reply.release();
+        }
+        return received;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(NettyTransportBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.transport;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+public class NettyTransportTest {
+
+    @Test
+    public void testSelectNio() {
+        Assert.assertEquals(NettyTransport.NIO, NettyTransport.select("nio"));
+        Assert.assertEquals(NettyTransport.NIO, NettyTransport.select("NIO"));
+        Assert.assertEquals(NioServerSocketChannel.class, NettyTransport.NIO.serverChannelClass());
+        Assert.assertFalse(NettyTransport.NIO.isReusePortSupported());
+    }
+
+    @Test
+    public void testSelectUnknownFallsBackToNio() {
+        Assert.assertEquals(NettyTransport.NIO, NettyTransport.select("io_uring"));
+    }
+
+    @Test
+    public void testSelectAuto() {
+        NettyTransport expected = Epoll.isAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO;
+        Assert.assertEquals(expected, NettyTransport.select(NettyTransport.AUTO));
+        Assert.assertEquals(expected, NettyTransport.select(null));
+        Assert.assertEquals(expected, NettyTransport.select("epoll"));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * Commit context of a batch delivered to a {@link BatchEventListener}.
+ * <p>
+ * The events are committed by index ranges, so that a listener acks a whole batch, or the runs of events sharing
+ * an action, in one call. Events which are not committed when the listener returns, or throws, are handled as
+ * {@link EventMeshAction#ReconsumeLater}.
+ */
+public abstract class BatchConsumeContext {
+
+    private final int batchSize;
+
+    protected BatchConsumeContext(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return context to pass to {@link org.apache.eventmesh.api.consumer.Consumer#updateOffset} with the event at the index
+     */
+    public abstract AbstractContext getAbstractContext(int index);
+
+    /**
+     * Commit the events from fromIndex, inclusive, to toIndex, exclusive.
+     */
+    public abstract void commit(int fromIndex, int toIndex, EventMeshAction action);
+
+    /**
+     * Commit every event of the batch.
+     */
+    public void commit(EventMeshAction action) {
+        commit(0, batchSize, action);
+    }
+
+    /**
+     * Handle the events one by one, committing each run of consecutive events with the same action in one call.
+     * If the handler throws, the events handled so far are committed and the rest of the batch is not.
+     *
+     * @param handler returns the action of an event, given the event and its context
+     */
+    public void commitEach(List<CloudEvent> cloudEvents, BiFunction<CloudEvent, AbstractContext, EventMeshAction> handler) {
+        int runStart = 0;
+        EventMeshAction runAction = null;
+        int index = 0;
+        try {
+            for (; index < cloudEvents.size(); index++) {
+                EventMeshAction action = handler.apply(cloudEvents.get(index), getAbstractContext(index));
+                if (action != runAction) {
+                    if (runAction != null) {
+                        commit(runStart, index, runAction);
+                    }
+                    runStart = index;
+                    runAction = action;
+                }
+            }
+        } finally {
+            if (runAction != null) {
+                commit(runStart, index, runAction);
+            }
+        }
+    }
+
+    /**
+     * Batch of the single event of an {@link EventListener}, used by the consumers which do not deliver batches.
+     */
+    public static BatchConsumeContext of(AsyncConsumeContext context) {
+        return new BatchConsumeContext(1) {
+            @Override
+            public AbstractContext getAbstractContext(int index) {
+                return context instanceof EventMeshAsyncConsumeContext
+                    ? ((EventMeshAsyncConsumeContext) context).getAbstractContext() : null;
+            }
+
+            @Override
+            public void commit(int fromIndex, int toIndex, EventMeshAction action) {
+                if (fromIndex < toIndex) {
+                    context.commit(action);
+                }
+            }
+        };
+    }
+}
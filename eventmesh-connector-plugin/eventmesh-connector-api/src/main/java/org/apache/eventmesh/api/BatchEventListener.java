@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api;
+
+import org.apache.eventmesh.api.consumer.Consumer;
+
+import java.util.List;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * Event listener receiving the consumed events in batches, registered by {@link Consumer#registerBatchEventListener}.
+ *
+ * <p>
+ * <strong>
+ * Thread safe requirements: this interface will be invoked by multi threads,
+ * so users should keep thread safe during the consume process.
+ * </strong>
+ * </p>
+ */
+public interface BatchEventListener {
+
+    /**
+     * @param cloudEvents events of the batch, in the order of the connector
+     * @param context     commits ranges of the batch
+     */
+    void consume(final List<CloudEvent> cloudEvents, final BatchConsumeContext context);
+
+}
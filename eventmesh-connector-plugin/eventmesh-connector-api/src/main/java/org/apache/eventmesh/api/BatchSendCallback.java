@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api;
+
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.api.producer.Producer;
+
+import java.util.List;
+
+/**
+ * Call back interface used in {@link Producer#publishBatch(List, BatchSendCallback)}, called once per batch
+ * when every event of the batch has completed.
+ */
+public interface BatchSendCallback {
+
+    /**
+     * Every event of the batch was sent.
+     */
+    void onSuccess(final List<SendResult> sendResults);
+
+    /**
+     * Some events of the batch were not sent.
+     *
+     * @param sendResults results of the events which were sent
+     * @param contexts    one per event which was not sent
+     */
+    void onException(final List<SendResult> sendResults, final List<OnExceptionContext> contexts);
+}
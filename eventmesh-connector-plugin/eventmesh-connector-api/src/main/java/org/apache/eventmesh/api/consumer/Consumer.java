@@ -18,11 +18,14 @@
 package org.apache.eventmesh.api.consumer;
 
 import org.apache.eventmesh.api.AbstractContext;
+import org.apache.eventmesh.api.BatchConsumeContext;
+import org.apache.eventmesh.api.BatchEventListener;
 import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.LifeCycle;
 import org.apache.eventmesh.spi.EventMeshExtensionType;
 import org.apache.eventmesh.spi.EventMeshSPI;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 
@@ -36,6 +39,9 @@ public interface Consumer extends LifeCycle {
 
     void init(Properties keyValue) throws Exception;
 
+    /**
+     * Commit the offsets of the events, the events may be a whole batch and are committed at once.
+     */
     void updateOffset(List<CloudEvent> cloudEvents, AbstractContext context);
 
     void subscribe(String topic) throws Exception;
@@ -43,4 +49,14 @@ public interface Consumer extends LifeCycle {
     void unsubscribe(String topic);
 
     void registerEventListener(EventListener listener);
+
+    /**
+     * Register a listener receiving the events in batches, instead of the {@link EventListener}.
+     * <p>
+     * The default implementation delivers batches of one event, for the connectors which have no native batches.
+     */
+    default void registerBatchEventListener(BatchEventListener listener) {
+        registerEventListener((cloudEvent, context) ->
+            listener.consume(Collections.singletonList(cloudEvent), BatchConsumeContext.of(context)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api.producer;
+
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.SendCallback;
+import org.apache.eventmesh.api.SendResult;
+import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * One {@link SendCallback} shared by all the events of a batch, which calls the {@link BatchSendCallback}
+ * once the last event of the batch completed.
+ */
+public class BatchSendResultCollector implements SendCallback {
+
+    private final BatchSendCallback batchSendCallback;
+
+    private final AtomicInteger remaining;
+
+    private final Queue<SendResult> sendResults = new ConcurrentLinkedQueue<>();
+
+    private final Queue<OnExceptionContext> contexts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param size number of events of the batch, at least one
+     */
+    public BatchSendResultCollector(int size, BatchSendCallback batchSendCallback) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("batch size is illegal");
+        }
+        this.remaining = new AtomicInteger(size);
+        this.batchSendCallback = batchSendCallback;
+    }
+
+    @Override
+    public void onSuccess(SendResult sendResult) {
+        sendResults.add(sendResult);
+        countDown();
+    }
+
+    @Override
+    public void onException(OnExceptionContext context) {
+        contexts.add(context);
+        countDown();
+    }
+
+    /**
+     * Complete an event which could not even be handed to the connector.
+     */
+    public void onException(CloudEvent cloudEvent, Throwable throwable) {
+        OnExceptionContext context = new OnExceptionContext();
+        context.setMessageId(cloudEvent.getId());
+        context.setTopic(cloudEvent.getSubject());
+        context.setException(throwable instanceof ConnectorRuntimeException
+            ? (ConnectorRuntimeException) throwable : new ConnectorRuntimeException(throwable));
+        onException(context);
+    }
+
+    private void countDown() {
+        if (remaining.decrementAndGet() != 0) {
+            return;
+        }
+        if (contexts.isEmpty()) {
+            batchSendCallback.onSuccess(new ArrayList<>(sendResults));
+        } else {
+            batchSendCallback.onException(new ArrayList<>(sendResults), new ArrayList<>(contexts));
+        }
+    }
+}
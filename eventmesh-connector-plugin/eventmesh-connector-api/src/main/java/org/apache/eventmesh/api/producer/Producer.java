@@ -17,6 +17,7 @@
 
 package org.apache.eventmesh.api.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.LifeCycle;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
@@ -24,6 +25,8 @@ import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.spi.EventMeshExtensionType;
 import org.apache.eventmesh.spi.EventMeshSPI;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 import io.cloudevents.CloudEvent;
@@ -38,6 +41,27 @@ public interface Producer extends LifeCycle {
 
     void publish(CloudEvent cloudEvent, SendCallback sendCallback) throws Exception;
 
+    /**
+     * Publish a batch of events, the callback is called once when every event of the batch has completed.
+     * <p>
+     * Connectors which can batch natively override this, by default the events are published one by one
+     * with a single callback shared by the whole batch.
+     */
+    default void publishBatch(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) throws Exception {
+        if (cloudEvents.isEmpty()) {
+            batchSendCallback.onSuccess(Collections.emptyList());
+            return;
+        }
+        BatchSendResultCollector collector = new BatchSendResultCollector(cloudEvents.size(), batchSendCallback);
+        for (CloudEvent cloudEvent : cloudEvents) {
+            try {
+                publish(cloudEvent, collector);
+            } catch (Exception e) {
+                collector.onException(cloudEvent, e);
+            }
+        }
+    }
+
     void sendOneway(final CloudEvent cloudEvent);
 
     void request(CloudEvent cloudEvent, RequestReplyCallback rrCallback, long timeout) throws Exception;
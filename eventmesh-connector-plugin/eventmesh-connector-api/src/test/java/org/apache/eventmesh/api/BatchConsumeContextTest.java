@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class BatchConsumeContextTest {
+
+    @Test
+    public void testCommitEachRuns() {
+        RecordingBatchConsumeContext context = new RecordingBatchConsumeContext(5);
+        List<EventMeshAction> actions = Arrays.asList(EventMeshAction.CommitMessage, EventMeshAction.CommitMessage,
+            EventMeshAction.ReconsumeLater, EventMeshAction.CommitMessage, EventMeshAction.CommitMessage);
+
+        context.commitEach(buildCloudEvents(5), (cloudEvent, abstractContext) -> actions.get(Integer.parseInt(cloudEvent.getId())));
+
+        Assert.assertEquals(Arrays.asList("0-2:CommitMessage", "2-3:ReconsumeLater", "3-5:CommitMessage"), context.commits);
+    }
+
+    @Test
+    public void testCommitEachHandlerFails() {
+        RecordingBatchConsumeContext context = new RecordingBatchConsumeContext(4);
+
+        try {
+            context.commitEach(buildCloudEvents(4), (cloudEvent, abstractContext) -> {
+                if ("2".equals(cloudEvent.getId())) {
+                    throw new IllegalStateException("handle failed");
+                }
+                return EventMeshAction.ManualAck;
+            });
+            Assert.fail("the failure of the handler is rethrown");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // the events handled before the failure are committed, the rest is not
+        Assert.assertEquals(Collections.singletonList("0-2:ManualAck"), context.commits);
+    }
+
+    @Test
+    public void testCommitEachEmpty() {
+        RecordingBatchConsumeContext context = new RecordingBatchConsumeContext(0);
+
+        context.commitEach(new ArrayList<>(), (cloudEvent, abstractContext) -> EventMeshAction.CommitMessage);
+
+        Assert.assertTrue(context.commits.isEmpty());
+    }
+
+    @Test
+    public void testOfSingleEvent() {
+        AsyncConsumeContext asyncConsumeContext = Mockito.mock(AsyncConsumeContext.class);
+        BatchConsumeContext context = BatchConsumeContext.of(asyncConsumeContext);
+
+        context.commit(0, 0, EventMeshAction.CommitMessage);
+        context.commit(EventMeshAction.ReconsumeLater);
+
+        Assert.assertEquals(1, context.getBatchSize());
+        Mockito.verify(asyncConsumeContext).commit(EventMeshAction.ReconsumeLater);
+        Mockito.verifyNoMoreInteractions(asyncConsumeContext);
+    }
+
+    private static List<CloudEvent> buildCloudEvents(int size) {
+        List<CloudEvent> cloudEvents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cloudEvents.add(CloudEventBuilder.v1()
+                .withId(String.valueOf(i))
+                .withSource(URI.create("/test"))
+                .withType("test")
+                .withSubject("TEST-TOPIC")
+                .build());
+        }
+        return cloudEvents;
+    }
+
+    private static class RecordingBatchConsumeContext extends BatchConsumeContext {
+
+        private final List<String> commits = new ArrayList<>();
+
+        RecordingBatchConsumeContext(int batchSize) {
+            super(batchSize);
+        }
+
+        @Override
+        public AbstractContext getAbstractContext(int index) {
+            return null;
+        }
+
+        @Override
+        public void commit(int fromIndex, int toIndex, EventMeshAction action) {
+            commits.add(fromIndex + "-" + toIndex + ":" + action);
+        }
+    }
+}
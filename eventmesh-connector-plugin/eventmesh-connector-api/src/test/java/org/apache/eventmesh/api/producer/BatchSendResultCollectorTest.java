@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api.producer;
+
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.SendResult;
+import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class BatchSendResultCollectorTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyBatch() {
+        new BatchSendResultCollector(0, Mockito.mock(BatchSendCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAllSent() {
+        BatchSendCallback batchSendCallback = Mockito.mock(BatchSendCallback.class);
+        BatchSendResultCollector collector = new BatchSendResultCollector(2, batchSendCallback);
+
+        collector.onSuccess(buildSendResult("id1"));
+        Mockito.verifyNoInteractions(batchSendCallback);
+        collector.onSuccess(buildSendResult("id2"));
+
+        ArgumentCaptor<List<SendResult>> sendResults = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(batchSendCallback).onSuccess(sendResults.capture());
+        Assert.assertEquals(2, sendResults.getValue().size());
+        Mockito.verifyNoMoreInteractions(batchSendCallback);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSomeFailed() {
+        BatchSendCallback batchSendCallback = Mockito.mock(BatchSendCallback.class);
+        BatchSendResultCollector collector = new BatchSendResultCollector(3, batchSendCallback);
+
+        collector.onSuccess(buildSendResult("id1"));
+        collector.onException(OnExceptionContext.builder().messageId("id2").topic("TEST-TOPIC").build());
+        collector.onException(buildCloudEvent("id3"), new IllegalStateException("not connected"));
+
+        ArgumentCaptor<List<SendResult>> sendResults = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<OnExceptionContext>> contexts = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(batchSendCallback).onException(sendResults.capture(), contexts.capture());
+        Assert.assertEquals(1, sendResults.getValue().size());
+        Assert.assertEquals(2, contexts.getValue().size());
+        OnExceptionContext context = contexts.getValue().get(1);
+        Assert.assertEquals("id3", context.getMessageId());
+        Assert.assertEquals("TEST-TOPIC", context.getTopic());
+        Assert.assertTrue(context.getException() instanceof ConnectorRuntimeException);
+        Mockito.verifyNoMoreInteractions(batchSendCallback);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testConnectorExceptionKept() {
+        BatchSendCallback batchSendCallback = Mockito.mock(BatchSendCallback.class);
+        BatchSendResultCollector collector = new BatchSendResultCollector(1, batchSendCallback);
+        ConnectorRuntimeException exception = new ConnectorRuntimeException("send failed");
+
+        collector.onException(buildCloudEvent("id1"), exception);
+
+        ArgumentCaptor<List<OnExceptionContext>> contexts = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(batchSendCallback).onException(Mockito.anyList(), contexts.capture());
+        Assert.assertSame(exception, contexts.getValue().get(0).getException());
+    }
+
+    private static SendResult buildSendResult(String messageId) {
+        SendResult sendResult = new SendResult();
+        sendResult.setTopic("TEST-TOPIC");
+        sendResult.setMessageId(messageId);
+        return sendResult;
+    }
+
+    private static CloudEvent buildCloudEvent(String id) {
+        return CloudEventBuilder.v1()
+            .withId(id)
+            .withSource(URI.create("/test"))
+            .withType("test")
+            .withSubject("TEST-TOPIC")
+            .build();
+    }
+}
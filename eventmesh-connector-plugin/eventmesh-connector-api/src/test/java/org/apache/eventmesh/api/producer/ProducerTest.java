@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api.producer;
+
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.SendCallback;
+import org.apache.eventmesh.api.SendResult;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class ProducerTest {
+
+    @Test
+    public void testPublishBatchEmpty() throws Exception {
+        Producer producer = Mockito.mock(Producer.class, Mockito.CALLS_REAL_METHODS);
+        BatchSendCallback batchSendCallback = Mockito.mock(BatchSendCallback.class);
+
+        producer.publishBatch(Collections.emptyList(), batchSendCallback);
+
+        Mockito.verify(batchSendCallback).onSuccess(Collections.emptyList());
+        Mockito.verify(producer, Mockito.never()).publish(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublishBatchOneByOne() throws Exception {
+        Producer producer = Mockito.mock(Producer.class, Mockito.CALLS_REAL_METHODS);
+        // the first event is sent, the second fails in its callback and the third can not be published at all
+        Mockito.doAnswer(invocation -> {
+            CloudEvent cloudEvent = invocation.getArgument(0);
+            SendCallback sendCallback = invocation.getArgument(1);
+            if ("id1".equals(cloudEvent.getId())) {
+                SendResult sendResult = new SendResult();
+                sendResult.setMessageId(cloudEvent.getId());
+                sendCallback.onSuccess(sendResult);
+            } else if ("id2".equals(cloudEvent.getId())) {
+                sendCallback.onException(OnExceptionContext.builder().messageId(cloudEvent.getId()).build());
+            } else {
+                throw new IllegalStateException("producer is not started");
+            }
+            return null;
+        }).when(producer).publish(ArgumentMatchers.any(), ArgumentMatchers.any());
+        BatchSendCallback batchSendCallback = Mockito.mock(BatchSendCallback.class);
+
+        producer.publishBatch(Arrays.asList(buildCloudEvent("id1"), buildCloudEvent("id2"), buildCloudEvent("id3")),
+            batchSendCallback);
+
+        // one callback shared by the whole batch
+        ArgumentCaptor<SendCallback> sendCallbacks = ArgumentCaptor.forClass(SendCallback.class);
+        Mockito.verify(producer, Mockito.times(3)).publish(ArgumentMatchers.any(), sendCallbacks.capture());
+        Assert.assertEquals(1, sendCallbacks.getAllValues().stream().distinct().count());
+
+        ArgumentCaptor<List<SendResult>> sendResults = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<OnExceptionContext>> contexts = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(batchSendCallback).onException(sendResults.capture(), contexts.capture());
+        Assert.assertEquals("id1", sendResults.getValue().get(0).getMessageId());
+        Assert.assertEquals(2, contexts.getValue().size());
+        Assert.assertEquals("id3", contexts.getValue().get(1).getMessageId());
+        Mockito.verifyNoMoreInteractions(batchSendCallback);
+    }
+
+    private static CloudEvent buildCloudEvent(String id) {
+        return CloudEventBuilder.v1()
+            .withId(id)
+            .withSource(URI.create("/test"))
+            .withType("test")
+            .withSubject("TEST-TOPIC")
+            .build();
+    }
+}
@@ -18,15 +18,13 @@
 package org.apache.eventmesh.connector.kafka.consumer;
 
 import org.apache.eventmesh.api.AbstractContext;
+import org.apache.eventmesh.api.BatchEventListener;
 import org.apache.eventmesh.api.EventListener;
-import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
@@ -81,7 +79,8 @@ public class ConsumerImpl {
 
     public synchronized void shutdown() {
         if (this.started.compareAndSet(true, false)) {
-            this.kafkaConsumer.close();
+            // the consumer is not thread safe, the runner closes it once out of its poll
+            this.kafkaConsumerRunner.shutdown();
         }
     }
 
@@ -100,42 +99,28 @@ public class ConsumerImpl {
     }
 
     public synchronized void subscribe(String topic) {
-        try {
-            // Get the current subscription
-            topicsSet.add(topic);
-            List<String> topics = new ArrayList<>(topicsSet);
-            this.kafkaConsumer.subscribe(topics);
-        } catch (Exception e) {
-            logger.error("Error while subscribing the Kafka consumer to topic: ", e);
-            throw new ConnectorRuntimeException(
-                String.format("Kafka consumer can't attach to %s.", topic));
-        }
+        // the consumer is not thread safe, the runner applies the whole subscription on its poll thread
+        topicsSet.add(topic);
+        this.kafkaConsumerRunner.subscribe(topicsSet);
     }
 
     public synchronized void unsubscribe(String topic) {
-        try {
-            // Kafka will unsubscribe *all* topic if calling unsubscribe, so we
-            this.kafkaConsumer.unsubscribe();
-            topicsSet.remove(topic);
-            List<String> topics = new ArrayList<>(topicsSet);
-            this.kafkaConsumer.subscribe(topics);
-        } catch (Exception e) {
-            logger.error("Error while unsubscribing the Kafka consumer: ", e);
-            throw new ConnectorRuntimeException(String.format("kafka push consumer fails to unsubscribe topic: %s", topic));
-        }
+        // Kafka can only unsubscribe *all* topics, so the remaining topics replace the subscription
+        topicsSet.remove(topic);
+        this.kafkaConsumerRunner.subscribe(topicsSet);
     }
 
     public void updateOffset(List<CloudEvent> cloudEvents, AbstractContext context) {
-        Long maxOffset = cloudEvents.stream().map(cloudEvent -> this.kafkaConsumerRunner.getOffset(cloudEvent)).max(Long::compare).get();
-        cloudEvents.forEach(cloudEvent -> this.updateOffset(cloudEvent.getSubject(), maxOffset));
-    }
-
-    public void updateOffset(String topicName, long offset) {
-        this.kafkaConsumer.seek(new TopicPartition(topicName, 1), offset);
+        cloudEvents.forEach(this.kafkaConsumerRunner::commit);
     }
 
     public void registerEventListener(EventListener listener) {
         this.eventListener = listener;
         this.kafkaConsumerRunner.setListener(this.eventListener);
     }
+
+    public void registerBatchEventListener(BatchEventListener listener) {
+        this.eventListener = null;
+        this.kafkaConsumerRunner.setBatchListener(listener);
+    }
 }
@@ -18,6 +18,7 @@
 package org.apache.eventmesh.connector.kafka.consumer;
 
 import org.apache.eventmesh.api.AbstractContext;
+import org.apache.eventmesh.api.BatchEventListener;
 import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.consumer.Consumer;
 
@@ -76,6 +77,11 @@ public class KafkaConsumerImpl implements Consumer {
         consumer.registerEventListener(listener);
     }
 
+    @Override
+    public void registerBatchEventListener(BatchEventListener listener) {
+        consumer.registerBatchEventListener(listener);
+    }
+
     @Override
     public synchronized void shutdown() {
         consumer.shutdown();
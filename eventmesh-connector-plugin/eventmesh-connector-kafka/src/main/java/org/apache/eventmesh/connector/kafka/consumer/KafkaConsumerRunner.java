@@ -17,102 +17,446 @@
 
 package org.apache.eventmesh.connector.kafka.consumer;
 
+import org.apache.eventmesh.api.AbstractContext;
+import org.apache.eventmesh.api.BatchConsumeContext;
+import org.apache.eventmesh.api.BatchEventListener;
 import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.EventMeshAction;
 import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
 
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+/**
+ * Poll loop of a kafka consumer.
+ * <p>
+ * Every event carries the partition and the offset of its record as extensions, so that its offset can be committed
+ * from the event alone. The events are acked in any order, so the offset committed for a partition is the first one
+ * delivered and not acked yet. The KafkaConsumer is not thread safe, so the acks are only recorded here, and the poll
+ * thread commits them all at once before its next poll.
+ * <p>
+ * The records the listener asked to reconsume are delivered again by the poll thread after the reconsume delay, their
+ * offsets stay uncommitted until then.
+ * <p>
+ * The subscription changes are queued as well and applied by the poll thread, which does not poll until the first one.
+ */
+public class KafkaConsumerRunner implements Runnable, ConsumerRebalanceListener {
+
+    static final String PARTITION_EXTENSION = "partition";
+
+    static final String OFFSET_EXTENSION = "offset";
+
+    /**
+     * Delay before a record is delivered again when the listener asked to reconsume it
+     */
+    static final long RECONSUME_DELAY_IN_MILLS = 1000;
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(1000);
 
-public class KafkaConsumerRunner implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(KafkaConsumerRunner.class);
     private final AtomicBoolean closed = new AtomicBoolean(false);
     private final KafkaConsumer<String, CloudEvent> consumer;
-    private ConcurrentHashMap<CloudEvent, Long> cloudEventToOffset;
-    private EventListener listener;
-    private AtomicInteger offset;
+    private final long reconsumeDelayInMills;
+    private final ConcurrentHashMap<TopicPartition, PartitionOffsets> partitionOffsets = new ConcurrentHashMap<>();
+    private final Queue<ReconsumeRecord> reconsumeRecords = new ConcurrentLinkedQueue<>();
+    // guarded by itself, the poll thread waits on it while the consumer has no subscription
+    private final Queue<List<String>> subscriptionChanges = new ArrayDeque<>();
+    // only used by the poll thread
+    private boolean subscribed;
+    private volatile EventListener listener;
+    private volatile BatchEventListener batchListener;
 
     public KafkaConsumerRunner(KafkaConsumer<String, CloudEvent> kafkaConsumer) {
+        this(kafkaConsumer, RECONSUME_DELAY_IN_MILLS);
+    }
+
+    KafkaConsumerRunner(KafkaConsumer<String, CloudEvent> kafkaConsumer, long reconsumeDelayInMills) {
         this.consumer = kafkaConsumer;
-        cloudEventToOffset = new ConcurrentHashMap<>();
+        this.reconsumeDelayInMills = reconsumeDelayInMills;
     }
 
     public synchronized void setListener(EventListener listener) {
         this.listener = listener;
+        this.batchListener = null;
+    }
+
+    public synchronized void setBatchListener(BatchEventListener batchListener) {
+        this.batchListener = batchListener;
+        this.listener = null;
+    }
+
+    /**
+     * Replace the topics of the subscription, the poll thread applies it before its next poll.
+     *
+     * @param topics the topics to subscribe, the consumer unsubscribes if empty
+     */
+    public void subscribe(Collection<String> topics) {
+        synchronized (subscriptionChanges) {
+            subscriptionChanges.add(new ArrayList<>(topics));
+            subscriptionChanges.notifyAll();
+        }
+    }
+
+    /**
+     * Mark the event consumed, it is committed with the next poll once the events before it are consumed too.
+     */
+    public void commit(CloudEvent cloudEvent) {
+        Object partition = cloudEvent.getExtension(PARTITION_EXTENSION);
+        Object offset = cloudEvent.getExtension(OFFSET_EXTENSION);
+        if (partition instanceof Number && offset instanceof Number) {
+            commit(new TopicPartition(cloudEvent.getSubject(), ((Number) partition).intValue()), ((Number) offset).longValue());
+        }
+    }
+
+    private void commit(TopicPartition topicPartition, long offset) {
+        PartitionOffsets offsets = partitionOffsets.get(topicPartition);
+        // the partition may have been revoked since the delivery, its new owner consumes the record again
+        if (offsets != null) {
+            offsets.ack(offset);
+        }
+    }
+
+    private void reconsume(ConsumerRecord<String, CloudEvent> rec) {
+        reconsumeRecords.add(new ReconsumeRecord(rec, System.currentTimeMillis() + reconsumeDelayInMills));
     }
 
-    public long getOffset(CloudEvent cloudEvent) {
-        return cloudEventToOffset.getOrDefault(cloudEvent, 0L);
+    private void commit(ConsumerRecord<String, CloudEvent> rec, EventMeshAction action) {
+        switch (action) {
+            case CommitMessage:
+                // update offset
+                commit(new TopicPartition(rec.topic(), rec.partition()), rec.offset());
+                logger.debug("message commit, topic: {}, current offset:{}", rec.topic(), rec.offset());
+                break;
+            case ReconsumeLater:
+                // keep the offset uncommitted and deliver the record again
+                reconsume(rec);
+                break;
+            case ManualAck:
+                // the offset is updated by Consumer#updateOffset once the client acked
+                logger.debug("message ack, topic: {}, current offset:{}", rec.topic(), rec.offset());
+                break;
+            default:
+        }
     }
 
     @Override
     public void run() {
-        while (!closed.get()) {
-            try {
-                ConsumerRecords<String, CloudEvent> records = consumer.poll(Duration.ofMillis(10000));
-                // Handle new records
-                records.forEach(rec -> {
-                    try {
-                        CloudEvent cloudEvent = rec.value();
-                        String topicName = cloudEvent.getSubject();
-                        EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext = new EventMeshAsyncConsumeContext() {
-                            @Override
-                            public void commit(EventMeshAction action) {
-                                switch (action) {
-                                    case CommitMessage:
-                                        // update offset
-                                        logger.info("message commit, topic: {}, current offset:{}", topicName,
-                                            rec.offset());
-                                        break;
-                                    case ReconsumeLater:
-                                        // don't update offset
-                                        break;
-                                    case ManualAck:
-                                        // update offset
-                                        logger
-                                            .info("message ack, topic: {}, current offset:{}", topicName, rec.offset());
-                                        break;
-                                    default:
-                                }
-                            }
-                        };
-                        cloudEventToOffset.put(cloudEvent, rec.offset());
-                        if (listener != null) {
-                            listener.consume(cloudEvent, eventMeshAsyncConsumeContext);
-                        }
-                    } catch (Exception e) {
-                        logger.info("Error parsing cloudevents: {}", e.getMessage());
+        try {
+            while (!closed.get()) {
+                try {
+                    pollOnce();
+                } catch (WakeupException e) {
+                    // Ignore exception if closing
+                    if (!closed.get()) {
+                        logger.warn("kafka consumer woken up while not closing", e);
                     }
-                });
-            } catch (WakeupException e) {
-                // Ignore exception if closing
-                if (!closed.get()) {
-                    throw e;
+                } catch (Exception e) {
+                    // keep polling, the records not committed are consumed again
+                    logger.error("kafka consumer poll error, retry in {}ms", POLL_TIMEOUT.toMillis(), e);
+                    awaitSubscriptionChange();
+                }
+            }
+        } finally {
+            consumer.close();
+        }
+    }
+
+    /**
+     * Apply the subscription changes, commit the acked offsets, deliver the records due for reconsumption,
+     * then poll and deliver the new records.
+     */
+    void pollOnce() {
+        applySubscriptionChanges();
+        commitPendingOffsets();
+        List<ConsumerRecord<String, CloudEvent>> dueRecords = pollReconsumeRecords();
+        if (!dueRecords.isEmpty()) {
+            deliver(dueRecords);
+        }
+        if (!subscribed) {
+            // kafka refuses to poll a consumer without subscription
+            awaitSubscriptionChange();
+            return;
+        }
+        ConsumerRecords<String, CloudEvent> records = consumer.poll(POLL_TIMEOUT);
+        if (records.isEmpty()) {
+            return;
+        }
+        List<ConsumerRecord<String, CloudEvent>> newRecords = new ArrayList<>(records.count());
+        for (ConsumerRecord<String, CloudEvent> rec : records) {
+            partitionOffsets.computeIfAbsent(new TopicPartition(rec.topic(), rec.partition()), k -> new PartitionOffsets())
+                .deliver(rec.offset());
+            newRecords.add(rec);
+        }
+        deliver(newRecords);
+    }
+
+    private void applySubscriptionChanges() {
+        List<String> topics = null;
+        synchronized (subscriptionChanges) {
+            List<String> change;
+            // only the last change matters
+            while ((change = subscriptionChanges.poll()) != null) {
+                topics = change;
+            }
+        }
+        if (topics == null) {
+            return;
+        }
+        if (topics.isEmpty()) {
+            consumer.unsubscribe();
+        } else {
+            consumer.subscribe(topics, this);
+        }
+        subscribed = !topics.isEmpty();
+    }
+
+    private void awaitSubscriptionChange() {
+        synchronized (subscriptionChanges) {
+            if (subscriptionChanges.isEmpty() && !closed.get()) {
+                try {
+                    subscriptionChanges.wait(POLL_TIMEOUT.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 }
-            } finally {
-                consumer.close();
-                break;
             }
         }
     }
 
+    private List<ConsumerRecord<String, CloudEvent>> pollReconsumeRecords() {
+        List<ConsumerRecord<String, CloudEvent>> dueRecords = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        // every record waits the same delay, so the queue is ordered by due time
+        ReconsumeRecord reconsumeRecord;
+        while ((reconsumeRecord = reconsumeRecords.peek()) != null && reconsumeRecord.dueTime <= now) {
+            reconsumeRecords.poll();
+            ConsumerRecord<String, CloudEvent> rec = reconsumeRecord.rec;
+            if (partitionOffsets.containsKey(new TopicPartition(rec.topic(), rec.partition()))) {
+                dueRecords.add(rec);
+            }
+        }
+        return dueRecords;
+    }
+
+    private void deliver(List<ConsumerRecord<String, CloudEvent>> records) {
+        BatchEventListener currentBatchListener = batchListener;
+        if (currentBatchListener != null) {
+            consumeBatch(records, currentBatchListener);
+        } else {
+            records.forEach(this::consume);
+        }
+    }
+
+    private void consume(ConsumerRecord<String, CloudEvent> rec) {
+        CloudEvent cloudEvent;
+        try {
+            cloudEvent = toEvent(rec);
+        } catch (Exception e) {
+            logger.info("Error parsing cloudevents: {}", e.getMessage());
+            // the record can never be consumed, do not hold the offsets after it
+            commit(new TopicPartition(rec.topic(), rec.partition()), rec.offset());
+            return;
+        }
+        EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext = new EventMeshAsyncConsumeContext() {
+            @Override
+            public void commit(EventMeshAction action) {
+                KafkaConsumerRunner.this.commit(rec, action);
+            }
+        };
+        EventListener currentListener = listener;
+        if (currentListener != null) {
+            try {
+                currentListener.consume(cloudEvent, eventMeshAsyncConsumeContext);
+            } catch (Exception e) {
+                logger.error("Error consuming cloudevent, topic: {}, offset: {}", rec.topic(), rec.offset(), e);
+                reconsume(rec);
+            }
+        }
+    }
+
+    private void consumeBatch(List<ConsumerRecord<String, CloudEvent>> records, BatchEventListener currentBatchListener) {
+        List<CloudEvent> cloudEvents = new ArrayList<>(records.size());
+        List<ConsumerRecord<String, CloudEvent>> batchRecords = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, CloudEvent> rec : records) {
+            try {
+                cloudEvents.add(toEvent(rec));
+                batchRecords.add(rec);
+            } catch (Exception e) {
+                logger.info("Error parsing cloudevents: {}", e.getMessage());
+                commit(new TopicPartition(rec.topic(), rec.partition()), rec.offset());
+            }
+        }
+        if (cloudEvents.isEmpty()) {
+            return;
+        }
+        boolean[] committed = new boolean[batchRecords.size()];
+        BatchConsumeContext batchConsumeContext = new BatchConsumeContext(cloudEvents.size()) {
+            @Override
+            public AbstractContext getAbstractContext(int index) {
+                return null;
+            }
+
+            @Override
+            public void commit(int fromIndex, int toIndex, EventMeshAction action) {
+                for (int i = fromIndex; i < toIndex; i++) {
+                    committed[i] = true;
+                    KafkaConsumerRunner.this.commit(batchRecords.get(i), action);
+                }
+            }
+        };
+        try {
+            currentBatchListener.consume(cloudEvents, batchConsumeContext);
+        } catch (Exception e) {
+            logger.error("Error consuming a batch of {} cloudevents", cloudEvents.size(), e);
+        }
+        // the committed events keep their action, the others would pin the committed offset, so they are consumed again
+        for (int i = 0; i < committed.length; i++) {
+            if (!committed[i]) {
+                reconsume(batchRecords.get(i));
+            }
+        }
+    }
+
+    private CloudEvent toEvent(ConsumerRecord<String, CloudEvent> rec) {
+        return CloudEventBuilder.from(rec.value())
+            .withExtension(PARTITION_EXTENSION, rec.partition())
+            .withExtension(OFFSET_EXTENSION, rec.offset())
+            .build();
+    }
+
+    private void commitPendingOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> offsets = collectCommitOffsets(partitionOffsets.keySet());
+        if (offsets.isEmpty()) {
+            return;
+        }
+        consumer.commitAsync(offsets, (committed, e) -> {
+            if (e != null) {
+                // the offsets are still pending, they are committed again with the next poll
+                logger.warn("commit offsets {} failed, retry with the next poll", committed, e);
+                return;
+            }
+            committed.forEach((topicPartition, offset) -> {
+                PartitionOffsets offsetsOfPartition = partitionOffsets.get(topicPartition);
+                if (offsetsOfPartition != null) {
+                    offsetsOfPartition.committed(offset.offset());
+                }
+            });
+        });
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> collectCommitOffsets(Collection<TopicPartition> topicPartitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition topicPartition : topicPartitions) {
+            PartitionOffsets offsetsOfPartition = partitionOffsets.get(topicPartition);
+            long offset = offsetsOfPartition == null ? -1 : offsetsOfPartition.pendingCommitOffset();
+            if (offset >= 0) {
+                offsets.put(topicPartition, new OffsetAndMetadata(offset));
+            }
+        }
+        return offsets;
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        // called by the poll thread, commit what was acked before the new owner starts from the committed offsets
+        Map<TopicPartition, OffsetAndMetadata> offsets = collectCommitOffsets(partitions);
+        if (!offsets.isEmpty()) {
+            try {
+                consumer.commitSync(offsets);
+            } catch (Exception e) {
+                logger.warn("commit offsets {} of the revoked partitions failed", offsets, e);
+            }
+        }
+        partitions.forEach(partitionOffsets::remove);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        // the records are tracked from their first delivery
+    }
+
     // Shutdown hook which can be called from a separate thread
     public void shutdown() {
         closed.set(true);
         consumer.wakeup();
+        synchronized (subscriptionChanges) {
+            subscriptionChanges.notifyAll();
+        }
     }
-}
 
+    /**
+     * Offsets of a partition delivered and not acked yet, the committed offset can not pass the first of them.
+     */
+    static class PartitionOffsets {
+
+        private final TreeSet<Long> unacked = new TreeSet<>();
+
+        /**
+         * Next offset after the last one delivered
+         */
+        private long nextOffset = -1;
 
+        private long committedOffset = -1;
+
+        synchronized void deliver(long offset) {
+            if (committedOffset < 0) {
+                // kafka delivers from the committed offset, there is nothing to commit before the first record
+                committedOffset = offset;
+            }
+            unacked.add(offset);
+            nextOffset = Math.max(nextOffset, offset + 1);
+        }
 
+        synchronized void ack(long offset) {
+            unacked.remove(offset);
+        }
+
+        /**
+         * @return the committed offset of kafka is the next one to consume: the first unacked offset, or the one after
+         *     the last delivered if all are acked. -1 if it is already committed.
+         */
+        synchronized long pendingCommitOffset() {
+            long offset = unacked.isEmpty() ? nextOffset : unacked.first();
+            return offset > committedOffset ? offset : -1;
+        }
+
+        synchronized void committed(long offset) {
+            committedOffset = Math.max(committedOffset, offset);
+        }
+    }
+
+    private static class ReconsumeRecord {
+
+        private final ConsumerRecord<String, CloudEvent> rec;
+
+        private final long dueTime;
+
+        ReconsumeRecord(ConsumerRecord<String, CloudEvent> rec, long dueTime) {
+            this.rec = rec;
+            this.dueTime = dueTime;
+        }
+    }
+}
@@ -17,9 +17,12 @@
 
 package org.apache.eventmesh.connector.kafka.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
+import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
+import org.apache.eventmesh.api.producer.BatchSendResultCollector;
 
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.producer.KafkaProducer;
@@ -27,6 +30,8 @@ import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.StringSerializer;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -108,6 +113,35 @@ public class ProducerImpl {
     public void sendOneway(CloudEvent message) {
     }
 
+    /**
+     * The records are appended to the accumulator of the producer without waiting, it groups them per partition
+     * and sends each group in a single produce request.
+     */
+    public void sendBatch(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) {
+        if (cloudEvents.isEmpty()) {
+            batchSendCallback.onSuccess(Collections.emptyList());
+            return;
+        }
+        BatchSendResultCollector collector = new BatchSendResultCollector(cloudEvents.size(), batchSendCallback);
+        for (CloudEvent cloudEvent : cloudEvents) {
+            try {
+                this.producer.send(new ProducerRecord<>(cloudEvent.getSubject(), cloudEvent), (metadata, exception) -> {
+                    if (exception != null) {
+                        collector.onException(cloudEvent, exception);
+                        return;
+                    }
+                    SendResult sendResult = new SendResult();
+                    sendResult.setTopic(metadata.topic());
+                    sendResult.setMessageId(cloudEvent.getId());
+                    collector.onSuccess(sendResult);
+                });
+            } catch (Exception e) {
+                log.error(String.format("Send message batch Exception, %s", cloudEvent), e);
+                collector.onException(cloudEvent, e);
+            }
+        }
+    }
+
     public void sendAsync(CloudEvent cloudEvent, SendCallback sendCallback) {
         try {
             this.producer.send(new ProducerRecord<>(cloudEvent.getSubject(), cloudEvent));
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.kafka.consumer;
+
+import org.apache.eventmesh.api.BatchConsumeContext;
+import org.apache.eventmesh.api.BatchEventListener;
+import org.apache.eventmesh.api.EventListener;
+import org.apache.eventmesh.api.EventMeshAction;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.common.TopicPartition;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class KafkaConsumerRunnerTest {
+
+    private static final String TOPIC = "TEST-TOPIC";
+
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    private KafkaConsumer<String, CloudEvent> consumer;
+
+    private KafkaConsumerRunner runner;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        consumer = Mockito.mock(KafkaConsumer.class);
+        Mockito.when(consumer.poll(ArgumentMatchers.any(Duration.class))).thenReturn(ConsumerRecords.empty());
+        runner = new KafkaConsumerRunner(consumer, 0);
+        runner.subscribe(Collections.singletonList(TOPIC));
+    }
+
+    @Test
+    public void testStartThenSubscribe() throws InterruptedException {
+        KafkaConsumerRunner startedRunner = new KafkaConsumerRunner(consumer, 0);
+        CountDownLatch delivered = new CountDownLatch(1);
+        startedRunner.setListener((cloudEvent, context) -> {
+            context.commit(EventMeshAction.CommitMessage);
+            delivered.countDown();
+        });
+        // a failed poll does not stop the runner
+        Mockito.when(consumer.poll(ArgumentMatchers.any(Duration.class)))
+            .thenThrow(new IllegalStateException("poll failed"))
+            .thenReturn(records(0))
+            .thenReturn(ConsumerRecords.empty());
+        Thread pollThread = new Thread(startedRunner);
+        pollThread.start();
+        try {
+            Thread.sleep(100);
+            // kafka refuses to poll a consumer without subscription
+            Mockito.verify(consumer, Mockito.never()).poll(ArgumentMatchers.any(Duration.class));
+
+            startedRunner.subscribe(Collections.singletonList(TOPIC));
+            Mockito.verify(consumer, Mockito.timeout(5000)).subscribe(Collections.singletonList(TOPIC), startedRunner);
+            Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        } finally {
+            startedRunner.shutdown();
+            pollThread.join(5000);
+        }
+        Assert.assertFalse(pollThread.isAlive());
+        Mockito.verify(consumer).close();
+    }
+
+    @Test
+    public void testCommitStopsAtFirstUnacked() {
+        List<CloudEvent> delivered = new ArrayList<>();
+        runner.setBatchListener((cloudEvents, context) -> {
+            delivered.addAll(cloudEvents);
+            context.commit(0, 1, EventMeshAction.CommitMessage);
+            context.commit(1, 2, EventMeshAction.ManualAck);
+            context.commit(2, 3, EventMeshAction.CommitMessage);
+        });
+        pollRecords(0, 1, 2);
+
+        // the acks are committed by the poll after the delivery
+        runner.pollOnce();
+        runner.pollOnce();
+        // offset 1 waits for the client ack, offset 2 can not be committed before it
+        Assert.assertEquals(Long.valueOf(1), lastCommittedOffset());
+
+        runner.commit(delivered.get(1));
+        runner.pollOnce();
+        Assert.assertEquals(Long.valueOf(3), lastCommittedOffset());
+    }
+
+    @Test
+    public void testNothingCommittedBeforeAck() {
+        runner.setBatchListener((cloudEvents, context) -> context.commit(EventMeshAction.ManualAck));
+        pollRecords(5, 6);
+
+        runner.pollOnce();
+        runner.pollOnce();
+
+        Mockito.verify(consumer, Mockito.never()).commitAsync(ArgumentMatchers.anyMap(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testReconsumeLaterDeliveredAgain() {
+        AtomicInteger deliveries = new AtomicInteger();
+        EventListener listener = (cloudEvent, context) -> context.commit(deliveries.incrementAndGet() == 1
+            ? EventMeshAction.ReconsumeLater : EventMeshAction.CommitMessage);
+        runner.setListener(listener);
+        pollRecords(0);
+
+        // the record is delivered again with the next poll, then committed by the poll after
+        runner.pollOnce();
+        runner.pollOnce();
+        Assert.assertEquals(2, deliveries.get());
+        runner.pollOnce();
+        Assert.assertEquals(Long.valueOf(1), lastCommittedOffset());
+    }
+
+    @Test
+    public void testUncommittedBatchEventsReconsumedOnFailure() {
+        List<Long> offsets = new ArrayList<>();
+        BatchEventListener batchListener = new BatchEventListener() {
+            @Override
+            public void consume(List<CloudEvent> cloudEvents, BatchConsumeContext context) {
+                cloudEvents.forEach(cloudEvent -> offsets.add((Long) cloudEvent.getExtension(KafkaConsumerRunner.OFFSET_EXTENSION)));
+                if (offsets.size() == 2) {
+                    context.commit(0, 1, EventMeshAction.CommitMessage);
+                    throw new IllegalStateException("consume failed");
+                }
+                context.commit(EventMeshAction.CommitMessage);
+            }
+        };
+        runner.setBatchListener(batchListener);
+        pollRecords(0, 1);
+
+        runner.pollOnce();
+        runner.pollOnce();
+        runner.pollOnce();
+
+        // only the event which was not committed is delivered again
+        Assert.assertEquals(3, offsets.size());
+        Assert.assertEquals(Long.valueOf(1), offsets.get(2));
+        Assert.assertEquals(Long.valueOf(2), lastCommittedOffset());
+    }
+
+    @Test
+    public void testUncommittedBatchEventsReconsumedOnReturn() {
+        List<Long> offsets = new ArrayList<>();
+        runner.setBatchListener((cloudEvents, context) -> {
+            cloudEvents.forEach(cloudEvent -> offsets.add((Long) cloudEvent.getExtension(KafkaConsumerRunner.OFFSET_EXTENSION)));
+            // the second event is left uncommitted the first time
+            context.commit(0, offsets.size() == 2 ? 1 : cloudEvents.size(), EventMeshAction.CommitMessage);
+        });
+        pollRecords(0, 1);
+
+        runner.pollOnce();
+        runner.pollOnce();
+        runner.pollOnce();
+
+        Assert.assertEquals(3, offsets.size());
+        Assert.assertEquals(Long.valueOf(1), offsets.get(2));
+        Assert.assertEquals(Long.valueOf(2), lastCommittedOffset());
+    }
+
+    @Test
+    public void testRevokedPartition() {
+        List<CloudEvent> delivered = new ArrayList<>();
+        runner.setBatchListener((cloudEvents, context) -> {
+            delivered.addAll(cloudEvents);
+            context.commit(0, 1, EventMeshAction.CommitMessage);
+        });
+        pollRecords(0, 1);
+        runner.pollOnce();
+
+        runner.onPartitionsRevoked(Collections.singletonList(PARTITION));
+
+        Mockito.verify(consumer).commitSync(Collections.singletonMap(PARTITION, new OffsetAndMetadata(1)));
+        // the new owner of the partition consumes the record again, a late ack is dropped
+        runner.commit(delivered.get(1));
+        runner.pollOnce();
+        Mockito.verify(consumer, Mockito.never()).commitAsync(ArgumentMatchers.anyMap(), ArgumentMatchers.any());
+    }
+
+    private void pollRecords(long... offsets) {
+        Mockito.when(consumer.poll(ArgumentMatchers.any(Duration.class)))
+            .thenReturn(records(offsets))
+            .thenReturn(ConsumerRecords.empty());
+    }
+
+    private ConsumerRecords<String, CloudEvent> records(long... offsets) {
+        List<ConsumerRecord<String, CloudEvent>> records = new ArrayList<>();
+        for (long offset : offsets) {
+            CloudEvent cloudEvent = CloudEventBuilder.v1()
+                .withId(String.valueOf(offset))
+                .withSource(URI.create("/test"))
+                .withType("test")
+                .withSubject(TOPIC)
+                .build();
+            records.add(new ConsumerRecord<>(TOPIC, PARTITION.partition(), offset, null, cloudEvent));
+        }
+        Map<TopicPartition, List<ConsumerRecord<String, CloudEvent>>> partitionRecords = new HashMap<>();
+        partitionRecords.put(PARTITION, records);
+        return new ConsumerRecords<>(partitionRecords);
+    }
+
+    /**
+     * @return offset of the partition in the last commit, which is acknowledged as successful
+     */
+    @SuppressWarnings("unchecked")
+    private Long lastCommittedOffset() {
+        ArgumentCaptor<Map<TopicPartition, OffsetAndMetadata>> offsets = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<OffsetCommitCallback> callback = ArgumentCaptor.forClass(OffsetCommitCallback.class);
+        Mockito.verify(consumer, Mockito.atLeastOnce()).commitAsync(offsets.capture(), callback.capture());
+        Map<TopicPartition, OffsetAndMetadata> committed = offsets.getValue();
+        callback.getValue().onComplete(committed, null);
+        return committed.get(PARTITION).offset();
+    }
+}
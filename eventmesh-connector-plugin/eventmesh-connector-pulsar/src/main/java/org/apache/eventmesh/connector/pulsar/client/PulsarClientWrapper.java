@@ -17,8 +17,10 @@
 
 package org.apache.eventmesh.connector.pulsar.client;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
+import org.apache.eventmesh.api.producer.BatchSendResultCollector;
 import org.apache.eventmesh.connector.pulsar.config.ClientConfiguration;
 import org.apache.eventmesh.connector.pulsar.utils.CloudEventUtils;
 
@@ -27,8 +29,12 @@ import org.apache.pulsar.client.api.Producer;
 import org.apache.pulsar.client.api.PulsarClient;
 import org.apache.pulsar.client.api.PulsarClientException;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import io.cloudevents.CloudEvent;
@@ -99,6 +105,42 @@ public class PulsarClientWrapper {
         }
     }
 
+    /**
+     * Queue every event on the producer of its topic, which packs them in batch messages, then flush the producers
+     * so that the batches leave at once instead of after the max publish delay.
+     */
+    public void publishBatch(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) {
+        if (cloudEvents.isEmpty()) {
+            batchSendCallback.onSuccess(Collections.emptyList());
+            return;
+        }
+        BatchSendResultCollector collector = new BatchSendResultCollector(cloudEvents.size(), batchSendCallback);
+        Set<Producer<byte[]>> producers = new LinkedHashSet<>();
+        for (CloudEvent cloudEvent : cloudEvents) {
+            try {
+                String topic = cloudEvent.getSubject();
+                Producer<byte[]> producer = producerMap.computeIfAbsent(topic, k -> createProducer(topic));
+                byte[] serializedCloudEvent = EventFormatProvider
+                    .getInstance()
+                    .resolveFormat(JsonFormat.CONTENT_TYPE)
+                    .serialize(cloudEvent);
+                producer.sendAsync(serializedCloudEvent).whenComplete((messageId, throwable) -> {
+                    if (throwable != null) {
+                        collector.onException(cloudEvent, throwable);
+                    } else {
+                        collector.onSuccess(CloudEventUtils.convertSendResult(cloudEvent));
+                    }
+                });
+                producers.add(producer);
+            } catch (Exception ex) {
+                log.error("Failed to publish cloudEvent for {} with exception: {}",
+                    cloudEvent.getSubject(), ex.getMessage());
+                collector.onException(cloudEvent, ex);
+            }
+        }
+        producers.forEach(Producer::flushAsync);
+    }
+
     public void shutdown() throws PulsarClientException {
         pulsarClient.close();
         for (Map.Entry<String, Producer<byte[]>> producerEntry : producerMap.entrySet()) {
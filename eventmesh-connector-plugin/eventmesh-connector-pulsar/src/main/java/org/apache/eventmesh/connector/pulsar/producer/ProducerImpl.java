@@ -17,10 +17,12 @@
 
 package org.apache.eventmesh.connector.pulsar.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.connector.pulsar.client.PulsarClientWrapper;
 import org.apache.eventmesh.connector.pulsar.config.ClientConfiguration;
 
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -46,6 +48,10 @@ public class ProducerImpl extends AbstractProducer {
         this.pulsarClient.publish(cloudEvent, sendCallback);
     }
 
+    public void publishBatch(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) {
+        this.pulsarClient.publishBatch(cloudEvents, batchSendCallback);
+    }
+
     public void init(Properties properties) {
         new ProducerImpl(properties);
     }
@@ -17,11 +17,13 @@
 
 package org.apache.eventmesh.connector.pulsar.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
 import org.apache.eventmesh.api.producer.Producer;
 
+import java.util.List;
 import java.util.Properties;
 
 import io.cloudevents.CloudEvent;
@@ -40,6 +42,11 @@ public class PulsarProducerImpl implements Producer {
         producer.publish(cloudEvent, sendCallback);
     }
 
+    @Override
+    public void publishBatch(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) throws Exception {
+        producer.publishBatch(cloudEvents, batchSendCallback);
+    }
+
     @Override
     public boolean isStarted() {
         return producer.isStarted();
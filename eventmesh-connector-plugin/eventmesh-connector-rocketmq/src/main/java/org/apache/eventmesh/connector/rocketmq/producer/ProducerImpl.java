@@ -17,11 +17,13 @@
 
 package org.apache.eventmesh.connector.rocketmq.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.api.producer.BatchSendResultCollector;
 import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.connector.rocketmq.cloudevent.RocketMQMessageFactory;
 import org.apache.eventmesh.connector.rocketmq.utils.CloudEventUtils;
@@ -35,8 +37,14 @@ import org.apache.rocketmq.common.message.Message;
 import org.apache.rocketmq.common.message.MessageAccessor;
 import org.apache.rocketmq.common.message.MessageClientIDSetter;
 import org.apache.rocketmq.common.message.MessageConst;
+import org.apache.rocketmq.common.message.MessageDecoder;
 import org.apache.rocketmq.remoting.exception.RemotingException;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 
@@ -116,6 +124,94 @@ public class ProducerImpl extends AbstractProducer {
         }
     }
 
+    /**
+     * Send the events as RocketMQ message batches, one batch per topic of at most the max message size.
+     * <p>
+     * The batches are sent synchronously, each one succeeds or fails as a whole. Delayed messages can not be
+     * batched by the broker, they are sent one by one.
+     */
+    public void sendBatch(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) {
+        if (cloudEvents.isEmpty()) {
+            batchSendCallback.onSuccess(Collections.emptyList());
+            return;
+        }
+        this.checkProducerServiceState(this.rocketmqProducer.getDefaultMQProducerImpl());
+        BatchSendResultCollector collector = new BatchSendResultCollector(cloudEvents.size(), batchSendCallback);
+        Map<String, List<CloudEvent>> topicEvents = new LinkedHashMap<>();
+        for (CloudEvent cloudEvent : cloudEvents) {
+            topicEvents.computeIfAbsent(Objects.requireNonNull(cloudEvent.getSubject()), k -> new ArrayList<>()).add(cloudEvent);
+        }
+        int maxBatchSize = this.rocketmqProducer.getMaxMessageSize();
+        for (List<CloudEvent> events : topicEvents.values()) {
+            List<Message> batch = new ArrayList<>();
+            List<CloudEvent> batchEvents = new ArrayList<>();
+            int batchSize = 0;
+            for (CloudEvent cloudEvent : events) {
+                Message msg;
+                try {
+                    msg = supplySysProp(RocketMQMessageFactory.createWriter(cloudEvent.getSubject()).writeBinary(cloudEvent), cloudEvent);
+                } catch (Exception e) {
+                    collector.onException(cloudEvent, e);
+                    continue;
+                }
+                if (msg.getDelayTimeLevel() > 0) {
+                    sendOne(cloudEvent, collector);
+                    continue;
+                }
+                int size = messageSize(msg);
+                if (!batch.isEmpty() && batchSize + size > maxBatchSize) {
+                    sendBatch(batch, batchEvents, collector);
+                    batch = new ArrayList<>();
+                    batchEvents = new ArrayList<>();
+                    batchSize = 0;
+                }
+                batch.add(msg);
+                batchEvents.add(cloudEvent);
+                batchSize += size;
+            }
+            if (!batch.isEmpty()) {
+                sendBatch(batch, batchEvents, collector);
+            }
+        }
+    }
+
+    private void sendBatch(List<Message> batch, List<CloudEvent> batchEvents, BatchSendResultCollector collector) {
+        try {
+            this.rocketmqProducer.send(batch);
+        } catch (Exception e) {
+            String topic = batch.get(0).getTopic();
+            log.error(String.format("Send message batch Exception, topic: %s, size: %d", topic, batch.size()), e);
+            ConnectorRuntimeException onsEx = this.checkProducerException(topic, null, e);
+            batchEvents.forEach(cloudEvent -> collector.onException(cloudEvent, onsEx));
+            return;
+        }
+        // the producer gave every message of the batch its unique id
+        for (Message msg : batch) {
+            SendResult sendResult = new SendResult();
+            sendResult.setTopic(msg.getTopic());
+            sendResult.setMessageId(MessageClientIDSetter.getUniqID(msg));
+            collector.onSuccess(sendResult);
+        }
+    }
+
+    private void sendOne(CloudEvent cloudEvent, BatchSendResultCollector collector) {
+        SendResult sendResult;
+        try {
+            sendResult = send(cloudEvent);
+        } catch (Exception e) {
+            collector.onException(cloudEvent, e);
+            return;
+        }
+        collector.onSuccess(sendResult);
+    }
+
+    private static int messageSize(Message msg) {
+        // the producer gives every message of a batch its unique id before encoding the batch, set it first
+        // so the encoded size is the one the broker checks against the max message size
+        MessageClientIDSetter.setUniqID(msg);
+        return MessageDecoder.encodeMessage(msg).length;
+    }
+
     public void request(CloudEvent cloudEvent, RequestReplyCallback rrCallback, long timeout)
             throws InterruptedException, RemotingException, MQClientException, MQBrokerException {
 
@@ -17,6 +17,7 @@
 
 package org.apache.eventmesh.connector.rocketmq.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.producer.Producer;
@@ -28,6 +29,7 @@ import org.apache.rocketmq.client.exception.MQBrokerException;
 import org.apache.rocketmq.client.exception.MQClientException;
 import org.apache.rocketmq.remoting.exception.RemotingException;
 
+import java.util.List;
 import java.util.Properties;
 
 import io.cloudevents.CloudEvent;
@@ -83,6 +85,11 @@ public class RocketMQProducerImpl implements Producer {
         producer.sendAsync(message, sendCallback);
     }
 
+    @Override
+    public void publishBatch(List<CloudEvent> messages, BatchSendCallback batchSendCallback) throws Exception {
+        producer.sendBatch(messages, batchSendCallback);
+    }
+
     @Override
     public void request(CloudEvent message, RequestReplyCallback rrCallback, long timeout)
             throws InterruptedException, RemotingException, MQClientException, MQBrokerException {
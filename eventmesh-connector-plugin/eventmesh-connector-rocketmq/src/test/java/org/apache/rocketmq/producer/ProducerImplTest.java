@@ -20,8 +20,11 @@ package org.apache.rocketmq.producer;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Fail.failBecauseExceptionWasNotThrown;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
 import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.connector.rocketmq.producer.AbstractProducer;
 import org.apache.eventmesh.connector.rocketmq.producer.ProducerImpl;
@@ -34,17 +37,24 @@ import org.apache.rocketmq.client.producer.SendResult;
 import org.apache.rocketmq.client.producer.SendStatus;
 import org.apache.rocketmq.common.ServiceState;
 import org.apache.rocketmq.common.message.Message;
+import org.apache.rocketmq.common.message.MessageDecoder;
 import org.apache.rocketmq.common.message.MessageQueue;
 import org.apache.rocketmq.remoting.exception.RemotingException;
 
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -136,4 +146,104 @@ public class ProducerImplTest {
         Mockito.verify(rocketmqProducer).send(any(Message.class));
     }
 
+    @Test
+    public void testSendBatch_SplitAtMaxMessageSize() throws Exception {
+        mockRunningProducer();
+        Mockito.when(rocketmqProducer.getMaxMessageSize()).thenReturn(5000);
+        // 2000 bytes of body each, only two of them fit in one batch
+        List<CloudEvent> cloudEvents = Arrays.asList(
+                buildCloudEvent("id1", "HELLO_TOPIC", 2000), buildCloudEvent("id2", "HELLO_TOPIC", 2000),
+                buildCloudEvent("id3", "HELLO_TOPIC", 2000));
+        RecordingBatchSendCallback callback = new RecordingBatchSendCallback();
+
+        producer.sendBatch(cloudEvents, callback);
+
+        List<Collection<Message>> batches = captureBatches(2);
+        Assert.assertEquals(2, batches.get(0).size());
+        Assert.assertEquals(1, batches.get(1).size());
+        for (Collection<Message> batch : batches) {
+            // what the broker checks: the encoded batch, unique ids included
+            Assert.assertTrue(MessageDecoder.encodeMessages(new ArrayList<>(batch)).length <= 5000);
+        }
+        Assert.assertEquals(3, callback.sendResults.size());
+        Assert.assertNull(callback.contexts);
+    }
+
+    @Test
+    public void testSendBatch_OneBatchPerTopic() throws Exception {
+        mockRunningProducer();
+        Mockito.when(rocketmqProducer.getMaxMessageSize()).thenReturn(1024 * 1024 * 4);
+        List<CloudEvent> cloudEvents = Arrays.asList(
+                buildCloudEvent("id1", "TOPIC_A", 10), buildCloudEvent("id2", "TOPIC_B", 10),
+                buildCloudEvent("id3", "TOPIC_A", 10));
+        RecordingBatchSendCallback callback = new RecordingBatchSendCallback();
+
+        producer.sendBatch(cloudEvents, callback);
+
+        List<Collection<Message>> batches = captureBatches(2);
+        Assert.assertEquals(2, batches.get(0).size());
+        batches.get(0).forEach(msg -> Assert.assertEquals("TOPIC_A", msg.getTopic()));
+        Assert.assertEquals(1, batches.get(1).size());
+        Assert.assertEquals("TOPIC_B", batches.get(1).iterator().next().getTopic());
+        Assert.assertEquals(3, callback.sendResults.size());
+    }
+
+    @Test
+    public void testSendBatch_WithException() throws Exception {
+        mockRunningProducer();
+        Mockito.when(rocketmqProducer.getMaxMessageSize()).thenReturn(1024 * 1024 * 4);
+        Mockito.when(rocketmqProducer.send(anyCollection()))
+                .thenThrow(new MQClientException("Send message to RocketMQ broker failed.", new Exception()));
+        RecordingBatchSendCallback callback = new RecordingBatchSendCallback();
+
+        producer.sendBatch(Arrays.asList(buildCloudEvent("id1", "HELLO_TOPIC", 10),
+                buildCloudEvent("id2", "HELLO_TOPIC", 10)), callback);
+
+        Assert.assertTrue(callback.sendResults.isEmpty());
+        Assert.assertEquals(2, callback.contexts.size());
+        callback.contexts.forEach(context -> Assert.assertEquals("HELLO_TOPIC", context.getTopic()));
+    }
+
+    private void mockRunningProducer() {
+        DefaultMQProducer defaultMQProducer = new DefaultMQProducer("testGroup");
+        DefaultMQProducerImpl defaultMQProducerImpl = new DefaultMQProducerImpl(defaultMQProducer);
+        defaultMQProducerImpl.setServiceState(ServiceState.RUNNING);
+        Mockito.when(rocketmqProducer.getDefaultMQProducerImpl()).thenReturn(defaultMQProducerImpl);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Collection<Message>> captureBatches(int times) throws Exception {
+        ArgumentCaptor<Collection<Message>> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(rocketmqProducer, Mockito.times(times)).send(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static CloudEvent buildCloudEvent(String id, String topic, int dataSize) {
+        return CloudEventBuilder.v1()
+                .withId(id)
+                .withSource(URI.create("https://github.com/cloudevents/*****"))
+                .withType("producer.example")
+                .withSubject(topic)
+                .withData(new byte[dataSize])
+                .build();
+    }
+
+    private static class RecordingBatchSendCallback implements BatchSendCallback {
+
+        private List<org.apache.eventmesh.api.SendResult> sendResults;
+
+        private List<OnExceptionContext> contexts;
+
+        @Override
+        public void onSuccess(List<org.apache.eventmesh.api.SendResult> sendResults) {
+            this.sendResults = sendResults;
+        }
+
+        @Override
+        public void onException(List<org.apache.eventmesh.api.SendResult> sendResults, List<OnExceptionContext> contexts) {
+            this.sendResults = sendResults;
+            this.contexts = contexts;
+        }
+    }
+
 }
\ No newline at end of file
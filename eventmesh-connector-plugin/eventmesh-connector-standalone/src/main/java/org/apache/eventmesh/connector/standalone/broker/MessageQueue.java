@@ -19,62 +19,159 @@ package org.apache.eventmesh.connector.standalone.broker;
 
 import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.google.common.base.Preconditions;
 
 /**
- * This is a block queue, can get entity by offset.
+ * This is a ring of messages indexed by offset, the message of an offset lives in the slot offset & (capacity - 1).
  * The queue is a FIFO data structure.
+ * <p>
+ * Producers claim their offset once its slot is free, publish the message into its slot and then help moving
+ * the cursor over the contiguous published offsets. Nothing can fail between the claim and the publish,
+ * an offset claimed but never published would stall the cursor. Reads by offset, peeks and head removals
+ * never lock: a slot tells which offset it holds, so a reader detects a slot which was not published yet
+ * or was already reused.
+ * The lock is only taken to park and wake up the threads waiting for new messages.
  */
 public class MessageQueue {
 
-    public MessageEntity[] items;
+    public static final int DEFAULT_CAPACITY = 2 << 10;
 
-    private int takeIndex;
+    private static final long FULL_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
 
-    private int putIndex;
+    private final AtomicReferenceArray<MessageEntity> slots;
 
-    private int count;
+    private final int mask;
 
-    private final ReentrantLock lock;
+    // oldest offset kept
+    private final Sequence head;
+
+    // highest offset published with every offset before it
+    private final Sequence cursor;
+
+    // next offset claimed by put
+    private final Sequence tail;
 
-    private final Condition notEmpty;
+    // next offset returned by take
+    private final Sequence takeSequence;
+
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final ReentrantLock lock;
 
-    private final Condition notFull;
+    private final Condition published;
 
+    private long wakeups;
 
     public MessageQueue() {
-        this(2 << 10);
+        this(DEFAULT_CAPACITY);
     }
 
     public MessageQueue(int capacity) {
-        if (capacity <= 0) {
+        this(capacity, 0);
+    }
+
+    /**
+     * @param capacity    max messages kept, rounded up to a power of 2
+     * @param startOffset offset of the first message put
+     */
+    public MessageQueue(int capacity, long startOffset) {
+        if (capacity <= 0 || capacity > 1 << 30) {
             throw new IllegalArgumentException("capacity is illegal");
         }
-        this.items = new MessageEntity[capacity];
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.head = new Sequence(startOffset);
+        this.cursor = new Sequence(startOffset - 1);
+        this.tail = new Sequence(startOffset);
+        this.takeSequence = new Sequence(startOffset);
         this.lock = new ReentrantLock();
-        this.notEmpty = lock.newCondition();
-        this.notFull = lock.newCondition();
+        this.published = lock.newCondition();
     }
 
     /**
-     * Insert the message at the tail of this queue, waiting for space to become available if the queue is full
+     * Insert the message at the tail of this queue, waiting for space to become available if the queue is full.
+     * The offset of the message is assigned once it has a slot, so an interrupted put leaves no hole behind.
      *
      * @param messageEntity
      */
     public void put(MessageEntity messageEntity) throws InterruptedException {
         Preconditions.checkNotNull(messageEntity);
-        ReentrantLock lock = this.lock;
-        lock.lockInterruptibly();
-        try {
-            while (count == items.length) {
-                notFull.await();
+        while (true) {
+            long offset = tail.get();
+            if (offset - head.get() > mask) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            } else if (tail.compareAndSet(offset, offset + 1)) {
+                messageEntity.setOffset(offset);
+                publish(messageEntity);
+                return;
             }
-            enqueue(messageEntity);
-        } finally {
-            lock.unlock();
+        }
+    }
+
+    /**
+     * Insert the message at its offset, removing the oldest messages if the queue is full
+     *
+     * @param messageEntity
+     */
+    public void offer(MessageEntity messageEntity) {
+        Preconditions.checkNotNull(messageEntity);
+        long offset = messageEntity.getOffset();
+        long currentHead;
+        while (offset - (currentHead = head.get()) > mask) {
+            long newHead = offset - mask;
+            if (head.compareAndSet(currentHead, newHead)) {
+                for (long evicted = currentHead; evicted < newHead && evicted < currentHead + slots.length(); evicted++) {
+                    clear(evicted);
+                }
+                cursor.setMax(newHead - 1);
+            }
+        }
+        tail.setMax(offset + 1);
+        publish(messageEntity);
+    }
+
+    private void publish(MessageEntity messageEntity) {
+        long offset = messageEntity.getOffset();
+        int index = index(offset);
+        MessageEntity previous;
+        do {
+            previous = slots.get(index);
+            if (previous != null && previous.getOffset() > offset) {
+                // a late producer of an evicted offset must not overwrite the message reusing the slot
+                return;
+            }
+        } while (!slots.compareAndSet(index, previous, messageEntity));
+
+        // move the cursor over every contiguous published offset, whoever publishes last moves it the furthest
+        long current = cursor.get();
+        while (true) {
+            long next = current + 1;
+            MessageEntity nextEntity = slots.get(index(next));
+            if (nextEntity == null || nextEntity.getOffset() != next) {
+                break;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                current = next;
+            } else {
+                current = cursor.get();
+            }
+        }
+        if (waiters.get() > 0) {
+            signalAll(false);
         }
     }
 
@@ -86,15 +183,22 @@ public class MessageQueue {
      * @throws InterruptedException
      */
     public MessageEntity take() throws InterruptedException {
-        ReentrantLock lock = this.lock;
-        lock.lockInterruptibly();
-        try {
-            while (count == 0) {
-                notEmpty.await();
+        while (true) {
+            long offset = takeSequence.get();
+            if (offset < head.get()) {
+                // removed before it was taken
+                takeSequence.compareAndSet(offset, head.get());
+                continue;
+            }
+            if (offset > cursor.get()) {
+                awaitOffset(offset, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                continue;
+            }
+            MessageEntity messageEntity = slots.get(index(offset));
+            if (messageEntity != null && messageEntity.getOffset() == offset
+                && takeSequence.compareAndSet(offset, offset + 1)) {
+                return messageEntity;
             }
-            return dequeue();
-        } finally {
-            lock.unlock();
         }
     }
 
@@ -104,13 +208,11 @@ public class MessageQueue {
      * @return MessageEntity
      */
     public MessageEntity peek() {
-        ReentrantLock lock = this.lock;
-        lock.lock();
-        try {
-            return itemAt(takeIndex);
-        } finally {
-            lock.unlock();
+        long offset = head.get();
+        if (offset > cursor.get()) {
+            return null;
         }
+        return itemAt(offset);
     }
 
     /**
@@ -128,97 +230,127 @@ public class MessageQueue {
      * @return MessageEntity
      */
     public MessageEntity getTail() {
-        ReentrantLock lock = this.lock;
-        lock.lock();
-        try {
-            if (count == 0) {
-                return null;
-            }
-            int tailIndex = putIndex - 1;
-            if (tailIndex < 0) {
-                tailIndex += items.length;
-            }
-            return itemAt(tailIndex);
-        } finally {
-            lock.unlock();
+        long offset = cursor.get();
+        if (offset < head.get()) {
+            return null;
         }
+        return itemAt(offset);
     }
 
     /**
-     * Get the message by offset, since the offset is increment, so we can get the first message in this queue
-     * and calculate the index of this offset
+     * Get the message by offset, the slot of the offset is computed from the offset itself
      *
      * @param offset
      * @return MessageEntity
      */
     public MessageEntity getByOffset(long offset) {
+        if (offset < head.get()) {
+            throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+        }
+        if (offset > cursor.get()) {
+            return null;
+        }
+        MessageEntity messageEntity = itemAt(offset);
+        if (messageEntity == null && offset < head.get()) {
+            throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+        }
+        return messageEntity;
+    }
+
+    /**
+     * Wait until the message of the offset is put in this queue, or the queue is woken up
+     *
+     * @param offset  offset of the awaited message
+     * @param timeout max time to wait
+     * @return false if timed out
+     * @throws InterruptedException
+     */
+    public boolean awaitOffset(long offset, long timeout, TimeUnit unit) throws InterruptedException {
+        if (cursor.get() >= offset) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        waiters.incrementAndGet();
         ReentrantLock lock = this.lock;
-        lock.lock();
         try {
-            MessageEntity head = getHead();
-            if (head == null) {
-                return null;
-            }
-            if (head.getOffset() > offset) {
-                throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+            lock.lockInterruptibly();
+            try {
+                long wakeups = this.wakeups;
+                while (cursor.get() < offset && wakeups == this.wakeups) {
+                    if (nanos <= 0) {
+                        return false;
+                    }
+                    nanos = published.awaitNanos(nanos);
+                }
+                return true;
+            } finally {
+                lock.unlock();
             }
-            MessageEntity tail = getTail();
-            if (tail == null || tail.getOffset() < offset) {
-                return null;
-            }
-            int offsetDis = (int) (head.getOffset() - offset);
-            int offsetIndex = takeIndex - offsetDis;
-            if (offsetIndex < 0) {
-                offsetIndex += items.length;
-            }
-            return itemAt(offsetIndex);
         } finally {
-            lock.unlock();
+            waiters.decrementAndGet();
         }
     }
 
-    public void removeHead() {
+    /**
+     * Wake up the threads waiting in {@link #awaitOffset}
+     */
+    public void wakeup() {
+        signalAll(true);
+    }
+
+    private void signalAll(boolean wakeup) {
         ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            if (count == 0) {
-                return;
+            if (wakeup) {
+                wakeups++;
             }
-            items[takeIndex++] = null;
-            if (takeIndex == items.length) {
-                takeIndex = 0;
-            }
-            notFull.signalAll();
+            published.signalAll();
         } finally {
             lock.unlock();
         }
     }
 
+    public void removeHead() {
+        long offset = head.get();
+        if (offset > cursor.get()) {
+            return;
+        }
+        if (head.compareAndSet(offset, offset + 1)) {
+            clear(offset);
+        }
+    }
+
+    /**
+     * @return offset of the next message put in this queue
+     */
+    public long getNextOffset() {
+        return tail.get();
+    }
+
     public int getSize() {
-        return count;
+        return (int) Math.max(cursor.get() - head.get() + 1, 0);
     }
 
+    public int getCapacity() {
+        return slots.length();
+    }
 
-    private MessageEntity itemAt(int index) {
-        return items[index];
+    private MessageEntity itemAt(long offset) {
+        MessageEntity messageEntity = slots.get(index(offset));
+        return messageEntity != null && messageEntity.getOffset() == offset ? messageEntity : null;
     }
 
-    private void enqueue(MessageEntity messageEntity) {
-        items[putIndex++] = messageEntity;
-        if (putIndex == items.length) {
-            putIndex = 0;
+    private void clear(long offset) {
+        int index = index(offset);
+        MessageEntity messageEntity = slots.get(index);
+        if (messageEntity != null && messageEntity.getOffset() == offset) {
+            slots.compareAndSet(index, messageEntity, null);
         }
-        count++;
-        notEmpty.signalAll();
     }
 
-    private MessageEntity dequeue() {
-        MessageEntity item = items[takeIndex++];
-        if (takeIndex == items.length) {
-            takeIndex = 0;
-        }
-        notFull.signalAll();
-        return item;
+    private int index(long offset) {
+        return (int) (offset & mask);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A volatile long padded on both sides, so that two hot sequences never share a cache line.
+ * The padding goes through the class hierarchy, {@link SequenceLeftPadding} then the value then the fields below.
+ */
+class Sequence extends SequenceValue {
+
+    private static final AtomicLongFieldUpdater<SequenceValue> UPDATER = AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "value");
+
+    protected long p9;
+    protected long p10;
+    protected long p11;
+    protected long p12;
+    protected long p13;
+    protected long p14;
+    protected long p15;
+
+    Sequence(long initialValue) {
+        this.value = initialValue;
+    }
+
+    long get() {
+        return value;
+    }
+
+    void set(long newValue) {
+        value = newValue;
+    }
+
+    boolean compareAndSet(long expect, long update) {
+        return UPDATER.compareAndSet(this, expect, update);
+    }
+
+    /**
+     * Raise the sequence to the value, unless it is already higher
+     */
+    void setMax(long newValue) {
+        long current;
+        while ((current = value) < newValue) {
+            if (compareAndSet(current, newValue)) {
+                return;
+            }
+        }
+    }
+}
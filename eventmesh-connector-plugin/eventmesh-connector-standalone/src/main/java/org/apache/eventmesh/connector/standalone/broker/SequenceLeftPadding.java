@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker;
+
+/**
+ * Padding before the value of a {@link Sequence}: the fields of a superclass are laid out before those of its
+ * subclasses, while the fields of one class may be reordered by the JVM.
+ */
+abstract class SequenceLeftPadding {
+
+    protected long p1;
+    protected long p2;
+    protected long p3;
+    protected long p4;
+    protected long p5;
+    protected long p6;
+    protected long p7;
+}
@@ -17,30 +17,85 @@
 
 package org.apache.eventmesh.connector.standalone.broker;
 
+import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
+import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
 import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+import org.apache.eventmesh.connector.standalone.broker.storage.CommitLog;
+import org.apache.eventmesh.connector.standalone.broker.storage.ConsumerOffsetStore;
 import org.apache.eventmesh.connector.standalone.broker.task.HistoryMessageClearTask;
+import org.apache.eventmesh.connector.standalone.broker.task.SubScribeTask;
+import org.apache.eventmesh.connector.standalone.broker.task.TopicConsumerGroup;
+import org.apache.eventmesh.connector.standalone.broker.task.TopicDispatcher;
+import org.apache.eventmesh.connector.standalone.config.StandaloneConfiguration;
 
-import org.apache.commons.lang3.tuple.Pair;
-
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
 
 /**
  * This broker used to store event, it just support standalone mode, you shouldn't use this module in production environment
+ * <p>
+ * With the file storage every topic is backed by a {@link CommitLog} and the {@link MessageQueue} only caches its tail,
+ * the consumed offsets of each group are persisted as well.
  */
 public class StandaloneBroker {
 
+    private static final Logger logger = LoggerFactory.getLogger(StandaloneBroker.class);
+
+    private static final String COMMIT_LOG_DIR = "commitlog";
+
+    private static final String CONSUMER_OFFSET_FILE = "consumerOffset.properties";
+
+    private static final long DELETE_EXPIRED_INTERVAL_IN_MILLS = 10 * 1000;
+
+    private static final String GROUP_KEY_SEPARATOR = "@";
+
+    private final StandaloneConfiguration configuration;
+
     private final ConcurrentHashMap<TopicMetadata, MessageQueue> messageContainer;
 
-    // todo: move the offset manage to consumer
-    private final ConcurrentHashMap<TopicMetadata, AtomicLong> offsetMap;
+    private final ConcurrentHashMap<TopicMetadata, CommitLog> commitLogs;
+
+    private final ConsumerOffsetStore consumerOffsetStore;
+
+    private final ConcurrentHashMap<TopicMetadata, TopicDispatcher> dispatchers;
+
+    // progress of the consumer groups, keyed by topic@group
+    private final ConcurrentHashMap<String, TopicConsumerGroup> consumerGroups;
+
+    private ScheduledExecutorService storageService;
 
     private StandaloneBroker() {
+        this(StandaloneConfiguration.getInstance());
+    }
+
+    StandaloneBroker(StandaloneConfiguration configuration) {
+        this.configuration = configuration;
         this.messageContainer = new ConcurrentHashMap<>();
-        this.offsetMap = new ConcurrentHashMap<>();
+        this.commitLogs = new ConcurrentHashMap<>();
+        this.dispatchers = new ConcurrentHashMap<>();
+        this.consumerGroups = new ConcurrentHashMap<>();
+        if (configuration.isFileStorage()) {
+            File root = new File(configuration.getStoragePath());
+            this.consumerOffsetStore = new ConsumerOffsetStore(new File(root, CONSUMER_OFFSET_FILE));
+            loadCommitLogs(new File(root, COMMIT_LOG_DIR));
+            startStorageTask();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "StandaloneBroker-ShutdownHook"));
+        } else {
+            this.consumerOffsetStore = new ConsumerOffsetStore(null);
+        }
         startHistoryMessageCleanTask();
     }
 
@@ -56,17 +111,35 @@ public class StandaloneBroker {
      * @throws InterruptedException
      */
     public MessageEntity putMessage(String topicName, CloudEvent message) throws InterruptedException {
-        Pair<MessageQueue, AtomicLong> pair = createTopicIfAbsent(topicName);
-        AtomicLong topicOffset = pair.getRight();
-        MessageQueue messageQueue = pair.getLeft();
+        if (configuration.isFileStorage()) {
+            return appendMessage(topicName, message);
+        }
+        MessageQueue messageQueue = createTopicIfAbsent(topicName);
 
-        MessageEntity messageEntity = new MessageEntity(
-                new TopicMetadata(topicName), message, topicOffset.getAndIncrement(), System.currentTimeMillis());
+        // the queue assigns the offset once the message has a slot
+        MessageEntity messageEntity = new MessageEntity(new TopicMetadata(topicName), message, -1, System.currentTimeMillis());
         messageQueue.put(messageEntity);
 
         return messageEntity;
     }
 
+    private MessageEntity appendMessage(String topicName, CloudEvent message) throws InterruptedException {
+        TopicMetadata topicMetadata = new TopicMetadata(topicName);
+        MessageQueue messageQueue = getMessageQueue(topicMetadata);
+        CommitLog commitLog = getCommitLog(topicMetadata);
+        synchronized (commitLog) {
+            MessageEntity messageEntity;
+            try {
+                messageEntity = commitLog.append(message, System.currentTimeMillis());
+            } catch (IOException e) {
+                throw new ConnectorRuntimeException(String.format("append message to commit log error, topic: %s", topicName), e);
+            }
+            // the queue only caches the tail of the log, make room instead of blocking the producer
+            messageQueue.offer(messageEntity);
+            return messageEntity;
+        }
+    }
+
     /**
      * Get the message, if the queue is empty then await
      *
@@ -74,7 +147,7 @@ public class StandaloneBroker {
      */
     public CloudEvent takeMessage(String topicName) throws InterruptedException {
         TopicMetadata topicMetadata = new TopicMetadata(topicName);
-        return messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue()).take().getMessage();
+        return getMessageQueue(topicMetadata).take().getMessage();
     }
 
     /**
@@ -84,7 +157,11 @@ public class StandaloneBroker {
      */
     public CloudEvent getMessage(String topicName) {
         TopicMetadata topicMetadata = new TopicMetadata(topicName);
-        MessageEntity head = messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue()).getHead();
+        MessageEntity head = getMessageQueue(topicMetadata).getHead();
+        if (head == null && configuration.isFileStorage()) {
+            CommitLog commitLog = getCommitLog(topicMetadata);
+            head = commitLog.read(commitLog.getMinOffset());
+        }
         if (head == null) {
             return null;
         }
@@ -100,13 +177,122 @@ public class StandaloneBroker {
      */
     public CloudEvent getMessage(String topicName, long offset) {
         TopicMetadata topicMetadata = new TopicMetadata(topicName);
-        MessageEntity messageEntity = messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue()).getByOffset(offset);
+        MessageQueue messageQueue = getMessageQueue(topicMetadata);
+        MessageEntity messageEntity;
+        if (configuration.isFileStorage()) {
+            messageEntity = getCachedMessage(messageQueue, offset);
+            if (messageEntity == null) {
+                messageEntity = getCommitLog(topicMetadata).read(offset);
+            }
+        } else {
+            messageEntity = messageQueue.getByOffset(offset);
+        }
         if (messageEntity == null) {
             return null;
         }
         return messageEntity.getMessage();
     }
 
+    private MessageEntity getCachedMessage(MessageQueue messageQueue, long offset) {
+        MessageEntity head = messageQueue.getHead();
+        if (head == null || head.getOffset() > offset) {
+            return null;
+        }
+        try {
+            MessageEntity messageEntity = messageQueue.getByOffset(offset);
+            return messageEntity != null && messageEntity.getOffset() == offset ? messageEntity : null;
+        } catch (RuntimeException e) {
+            // evicted from the cache meanwhile, it is still in the commit log
+            return null;
+        }
+    }
+
+    /**
+     * Offset of the oldest message of the topic which can still be read.
+     */
+    public long getMinOffset(String topicName) {
+        TopicMetadata topicMetadata = new TopicMetadata(topicName);
+        if (configuration.isFileStorage()) {
+            return getCommitLog(topicMetadata).getMinOffset();
+        }
+        MessageQueue messageQueue = getMessageQueue(topicMetadata);
+        MessageEntity head = messageQueue.getHead();
+        if (head != null) {
+            return head.getOffset();
+        }
+        return messageQueue.getNextOffset();
+    }
+
+    /**
+     * @return the next offset to consume by the group, -1 if the group has not committed on the topic yet
+     */
+    public long getConsumerOffset(String topicName, String consumerGroup) {
+        return consumerOffsetStore.getOffset(topicName, consumerGroup);
+    }
+
+    public void updateConsumerOffset(String topicName, String consumerGroup, long offset) {
+        consumerOffsetStore.updateOffset(topicName, consumerGroup, offset);
+    }
+
+    /**
+     * Start delivering the messages of the topic to the subscription, on the dispatcher thread of the topic.
+     * <p>
+     * The subscription joins its consumer group, which assigns it a share of the virtual queues of the topic,
+     * a broadcast subscription is the only member of a group named {group}@{eventMeshName}, so its offsets outlive a restart.
+     */
+    public void subscribe(SubScribeTask subScribeTask) {
+        TopicMetadata topicMetadata = new TopicMetadata(subScribeTask.getTopicName());
+        synchronized (dispatchers) {
+            TopicDispatcher dispatcher = dispatchers.computeIfAbsent(topicMetadata, this::startDispatcher);
+            String offsetGroup = getOffsetGroup(subScribeTask);
+            consumerGroups.computeIfAbsent(subScribeTask.getTopicName() + GROUP_KEY_SEPARATOR + offsetGroup,
+                k -> new TopicConsumerGroup(subScribeTask.getTopicName(), offsetGroup, configuration.getConsumeQueueNum(), this))
+                .addMember(subScribeTask);
+            dispatcher.addSubscription(subScribeTask);
+        }
+    }
+
+    public void unsubscribe(SubScribeTask subScribeTask) {
+        subScribeTask.shutdown();
+        TopicMetadata topicMetadata = new TopicMetadata(subScribeTask.getTopicName());
+        synchronized (dispatchers) {
+            TopicDispatcher dispatcher = dispatchers.get(topicMetadata);
+            if (dispatcher != null && dispatcher.removeSubscription(subScribeTask)) {
+                dispatcher.shutdown();
+                dispatchers.remove(topicMetadata);
+            }
+            String groupKey = subScribeTask.getTopicName() + GROUP_KEY_SEPARATOR + getOffsetGroup(subScribeTask);
+            TopicConsumerGroup group = consumerGroups.get(groupKey);
+            if (group != null && group.removeMember(subScribeTask)) {
+                consumerGroups.remove(groupKey);
+            }
+        }
+    }
+
+    /**
+     * @return the group of the consumer on the topic, null if it has no member subscribed
+     */
+    public TopicConsumerGroup getConsumerGroup(String topicName, String consumerGroup) {
+        return consumerGroups.get(topicName + GROUP_KEY_SEPARATOR + consumerGroup);
+    }
+
+    private static String getOffsetGroup(SubScribeTask subScribeTask) {
+        if (subScribeTask.isBroadcast()) {
+            return subScribeTask.getConsumerGroup() + GROUP_KEY_SEPARATOR + subScribeTask.getInstanceName();
+        }
+        return subScribeTask.getConsumerGroup();
+    }
+
+    private TopicDispatcher startDispatcher(TopicMetadata topicMetadata) {
+        MessageQueue messageQueue = createTopicIfAbsent(topicMetadata.getTopicName());
+        TopicDispatcher dispatcher = new TopicDispatcher(topicMetadata.getTopicName(), messageQueue,
+            configuration.getDispatchBatchSize());
+        Thread thread = new Thread(dispatcher);
+        thread.setDaemon(true);
+        thread.setName("StandaloneBroker-Dispatcher-" + topicMetadata.getTopicName());
+        thread.start();
+        return dispatcher;
+    }
 
     private void startHistoryMessageCleanTask() {
         Thread thread = new Thread(new HistoryMessageClearTask(messageContainer));
@@ -115,6 +301,85 @@ public class StandaloneBroker {
         thread.start();
     }
 
+    private void startStorageTask() {
+        storageService = ThreadPoolFactory.createSingleScheduledExecutor("StandaloneBroker-StorageTask");
+        storageService.scheduleWithFixedDelay(this::flush, configuration.getFlushIntervalMills(),
+            configuration.getFlushIntervalMills(), TimeUnit.MILLISECONDS);
+        storageService.scheduleWithFixedDelay(this::deleteExpiredMessages, DELETE_EXPIRED_INTERVAL_IN_MILLS,
+            DELETE_EXPIRED_INTERVAL_IN_MILLS, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        for (CommitLog commitLog : commitLogs.values()) {
+            try {
+                commitLog.flush();
+            } catch (Exception e) {
+                logger.error("flush commit log of {} error", commitLog.getTopicMetadata(), e);
+            }
+        }
+        consumerOffsetStore.persist();
+    }
+
+    private void deleteExpiredMessages() {
+        long now = System.currentTimeMillis();
+        for (CommitLog commitLog : commitLogs.values()) {
+            try {
+                commitLog.deleteExpired(now, configuration.getRetentionBytes(), configuration.getRetentionMills());
+            } catch (Exception e) {
+                logger.error("delete expired messages of {} error", commitLog.getTopicMetadata(), e);
+            }
+        }
+    }
+
+    /**
+     * Flush the commit logs and the consumer offsets, only needed with the file storage.
+     */
+    public void shutdown() {
+        if (storageService != null) {
+            storageService.shutdown();
+        }
+        flush();
+    }
+
+    private void loadCommitLogs(File commitLogRoot) {
+        File[] topicDirs = commitLogRoot.listFiles(File::isDirectory);
+        if (topicDirs == null) {
+            return;
+        }
+        for (File topicDir : topicDirs) {
+            TopicMetadata topicMetadata;
+            try {
+                topicMetadata = new TopicMetadata(URLDecoder.decode(topicDir.getName(), StandardCharsets.UTF_8.name()));
+            } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                logger.warn("skip unknown dir {} of the commit logs", topicDir);
+                continue;
+            }
+            getCommitLog(topicMetadata);
+            getMessageQueue(topicMetadata);
+        }
+    }
+
+    private MessageQueue getMessageQueue(TopicMetadata topicMetadata) {
+        return messageContainer.computeIfAbsent(topicMetadata, k -> {
+            int capacity = configuration.getQueueCapacity(k.getTopicName());
+            // with the file storage the queue starts at the tail of the commit log
+            long startOffset = configuration.isFileStorage() ? getCommitLog(k).getMaxOffset() : 0;
+            return new MessageQueue(capacity, startOffset);
+        });
+    }
+
+    private CommitLog getCommitLog(TopicMetadata topicMetadata) {
+        return commitLogs.computeIfAbsent(topicMetadata, k -> {
+            try {
+                File dir = new File(new File(configuration.getStoragePath(), COMMIT_LOG_DIR),
+                    URLEncoder.encode(k.getTopicName(), StandardCharsets.UTF_8.name()));
+                return CommitLog.open(k, dir, configuration.getSegmentSize());
+            } catch (IOException e) {
+                throw new ConnectorRuntimeException(String.format("open commit log of %s error", k), e);
+            }
+        });
+    }
+
     public boolean checkTopicExist(String topicName) {
         return messageContainer.containsKey(new TopicMetadata(topicName));
     }
@@ -123,20 +388,15 @@ public class StandaloneBroker {
      * if topic not exist, create a topic
      *
      * @param topicName topicName
-     * @return messageQueue and offset
+     * @return messageQueue, which assigns the offsets of the topic
      */
-    public Pair<MessageQueue, AtomicLong> createTopicIfAbsent(String topicName) {
+    public MessageQueue createTopicIfAbsent(String topicName) {
         TopicMetadata topicMetadata = new TopicMetadata(topicName);
-        MessageQueue messageQueue = messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue());
-        AtomicLong offset = offsetMap.computeIfAbsent(topicMetadata, k -> new AtomicLong());
-        return Pair.of(messageQueue, offset);
-    }
-
-    public void updateOffset(TopicMetadata topicMetadata, long offset) {
-        offsetMap.computeIfPresent(topicMetadata, (k, v) -> {
-            v.set(offset);
-            return v;
-        });
+        MessageQueue messageQueue = getMessageQueue(topicMetadata);
+        if (configuration.isFileStorage()) {
+            getCommitLog(topicMetadata);
+        }
+        return messageQueue;
     }
 
     private static class StandaloneBrokerInstanceHolder {
@@ -31,6 +31,10 @@ public class TopicMetadata implements Serializable {
         this.topicName = topicName;
     }
 
+    public String getTopicName() {
+        return topicName;
+    }
+
 
     @Override
     public boolean equals(Object o) {
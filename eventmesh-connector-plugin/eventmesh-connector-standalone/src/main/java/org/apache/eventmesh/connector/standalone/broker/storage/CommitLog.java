@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.jackson.JsonFormat;
+
+/**
+ * Append-only log of one topic, split in memory-mapped segments named by their base offset.
+ * <p>
+ * Appends are serialized on the log, reads go straight to the mapped segments without locking.
+ * Only the active segment is scanned on recovery, the sealed ones were flushed when they were rolled.
+ * Retention drops whole sealed segments, by total size and by the age of their last message.
+ */
+public class CommitLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommitLog.class);
+
+    // non json data is written as data_base64, so binary events survive a reload
+    private static final JsonFormat JSON_FORMAT = new JsonFormat();
+
+    private final TopicMetadata topicMetadata;
+
+    private final File dir;
+
+    private final int segmentSize;
+
+    private final ConcurrentNavigableMap<Long, CommitLogSegment> segments = new ConcurrentSkipListMap<>();
+
+    private volatile CommitLogSegment active;
+
+    private CommitLog(TopicMetadata topicMetadata, File dir, int segmentSize) {
+        this.topicMetadata = topicMetadata;
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Open the log stored in the directory, creating it if absent.
+     */
+    public static CommitLog open(TopicMetadata topicMetadata, File dir, int segmentSize) throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("create commit log dir fail: " + dir);
+        }
+        CommitLog commitLog = new CommitLog(topicMetadata, dir, segmentSize);
+        commitLog.load();
+        return commitLog;
+    }
+
+    private void load() throws IOException {
+        List<Long> baseOffsets = new ArrayList<>();
+        File[] files = dir.listFiles((d, name) -> name.endsWith(CommitLogSegment.LOG_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    baseOffsets.add(Long.parseLong(name.substring(0, name.length() - CommitLogSegment.LOG_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    logger.warn("skip unknown file {} of topic {}", file, topicMetadata);
+                }
+            }
+        }
+        baseOffsets.sort(Long::compareTo);
+
+        for (int i = 0; i < baseOffsets.size(); i++) {
+            long baseOffset = baseOffsets.get(i);
+            CommitLogSegment segment;
+            if (i == baseOffsets.size() - 1) {
+                segment = CommitLogSegment.recover(dir, baseOffset, segmentSize);
+                active = segment;
+            } else {
+                segment = CommitLogSegment.open(dir, baseOffset, segmentSize, (int) (baseOffsets.get(i + 1) - baseOffset));
+            }
+            segments.put(baseOffset, segment);
+        }
+        if (active == null) {
+            active = CommitLogSegment.create(dir, 0, segmentSize);
+            segments.put(0L, active);
+        }
+        logger.info("commit log of {} loaded, segments: {}, minOffset: {}, maxOffset: {}", topicMetadata, segments.size(),
+            getMinOffset(), getMaxOffset());
+    }
+
+    /**
+     * Append a message at the tail of the log.
+     *
+     * @return the stored message with its offset
+     */
+    public synchronized MessageEntity append(CloudEvent message, long storeTime) throws IOException {
+        byte[] body = JSON_FORMAT.serialize(message);
+        if (CommitLogSegment.HEADER_SIZE + body.length > segmentSize) {
+            throw new IOException(String.format("message of %d bytes is larger than the segment size %d", body.length, segmentSize));
+        }
+        long offset = active.getNextOffset();
+        if (!active.append(offset, storeTime, body)) {
+            roll();
+            active.append(offset, storeTime, body);
+        }
+        return new MessageEntity(topicMetadata, message, offset, storeTime);
+    }
+
+    private void roll() throws IOException {
+        active.flush();
+        CommitLogSegment segment = CommitLogSegment.create(dir, active.getNextOffset(), segmentSize);
+        segments.put(segment.getBaseOffset(), segment);
+        active = segment;
+    }
+
+    /**
+     * @return the message, null if it is not stored or was already deleted
+     */
+    public MessageEntity read(long offset) {
+        Map.Entry<Long, CommitLogSegment> entry = segments.floorEntry(offset);
+        if (entry == null) {
+            return null;
+        }
+        CommitLogSegment segment = entry.getValue();
+        byte[] body = segment.read(offset);
+        if (body == null) {
+            return null;
+        }
+        return new MessageEntity(topicMetadata, JSON_FORMAT.deserialize(body), offset, segment.readStoreTime(offset));
+    }
+
+    /**
+     * Offset of the oldest message kept.
+     */
+    public long getMinOffset() {
+        Map.Entry<Long, CommitLogSegment> first = segments.firstEntry();
+        return first == null ? 0 : first.getKey();
+    }
+
+    /**
+     * Offset of the next message appended.
+     */
+    public long getMaxOffset() {
+        return active.getNextOffset();
+    }
+
+    /**
+     * Fsync the active segment, the sealed ones were flushed when they were rolled.
+     */
+    public void flush() {
+        active.flush();
+    }
+
+    /**
+     * Delete the oldest sealed segments which are over the retention size or time.
+     *
+     * @return number of deleted segments
+     */
+    public synchronized int deleteExpired(long now, long retentionBytes, long retentionMills) {
+        long totalSize = 0;
+        for (CommitLogSegment segment : segments.values()) {
+            totalSize += segment.getFileSize();
+        }
+        int deleted = 0;
+        while (segments.size() > 1) {
+            CommitLogSegment oldest = segments.firstEntry().getValue();
+            boolean overSize = retentionBytes > 0 && totalSize > retentionBytes;
+            boolean overTime = retentionMills > 0 && now - oldest.getLastStoreTime() > retentionMills;
+            if (!overSize && !overTime) {
+                break;
+            }
+            segments.remove(oldest.getBaseOffset());
+            totalSize -= oldest.getFileSize();
+            if (!oldest.delete()) {
+                logger.warn("delete segment {} of topic {} fail", oldest.getBaseOffset(), topicMetadata);
+            }
+            deleted++;
+        }
+        if (deleted > 0) {
+            logger.info("deleted {} segments of topic {}, minOffset: {}", deleted, topicMetadata, getMinOffset());
+        }
+        return deleted;
+    }
+
+    public TopicMetadata getTopicMetadata() {
+        return topicMetadata;
+    }
+}
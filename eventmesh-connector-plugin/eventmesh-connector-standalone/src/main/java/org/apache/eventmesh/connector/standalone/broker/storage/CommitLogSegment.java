@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped segment of a topic commit log, holding the messages from its base offset on.
+ * <p>
+ * A record is laid out as [size:int][crc:int][offset:long][storeTime:long][body], the index file
+ * keeps the int position of each record, so a lookup by offset is one array access.
+ * Records are appended by a single writer, readers see a record once {@link #getCount()} covers it.
+ */
+class CommitLogSegment {
+
+    static final String LOG_SUFFIX = ".log";
+
+    static final String INDEX_SUFFIX = ".index";
+
+    static final int HEADER_SIZE = 24;
+
+    static final int INDEX_ENTRY_SIZE = 4;
+
+    // a cloud event takes more than 64 bytes once serialized, so the index never fills before the log
+    private static final int MIN_RECORD_SIZE = 64;
+
+    private final long baseOffset;
+
+    private final File logFile;
+
+    private final File indexFile;
+
+    private final MappedByteBuffer log;
+
+    private final MappedByteBuffer index;
+
+    private final int indexCapacity;
+
+    private int writePosition;
+
+    private volatile int count;
+
+    private volatile long lastStoreTime;
+
+    private CommitLogSegment(File dir, long baseOffset, int segmentSize) throws IOException {
+        this.baseOffset = baseOffset;
+        this.logFile = new File(dir, fileName(baseOffset) + LOG_SUFFIX);
+        this.indexFile = new File(dir, fileName(baseOffset) + INDEX_SUFFIX);
+        this.indexCapacity = Math.max(segmentSize / MIN_RECORD_SIZE, 1);
+        this.log = map(logFile, segmentSize);
+        this.index = map(indexFile, (long) indexCapacity * INDEX_ENTRY_SIZE);
+    }
+
+    static CommitLogSegment create(File dir, long baseOffset, int segmentSize) throws IOException {
+        return new CommitLogSegment(dir, baseOffset, segmentSize);
+    }
+
+    /**
+     * Open a sealed segment, trusting its index for the given number of records.
+     */
+    static CommitLogSegment open(File dir, long baseOffset, int segmentSize, int count) throws IOException {
+        CommitLogSegment segment = new CommitLogSegment(dir, baseOffset, segmentSize);
+        segment.count = Math.max(0, Math.min(count, segment.indexCapacity));
+        if (segment.count > 0) {
+            int last = segment.position(segment.count - 1);
+            segment.writePosition = last + segment.log.getInt(last);
+            segment.lastStoreTime = segment.log.getLong(last + 16);
+        }
+        return segment;
+    }
+
+    /**
+     * Open the active segment after a restart, keeping the records up to the first torn or corrupted one.
+     */
+    static CommitLogSegment recover(File dir, long baseOffset, int segmentSize) throws IOException {
+        CommitLogSegment segment = new CommitLogSegment(dir, baseOffset, segmentSize);
+        MappedByteBuffer log = segment.log;
+        int position = 0;
+        int recovered = 0;
+        while (position + HEADER_SIZE <= log.capacity() && recovered < segment.indexCapacity) {
+            int size = log.getInt(position);
+            if (size < HEADER_SIZE || size > log.capacity() - position
+                || log.getLong(position + 8) != baseOffset + recovered
+                || log.getInt(position + 4) != crc(log, position + HEADER_SIZE, size - HEADER_SIZE)) {
+                break;
+            }
+            segment.index.putInt(recovered * INDEX_ENTRY_SIZE, position);
+            segment.lastStoreTime = log.getLong(position + 16);
+            position += size;
+            recovered++;
+        }
+        segment.writePosition = position;
+        segment.count = recovered;
+        if (position + HEADER_SIZE <= log.capacity()) {
+            // drop the torn header, if any, so the next recovery stops at the same place
+            log.putInt(position, 0);
+        }
+        return segment;
+    }
+
+    /**
+     * @return false if the record does not fit in this segment
+     */
+    boolean append(long offset, long storeTime, byte[] body) {
+        int size = HEADER_SIZE + body.length;
+        if (count >= indexCapacity || size > log.capacity() - writePosition) {
+            return false;
+        }
+        int position = writePosition;
+        ByteBuffer buffer = log.duplicate();
+        buffer.position(position + 4);
+        buffer.putInt(crc(body));
+        buffer.putLong(offset);
+        buffer.putLong(storeTime);
+        buffer.put(body);
+        // the size goes last, a record torn by a crash is then dropped by the recovery
+        log.putInt(position, size);
+        index.putInt(count * INDEX_ENTRY_SIZE, position);
+        writePosition = position + size;
+        lastStoreTime = storeTime;
+        count = count + 1;
+        return true;
+    }
+
+    /**
+     * @return body of the record, null if the offset is not in this segment
+     */
+    byte[] read(long offset) {
+        long relative = offset - baseOffset;
+        if (relative < 0 || relative >= count) {
+            return null;
+        }
+        int position = position((int) relative);
+        int size = log.getInt(position);
+        byte[] body = new byte[size - HEADER_SIZE];
+        ByteBuffer buffer = log.duplicate();
+        buffer.position(position + HEADER_SIZE);
+        buffer.get(body);
+        return body;
+    }
+
+    long readStoreTime(long offset) {
+        return log.getLong(position((int) (offset - baseOffset)) + 16);
+    }
+
+    private int position(int relative) {
+        return index.getInt(relative * INDEX_ENTRY_SIZE);
+    }
+
+    void flush() {
+        log.force();
+        index.force();
+    }
+
+    boolean delete() {
+        // the mapping itself is released with the buffer, deleting the files only unlinks them
+        return logFile.delete() & indexFile.delete();
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    /**
+     * Offset of the next record of this segment.
+     */
+    long getNextOffset() {
+        return baseOffset + count;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getLastStoreTime() {
+        return lastStoreTime;
+    }
+
+    long getFileSize() {
+        return (long) log.capacity() + index.capacity();
+    }
+
+    static String fileName(long baseOffset) {
+        return String.format("%020d", baseOffset);
+    }
+
+    private static MappedByteBuffer map(File file, long size) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static int crc(byte[] body) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(body, 0, body.length);
+        return (int) crc32.getValue();
+    }
+
+    private static int crc(MappedByteBuffer log, int position, int length) {
+        ByteBuffer buffer = log.duplicate();
+        buffer.position(position);
+        buffer.limit(position + length);
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer);
+        return (int) crc32.getValue();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consumed offsets per topic and consumer group, the offset being the next message to consume.
+ * <p>
+ * With a file the offsets survive a restart: they are kept as topic@group=offset properties and
+ * the file is replaced atomically on each persist.
+ */
+public class ConsumerOffsetStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerOffsetStore.class);
+
+    private static final String KEY_SEPARATOR = "@";
+
+    private final File file;
+
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+
+    private volatile boolean dirty;
+
+    /**
+     * @param file where the offsets are persisted, null to keep them in memory only
+     */
+    public ConsumerOffsetStore(File file) {
+        this.file = file;
+        load();
+    }
+
+    private void load() {
+        if (file == null || !file.exists()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            logger.error("load consumer offsets from {} error", file, e);
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                offsets.put(key, Long.parseLong(properties.getProperty(key)));
+            } catch (NumberFormatException e) {
+                logger.warn("skip illegal consumer offset {}={}", key, properties.getProperty(key));
+            }
+        }
+        logger.info("loaded {} consumer offsets from {}", offsets.size(), file);
+    }
+
+    /**
+     * @return the committed offset, -1 if the group has not committed on the topic yet
+     */
+    public long getOffset(String topic, String group) {
+        Long offset = offsets.get(key(topic, group));
+        return offset == null ? -1 : offset;
+    }
+
+    public void updateOffset(String topic, String group, long offset) {
+        offsets.put(key(topic, group), offset);
+        dirty = true;
+    }
+
+    public void persist() {
+        if (file == null || !dirty) {
+            return;
+        }
+        dirty = false;
+        Properties properties = new Properties();
+        offsets.forEach((key, offset) -> properties.setProperty(key, String.valueOf(offset)));
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            try (FileOutputStream outputStream = new FileOutputStream(tmp)) {
+                properties.store(outputStream, null);
+                outputStream.getFD().sync();
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            logger.error("persist consumer offsets to {} error", file, e);
+        }
+    }
+
+    private static String key(String topic, String group) {
+        return topic + KEY_SEPARATOR + group;
+    }
+}
@@ -17,97 +17,286 @@
 
 package org.apache.eventmesh.connector.standalone.broker.task;
 
+import org.apache.eventmesh.api.AbstractContext;
+import org.apache.eventmesh.api.BatchConsumeContext;
+import org.apache.eventmesh.api.BatchEventListener;
 import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.EventMeshAction;
 import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
 import org.apache.eventmesh.connector.standalone.broker.StandaloneBroker;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
 
-public class SubScribeTask implements Runnable {
+/**
+ * Subscription of a consumer on a topic, driven by the {@link TopicDispatcher} of the topic.
+ * <p>
+ * The subscription delivers the virtual queues its {@link TopicConsumerGroup} assigned to it, in offset order.
+ */
+public class SubScribeTask {
+
+    /**
+     * Delay before a message is delivered again when the listener asked to reconsume it or failed
+     */
+    static final long RECONSUME_DELAY_IN_MILLS = 1000;
+
+    private static final int[] NO_QUEUE = new int[0];
 
     private String topicName;
+    private String consumerGroup;
+    private String instanceName;
+    private boolean broadcast;
     private StandaloneBroker standaloneBroker;
     private EventListener listener;
+    private BatchEventListener batchListener;
     private volatile boolean isRunning;
 
-    private AtomicInteger offset;
+    private volatile TopicConsumerGroup group;
+
+    private volatile int[] queues = NO_QUEUE;
+
+    private volatile long pausedUntil;
 
     private final Logger logger = LoggerFactory.getLogger(SubScribeTask.class);
 
     public SubScribeTask(String topicName,
+                         String consumerGroup,
                          StandaloneBroker standaloneBroker,
                          EventListener listener) {
+        this(topicName, consumerGroup, "", false, standaloneBroker, listener);
+    }
+
+    /**
+     * @param instanceName name of the consumer in its group
+     * @param broadcast    true if the consumer gets every message of the topic, false if it shares them with its group
+     */
+    public SubScribeTask(String topicName,
+                         String consumerGroup,
+                         String instanceName,
+                         boolean broadcast,
+                         StandaloneBroker standaloneBroker,
+                         EventListener listener) {
+        this(topicName, consumerGroup, instanceName, broadcast, standaloneBroker, listener, null);
+    }
+
+    /**
+     * @param batchListener if not null, the messages are delivered to it in batches instead of to the listener
+     */
+    public SubScribeTask(String topicName,
+                         String consumerGroup,
+                         String instanceName,
+                         boolean broadcast,
+                         StandaloneBroker standaloneBroker,
+                         EventListener listener,
+                         BatchEventListener batchListener) {
         this.topicName = topicName;
+        this.consumerGroup = consumerGroup;
+        this.instanceName = instanceName;
+        this.broadcast = broadcast;
         this.standaloneBroker = standaloneBroker;
         this.listener = listener;
+        this.batchListener = batchListener;
         this.isRunning = true;
     }
 
-    @Override
-    public void run() {
-        while (isRunning) {
-            try {
-                logger.debug("execute subscribe task, topic: {}, offset: {}", topicName, offset);
-                if (offset == null) {
-                    CloudEvent message = standaloneBroker.getMessage(topicName);
-                    if (message != null) {
-                        Object tmpOffset = message.getExtension("offset");
-                        if (tmpOffset instanceof Integer) {
-                            offset = new AtomicInteger(Integer.parseInt(tmpOffset.toString()));
-                        } else {
-                            offset = new AtomicInteger(0);
-                        }
-
+    /**
+     * Deliver the next messages of the assigned queues to the listener, stopping at the first one which is not committed.
+     *
+     * @param batchSize max messages to deliver
+     * @param now       current time in millis
+     * @return number of delivered messages
+     */
+    public int dispatch(int batchSize, long now) {
+        TopicConsumerGroup currentGroup = group;
+        int[] currentQueues = queues;
+        if (!isRunning || now < pausedUntil || currentGroup == null || currentQueues.length == 0) {
+            return 0;
+        }
+        if (batchListener != null) {
+            return dispatchBatch(currentGroup, currentQueues, batchSize, now);
+        }
+        int dispatched = 0;
+        long messageOffset = -1;
+        try {
+            // messages before the min offset were deleted, skip them
+            currentGroup.skipTo(standaloneBroker.getMinOffset(topicName));
+            while (dispatched < batchSize && isRunning) {
+                int queueId = nextQueue(currentGroup, currentQueues);
+                messageOffset = currentGroup.getQueueOffset(queueId);
+                logger.debug("execute subscribe task, topic: {}, group: {}, offset: {}", topicName, consumerGroup, messageOffset);
+                CloudEvent message = standaloneBroker.getMessage(topicName, messageOffset);
+                if (message == null) {
+                    break;
+                }
+                long deliveredOffset = messageOffset;
+                listener.consume(message, new EventMeshAsyncConsumeContext() {
+                    @Override
+                    public void commit(EventMeshAction action) {
+                        SubScribeTask.this.commit(action, deliveredOffset);
                     }
+                });
+                dispatched++;
+                if (currentGroup.getQueueOffset(queueId) == messageOffset) {
+                    // not committed, deliver it again later
+                    pausedUntil = now + RECONSUME_DELAY_IN_MILLS;
+                    break;
                 }
-                if (offset != null) {
-                    CloudEvent message = standaloneBroker.getMessage(topicName, offset.get());
-                    if (message != null) {
-                        EventMeshAsyncConsumeContext consumeContext = new EventMeshAsyncConsumeContext() {
-                            @Override
-                            public void commit(EventMeshAction action) {
-                                switch (action) {
-                                    case CommitMessage:
-                                        // update offset
-                                        logger.info("message commit, topic: {}, current offset:{}", topicName,
-                                                offset.get());
-                                        break;
-                                    case ReconsumeLater:
-                                        // don't update offset
-                                        break;
-                                    case ManualAck:
-                                        // update offset
-                                        offset.incrementAndGet();
-                                        logger
-                                                .info("message ack, topic: {}, current offset:{}", topicName, offset.get());
-                                        break;
-                                    default:
-
-                                }
-                            }
-                        };
-                        listener.consume(message, consumeContext);
+            }
+        } catch (Exception ex) {
+            logger.error("consumer error, topic: {}, group: {}, offset: {}", topicName, consumerGroup, messageOffset, ex);
+            pausedUntil = now + RECONSUME_DELAY_IN_MILLS;
+        }
+        return dispatched;
+    }
+
+    /**
+     * Deliver the next messages of the assigned queues to the batch listener in one batch.
+     */
+    private int dispatchBatch(TopicConsumerGroup currentGroup, int[] currentQueues, int batchSize, long now) {
+        List<CloudEvent> messages = new ArrayList<>();
+        long[] messageOffsets = new long[batchSize];
+        try {
+            currentGroup.skipTo(standaloneBroker.getMinOffset(topicName));
+            // walk the queues on local cursors, the group offsets only move when the batch is committed
+            long[] cursors = new long[currentQueues.length];
+            for (int i = 0; i < currentQueues.length; i++) {
+                cursors[i] = currentGroup.getQueueOffset(currentQueues[i]);
+            }
+            while (messages.size() < batchSize) {
+                int next = 0;
+                for (int i = 1; i < cursors.length; i++) {
+                    if (cursors[i] < cursors[next]) {
+                        next = i;
                     }
                 }
+                CloudEvent message = standaloneBroker.getMessage(topicName, cursors[next]);
+                if (message == null) {
+                    break;
+                }
+                messageOffsets[messages.size()] = cursors[next];
+                messages.add(message);
+                cursors[next] += currentGroup.getQueueNum();
+            }
+            if (messages.isEmpty()) {
+                return 0;
+            }
+            logger.debug("execute subscribe task, topic: {}, group: {}, offset: {}, batch: {}", topicName, consumerGroup,
+                messageOffsets[0], messages.size());
+            batchListener.consume(messages, new BatchConsumeContext(messages.size()) {
+                @Override
+                public AbstractContext getAbstractContext(int index) {
+                    return null;
+                }
 
-            } catch (Exception ex) {
-                logger.error("consumer error, topic: {}, offset: {}", topicName, offset == null ? null : offset.get(),
-                        ex);
+                @Override
+                public void commit(int fromIndex, int toIndex, EventMeshAction action) {
+                    for (int i = fromIndex; i < toIndex; i++) {
+                        SubScribeTask.this.commit(action, messageOffsets[i]);
+                    }
+                }
+            });
+            for (int i = 0; i < messages.size(); i++) {
+                long messageOffset = messageOffsets[i];
+                if (currentGroup.getQueueOffset((int) (messageOffset % currentGroup.getQueueNum())) <= messageOffset) {
+                    // not committed, deliver it again later
+                    pausedUntil = now + RECONSUME_DELAY_IN_MILLS;
+                    break;
+                }
             }
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                logger.error("Thread is interrupted, topic: {}, offset: {} thread name: {}",
-                        topicName, offset == null ? null : offset.get(), Thread.currentThread().getName(), e);
-                Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            logger.error("consumer error, topic: {}, group: {}, batch: {}", topicName, consumerGroup, messages.size(), ex);
+            pausedUntil = now + RECONSUME_DELAY_IN_MILLS;
+        }
+        return messages.size();
+    }
+
+    /**
+     * @return the assigned queue with the smallest next offset, so that the messages are delivered in offset order
+     */
+    private static int nextQueue(TopicConsumerGroup group, int[] queues) {
+        int next = queues[0];
+        long nextOffset = group.getQueueOffset(next);
+        for (int i = 1; i < queues.length; i++) {
+            long queueOffset = group.getQueueOffset(queues[i]);
+            if (queueOffset < nextOffset) {
+                next = queues[i];
+                nextOffset = queueOffset;
             }
         }
+        return next;
+    }
+
+    private void commit(EventMeshAction action, long messageOffset) {
+        switch (action) {
+            case CommitMessage:
+            case ManualAck:
+                commitOffset(messageOffset);
+                break;
+            case ReconsumeLater:
+                // don't update offset
+                break;
+            default:
+
+        }
+    }
+
+    /**
+     * Mark the message at the offset consumed by the group.
+     */
+    public void commitOffset(long messageOffset) {
+        TopicConsumerGroup currentGroup = group;
+        if (currentGroup != null && currentGroup.commit(messageOffset)) {
+            logger.debug("message committed, topic: {}, group: {}, offset:{}", topicName, consumerGroup, messageOffset);
+        }
+    }
+
+    /**
+     * @return the next offset to deliver, -1 if the subscription has no queue
+     */
+    public long getOffset() {
+        TopicConsumerGroup currentGroup = group;
+        int[] currentQueues = queues;
+        if (currentGroup == null || currentQueues.length == 0) {
+            return -1;
+        }
+        return currentGroup.getQueueOffset(nextQueue(currentGroup, currentQueues));
+    }
+
+    public long getPausedUntil() {
+        return pausedUntil;
+    }
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public String getConsumerGroup() {
+        return consumerGroup;
+    }
+
+    public String getInstanceName() {
+        return instanceName;
+    }
+
+    public boolean isBroadcast() {
+        return broadcast;
+    }
+
+    public int[] getQueues() {
+        return queues;
+    }
+
+    void setConsumerGroup(TopicConsumerGroup group) {
+        this.group = group;
+    }
+
+    void setQueues(int[] queues) {
+        this.queues = queues;
     }
 
     public void shutdown() {
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.task;
+
+import org.apache.eventmesh.connector.standalone.broker.StandaloneBroker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Progress of one consumer group on a topic.
+ * <p>
+ * The topic is split in virtual queues, the message at offset o being in the queue o % queueNum, and each queue
+ * has its own next offset. In clustering mode the queues are spread over the members of the group, so that every
+ * message is delivered to one member only; a broadcast member has a group of its own, which owns all the queues.
+ * The committed offset of the group is the smallest next offset of its queues.
+ */
+public class TopicConsumerGroup {
+
+    private final String topicName;
+
+    // name the offsets are stored under
+    private final String consumerGroup;
+
+    private final int queueNum;
+
+    private final StandaloneBroker standaloneBroker;
+
+    private final AtomicLongArray queueOffsets;
+
+    private final List<SubScribeTask> members = new ArrayList<>();
+
+    private long committedOffset;
+
+    public TopicConsumerGroup(String topicName, String consumerGroup, int queueNum, StandaloneBroker standaloneBroker) {
+        this.topicName = topicName;
+        this.consumerGroup = consumerGroup;
+        this.queueNum = Math.max(queueNum, 1);
+        this.standaloneBroker = standaloneBroker;
+        this.queueOffsets = new AtomicLongArray(this.queueNum);
+
+        // a group which never committed starts at the oldest message
+        long startOffset = standaloneBroker.getConsumerOffset(topicName, consumerGroup);
+        if (startOffset < 0) {
+            startOffset = standaloneBroker.getMinOffset(topicName);
+        }
+        this.committedOffset = startOffset;
+        for (int queueId = 0; queueId < this.queueNum; queueId++) {
+            queueOffsets.set(queueId, firstOffsetOf(queueId, startOffset));
+        }
+    }
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public String getConsumerGroup() {
+        return consumerGroup;
+    }
+
+    public int getQueueNum() {
+        return queueNum;
+    }
+
+    /**
+     * Add the member and spread the queues again.
+     */
+    public synchronized void addMember(SubScribeTask subScribeTask) {
+        members.add(subScribeTask);
+        subScribeTask.setConsumerGroup(this);
+        rebalance();
+    }
+
+    /**
+     * Remove the member and spread its queues over the remaining ones.
+     *
+     * @return true if the group has no member left
+     */
+    public synchronized boolean removeMember(SubScribeTask subScribeTask) {
+        members.remove(subScribeTask);
+        subScribeTask.setQueues(new int[0]);
+        rebalance();
+        return members.isEmpty();
+    }
+
+    public synchronized int getMemberNum() {
+        return members.size();
+    }
+
+    /**
+     * Give each member a contiguous range of queues, the first members take one more queue when they do not divide
+     * evenly, and the members beyond the queue num get none.
+     */
+    private void rebalance() {
+        // sorted so that the assignment only depends on who is in the group
+        members.sort(Comparator.comparing(SubScribeTask::getInstanceName));
+        int memberNum = members.size();
+        for (int index = 0; index < memberNum; index++) {
+            int mod = queueNum % memberNum;
+            int averageSize = queueNum <= memberNum ? 1 : (mod > 0 && index < mod ? queueNum / memberNum + 1 : queueNum / memberNum);
+            int startIndex = mod > 0 && index < mod ? index * averageSize : index * averageSize + mod;
+            int range = Math.max(Math.min(averageSize, queueNum - startIndex), 0);
+            int[] queues = new int[range];
+            for (int i = 0; i < range; i++) {
+                queues[i] = startIndex + i;
+            }
+            members.get(index).setQueues(queues);
+        }
+    }
+
+    /**
+     * @return the next offset to deliver of the queue
+     */
+    public long getQueueOffset(int queueId) {
+        return queueOffsets.get(queueId);
+    }
+
+    /**
+     * Move every queue which is behind the offset to its first message from the offset on, the messages before were deleted.
+     */
+    public void skipTo(long offset) {
+        for (int queueId = 0; queueId < queueNum; queueId++) {
+            long current;
+            long next = firstOffsetOf(queueId, offset);
+            while ((current = queueOffsets.get(queueId)) < next) {
+                if (queueOffsets.compareAndSet(queueId, current, next)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark the message consumed, once per message even if it is committed again.
+     *
+     * @return false if the message was already committed
+     */
+    public boolean commit(long messageOffset) {
+        int queueId = (int) (messageOffset % queueNum);
+        if (!queueOffsets.compareAndSet(queueId, messageOffset, messageOffset + queueNum)) {
+            return false;
+        }
+        updateCommittedOffset();
+        return true;
+    }
+
+    private synchronized void updateCommittedOffset() {
+        long minOffset = Long.MAX_VALUE;
+        for (int queueId = 0; queueId < queueNum; queueId++) {
+            minOffset = Math.min(minOffset, queueOffsets.get(queueId));
+        }
+        if (minOffset > committedOffset) {
+            committedOffset = minOffset;
+            standaloneBroker.updateConsumerOffset(topicName, consumerGroup, minOffset);
+        }
+    }
+
+    public synchronized long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    private long firstOffsetOf(int queueId, long offset) {
+        return offset + Math.floorMod(queueId - offset, (long) queueNum);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.task;
+
+import org.apache.eventmesh.connector.standalone.broker.MessageQueue;
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the messages of one topic to all of its subscriptions.
+ * <p>
+ * The subscriptions are served in turn, a batch each, and when none of them made progress the dispatcher
+ * blocks on the message queue of the topic until a new message is put, instead of polling it.
+ */
+public class TopicDispatcher implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicDispatcher.class);
+
+    /**
+     * Upper bound of one wait, the subscriptions are checked again at least this often
+     */
+    private static final long MAX_AWAIT_IN_MILLS = 1000;
+
+    private final String topicName;
+
+    private final MessageQueue messageQueue;
+
+    private final int batchSize;
+
+    private final List<SubScribeTask> subscriptions = new CopyOnWriteArrayList<>();
+
+    private volatile boolean isRunning = true;
+
+    public TopicDispatcher(String topicName, MessageQueue messageQueue, int batchSize) {
+        this.topicName = topicName;
+        this.messageQueue = messageQueue;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    public void addSubscription(SubScribeTask subScribeTask) {
+        subscriptions.add(subScribeTask);
+        messageQueue.wakeup();
+    }
+
+    /**
+     * @return true if the dispatcher has no subscription left
+     */
+    public boolean removeSubscription(SubScribeTask subScribeTask) {
+        subscriptions.remove(subScribeTask);
+        return subscriptions.isEmpty();
+    }
+
+    @Override
+    public void run() {
+        while (isRunning) {
+            try {
+                // taken before dispatching, a message put meanwhile ends the wait at once
+                MessageEntity tail = messageQueue.getTail();
+                long seenOffset = tail == null ? -1 : tail.getOffset();
+
+                long now = System.currentTimeMillis();
+                long awaitMills = MAX_AWAIT_IN_MILLS;
+                int dispatched = 0;
+                for (SubScribeTask subScribeTask : subscriptions) {
+                    dispatched += subScribeTask.dispatch(batchSize, now);
+                    if (subScribeTask.getPausedUntil() > now) {
+                        awaitMills = Math.min(awaitMills, subScribeTask.getPausedUntil() - now);
+                    }
+                }
+                if (dispatched == 0) {
+                    messageQueue.awaitOffset(seenOffset + 1, awaitMills, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                logger.error("Thread is interrupted, topic: {}, thread name: {}", topicName, Thread.currentThread().getName(), e);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("dispatch messages of topic {} error", topicName, e);
+            }
+        }
+    }
+
+    public void shutdown() {
+        isRunning = false;
+        subscriptions.forEach(SubScribeTask::shutdown);
+        messageQueue.wakeup();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.config;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Storage and dispatch settings of the standalone broker, read from standalone-broker.properties.
+ */
+public class StandaloneConfiguration {
+
+    public static final String STORAGE_TYPE_MEMORY = "memory";
+
+    public static final String STORAGE_TYPE_FILE = "file";
+
+    private String storageType = STORAGE_TYPE_MEMORY;
+
+    private String storagePath = System.getProperty("user.home") + File.separator + "eventmesh" + File.separator + "standalone";
+
+    private int segmentSize = 64 * 1024 * 1024;
+
+    private long retentionBytes = 1024L * 1024 * 1024;
+
+    private long retentionMills = 24 * 60 * 60 * 1000L;
+
+    private long flushIntervalMills = 500;
+
+    private int dispatchBatchSize = 32;
+
+    private int consumeQueueNum = 8;
+
+    private int queueCapacity = 2048;
+
+    private final Map<String, Integer> topicQueueCapacity = new HashMap<>();
+
+    private static volatile StandaloneConfiguration instance;
+
+    public static StandaloneConfiguration getInstance() {
+        if (instance == null) {
+            synchronized (StandaloneConfiguration.class) {
+                if (instance == null) {
+                    StandaloneConfiguration configuration = new StandaloneConfiguration();
+                    configuration.init(ConfigurationWrapper.getProperties());
+                    instance = configuration;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void init(Properties properties) {
+        String storageTypeStr = properties.getProperty(ConfKeys.KEYS_STORAGE_TYPE);
+        if (StringUtils.isNotBlank(storageTypeStr)) {
+            storageType = StringUtils.trim(storageTypeStr);
+        }
+
+        String storagePathStr = properties.getProperty(ConfKeys.KEYS_STORAGE_PATH);
+        if (StringUtils.isNotBlank(storagePathStr)) {
+            storagePath = StringUtils.trim(storagePathStr);
+        }
+
+        String segmentSizeStr = properties.getProperty(ConfKeys.KEYS_SEGMENT_SIZE);
+        if (StringUtils.isNumeric(StringUtils.trim(segmentSizeStr))) {
+            segmentSize = Integer.parseInt(StringUtils.trim(segmentSizeStr));
+        }
+
+        String retentionBytesStr = properties.getProperty(ConfKeys.KEYS_RETENTION_BYTES);
+        if (StringUtils.isNumeric(StringUtils.trim(retentionBytesStr))) {
+            retentionBytes = Long.parseLong(StringUtils.trim(retentionBytesStr));
+        }
+
+        String retentionMillsStr = properties.getProperty(ConfKeys.KEYS_RETENTION_MILLS);
+        if (StringUtils.isNumeric(StringUtils.trim(retentionMillsStr))) {
+            retentionMills = Long.parseLong(StringUtils.trim(retentionMillsStr));
+        }
+
+        String flushIntervalMillsStr = properties.getProperty(ConfKeys.KEYS_FLUSH_INTERVAL_MILLS);
+        if (StringUtils.isNumeric(StringUtils.trim(flushIntervalMillsStr))) {
+            flushIntervalMills = Long.parseLong(StringUtils.trim(flushIntervalMillsStr));
+        }
+
+        String dispatchBatchSizeStr = properties.getProperty(ConfKeys.KEYS_DISPATCH_BATCH_SIZE);
+        if (StringUtils.isNumeric(StringUtils.trim(dispatchBatchSizeStr))) {
+            dispatchBatchSize = Integer.parseInt(StringUtils.trim(dispatchBatchSizeStr));
+        }
+
+        String consumeQueueNumStr = properties.getProperty(ConfKeys.KEYS_CONSUME_QUEUE_NUM);
+        if (StringUtils.isNumeric(StringUtils.trim(consumeQueueNumStr))) {
+            consumeQueueNum = Integer.parseInt(StringUtils.trim(consumeQueueNumStr));
+        }
+
+        String queueCapacityStr = properties.getProperty(ConfKeys.KEYS_QUEUE_CAPACITY);
+        if (StringUtils.isNumeric(StringUtils.trim(queueCapacityStr))) {
+            queueCapacity = Integer.parseInt(StringUtils.trim(queueCapacityStr));
+        }
+
+        // eventMesh.server.standalone.queue.capacity.{topic} overrides the capacity of one topic
+        String topicQueueCapacityPrefix = ConfKeys.KEYS_QUEUE_CAPACITY + ".";
+        for (String key : properties.stringPropertyNames()) {
+            String topicQueueCapacityStr = StringUtils.trim(properties.getProperty(key));
+            if (key.startsWith(topicQueueCapacityPrefix) && StringUtils.isNumeric(topicQueueCapacityStr)) {
+                topicQueueCapacity.put(key.substring(topicQueueCapacityPrefix.length()), Integer.parseInt(topicQueueCapacityStr));
+            }
+        }
+    }
+
+    public boolean isFileStorage() {
+        return STORAGE_TYPE_FILE.equalsIgnoreCase(storageType);
+    }
+
+    public String getStorageType() {
+        return storageType;
+    }
+
+    public void setStorageType(String storageType) {
+        this.storageType = storageType;
+    }
+
+    public String getStoragePath() {
+        return storagePath;
+    }
+
+    public void setStoragePath(String storagePath) {
+        this.storagePath = storagePath;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public long getRetentionBytes() {
+        return retentionBytes;
+    }
+
+    public void setRetentionBytes(long retentionBytes) {
+        this.retentionBytes = retentionBytes;
+    }
+
+    public long getRetentionMills() {
+        return retentionMills;
+    }
+
+    public void setRetentionMills(long retentionMills) {
+        this.retentionMills = retentionMills;
+    }
+
+    public long getFlushIntervalMills() {
+        return flushIntervalMills;
+    }
+
+    public void setFlushIntervalMills(long flushIntervalMills) {
+        this.flushIntervalMills = flushIntervalMills;
+    }
+
+    public int getDispatchBatchSize() {
+        return dispatchBatchSize;
+    }
+
+    public void setDispatchBatchSize(int dispatchBatchSize) {
+        this.dispatchBatchSize = dispatchBatchSize;
+    }
+
+    /**
+     * Virtual queues of a topic, the unit the consumers of a clustering group share the topic by
+     */
+    public int getConsumeQueueNum() {
+        return consumeQueueNum;
+    }
+
+    public void setConsumeQueueNum(int consumeQueueNum) {
+        this.consumeQueueNum = consumeQueueNum;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Capacity of the message queue of the topic
+     */
+    public int getQueueCapacity(String topic) {
+        return topicQueueCapacity.getOrDefault(topic, queueCapacity);
+    }
+
+    public void setQueueCapacity(String topic, int queueCapacity) {
+        topicQueueCapacity.put(topic, queueCapacity);
+    }
+
+    static class ConfKeys {
+
+        public static final String KEYS_STORAGE_TYPE = "eventMesh.server.standalone.storage.type";
+
+        public static final String KEYS_STORAGE_PATH = "eventMesh.server.standalone.storage.path";
+
+        public static final String KEYS_SEGMENT_SIZE = "eventMesh.server.standalone.storage.segmentSize";
+
+        public static final String KEYS_RETENTION_BYTES = "eventMesh.server.standalone.storage.retentionBytes";
+
+        public static final String KEYS_RETENTION_MILLS = "eventMesh.server.standalone.storage.retentionMills";
+
+        public static final String KEYS_FLUSH_INTERVAL_MILLS = "eventMesh.server.standalone.storage.flushIntervalMills";
+
+        public static final String KEYS_DISPATCH_BATCH_SIZE = "eventMesh.server.standalone.dispatch.batchSize";
+
+        public static final String KEYS_CONSUME_QUEUE_NUM = "eventMesh.server.standalone.consume.queueNum";
+
+        public static final String KEYS_QUEUE_CAPACITY = "eventMesh.server.standalone.queue.capacity";
+    }
+}
@@ -18,43 +18,56 @@
 package org.apache.eventmesh.connector.standalone.consumer;
 
 import org.apache.eventmesh.api.AbstractContext;
+import org.apache.eventmesh.api.BatchEventListener;
 import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.consumer.Consumer;
-import org.apache.eventmesh.common.ThreadPoolFactory;
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.connector.standalone.broker.StandaloneBroker;
-import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
 import org.apache.eventmesh.connector.standalone.broker.task.SubScribeTask;
 
+import org.apache.commons.lang3.StringUtils;
+
 import java.util.List;
-import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.cloudevents.CloudEvent;
 
 public class StandaloneConsumer implements Consumer {
 
+    private static final String DEFAULT_CONSUMER_GROUP = "DEFAULT_CONSUMER_GROUP";
+
+    private static final String OFFSET_EXTENSION = "offset";
+
     private final StandaloneBroker standaloneBroker;
 
+    private final String consumerGroup;
+
+    private final String instanceName;
+
+    private final boolean broadcast;
+
     private EventListener listener;
 
+    private BatchEventListener batchListener;
+
     private final AtomicBoolean isStarted;
 
     private final ConcurrentHashMap<String, SubScribeTask> subscribeTaskTable;
 
-    private final ExecutorService consumeExecutorService;
-
     public StandaloneConsumer(Properties properties) {
         this.standaloneBroker = StandaloneBroker.getInstance();
+        Properties keyValue = properties == null ? new Properties() : properties;
+        this.consumerGroup = keyValue.getProperty(Constants.CONSUMER_GROUP, DEFAULT_CONSUMER_GROUP);
+        // a broadcast consumer keeps its own offsets under this name, so it must survive a restart:
+        // the instance name of the runtime holds the pid
+        String eventMeshName = keyValue.getProperty(Constants.EVENT_MESH_NAME);
+        this.instanceName = StringUtils.isBlank(eventMeshName) ? IPUtils.getLocalAddress() : eventMeshName;
+        this.broadcast = Boolean.parseBoolean(keyValue.getProperty(Constants.IS_BROADCAST, "false"));
         this.subscribeTaskTable = new ConcurrentHashMap<>(16);
         this.isStarted = new AtomicBoolean(false);
-        this.consumeExecutorService = ThreadPoolFactory.createThreadPoolExecutor(
-                Runtime.getRuntime().availableProcessors() * 2,
-                Runtime.getRuntime().availableProcessors() * 2,
-                "StandaloneConsumerThread"
-        );
     }
 
     @Override
@@ -75,7 +88,7 @@ public class StandaloneConsumer implements Consumer {
     @Override
     public void shutdown() {
         isStarted.compareAndSet(true, false);
-        subscribeTaskTable.forEach(((topic, subScribeTask) -> subScribeTask.shutdown()));
+        subscribeTaskTable.forEach(((topic, subScribeTask) -> standaloneBroker.unsubscribe(subScribeTask)));
         subscribeTaskTable.clear();
     }
 
@@ -86,9 +99,13 @@ public class StandaloneConsumer implements Consumer {
 
     @Override
     public void updateOffset(List<CloudEvent> cloudEvents, AbstractContext context) {
-        cloudEvents.forEach(cloudEvent -> standaloneBroker.updateOffset(
-                new TopicMetadata(cloudEvent.getSubject()), Objects.requireNonNull((Long) cloudEvent.getExtension("offset")))
-        );
+        cloudEvents.forEach(cloudEvent -> {
+            Object offset = cloudEvent.getExtension(OFFSET_EXTENSION);
+            SubScribeTask subScribeTask = subscribeTaskTable.get(cloudEvent.getSubject());
+            if (offset instanceof Number && subScribeTask != null) {
+                subScribeTask.commitOffset(((Number) offset).longValue());
+            }
+        });
 
     }
 
@@ -100,9 +117,10 @@ public class StandaloneConsumer implements Consumer {
         }
         synchronized (subscribeTaskTable) {
             standaloneBroker.createTopicIfAbsent(topic);
-            SubScribeTask subScribeTask = new SubScribeTask(topic, standaloneBroker, listener);
+            SubScribeTask subScribeTask = new SubScribeTask(topic, consumerGroup, instanceName, broadcast,
+                standaloneBroker, listener, batchListener);
             subscribeTaskTable.put(topic, subScribeTask);
-            consumeExecutorService.execute(subScribeTask);
+            standaloneBroker.subscribe(subScribeTask);
         }
     }
 
@@ -113,7 +131,7 @@ public class StandaloneConsumer implements Consumer {
         }
         synchronized (subscribeTaskTable) {
             SubScribeTask subScribeTask = subscribeTaskTable.get(topic);
-            subScribeTask.shutdown();
+            standaloneBroker.unsubscribe(subScribeTask);
             subscribeTaskTable.remove(topic);
         }
     }
@@ -121,5 +139,12 @@ public class StandaloneConsumer implements Consumer {
     @Override
     public void registerEventListener(EventListener listener) {
         this.listener = listener;
+        this.batchListener = null;
+    }
+
+    @Override
+    public void registerBatchEventListener(BatchEventListener listener) {
+        this.batchListener = listener;
+        this.listener = null;
     }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@
 package org.apache.eventmesh.connector.standalone.consumer;
 
 import org.apache.eventmesh.api.AbstractContext;
+import org.apache.eventmesh.api.BatchEventListener;
 import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.consumer.Consumer;
 
@@ -80,4 +81,9 @@ public class StandaloneConsumerAdaptor implements Consumer {
     public void registerEventListener(EventListener listener) {
         consumer.registerEventListener(listener);
     }
+
+    @Override
+    public void registerBatchEventListener(BatchEventListener listener) {
+        consumer.registerBatchEventListener(listener);
+    }
 }
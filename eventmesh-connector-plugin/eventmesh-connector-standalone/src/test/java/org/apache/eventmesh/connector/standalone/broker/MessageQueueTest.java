@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker;
+
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MessageQueueTest {
+
+    private static final TopicMetadata TOPIC = new TopicMetadata("test-topic");
+
+    @Test
+    public void getByOffsetAfterWrap() throws InterruptedException {
+        MessageQueue messageQueue = new MessageQueue(4);
+        for (long offset = 0; offset < 10; offset++) {
+            if (messageQueue.getSize() == messageQueue.getCapacity()) {
+                messageQueue.removeHead();
+            }
+            messageQueue.put(new MessageEntity(TOPIC, null, offset, 0));
+        }
+        Assert.assertEquals(6, messageQueue.getHead().getOffset());
+        Assert.assertEquals(9, messageQueue.getTail().getOffset());
+        Assert.assertEquals(7, messageQueue.getByOffset(7).getOffset());
+        Assert.assertNull(messageQueue.getByOffset(10));
+        Assert.assertThrows(RuntimeException.class, () -> messageQueue.getByOffset(5));
+    }
+
+    @Test
+    public void offerEvictsHead() {
+        MessageQueue messageQueue = new MessageQueue(8, 100);
+        for (long offset = 100; offset < 120; offset++) {
+            messageQueue.offer(new MessageEntity(TOPIC, null, offset, 0));
+        }
+        Assert.assertEquals(8, messageQueue.getSize());
+        Assert.assertEquals(112, messageQueue.getHead().getOffset());
+        Assert.assertEquals(119, messageQueue.getTail().getOffset());
+    }
+
+    @Test
+    public void lateOfferDoesNotOverwrite() {
+        MessageQueue messageQueue = new MessageQueue(4);
+        for (long offset = 0; offset < 8; offset++) {
+            messageQueue.offer(new MessageEntity(TOPIC, null, offset, 0));
+        }
+        messageQueue.offer(new MessageEntity(TOPIC, null, 3, 0));
+        Assert.assertEquals(7, messageQueue.getByOffset(7).getOffset());
+    }
+
+    @Test
+    public void awaitOffset() throws InterruptedException {
+        MessageQueue messageQueue = new MessageQueue(4);
+        Assert.assertFalse(messageQueue.awaitOffset(0, 10, TimeUnit.MILLISECONDS));
+        new Thread(() -> messageQueue.offer(new MessageEntity(TOPIC, null, 0, 0))).start();
+        Assert.assertTrue(messageQueue.awaitOffset(0, 5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, messageQueue.take().getOffset());
+    }
+
+    @Test
+    public void interruptedPutLeavesNoHole() throws InterruptedException {
+        MessageQueue messageQueue = new MessageQueue(2);
+        messageQueue.put(new MessageEntity(TOPIC, null, -1, 0));
+        messageQueue.put(new MessageEntity(TOPIC, null, -1, 0));
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            try {
+                messageQueue.put(new MessageEntity(TOPIC, null, -1, 0));
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        producer.start();
+        while (producer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+        producer.interrupt();
+        producer.join(5000);
+        Assert.assertTrue(interrupted.get());
+
+        Assert.assertEquals(0, messageQueue.take().getOffset());
+        Assert.assertEquals(1, messageQueue.take().getOffset());
+        messageQueue.removeHead();
+        messageQueue.removeHead();
+        // the interrupted put claimed no offset, the next message is still delivered
+        messageQueue.put(new MessageEntity(TOPIC, null, -1, 0));
+        Assert.assertTrue(messageQueue.awaitOffset(2, 5, TimeUnit.SECONDS));
+        Assert.assertEquals(2, messageQueue.take().getOffset());
+        Assert.assertEquals(3, messageQueue.getNextOffset());
+    }
+}
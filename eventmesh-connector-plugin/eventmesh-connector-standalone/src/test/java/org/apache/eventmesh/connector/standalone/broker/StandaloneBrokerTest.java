@@ -17,9 +17,20 @@
 
 package org.apache.eventmesh.connector.standalone.broker;
 
+import org.apache.eventmesh.api.EventMeshAction;
 import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.task.SubScribeTask;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -63,6 +74,135 @@ public class StandaloneBrokerTest {
     public void getMessage() {
     }
 
+    @Test
+    public void subscribe() throws InterruptedException {
+        StandaloneBroker instance = StandaloneBroker.getInstance();
+        instance.createTopicIfAbsent("test-subscribe-topic");
+        CountDownLatch latch = new CountDownLatch(100);
+        SubScribeTask subScribeTask = new SubScribeTask("test-subscribe-topic", "test-group", instance,
+            (cloudEvent, context) -> {
+                context.commit(EventMeshAction.ManualAck);
+                latch.countDown();
+            });
+        instance.subscribe(subScribeTask);
+        try {
+            for (int i = 0; i < 100; i++) {
+                CloudEvent cloudEvent = CloudEventBuilder.v1()
+                        .withId("test-" + i)
+                        .withSource(URI.create("testsource"))
+                        .withType("testType")
+                        .build();
+                instance.putMessage("test-subscribe-topic", cloudEvent);
+            }
+            // delivered as soon as they are put, not one per second
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(100, instance.getConsumerOffset("test-subscribe-topic", "test-group"));
+        } finally {
+            instance.unsubscribe(subScribeTask);
+        }
+    }
+
+    @Test
+    public void consumerGroups() throws InterruptedException {
+        StandaloneBroker instance = StandaloneBroker.getInstance();
+        String topic = "test-group-topic";
+        instance.createTopicIfAbsent(topic);
+        Set<String> clustered = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicated = new AtomicInteger();
+        AtomicInteger[] perMember = {new AtomicInteger(), new AtomicInteger()};
+        AtomicInteger broadcast = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(100 * 3);
+        SubScribeTask[] subScribeTasks = new SubScribeTask[4];
+        for (int i = 0; i < 2; i++) {
+            AtomicInteger counter = perMember[i];
+            subScribeTasks[i] = new SubScribeTask(topic, "clustering-group", "member-" + i, false, instance,
+                (cloudEvent, context) -> {
+                    if (!clustered.add(cloudEvent.getId())) {
+                        duplicated.incrementAndGet();
+                    }
+                    counter.incrementAndGet();
+                    context.commit(EventMeshAction.CommitMessage);
+                    latch.countDown();
+                });
+            subScribeTasks[i + 2] = new SubScribeTask(topic, "broadcast-group", "member-" + i, true, instance,
+                (cloudEvent, context) -> {
+                    broadcast.incrementAndGet();
+                    context.commit(EventMeshAction.CommitMessage);
+                    latch.countDown();
+                });
+        }
+        for (SubScribeTask subScribeTask : subScribeTasks) {
+            instance.subscribe(subScribeTask);
+        }
+        try {
+            for (int i = 0; i < 100; i++) {
+                CloudEvent cloudEvent = CloudEventBuilder.v1()
+                        .withId("test-" + i)
+                        .withSource(URI.create("testsource"))
+                        .withType("testType")
+                        .build();
+                instance.putMessage(topic, cloudEvent);
+            }
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            // each message once per clustering group, split between its members
+            Assert.assertEquals(100, clustered.size());
+            Assert.assertEquals(0, duplicated.get());
+            Assert.assertTrue(perMember[0].get() > 0 && perMember[1].get() > 0);
+            Assert.assertEquals(100, instance.getConsumerOffset(topic, "clustering-group"));
+            // each message once per broadcast member, each with its own offset
+            Assert.assertEquals(200, broadcast.get());
+            Assert.assertEquals(100, instance.getConsumerOffset(topic, "broadcast-group@member-0"));
+            Assert.assertEquals(100, instance.getConsumerOffset(topic, "broadcast-group@member-1"));
+        } finally {
+            for (SubScribeTask subScribeTask : subScribeTasks) {
+                instance.unsubscribe(subScribeTask);
+            }
+        }
+    }
+
+    @Test
+    public void subscribeBatch() throws InterruptedException {
+        StandaloneBroker instance = StandaloneBroker.getInstance();
+        String topic = "test-batch-topic";
+        instance.createTopicIfAbsent(topic);
+        List<String> consumed = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean rejected = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(100);
+        SubScribeTask subScribeTask = new SubScribeTask(topic, "batch-group", "member-0", false, instance, null,
+            (cloudEvents, context) -> {
+                int accepted = cloudEvents.size();
+                if (cloudEvents.size() > 1 && rejected.compareAndSet(false, true)) {
+                    // the rejected tail of the batch is delivered again
+                    accepted = cloudEvents.size() / 2;
+                    context.commit(accepted, cloudEvents.size(), EventMeshAction.ReconsumeLater);
+                }
+                for (int i = 0; i < accepted; i++) {
+                    consumed.add(cloudEvents.get(i).getId());
+                    latch.countDown();
+                }
+                context.commit(0, accepted, EventMeshAction.CommitMessage);
+            });
+        for (int i = 0; i < 100; i++) {
+            CloudEvent cloudEvent = CloudEventBuilder.v1()
+                    .withId("test-" + i)
+                    .withSource(URI.create("testsource"))
+                    .withType("testType")
+                    .build();
+            instance.putMessage(topic, cloudEvent);
+        }
+        instance.subscribe(subScribeTask);
+        try {
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(rejected.get());
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals("test-" + i, consumed.get(i));
+            }
+            Assert.assertEquals(100, instance.getConsumerOffset(topic, "batch-group"));
+        } finally {
+            instance.unsubscribe(subScribeTask);
+        }
+    }
+
     @Test
     public void testGetMessage() {
     }
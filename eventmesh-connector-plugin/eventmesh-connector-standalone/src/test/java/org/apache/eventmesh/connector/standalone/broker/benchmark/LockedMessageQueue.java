@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.benchmark;
+
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The lock based array queue the standalone broker used before the ring, kept as the benchmark baseline.
+ */
+class LockedMessageQueue {
+
+    private final MessageEntity[] items;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int takeIndex;
+
+    private int putIndex;
+
+    private int count;
+
+    LockedMessageQueue(int capacity) {
+        this.items = new MessageEntity[capacity];
+    }
+
+    void offer(MessageEntity messageEntity) {
+        lock.lock();
+        try {
+            if (count == items.length) {
+                removeHead0();
+            }
+            items[putIndex] = messageEntity;
+            if (++putIndex == items.length) {
+                putIndex = 0;
+            }
+            count++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    MessageEntity getByOffset(long offset) {
+        lock.lock();
+        try {
+            if (count == 0) {
+                return null;
+            }
+            MessageEntity head = items[takeIndex];
+            if (offset < head.getOffset()) {
+                throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+            }
+            long diff = offset - head.getOffset();
+            if (diff >= count) {
+                return null;
+            }
+            return items[(int) ((takeIndex + diff) % items.length)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeHead0() {
+        items[takeIndex] = null;
+        if (++takeIndex == items.length) {
+            takeIndex = 0;
+        }
+        count--;
+    }
+}
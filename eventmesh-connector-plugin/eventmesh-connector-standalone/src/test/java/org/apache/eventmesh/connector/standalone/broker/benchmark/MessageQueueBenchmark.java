@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.benchmark;
+
+import org.apache.eventmesh.connector.standalone.broker.MessageQueue;
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * One producer appending to a topic while the subscriptions read it by offset, the way the broker uses its queues.
+ * <p>
+ * Not part of the test run, start it with {@link #main}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageQueueBenchmark {
+
+    private static final int CAPACITY = 2048;
+
+    private static final TopicMetadata TOPIC = new TopicMetadata("benchmark-topic");
+
+    private MessageQueue ring;
+
+    private LockedMessageQueue locked;
+
+    private volatile long ringOffset;
+
+    private volatile long lockedOffset;
+
+    @Setup
+    public void setup() {
+        ring = new MessageQueue(CAPACITY);
+        locked = new LockedMessageQueue(CAPACITY);
+        for (long offset = 0; offset < CAPACITY; offset++) {
+            ring.offer(new MessageEntity(TOPIC, null, offset, 0));
+            locked.offer(new MessageEntity(TOPIC, null, offset, 0));
+        }
+        ringOffset = CAPACITY;
+        lockedOffset = CAPACITY;
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(1)
+    public void ringProduce() {
+        long offset = ringOffset;
+        ring.offer(new MessageEntity(TOPIC, null, offset, 0));
+        ringOffset = offset + 1;
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(3)
+    public MessageEntity ringRead() {
+        try {
+            return ring.getByOffset(recentOffset(ringOffset));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public void lockedProduce() {
+        long offset = lockedOffset;
+        locked.offer(new MessageEntity(TOPIC, null, offset, 0));
+        lockedOffset = offset + 1;
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(3)
+    public MessageEntity lockedRead() {
+        try {
+            return locked.getByOffset(recentOffset(lockedOffset));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long recentOffset(long nextOffset) {
+        return nextOffset - 1 - ThreadLocalRandom.current().nextInt(CAPACITY / 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MessageQueueBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class CommitLogTest {
+
+    private static final int SEGMENT_SIZE = 16 * 1024;
+
+    private static final TopicMetadata TOPIC = new TopicMetadata("test-topic");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static CloudEvent event(String id) {
+        return CloudEventBuilder.v1()
+                .withId(id)
+                .withSource(URI.create("testsource"))
+                .withType("testType")
+                .build();
+    }
+
+    @Test
+    public void testAppendAndRead() throws Exception {
+        CommitLog commitLog = CommitLog.open(TOPIC, folder.getRoot(), SEGMENT_SIZE);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, commitLog.append(event("id-" + i), i).getOffset());
+        }
+        // small segments, the log rolled several times
+        Assert.assertTrue(folder.getRoot().list().length > 2);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals("id-" + i, commitLog.read(i).getMessage().getId());
+        }
+        Assert.assertNull(commitLog.read(1000));
+        Assert.assertEquals(0, commitLog.getMinOffset());
+        Assert.assertEquals(1000, commitLog.getMaxOffset());
+    }
+
+    @Test
+    public void testRecoverTornTail() throws Exception {
+        CommitLog commitLog = CommitLog.open(TOPIC, folder.getRoot(), SEGMENT_SIZE);
+        for (int i = 0; i < 10; i++) {
+            commitLog.append(event("id-" + i), i);
+        }
+        commitLog.flush();
+
+        // corrupt the body of the last record
+        File[] logs = folder.getRoot().listFiles((dir, name) -> name.endsWith(CommitLogSegment.LOG_SUFFIX));
+        Arrays.sort(logs);
+        try (RandomAccessFile file = new RandomAccessFile(logs[logs.length - 1], "rw")) {
+            int position = 0;
+            int last = 0;
+            file.seek(position);
+            int size;
+            while ((size = file.readInt()) > 0) {
+                last = position;
+                position += size;
+                file.seek(position);
+            }
+            file.seek(last + CommitLogSegment.HEADER_SIZE);
+            file.write('X');
+        }
+
+        CommitLog recovered = CommitLog.open(TOPIC, folder.getRoot(), SEGMENT_SIZE);
+        Assert.assertEquals(9, recovered.getMaxOffset());
+        Assert.assertEquals("id-8", recovered.read(8).getMessage().getId());
+        Assert.assertNull(recovered.read(9));
+        Assert.assertEquals(9, recovered.append(event("id-new"), 10).getOffset());
+        Assert.assertEquals("id-new", recovered.read(9).getMessage().getId());
+    }
+
+    @Test
+    public void testBinaryDataRoundTrip() throws Exception {
+        // not valid utf-8
+        byte[] data = {(byte) 0xff, (byte) 0xfe, 0, (byte) 0x80, (byte) 0xc3, 0x28};
+        CommitLog commitLog = CommitLog.open(TOPIC, folder.getRoot(), SEGMENT_SIZE);
+        commitLog.append(CloudEventBuilder.v1()
+                .withId("binary")
+                .withSource(URI.create("testsource"))
+                .withType("testType")
+                .withData("application/octet-stream", data)
+                .build(), 0);
+        commitLog.flush();
+
+        CommitLog reloaded = CommitLog.open(TOPIC, folder.getRoot(), SEGMENT_SIZE);
+        CloudEvent message = reloaded.read(0).getMessage();
+        Assert.assertEquals("application/octet-stream", message.getDataContentType());
+        Assert.assertArrayEquals(data, message.getData().toBytes());
+    }
+
+    @Test
+    public void testDeleteExpired() throws Exception {
+        CommitLog commitLog = CommitLog.open(TOPIC, folder.getRoot(), SEGMENT_SIZE);
+        for (int i = 0; i < 1000; i++) {
+            commitLog.append(event("id-" + i), i);
+        }
+        Assert.assertTrue(commitLog.deleteExpired(1000, 2 * SEGMENT_SIZE, 0) > 0);
+        long minOffset = commitLog.getMinOffset();
+        Assert.assertTrue(minOffset > 0);
+        Assert.assertNull(commitLog.read(minOffset - 1));
+        Assert.assertNotNull(commitLog.read(minOffset));
+
+        // the active segment is never deleted
+        commitLog.deleteExpired(Long.MAX_VALUE, 0, 1);
+        Assert.assertEquals(1000, commitLog.getMaxOffset());
+        Assert.assertNotNull(commitLog.read(999));
+    }
+
+    @Test
+    public void testConsumerOffsetStore() throws Exception {
+        File file = new File(folder.getRoot(), "consumerOffset.properties");
+        ConsumerOffsetStore offsetStore = new ConsumerOffsetStore(file);
+        offsetStore.updateOffset("test-topic", "group-a", 5);
+        offsetStore.updateOffset("test-topic", "group-b", 7);
+        offsetStore.persist();
+
+        ConsumerOffsetStore reloaded = new ConsumerOffsetStore(file);
+        Assert.assertEquals(5, reloaded.getOffset("test-topic", "group-a"));
+        Assert.assertEquals(7, reloaded.getOffset("test-topic", "group-b"));
+        Assert.assertEquals(-1, reloaded.getOffset("other-topic", "group-a"));
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.eventmesh.client.tcp.conf.EventMeshTCPClientConfig;
 import org.apache.eventmesh.common.ExampleConstants;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
 import org.apache.eventmesh.tcp.common.EventMeshTestUtils;
 import org.apache.eventmesh.util.Utils;
 
@@ -68,7 +69,7 @@ public class SyncRequest {
                 return;
             }
             CloudEvent replyEvent = eventFormat
-                .deserialize(response.getBody().toString().getBytes(StandardCharsets.UTF_8));
+                .deserialize(Codec.getBodyBytes(response));
 
             // check-NPE CloudEventData
             CloudEventData cloudEventData = replyEvent.getData();
@@ -32,6 +32,13 @@ public class GrpcSummaryMetrics implements Metric {
     private long mq2EventMeshTPS;
 
     private long retrySize;
+
+    // latency between the due time of a retry and its execution, in millis
+    private long retryLatencyP50;
+
+    private long retryLatencyP99;
+
+    private long retryRejectNum;
     private long subscribeTopicNum;
 
     public GrpcSummaryMetrics() {
@@ -95,6 +102,30 @@ public class GrpcSummaryMetrics implements Metric {
         this.retrySize = retrySize;
     }
 
+    public long getRetryLatencyP50() {
+        return retryLatencyP50;
+    }
+
+    public void setRetryLatencyP50(long retryLatencyP50) {
+        this.retryLatencyP50 = retryLatencyP50;
+    }
+
+    public long getRetryLatencyP99() {
+        return retryLatencyP99;
+    }
+
+    public void setRetryLatencyP99(long retryLatencyP99) {
+        this.retryLatencyP99 = retryLatencyP99;
+    }
+
+    public long getRetryRejectNum() {
+        return retryRejectNum;
+    }
+
+    public void setRetryRejectNum(long retryRejectNum) {
+        this.retryRejectNum = retryRejectNum;
+    }
+
     public long getSubscribeTopicNum() {
         return subscribeTopicNum;
     }
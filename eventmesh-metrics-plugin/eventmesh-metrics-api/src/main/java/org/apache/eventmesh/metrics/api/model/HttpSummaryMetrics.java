@@ -19,9 +19,10 @@ package org.apache.eventmesh.metrics.api.model;
 
 import java.util.Collections;
 import java.util.LinkedList;
-import java.util.concurrent.DelayQueue;
+import java.util.Map;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,11 +35,11 @@ public class HttpSummaryMetrics implements Metric {
     public HttpSummaryMetrics(final ThreadPoolExecutor batchMsgExecutor,
                               final ThreadPoolExecutor sendMsgExecutor,
                               final ThreadPoolExecutor pushMsgExecutor,
-                              final DelayQueue<?> httpFailedQueue) {
+                              final IntSupplier httpRetryQueueSize) {
         this.batchMsgExecutor = batchMsgExecutor;
         this.sendMsgExecutor = sendMsgExecutor;
         this.pushMsgExecutor = pushMsgExecutor;
-        this.httpFailedQueue = httpFailedQueue;
+        this.httpRetryQueueSize = httpRetryQueueSize;
     }
 
     private float wholeCost = 0f;
@@ -105,6 +106,8 @@ public class HttpSummaryMetrics implements Metric {
         maxCost.set(0L);
         httpDecodeNum.set(0L);
         httpDecodeTimeCost = 0f;
+        httpDecodeAllocatedNum.set(0L);
+        httpDecodeAllocatedBytes.set(0L);
     }
 
     private float httpDecodeTimeCost = 0f;
@@ -119,6 +122,27 @@ public class HttpSummaryMetrics implements Metric {
     public float avgHTTPBodyDecodeCost() {
         return (httpDecodeNum.longValue() == 0L) ? 0f : httpDecodeTimeCost / httpDecodeNum.longValue();
     }
+
+    private AtomicLong httpDecodeAllocatedNum = new AtomicLong(0);
+
+    private AtomicLong httpDecodeAllocatedBytes = new AtomicLong(0);
+
+    /**
+     * @param cost           decode time in millis
+     * @param allocatedBytes heap bytes allocated by the decoding thread, negative if the jvm can not measure it
+     */
+    public void recordDecodeTimeCost(long cost, long allocatedBytes) {
+        recordDecodeTimeCost(cost);
+        if (allocatedBytes >= 0) {
+            httpDecodeAllocatedNum.incrementAndGet();
+            httpDecodeAllocatedBytes.addAndGet(allocatedBytes);
+        }
+    }
+
+    public float avgHTTPBodyDecodeAllocatedBytes() {
+        return (httpDecodeAllocatedNum.longValue() == 0L) ? 0f
+            : (float) httpDecodeAllocatedBytes.longValue() / httpDecodeAllocatedNum.longValue();
+    }
     
     private AtomicLong sendBatchMsgNumPerSecond = new AtomicLong(0);
 
@@ -386,7 +410,24 @@ public class HttpSummaryMetrics implements Metric {
 
     private final ThreadPoolExecutor pushMsgExecutor;
 
-    private final DelayQueue<?> httpFailedQueue;
+    private final IntSupplier httpRetryQueueSize;
+
+    // latency between the due time of a retry and its execution, in millis
+    private long retryLatencyP50;
+
+    private long retryLatencyP99;
+
+    private long retryRejectNum;
+
+    // timed out pushes per second, by consumer group
+    private volatile Map<String, Double> pushTimeoutRate = Collections.emptyMap();
+
+    // health of the push urls, by url
+    private volatile Map<String, Double> pushEndpointLatency = Collections.emptyMap();
+
+    private volatile Map<String, Double> pushEndpointErrorRate = Collections.emptyMap();
+
+    private volatile Map<String, Integer> pushEndpointEjected = Collections.emptyMap();
 
     public int getBatchMsgQueueSize() {
         return batchMsgExecutor.getQueue().size();
@@ -401,7 +442,63 @@ public class HttpSummaryMetrics implements Metric {
     }
 
     public int getHttpRetryQueueSize() {
-        return httpFailedQueue.size();
+        return httpRetryQueueSize.getAsInt();
+    }
+
+    public long getRetryLatencyP50() {
+        return retryLatencyP50;
+    }
+
+    public void setRetryLatencyP50(long retryLatencyP50) {
+        this.retryLatencyP50 = retryLatencyP50;
+    }
+
+    public long getRetryLatencyP99() {
+        return retryLatencyP99;
+    }
+
+    public void setRetryLatencyP99(long retryLatencyP99) {
+        this.retryLatencyP99 = retryLatencyP99;
+    }
+
+    public long getRetryRejectNum() {
+        return retryRejectNum;
+    }
+
+    public void setRetryRejectNum(long retryRejectNum) {
+        this.retryRejectNum = retryRejectNum;
+    }
+
+    public Map<String, Double> getPushTimeoutRate() {
+        return pushTimeoutRate;
+    }
+
+    public void setPushTimeoutRate(Map<String, Double> pushTimeoutRate) {
+        this.pushTimeoutRate = pushTimeoutRate;
+    }
+
+    public Map<String, Double> getPushEndpointLatency() {
+        return pushEndpointLatency;
+    }
+
+    public void setPushEndpointLatency(Map<String, Double> pushEndpointLatency) {
+        this.pushEndpointLatency = pushEndpointLatency;
+    }
+
+    public Map<String, Double> getPushEndpointErrorRate() {
+        return pushEndpointErrorRate;
+    }
+
+    public void setPushEndpointErrorRate(Map<String, Double> pushEndpointErrorRate) {
+        this.pushEndpointErrorRate = pushEndpointErrorRate;
+    }
+
+    public Map<String, Integer> getPushEndpointEjected() {
+        return pushEndpointEjected;
+    }
+
+    public void setPushEndpointEjected(Map<String, Integer> pushEndpointEjected) {
+        this.pushEndpointEjected = pushEndpointEjected;
     }
 
 
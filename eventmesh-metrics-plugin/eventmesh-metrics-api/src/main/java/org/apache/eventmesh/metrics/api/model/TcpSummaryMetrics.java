@@ -18,6 +18,7 @@
 package org.apache.eventmesh.metrics.api.model;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.Data;
 
@@ -38,6 +39,17 @@ public class TcpSummaryMetrics implements Metric {
 
     private int retrySize;
 
+    // latency between the due time of a retry and its execution, in millis
+    private long retryLatencyP50;
+
+    private long retryLatencyP99;
+
+    private long retryRejectNum;
+
+    private AtomicLong partialFrameWaitNum = new AtomicLong(0);
+
+    private AtomicLong oversizeFrameRejectNum = new AtomicLong(0);
+
     public TcpSummaryMetrics() {
         this.client2eventMeshMsgNum = new AtomicInteger(0);
         this.eventMesh2mqMsgNum = new AtomicInteger(0);
@@ -136,4 +148,36 @@ public class TcpSummaryMetrics implements Metric {
     public int getRetrySize() {
         return retrySize;
     }
+
+    public long getRetryLatencyP50() {
+        return retryLatencyP50;
+    }
+
+    public void setRetryLatencyP50(long retryLatencyP50) {
+        this.retryLatencyP50 = retryLatencyP50;
+    }
+
+    public long getRetryLatencyP99() {
+        return retryLatencyP99;
+    }
+
+    public void setRetryLatencyP99(long retryLatencyP99) {
+        this.retryLatencyP99 = retryLatencyP99;
+    }
+
+    public long getRetryRejectNum() {
+        return retryRejectNum;
+    }
+
+    public void setRetryRejectNum(long retryRejectNum) {
+        this.retryRejectNum = retryRejectNum;
+    }
+
+    public long getPartialFrameWaitNum() {
+        return partialFrameWaitNum.get();
+    }
+
+    public long getOversizeFrameRejectNum() {
+        return oversizeFrameRejectNum.get();
+    }
 }
@@ -46,6 +46,9 @@ public class PrometheusGrpcExporter {
 
         observeOfValue(meter, "sub.topic.num", "get sub topic num.", summaryMetrics::getSubscribeTopicNum);
         observeOfValue(meter, "retry.queue.size", "get size of retry queue.", summaryMetrics::getRetrySize);
+        observeOfValue(meter, "retry.latency.p50", "p50 of retry latency.", summaryMetrics::getRetryLatencyP50);
+        observeOfValue(meter, "retry.latency.p99", "p99 of retry latency.", summaryMetrics::getRetryLatencyP99);
+        observeOfValue(meter, "retry.reject.num", "number of rejected retries.", summaryMetrics::getRetryRejectNum);
 
         observeOfValue(meter, "server.tps", "get size of retry queue.", summaryMetrics::getClient2EventMeshTPS);
         observeOfValue(meter, "client.tps", "get tps of eventMesh to mq.", summaryMetrics::getEventMesh2ClientTPS);
@@ -70,6 +70,14 @@ public class PrometheusHttpExporter {
             .setUpdater(result -> result.observe(summaryMetrics.avgHTTPBodyDecodeCost(), Labels.empty()))
             .build();
 
+        //avgHTTPBodyDecodeAllocatedBytes
+        meter
+            .doubleValueObserverBuilder("eventmesh.http.body.decode.allocated.bytes.avg")
+            .setDescription("avg heap bytes allocated by body decode of HTTP.")
+            .setUnit("HTTP")
+            .setUpdater(result -> result.observe(summaryMetrics.avgHTTPBodyDecodeAllocatedBytes(), Labels.empty()))
+            .build();
+
         //httpDiscard
         meter
             .longValueObserverBuilder("eventmesh.http.request.discard.num")
@@ -270,6 +278,65 @@ public class PrometheusHttpExporter {
             .setUpdater(result -> result.observe(summaryMetrics.getHttpRetryQueueSize(), Labels.empty()))
             .build();
 
+        //httpRetryLatency
+        meter
+            .longValueObserverBuilder("eventmesh.http.retry.latency.p50")
+            .setDescription("p50 of http retry latency.")
+            .setUnit("HTTP")
+            .setUpdater(result -> result.observe(summaryMetrics.getRetryLatencyP50(), Labels.empty()))
+            .build();
+
+        meter
+            .longValueObserverBuilder("eventmesh.http.retry.latency.p99")
+            .setDescription("p99 of http retry latency.")
+            .setUnit("HTTP")
+            .setUpdater(result -> result.observe(summaryMetrics.getRetryLatencyP99(), Labels.empty()))
+            .build();
+
+        //httpRetryRejectNum
+        meter
+            .longValueObserverBuilder("eventmesh.http.retry.reject.num")
+            .setDescription("number of rejected http retries.")
+            .setUnit("HTTP")
+            .setUpdater(result -> result.observe(summaryMetrics.getRetryRejectNum(), Labels.empty()))
+            .build();
+
+        //pushTimeoutRate
+        meter
+            .doubleValueObserverBuilder("eventmesh.http.push.timeout.rate")
+            .setDescription("timed out http pushes per second of each consumer group.")
+            .setUnit("HTTP")
+            .setUpdater(result -> summaryMetrics.getPushTimeoutRate()
+                .forEach((group, rate) -> result.observe(rate, Labels.of("group", group))))
+            .build();
+
+        //pushEndpointLatency
+        meter
+            .doubleValueObserverBuilder("eventmesh.http.push.endpoint.latency")
+            .setDescription("moving average of the push latency of each url.")
+            .setUnit("HTTP")
+            .setUpdater(result -> summaryMetrics.getPushEndpointLatency()
+                .forEach((url, latency) -> result.observe(latency, Labels.of("url", url))))
+            .build();
+
+        //pushEndpointErrorRate
+        meter
+            .doubleValueObserverBuilder("eventmesh.http.push.endpoint.error.rate")
+            .setDescription("recent push error rate of each url.")
+            .setUnit("HTTP")
+            .setUpdater(result -> summaryMetrics.getPushEndpointErrorRate()
+                .forEach((url, rate) -> result.observe(rate, Labels.of("url", url))))
+            .build();
+
+        //pushEndpointEjected
+        meter
+            .longValueObserverBuilder("eventmesh.http.push.endpoint.ejected")
+            .setDescription("whether each push url is ejected, 1 for ejected.")
+            .setUnit("HTTP")
+            .setUpdater(result -> summaryMetrics.getPushEndpointEjected()
+                .forEach((url, ejected) -> result.observe(ejected, Labels.of("url", url))))
+            .build();
+
         //batchAvgSend2MQCost
         meter
             .doubleValueObserverBuilder("eventmesh.batch.send.message.cost.avg")
@@ -37,6 +37,26 @@ public class PrometheusTcpExporter {
             .setUpdater(result -> result.observe(summaryMetrics.getRetrySize(), Labels.empty()))
             .build();
 
+        //retryLatency
+        meter.doubleValueObserverBuilder("eventmesh.tcp.retry.latency.p50")
+            .setDescription("p50 of retry latency.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getRetryLatencyP50(), Labels.empty()))
+            .build();
+
+        meter.doubleValueObserverBuilder("eventmesh.tcp.retry.latency.p99")
+            .setDescription("p99 of retry latency.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getRetryLatencyP99(), Labels.empty()))
+            .build();
+
+        //retryRejectNum
+        meter.doubleValueObserverBuilder("eventmesh.tcp.retry.reject.num")
+            .setDescription("number of rejected retries.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getRetryRejectNum(), Labels.empty()))
+            .build();
+
         //client2eventMeshTPS
         meter.doubleValueObserverBuilder("eventmesh.tcp.server.tps")
             .setDescription("get tps of client to eventMesh.")
@@ -85,5 +105,19 @@ public class PrometheusTcpExporter {
             .setUnit("TCP")
             .setUpdater(result -> result.observe(summaryMetrics.getSubTopicNum(), Labels.empty()))
             .build();
+
+        //partialFrameWaitNum
+        meter.doubleValueObserverBuilder("eventmesh.tcp.decode.partial.frame.num")
+            .setDescription("get times the decoder waited for the rest of a frame.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getPartialFrameWaitNum(), Labels.empty()))
+            .build();
+
+        //oversizeFrameRejectNum
+        meter.doubleValueObserverBuilder("eventmesh.tcp.decode.oversize.frame.num")
+            .setDescription("get num of frames rejected for exceeding the length limit.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getOversizeFrameRejectNum(), Labels.empty()))
+            .build();
     }
 }
@@ -28,6 +28,7 @@ import org.apache.eventmesh.common.protocol.http.body.Body;
 import org.apache.eventmesh.common.protocol.http.common.RequestCode;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.exception.ProtocolHandleException;
 import org.apache.eventmesh.protocol.cloudevents.resolver.grpc.GrpcMessageProtocolResolver;
@@ -64,9 +65,9 @@ public class CloudEventsProtocolAdaptor<T extends ProtocolTransportObject>
         if (cloudEvent instanceof Package) {
             Package tcpPackage = (Package) cloudEvent;
             Header header = tcpPackage.getHeader();
-            String cloudEventJson = tcpPackage.getBody().toString();
+            byte[] cloudEventBytes = Codec.getBodyBytes(tcpPackage);
 
-            return deserializeTcpProtocol(header, cloudEventJson);
+            return deserializeTcpProtocol(header, cloudEventBytes);
 
         } else if (cloudEvent instanceof HttpCommand) {
             org.apache.eventmesh.common.protocol.http.header.Header header = ((HttpCommand) cloudEvent).getHeader();
@@ -82,8 +83,8 @@ public class CloudEventsProtocolAdaptor<T extends ProtocolTransportObject>
         }
     }
 
-    private CloudEvent deserializeTcpProtocol(Header header, String cloudEventJson) throws ProtocolHandleException {
-        return TcpMessageProtocolResolver.buildEvent(header, cloudEventJson);
+    private CloudEvent deserializeTcpProtocol(Header header, byte[] cloudEventBytes) throws ProtocolHandleException {
+        return TcpMessageProtocolResolver.buildEvent(header, cloudEventBytes);
     }
 
     private CloudEvent deserializeHttpProtocol(String requestCode,
@@ -22,10 +22,9 @@ import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.protocol.api.exception.ProtocolHandleException;
 import org.apache.eventmesh.protocol.cloudevents.CloudEventsProtocolConstant;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.nio.charset.StandardCharsets;
-
 import io.cloudevents.CloudEvent;
 import io.cloudevents.SpecVersion;
 import io.cloudevents.core.builder.CloudEventBuilder;
@@ -37,7 +36,7 @@ import com.google.common.base.Preconditions;
 
 public class TcpMessageProtocolResolver {
 
-    public static CloudEvent buildEvent(Header header, String cloudEventJson)
+    public static CloudEvent buildEvent(Header header, byte[] cloudEventBytes)
             throws ProtocolHandleException {
         CloudEventBuilder cloudEventBuilder;
 
@@ -53,9 +52,8 @@ public class TcpMessageProtocolResolver {
                             protocolType, protocolVersion, protocolDesc));
         }
 
-        if (StringUtils.isBlank(cloudEventJson)) {
-            throw new ProtocolHandleException(
-                String.format("invalid method params cloudEventJson %s", cloudEventJson));
+        if (ArrayUtils.isEmpty(cloudEventBytes)) {
+            throw new ProtocolHandleException("invalid method params cloudEventBytes is empty");
         }
 
         if (!StringUtils.equals(CloudEventsProtocolConstant.PROTOCOL_NAME, protocolType)) {
@@ -67,7 +65,7 @@ public class TcpMessageProtocolResolver {
             EventFormat eventFormat = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE);
             Preconditions
                     .checkNotNull(eventFormat, String.format("EventFormat: %s is not supported", JsonFormat.CONTENT_TYPE));
-            CloudEvent event = eventFormat.deserialize(cloudEventJson.getBytes(StandardCharsets.UTF_8));
+            CloudEvent event = eventFormat.deserialize(cloudEventBytes);
             cloudEventBuilder = CloudEventBuilder.v1(event);
             for (String propKey : header.getProperties().keySet()) {
                 cloudEventBuilder.withExtension(propKey, header.getProperty(propKey).toString());
@@ -78,7 +76,7 @@ public class TcpMessageProtocolResolver {
         } else if (StringUtils.equals(SpecVersion.V03.toString(), protocolVersion)) {
             // todo:resolve different format
             CloudEvent event = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE)
-                    .deserialize(cloudEventJson.getBytes(StandardCharsets.UTF_8));
+                    .deserialize(cloudEventBytes);
             cloudEventBuilder = CloudEventBuilder.v03(event);
 
             for (String propKey : header.getProperties().keySet()) {
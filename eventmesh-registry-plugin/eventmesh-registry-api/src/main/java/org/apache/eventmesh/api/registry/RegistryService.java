@@ -43,6 +43,15 @@ public interface RegistryService {
 
     List<EventMeshDataInfo> findAllEventMeshInfo() throws RegistryException;
 
+    /**
+     * Watch the eventmesh instances of a cluster, the listener is called after each change.
+     *
+     * @return false if the plugin cannot watch, the caller then has to poll
+     */
+    default boolean subscribe(String clusterName, RegistryListener listener) throws RegistryException {
+        return false;
+    }
+
     Map<String/*eventMeshName*/, Map<String/*purpose*/, Integer/*num*/>> findEventMeshClientDistributionData(
         String clusterName, String group, String purpose) throws RegistryException;
 
@@ -18,6 +18,7 @@
 package org.apache.eventmesh.registry.consul.service;
 
 import org.apache.eventmesh.api.exception.RegistryException;
+import org.apache.eventmesh.api.registry.RegistryListener;
 import org.apache.eventmesh.api.registry.RegistryService;
 import org.apache.eventmesh.api.registry.dto.EventMeshDataInfo;
 import org.apache.eventmesh.api.registry.dto.EventMeshRegisterInfo;
@@ -31,6 +32,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -38,6 +41,8 @@ import org.slf4j.LoggerFactory;
 
 import com.ecwid.consul.v1.ConsulClient;
 import com.ecwid.consul.v1.ConsulRawClient;
+import com.ecwid.consul.v1.QueryParams;
+import com.ecwid.consul.v1.Response;
 import com.ecwid.consul.v1.agent.model.NewService;
 import com.ecwid.consul.v1.agent.model.Service;
 import com.ecwid.consul.v1.health.HealthServicesRequest;
@@ -61,6 +66,8 @@ public class ConsulRegistryService implements RegistryService {
 
     private String token;
 
+    private final List<ClusterWatcher> clusterWatchers = new CopyOnWriteArrayList<>();
+
     @Override
     public void init() throws RegistryException {
         if (INIT_STATUS.compareAndSet(false, true)) {
@@ -92,6 +99,8 @@ public class ConsulRegistryService implements RegistryService {
     public void shutdown() throws RegistryException {
         INIT_STATUS.compareAndSet(true, false);
         START_STATUS.compareAndSet(true, false);
+        clusterWatchers.forEach(ClusterWatcher::stop);
+        clusterWatchers.clear();
         consulClient = null;
     }
 
@@ -137,6 +146,17 @@ public class ConsulRegistryService implements RegistryService {
         return eventMeshDataInfos;
     }
 
+    /**
+     * Consul has no push, the instances are watched with blocking queries on a daemon thread per cluster.
+     */
+    @Override
+    public boolean subscribe(String clusterName, RegistryListener listener) throws RegistryException {
+        ClusterWatcher clusterWatcher = new ClusterWatcher(clusterName, listener);
+        clusterWatchers.add(clusterWatcher);
+        clusterWatcher.start();
+        return true;
+    }
+
     @Override
     public List<EventMeshDataInfo> findAllEventMeshInfo() throws RegistryException {
         Map<String, Service> agentServices = consulClient.getAgentServices().getValue();
@@ -162,4 +182,75 @@ public class ConsulRegistryService implements RegistryService {
     public ConsulClient getConsulClient() {
         return consulClient;
     }
+
+    private class ClusterWatcher implements Runnable {
+
+        private static final long WAIT_TIME_IN_SECONDS = 55;
+
+        private static final long RETRY_INTERVAL_IN_MILLS = 1000;
+
+        private final String clusterName;
+
+        private final RegistryListener listener;
+
+        private final Thread thread;
+
+        private volatile boolean stopped = false;
+
+        ClusterWatcher(String clusterName, RegistryListener listener) {
+            this.clusterName = clusterName;
+            this.listener = listener;
+            this.thread = new Thread(this, "ConsulClusterWatcher-" + clusterName);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        void stop() {
+            stopped = true;
+            thread.interrupt();
+        }
+
+        @Override
+        public void run() {
+            long index = 0;
+            while (!stopped) {
+                try {
+                    HealthServicesRequest request = HealthServicesRequest.newBuilder()
+                        .setPassing(true)
+                        .setToken(token)
+                        .setQueryParams(new QueryParams(WAIT_TIME_IN_SECONDS, index))
+                        .build();
+                    // returns at once on a change after the index, else after the wait time
+                    Response<List<HealthService>> response = consulClient.getHealthServices(clusterName, request);
+                    Long consulIndex = response.getConsulIndex();
+                    if (consulIndex == null) {
+                        TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL_IN_MILLS);
+                        continue;
+                    }
+                    if (index != 0 && consulIndex != index) {
+                        listener.onChange(clusterName);
+                    }
+                    // an index going backwards is reset, as advised for the blocking queries
+                    index = consulIndex < index ? 0 : consulIndex;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    if (stopped) {
+                        return;
+                    }
+                    logger.warn("watch the cluster {} of consul failed", clusterName, e);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL_IN_MILLS);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
 }
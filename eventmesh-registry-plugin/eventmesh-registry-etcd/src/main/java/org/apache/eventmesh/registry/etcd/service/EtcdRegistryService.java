@@ -18,6 +18,7 @@
 package org.apache.eventmesh.registry.etcd.service;
 
 import org.apache.eventmesh.api.exception.RegistryException;
+import org.apache.eventmesh.api.registry.RegistryListener;
 import org.apache.eventmesh.api.registry.RegistryService;
 import org.apache.eventmesh.api.registry.dto.EventMeshDataInfo;
 import org.apache.eventmesh.api.registry.dto.EventMeshRegisterInfo;
@@ -38,6 +39,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -49,8 +51,10 @@ import org.slf4j.LoggerFactory;
 import io.etcd.jetcd.ByteSequence;
 import io.etcd.jetcd.Client;
 import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Watch;
 import io.etcd.jetcd.options.GetOption;
 import io.etcd.jetcd.options.PutOption;
+import io.etcd.jetcd.options.WatchOption;
 
 public class EtcdRegistryService implements RegistryService {
 
@@ -75,6 +79,8 @@ public class EtcdRegistryService implements RegistryService {
 
     private ScheduledExecutorService etcdRegistryMonitorExecutorService;
 
+    private final List<Watch.Watcher> clusterWatchers = new CopyOnWriteArrayList<>();
+
     @Override
     public void init() throws RegistryException {
         boolean update = INIT_STATUS.compareAndSet(false, true);
@@ -126,6 +132,8 @@ public class EtcdRegistryService implements RegistryService {
         INIT_STATUS.compareAndSet(true, false);
         START_STATUS.compareAndSet(true, false);
         try {
+            clusterWatchers.forEach(Watch.Watcher::close);
+            clusterWatchers.clear();
             if (etcdClient != null) {
                 etcdClient.close();
             }
@@ -163,6 +171,20 @@ public class EtcdRegistryService implements RegistryService {
         return eventMeshDataInfoList;
     }
 
+    @Override
+    public boolean subscribe(String clusterName, RegistryListener listener) throws RegistryException {
+        try {
+            ByteSequence keyPrefix = getEtcdKey(clusterName, null, null);
+            WatchOption watchOption = WatchOption.newBuilder().withPrefix(keyPrefix).build();
+            clusterWatchers.add(etcdClient.getWatchClient().watch(keyPrefix, watchOption,
+                    Watch.listener(watchResponse -> listener.onChange(clusterName))));
+            return true;
+        } catch (Exception e) {
+            logger.error("[EtcdRegistryService][subscribe] error, clusterName: {}", clusterName, e);
+            throw new RegistryException(e.getMessage());
+        }
+    }
+
     @Override
     public List<EventMeshDataInfo> findAllEventMeshInfo() throws RegistryException {
         try {
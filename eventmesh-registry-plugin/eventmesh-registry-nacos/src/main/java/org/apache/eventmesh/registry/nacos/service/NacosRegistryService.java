@@ -18,6 +18,7 @@
 package org.apache.eventmesh.registry.nacos.service;
 
 import org.apache.eventmesh.api.exception.RegistryException;
+import org.apache.eventmesh.api.registry.RegistryListener;
 import org.apache.eventmesh.api.registry.RegistryService;
 import org.apache.eventmesh.api.registry.dto.EventMeshDataInfo;
 import org.apache.eventmesh.api.registry.dto.EventMeshRegisterInfo;
@@ -150,6 +151,24 @@ public class NacosRegistryService implements RegistryService {
         return eventMeshDataInfoList;
     }
 
+    @Override
+    public boolean subscribe(String clusterName, RegistryListener listener) throws RegistryException {
+        for (String key : ConfigurationContextUtil.KEYS) {
+            CommonConfiguration configuration = ConfigurationContextUtil.get(key);
+            if (Objects.isNull(configuration)) {
+                continue;
+            }
+            try {
+                namingService.subscribe(configuration.getEventMeshName() + "-" + key, configuration.getEventMeshCluster(),
+                        Collections.singletonList(clusterName), event -> listener.onChange(clusterName));
+            } catch (NacosException e) {
+                logger.error("[NacosRegistryService][subscribe] error", e);
+                throw new RegistryException(e.getMessage());
+            }
+        }
+        return true;
+    }
+
     @Override
     public List<EventMeshDataInfo> findAllEventMeshInfo() throws RegistryException {
         List<EventMeshDataInfo> eventMeshDataInfoList = new ArrayList<>();
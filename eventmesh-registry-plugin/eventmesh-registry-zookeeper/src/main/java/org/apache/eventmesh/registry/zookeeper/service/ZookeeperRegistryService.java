@@ -19,6 +19,7 @@ package org.apache.eventmesh.registry.zookeeper.service;
 
 
 import org.apache.eventmesh.api.exception.RegistryException;
+import org.apache.eventmesh.api.registry.RegistryListener;
 import org.apache.eventmesh.api.registry.RegistryService;
 import org.apache.eventmesh.api.registry.dto.EventMeshDataInfo;
 import org.apache.eventmesh.api.registry.dto.EventMeshRegisterInfo;
@@ -34,6 +35,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.curator.RetryPolicy;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.data.Stat;
@@ -44,6 +47,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -64,6 +68,8 @@ public class ZookeeperRegistryService implements RegistryService {
 
     private Map<String, EventMeshRegisterInfo> eventMeshRegisterInfoMap;
 
+    private final List<TreeCache> clusterWatchers = new CopyOnWriteArrayList<>();
+
     @Override
     public void init() throws RegistryException {
         boolean update = INIT_STATUS.compareAndSet(false, true);
@@ -110,6 +116,8 @@ public class ZookeeperRegistryService implements RegistryService {
     public void shutdown() throws RegistryException {
         INIT_STATUS.compareAndSet(true, false);
         START_STATUS.compareAndSet(true, false);
+        clusterWatchers.forEach(TreeCache::close);
+        clusterWatchers.clear();
         try (CuratorFramework closedClient = zkClient) {
             //
         } catch (Exception e) {
@@ -168,6 +176,31 @@ public class ZookeeperRegistryService implements RegistryService {
         return eventMeshDataInfoList;
     }
 
+    /**
+     * Watch the services of the cluster and their instances, i.e. two levels below the cluster path.
+     */
+    @Override
+    public boolean subscribe(String clusterName, RegistryListener listener) throws RegistryException {
+        TreeCache clusterWatcher = TreeCache.newBuilder(zkClient, ZookeeperConstant.PATH_SEPARATOR.concat(clusterName))
+            .setMaxDepth(2)
+            .build();
+        clusterWatcher.getListenable().addListener((client, event) -> {
+            if (event.getType() == TreeCacheEvent.Type.NODE_ADDED
+                || event.getType() == TreeCacheEvent.Type.NODE_UPDATED
+                || event.getType() == TreeCacheEvent.Type.NODE_REMOVED) {
+                listener.onChange(clusterName);
+            }
+        });
+        try {
+            clusterWatcher.start();
+        } catch (Exception e) {
+            clusterWatcher.close();
+            throw new RegistryException("ZookeeperRegistry subscribe failed", e);
+        }
+        clusterWatchers.add(clusterWatcher);
+        return true;
+    }
+
     @Override
     public List<EventMeshDataInfo> findAllEventMeshInfo() throws RegistryException {
         List<EventMeshDataInfo> eventMeshDataInfoList = new ArrayList<>();
@@ -32,6 +32,7 @@ import org.apache.eventmesh.runtime.admin.handler.RejectClientBySubSystemHandler
 import org.apache.eventmesh.runtime.admin.handler.ShowClientBySystemHandler;
 import org.apache.eventmesh.runtime.admin.handler.ShowClientHandler;
 import org.apache.eventmesh.runtime.admin.handler.ShowListenClientByTopicHandler;
+import org.apache.eventmesh.runtime.admin.handler.ShowPushEndpointHandler;
 import org.apache.eventmesh.runtime.admin.handler.UpdateWebHookConfigHandler;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.webhook.admin.AdminWebHookConfigOperationManage;
@@ -91,6 +92,7 @@ public class ClientManageController {
         new RedirectClientByIpPortHandler(eventMeshTCPServer, httpHandlerManager);
         new ShowListenClientByTopicHandler(eventMeshTCPServer, httpHandlerManager);
         new QueryRecommendEventMeshHandler(eventMeshTCPServer, httpHandlerManager);
+        new ShowPushEndpointHandler(eventMeshTCPServer, httpHandlerManager);
 
         if (Objects.nonNull(adminWebHookConfigOperationManage.getWebHookConfigOperation())) {
             WebHookConfigOperation webHookConfigOperation = adminWebHookConfigOperationManage.getWebHookConfigOperation();
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.admin.handler;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.utils.NetUtils;
+import org.apache.eventmesh.runtime.admin.controller.HttpHandlerManager;
+import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
+import org.apache.eventmesh.runtime.common.EventHttpHandler;
+import org.apache.eventmesh.runtime.core.protocol.http.push.HttpPushEndpointHealth;
+import org.apache.eventmesh.runtime.core.protocol.http.push.HttpPushEndpoints;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * This handler used to print the health of the http push urls
+ */
+@EventHttpHandler(path = "/clientManage/showPushEndpoint")
+public class ShowPushEndpointHandler extends AbstractHttpHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShowPushEndpointHandler.class);
+
+    private final EventMeshTCPServer eventMeshTCPServer;
+
+    public ShowPushEndpointHandler(EventMeshTCPServer eventMeshTCPServer, HttpHandlerManager httpHandlerManager) {
+        super(httpHandlerManager);
+        this.eventMeshTCPServer = eventMeshTCPServer;
+    }
+
+    @Override
+    public void handle(HttpExchange httpExchange) throws IOException {
+        StringBuilder result = new StringBuilder();
+        try (OutputStream out = httpExchange.getResponseBody()) {
+            String newLine = System.getProperty("line.separator");
+            logger.info("showPushEndpoint=================");
+            EventMeshHTTPServer eventMeshHTTPServer = eventMeshTCPServer.getEventMeshServer().getEventMeshHTTPServer();
+            if (eventMeshHTTPServer == null || eventMeshHTTPServer.getPushEndpoints() == null) {
+                result.append("http server is not running").append(newLine);
+            } else {
+                HttpPushEndpoints pushEndpoints = eventMeshHTTPServer.getPushEndpoints();
+                long now = System.currentTimeMillis();
+                for (HttpPushEndpointHealth health : pushEndpoints.getEndpoints()) {
+                    result.append(String.format("url=%s | state=%s | latencyEwma=%.1f | errorRate=%.3f | outstanding=%d | requests=%d | failures=%d",
+                        health.getUrl(), health.getState(), health.getLatencyEwma(), health.getErrorRate(now),
+                        pushEndpoints.getOutstanding(health.getUrl()), health.getTotalRequests(), health.getTotalFailures()))
+                        .append(newLine);
+                }
+            }
+            NetUtils.sendSuccessResponseHeaders(httpExchange);
+            out.write(result.toString().getBytes(Constants.DEFAULT_CHARSET));
+        } catch (Exception e) {
+            logger.error("ShowPushEndpointHandler fail...", e);
+        }
+    }
+}
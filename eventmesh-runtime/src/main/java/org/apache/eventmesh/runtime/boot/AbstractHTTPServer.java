@@ -34,6 +34,7 @@ import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.http.async.AsyncContext;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.HandlerService;
+import org.apache.eventmesh.runtime.core.protocol.http.processor.HttpRoutingTable;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.EventProcessor;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.HttpRequestProcessor;
 import org.apache.eventmesh.runtime.metrics.http.HTTPMetricsServer;
@@ -47,6 +48,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.entity.ContentType;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -63,6 +65,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -72,7 +75,6 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
@@ -85,6 +87,7 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.handler.codec.http.multipart.Attribute;
@@ -127,15 +130,20 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
     public ThreadPoolExecutor asyncContextCompleteHandler =
         ThreadPoolFactory.createThreadPoolExecutor(10, 10, "EventMesh-http-asyncContext-");
 
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN;
+
+    private static final boolean THREAD_ALLOCATION_SUPPORTED;
+
     static {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        THREAD_MX_BEAN = threadMXBean instanceof com.sun.management.ThreadMXBean
+            ? (com.sun.management.ThreadMXBean) threadMXBean : null;
+        THREAD_ALLOCATION_SUPPORTED = THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadAllocatedMemorySupported()
+            && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled();
         DiskAttribute.deleteOnExitTemporaryFile = false;
     }
 
-    protected final Map<String/* request code */, Pair<HttpRequestProcessor, ThreadPoolExecutor>>
-        processorTable = new HashMap<>(64);
-
-    protected final Map<String/* request uri */, Pair<EventProcessor, ThreadPoolExecutor>>
-        eventProcessorTable = new HashMap<>(64);
+    protected final HttpRoutingTable routingTable = new HttpRoutingTable();
 
     public AbstractHTTPServer(int port, boolean useTLS, EventMeshHTTPConfiguration eventMeshHttpConfiguration) {
         this.port = port;
@@ -171,13 +179,12 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         Runnable r = () -> {
             ServerBootstrap b = new ServerBootstrap();
             SSLContext sslContext = useTLS ? SSLContextFactory.getSslContext(eventMeshHttpConfiguration) : null;
-            b.group(this.bossGroup, this.workerGroup)
-                .channel(NioServerSocketChannel.class)
+            configureTransport(b).group(this.bossGroup, this.workerGroup)
                 .childHandler(new HttpsServerInitializer(sslContext))
                 .childOption(ChannelOption.SO_KEEPALIVE, Boolean.TRUE);
             try {
                 httpServerLogger.info("HTTPServer[port={}] started......", this.port);
-                ChannelFuture future = b.bind(this.port).sync();
+                ChannelFuture future = bind(b, this.port);
                 future.channel().closeFuture().sync();
             } catch (Exception e) {
                 httpServerLogger.error("HTTPServer start Err!", e);
@@ -196,7 +203,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
     @Override
     public void init(String threadPrefix) throws Exception {
-        super.init(threadPrefix);
+        super.init(threadPrefix, eventMeshHttpConfiguration);
     }
 
     @Override
@@ -209,16 +216,14 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         AssertUtils.notNull(requestCode, "requestCode can't be null");
         AssertUtils.notNull(processor, "processor can't be null");
         AssertUtils.notNull(executor, "executor can't be null");
-        Pair<HttpRequestProcessor, ThreadPoolExecutor> pair = new Pair<>(processor, executor);
-        this.processorTable.put(requestCode.toString(), pair);
+        this.routingTable.register(requestCode.toString(), processor, executor);
     }
 
     public void registerProcessor(String requestURI, EventProcessor processor, ThreadPoolExecutor executor) {
         AssertUtils.notNull(requestURI, "requestURI can't be null");
         AssertUtils.notNull(processor, "processor can't be null");
         AssertUtils.notNull(executor, "executor can't be null");
-        Pair<EventProcessor, ThreadPoolExecutor> pair = new Pair<>(processor, executor);
-        this.eventProcessorTable.put(requestURI, pair);
+        this.routingTable.registerPrefix(requestURI, processor, executor);
     }
 
     /**
@@ -272,6 +277,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
      */
     private Map<String, Object> parseHttpRequestBody(HttpRequest httpRequest) throws IOException {
         final long bodyDecodeStart = System.currentTimeMillis();
+        final long allocatedStart = currentThreadAllocatedBytes();
         Map<String, Object> httpRequestBody = new HashMap<>();
 
         if (HttpMethod.GET.equals(httpRequest.method())) {
@@ -288,10 +294,55 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
             }
             decoder.destroy();
         }
-        metrics.getSummaryMetrics().recordDecodeTimeCost(System.currentTimeMillis() - bodyDecodeStart);
+        metrics.getSummaryMetrics().recordDecodeTimeCost(System.currentTimeMillis() - bodyDecodeStart,
+            allocatedSince(allocatedStart));
         return httpRequestBody;
     }
 
+    /**
+     * Decode a form encoded or json message send body straight from the aggregated content,
+     * skipping the HttpPostRequestDecoder attributes and the intermediate map.
+     *
+     * @return the body, or null if the request has to go through {@link #parseHttpRequestBody}
+     */
+    private Body decodeHttpRequestBody(String requestCode, HttpRequest httpRequest) {
+        if (!(httpRequest instanceof FullHttpRequest)) {
+            return null;
+        }
+        String contentType = httpRequest.headers().get(HttpHeaderNames.CONTENT_TYPE);
+        boolean json = StringUtils.containsIgnoreCase(contentType, HttpHeaderValues.APPLICATION_JSON);
+        if (contentType != null && !json
+            && !StringUtils.containsIgnoreCase(contentType, HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED)) {
+            return null;
+        }
+        final long bodyDecodeStart = System.currentTimeMillis();
+        final long allocatedStart = currentThreadAllocatedBytes();
+        ByteBuf content = ((FullHttpRequest) httpRequest).content();
+        Body body = json ? Body.decodeJsonBody(requestCode, content)
+            : Body.decodeBody(requestCode, content, HttpUtil.getCharset(httpRequest, StandardCharsets.UTF_8));
+        if (body != null) {
+            metrics.getSummaryMetrics().recordDecodeTimeCost(System.currentTimeMillis() - bodyDecodeStart,
+                allocatedSince(allocatedStart));
+        }
+        return body;
+    }
+
+    /**
+     * Build the body of a post request, decoded straight from the content when the request supports it.
+     */
+    private Body buildHttpRequestBody(String requestCode, HttpRequest httpRequest) throws Exception {
+        Body body = decodeHttpRequestBody(requestCode, httpRequest);
+        return body != null ? body : Body.buildBody(requestCode, parseHttpRequestBody(httpRequest));
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return THREAD_ALLOCATION_SUPPORTED ? THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1L;
+    }
+
+    private static long allocatedSince(long allocatedStart) {
+        return allocatedStart < 0 ? -1L : currentThreadAllocatedBytes() - allocatedStart;
+    }
+
     class HTTPHandler extends ChannelInboundHandlerAdapter {
 
         @Override
@@ -324,14 +375,8 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                 }
                 metrics.getSummaryMetrics().recordHTTPRequest();
 
-                boolean useRequestURI = false;
-                for (String processURI : eventProcessorTable.keySet()) {
-                    if (httpRequest.uri().startsWith(processURI)) {
-                        useRequestURI = true;
-                        break;
-                    }
-                }
-                if (useRequestURI) {
+                final Pair<EventProcessor, ThreadPoolExecutor> eventProcessor = routingTable.routePrefix(httpRequest.uri());
+                if (eventProcessor != null) {
                     if (useTrace) {
                         span.setAttribute(SemanticAttributes.HTTP_METHOD, httpRequest.method().name());
                         span.setAttribute(SemanticAttributes.HTTP_FLAVOR, httpRequest.protocolVersion().protocolName());
@@ -341,17 +386,21 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
                     AsyncContext<HttpEventWrapper> asyncContext =
                         new AsyncContext<>(httpEventWrapper, null, asyncContextCompleteHandler);
-                    processHttpRequest(ctx, asyncContext);
+                    processHttpRequest(ctx, asyncContext, eventProcessor);
 
                 } else {
                     final HttpCommand requestCommand = new HttpCommand();
 
-                    final Map<String, Object> bodyMap = parseHttpRequestBody(httpRequest);
-
-                    String requestCode =
-                        (httpRequest.method() == HttpMethod.POST)
-                            ? httpRequest.headers().get(ProtocolKey.REQUEST_CODE)
-                            : MapUtils.getString(bodyMap, StringUtils.lowerCase(ProtocolKey.REQUEST_CODE), "");
+                    final String requestCode;
+                    final Map<String, Object> bodyMap;
+                    if (httpRequest.method() == HttpMethod.POST) {
+                        requestCode = httpRequest.headers().get(ProtocolKey.REQUEST_CODE);
+                        // decoded with the header below, so that a bad body gets a response
+                        bodyMap = null;
+                    } else {
+                        bodyMap = parseHttpRequestBody(httpRequest);
+                        requestCode = MapUtils.getString(bodyMap, StringUtils.lowerCase(ProtocolKey.REQUEST_CODE), "");
+                    }
 
                     requestCommand.setHttpMethod(httpRequest.method().name());
                     requestCommand.setHttpVersion(httpRequest.protocolVersion().protocolName());
@@ -360,7 +409,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                     HttpCommand responseCommand = null;
 
                     if (StringUtils.isBlank(requestCode)
-                        || !processorTable.containsKey(requestCode)
+                        || routingTable.route(requestCode) == null
                         || !RequestCode.contains(Integer.valueOf(requestCode))) {
                         responseCommand =
                             requestCommand.createHttpCommandResponse(EventMeshRetCode.EVENTMESH_REQUESTCODE_INVALID);
@@ -375,7 +424,8 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
                     try {
                         requestCommand.setHeader(Header.buildHeader(requestCode, headerMap));
-                        requestCommand.setBody(Body.buildBody(requestCode, bodyMap));
+                        requestCommand.setBody(bodyMap != null ? Body.buildBody(requestCode, bodyMap)
+                            : buildHttpRequestBody(requestCode, httpRequest));
                     } catch (Exception e) {
                         responseCommand = requestCommand.createHttpCommandResponse(EventMeshRetCode.EVENTMESH_RUNTIME_ERR);
                         sendResponse(ctx, responseCommand.httpResponse());
@@ -403,18 +453,10 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
             }
         }
 
-        public void processHttpRequest(final ChannelHandlerContext ctx,
-                                       final AsyncContext<HttpEventWrapper> asyncContext) {
+        private void processHttpRequest(final ChannelHandlerContext ctx,
+                                        final AsyncContext<HttpEventWrapper> asyncContext,
+                                        final Pair<EventProcessor, ThreadPoolExecutor> choosed) {
             final HttpEventWrapper requestWrapper = asyncContext.getRequest();
-            String requestURI = requestWrapper.getRequestURI();
-            String processorKey = "/";
-            for (String eventProcessorKey : eventProcessorTable.keySet()) {
-                if (requestURI.startsWith(eventProcessorKey)) {
-                    processorKey = eventProcessorKey;
-                    break;
-                }
-            }
-            final Pair<EventProcessor, ThreadPoolExecutor> choosed = eventProcessorTable.get(processorKey);
             try {
                 choosed.getObject2().submit(() -> {
                     try {
@@ -469,7 +511,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         public void processEventMeshRequest(final ChannelHandlerContext ctx,
                                             final AsyncContext<HttpCommand> asyncContext) {
             final HttpCommand request = asyncContext.getRequest();
-            final Pair<HttpRequestProcessor, ThreadPoolExecutor> choosed = processorTable.get(request.getRequestCode());
+            final Pair<HttpRequestProcessor, ThreadPoolExecutor> choosed = routingTable.route(request.getRequestCode());
             try {
                 choosed.getObject2().submit(() -> {
                     try {
@@ -564,6 +606,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         }
 
         final long bodyDecodeStart = System.currentTimeMillis();
+        final long allocatedStart = currentThreadAllocatedBytes();
         //parse http body
         FullHttpRequest fullHttpRequest = (FullHttpRequest) httpRequest;
         final Map<String, Object> bodyMap = new HashMap<>();
@@ -601,7 +644,8 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         byte[] requestBody = Objects.requireNonNull(JsonUtils.serialize(bodyMap)).getBytes(StandardCharsets.UTF_8);
         httpEventWrapper.setBody(requestBody);
 
-        metrics.getSummaryMetrics().recordDecodeTimeCost(System.currentTimeMillis() - bodyDecodeStart);
+        metrics.getSummaryMetrics().recordDecodeTimeCost(System.currentTimeMillis() - bodyDecodeStart,
+            allocatedSince(allocatedStart));
 
         return httpEventWrapper;
     }
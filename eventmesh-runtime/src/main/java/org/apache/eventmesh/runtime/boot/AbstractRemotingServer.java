@@ -17,13 +17,16 @@
 
 package org.apache.eventmesh.runtime.boot;
 
+import org.apache.eventmesh.common.config.CommonConfiguration;
+import org.apache.eventmesh.common.transport.NettyTransport;
 import org.apache.eventmesh.common.utils.ThreadUtils;
 
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,8 +41,15 @@ public abstract class AbstractRemotingServer {
 
     public int port;
 
+    protected NettyTransport transport = NettyTransport.NIO;
+
+    /**
+     * Number of server channels bound to the port, each one is served by its own boss thread.
+     */
+    protected int acceptorNum = 1;
+
     private EventLoopGroup initBossGroup(String threadPrefix) {
-        bossGroup = new NioEventLoopGroup(1, new ThreadFactory() {
+        bossGroup = transport.newEventLoopGroup(acceptorNum, new ThreadFactory() {
             final AtomicInteger count = new AtomicInteger(0);
 
             @Override
@@ -54,7 +64,7 @@ public abstract class AbstractRemotingServer {
     }
 
     private EventLoopGroup initIOGroup(String threadPrefix) {
-        ioGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        ioGroup = transport.newEventLoopGroup(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
             AtomicInteger count = new AtomicInteger(0);
 
             @Override
@@ -66,7 +76,7 @@ public abstract class AbstractRemotingServer {
     }
 
     private EventLoopGroup initWorkerGroup(String threadPrefix) {
-        workerGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        workerGroup = transport.newEventLoopGroup(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
             AtomicInteger count = new AtomicInteger(0);
 
             @Override
@@ -78,12 +88,44 @@ public abstract class AbstractRemotingServer {
         return workerGroup;
     }
 
+    public void init(String threadPrefix, CommonConfiguration configuration) throws Exception {
+        transport = NettyTransport.select(configuration.getEventMeshServerNettyTransport());
+        acceptorNum = transport.isReusePortSupported() ? Math.max(1, configuration.getEventMeshServerAcceptorNum()) : 1;
+        log.info("{} use {} transport with {} acceptor(s)", threadPrefix, transport, acceptorNum);
+        initEventLoopGroups(threadPrefix);
+    }
+
     public void init(String threadPrefix) throws Exception {
+        initEventLoopGroups(threadPrefix);
+    }
+
+    private void initEventLoopGroups(String threadPrefix) {
         initBossGroup(threadPrefix);
         initIOGroup(threadPrefix);
         initWorkerGroup(threadPrefix);
     }
 
+    /**
+     * Apply the transport to the bootstrap, the caller still sets the groups and the child handler.
+     */
+    protected ServerBootstrap configureTransport(ServerBootstrap bootstrap) {
+        transport.configure(bootstrap, acceptorNum > 1);
+        return bootstrap.channel(transport.serverChannelClass());
+    }
+
+    /**
+     * Bind the port once per acceptor, with SO_REUSEPORT the kernel spreads new connections over them.
+     *
+     * @return future of the first bound channel
+     */
+    protected ChannelFuture bind(ServerBootstrap bootstrap, int port) throws InterruptedException {
+        ChannelFuture future = bootstrap.bind(port).sync();
+        for (int i = 1; i < acceptorNum; i++) {
+            bootstrap.bind(port).sync();
+        }
+        return future;
+    }
+
     public void shutdown() throws Exception {
         if (bossGroup != null) {
             bossGroup.shutdownGracefully();
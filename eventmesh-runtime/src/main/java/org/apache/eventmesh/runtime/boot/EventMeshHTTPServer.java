@@ -50,7 +50,11 @@ import org.apache.eventmesh.runtime.core.protocol.http.processor.UnSubscribeProc
 import org.apache.eventmesh.runtime.core.protocol.http.processor.WebHookProcessor;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.Client;
 import org.apache.eventmesh.runtime.core.protocol.http.producer.ProducerManager;
+import org.apache.eventmesh.runtime.core.protocol.http.push.AsyncHTTPPushClient;
 import org.apache.eventmesh.runtime.core.protocol.http.push.HTTPClientPool;
+import org.apache.eventmesh.runtime.core.protocol.http.push.HttpPushBatcher;
+import org.apache.eventmesh.runtime.core.protocol.http.push.HttpPushEndpoints;
+import org.apache.eventmesh.runtime.core.protocol.http.push.HttpPushTimeoutTracker;
 import org.apache.eventmesh.runtime.core.protocol.http.retry.HttpRetryer;
 import org.apache.eventmesh.runtime.metrics.http.HTTPMetricsServer;
 import org.apache.eventmesh.runtime.registry.Registry;
@@ -131,6 +135,14 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
 
     public HTTPClientPool httpClientPool = new HTTPClientPool(10);
 
+    public AsyncHTTPPushClient httpPushClient;
+
+    private HttpPushEndpoints pushEndpoints;
+
+    private HttpPushTimeoutTracker pushTimeoutTracker;
+
+    private HttpPushBatcher pushBatcher;
+
     public void shutdownThreadPool() throws Exception {
         batchMsgExecutor.shutdown();
         adminExecutor.shutdown();
@@ -243,6 +255,11 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
                 metricsPlugins -> metricsPlugins.forEach(
                     pluginType -> metricsRegistries.add(MetricsPluginFactory.getMetricsRegistry(pluginType))));
 
+        httpPushClient = new AsyncHTTPPushClient(eventMeshHttpConfiguration);
+        pushEndpoints = new HttpPushEndpoints(httpPushClient::getInflight);
+        pushTimeoutTracker = new HttpPushTimeoutTracker("eventMesh-http-pushTimeout");
+        pushBatcher = new HttpPushBatcher("eventMesh-http-pushBatch-");
+
         httpRetryer = new HttpRetryer(this);
         httpRetryer.init();
 
@@ -293,12 +310,19 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
 
         metrics.shutdown();
 
+        // push the partial batches while the push executor and client are still up
+        pushBatcher.shutdown();
+
         consumerManager.shutdown();
 
         shutdownThreadPool();
 
         httpClientPool.shutdown();
 
+        httpPushClient.shutdown();
+
+        pushTimeoutTracker.shutdown();
+
         producerManager.shutdown();
 
         httpRetryer.shutdown();
@@ -431,4 +455,16 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
     public HttpRetryer getHttpRetryer() {
         return httpRetryer;
     }
+
+    public HttpPushEndpoints getPushEndpoints() {
+        return pushEndpoints;
+    }
+
+    public HttpPushTimeoutTracker getPushTimeoutTracker() {
+        return pushTimeoutTracker;
+    }
+
+    public HttpPushBatcher getPushBatcher() {
+        return pushBatcher;
+    }
 }
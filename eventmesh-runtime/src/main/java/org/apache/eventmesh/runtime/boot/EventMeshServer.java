@@ -57,8 +57,8 @@ public class EventMeshServer {
         configuration.init();
         this.configuration = configuration;
         this.acl = new Acl();
-        this.registry = new Registry();
-        trace = new Trace(configuration.isEventMeshServerTraceEnable());
+        this.registry = new Registry(configuration.getEventMeshServerRegistryCacheTtlInMills());
+        trace = new Trace(configuration.isEventMeshServerTraceEnable(), configuration.getEventMeshServerTraceAttributes());
         this.connectorResource = new ConnectorResource();
 
         List<String> provideServerProtocols = configuration.getEventMeshProvideServerProtocols();
@@ -152,6 +152,18 @@ public class EventMeshServer {
         logger.info("server state:{}", serviceState);
     }
 
+    /**
+     * @return the http server, null if this server does not provide the http protocol
+     */
+    public EventMeshHTTPServer getEventMeshHTTPServer() {
+        for (EventMeshBootstrap eventMeshBootstrap : BOOTSTRAP_LIST) {
+            if (eventMeshBootstrap instanceof EventMeshHttpBootstrap) {
+                return ((EventMeshHttpBootstrap) eventMeshBootstrap).eventMeshHttpServer;
+            }
+        }
+        return null;
+    }
+
     public static Trace getTrace() {
         return trace;
     }
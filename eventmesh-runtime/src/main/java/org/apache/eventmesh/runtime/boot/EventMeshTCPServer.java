@@ -31,6 +31,7 @@ import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpConnectionHandler;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpExceptionHandler;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpFlushConsolidationHandler;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpMessageDispatcher;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.ClientSessionGroupMapping;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.rebalance.EventMeshRebalanceService;
@@ -56,7 +57,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.handler.traffic.ChannelTrafficShapingHandler;
 import io.netty.handler.traffic.GlobalTrafficShapingHandler;
@@ -148,9 +148,14 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
             ChannelInitializer channelInitializer = new ChannelInitializer() {
                 @Override
                 public void initChannel(Channel ch) throws Exception {
+                    if (eventMeshTCPConfiguration.eventMeshTcpFlushConsolidationEnabled) {
+                        ch.pipeline().addLast(new EventMeshTcpFlushConsolidationHandler(
+                            eventMeshTCPConfiguration.eventMeshTcpExplicitFlushAfterFlushes,
+                            eventMeshTCPConfiguration.eventMeshTcpFlushMaxPendingBytes));
+                    }
                     ch.pipeline()
                         .addLast(new Codec.Encoder())
-                        .addLast(new Codec.Decoder())
+                        .addLast(new Codec.Decoder(eventMeshTcpMonitor))
                         .addLast("global-traffic-shaping", globalTrafficShapingHandler)
                         .addLast("channel-traffic-shaping", newCTSHandler())
                         .addLast(new EventMeshTcpConnectionHandler(EventMeshTCPServer.this))
@@ -166,8 +171,7 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
                 }
             };
 
-            bootstrap.group(bossGroup, ioGroup)
-                .channel(NioServerSocketChannel.class)
+            configureTransport(bootstrap).group(bossGroup, ioGroup)
                 .option(ChannelOption.SO_BACKLOG, 128)
                 .option(ChannelOption.SO_REUSEADDR, true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
@@ -184,7 +188,7 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
 
             try {
                 int port = eventMeshTCPConfiguration.eventMeshTcpServerPort;
-                ChannelFuture f = bootstrap.bind(port).sync();
+                ChannelFuture f = bind(bootstrap, port);
                 log.info("EventMeshTCPServer[port={}] started.....", port);
                 f.channel().closeFuture().sync();
             } catch (Exception e) {
@@ -334,7 +338,7 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
     }
 
     private void initThreadPool() throws Exception {
-        super.init("eventMesh-tcp");
+        super.init("eventMesh-tcp", eventMeshTCPConfiguration);
 
         scheduler = ThreadPoolFactory.createScheduledExecutor(eventMeshTCPConfiguration.eventMeshTcpGlobalScheduler,
             new EventMeshThreadFactoryImpl("eventMesh-tcp-scheduler", true));
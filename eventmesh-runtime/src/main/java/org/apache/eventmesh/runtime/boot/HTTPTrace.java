@@ -43,6 +43,9 @@ public class HTTPTrace {
     }
 
     public TraceOperation getTraceOperation(HttpRequest httpRequest, Channel channel, boolean traceEnabled) {
+        if (!useTrace) {
+            return new TraceOperation(Span.getInvalid(), null, traceEnabled);
+        }
 
         final Map<String, Object> headerMap = Utils.parseHttpHeader(httpRequest);
         Span span = TraceUtils.prepareServerSpan(headerMap, EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN,
@@ -111,6 +114,13 @@ public class HTTPTrace {
             return traceOperation;
         }
 
+        public TraceOperation createClientTraceOperation(CloudEvent event, String spanName, boolean isSpanFinishInOtherThread) {
+            TraceOperation traceOperation = new TraceOperation(TraceUtils.prepareClientSpan(event, spanName, isSpanFinishInOtherThread),
+                null, this.traceEnabled);
+            this.setChildTraceOperation(traceOperation);
+            return traceOperation;
+        }
+
         public void setChildTraceOperation(TraceOperation traceOperation) {
             if (childTraceOperation != null) {
                 childTraceOperation.setChildTraceOperation(traceOperation);
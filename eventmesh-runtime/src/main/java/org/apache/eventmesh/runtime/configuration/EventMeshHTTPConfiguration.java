@@ -99,6 +99,18 @@ public class EventMeshHTTPConfiguration extends CommonConfiguration {
 
     public int eventMeshEventBatchSize = 10;
 
+    /**
+     * pooled connections of the webhook push client to one subscriber host
+     */
+    public int eventMeshServerPushMaxConnectionsPerHost = 64;
+
+    /**
+     * in-flight pushes to one subscriber url, pushes over the limit take the retry path
+     */
+    public int eventMeshServerPushMaxInflightPerUrl = 256;
+
+    public int eventMeshServerPushConnectTimeoutInMills = 3000;
+
     public List<IPAddress> eventMeshIpv4BlackList = Collections.emptyList();
 
     public List<IPAddress> eventMeshIpv6BlackList = Collections.emptyList();
@@ -314,6 +326,15 @@ public class EventMeshHTTPConfiguration extends CommonConfiguration {
                 eventMeshEventBatchSize = Integer.parseInt(eventBatchSize);
             }
 
+            eventMeshServerPushMaxConnectionsPerHost = configurationWrapper.getIntProp(
+                ConfKeys.KEY_EVENTMESH_SERVER_PUSH_MAX_CONNECTIONS_PER_HOST, eventMeshServerPushMaxConnectionsPerHost);
+
+            eventMeshServerPushMaxInflightPerUrl = configurationWrapper.getIntProp(
+                ConfKeys.KEY_EVENTMESH_SERVER_PUSH_MAX_INFLIGHT_PER_URL, eventMeshServerPushMaxInflightPerUrl);
+
+            eventMeshServerPushConnectTimeoutInMills = configurationWrapper.getIntProp(
+                ConfKeys.KEY_EVENTMESH_SERVER_PUSH_CONNECT_TIMEOUT, eventMeshServerPushConnectTimeoutInMills);
+
             String ipv4BlackList = configurationWrapper.getProp(ConfKeys.KEY_EVENTMESH_SERVER_IPV4_BLACK_LIST);
             if (StringUtils.isNotEmpty(ipv4BlackList)) {
                 eventMeshIpv4BlackList = getBlacklist(ipv4BlackList);
@@ -402,5 +423,11 @@ public class EventMeshHTTPConfiguration extends CommonConfiguration {
         public static final String KEY_EVENTMESH_SERVER_IPV4_BLACK_LIST = "eventMesh.server.blacklist.ipv4";
 
         public static final String KEY_EVENTMESH_SERVER_IPV6_BLACK_LIST = "eventMesh.server.blacklist.ipv6";
+
+        public static final String KEY_EVENTMESH_SERVER_PUSH_MAX_CONNECTIONS_PER_HOST = "eventMesh.server.push.maxConnectionsPerHost";
+
+        public static final String KEY_EVENTMESH_SERVER_PUSH_MAX_INFLIGHT_PER_URL = "eventMesh.server.push.maxInflightPerUrl";
+
+        public static final String KEY_EVENTMESH_SERVER_PUSH_CONNECT_TIMEOUT = "eventMesh.server.push.connectTimeoutInMills";
     }
 }
\ No newline at end of file
@@ -48,6 +48,22 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
 
     public int eventMeshTcpSessionUpstreamBufferSize = 100;
 
+    /**
+     * Max unacked messages in flight per session, also the credit window of clients that do not grant one
+     */
+    public int eventMeshTcpSessionDownstreamUnackSize = 100;
+
+    /**
+     * How long the consumer listener waits for credits when every session of the group is out of credit,
+     * before the message is sent back to the broker
+     */
+    public int eventMeshTcpSessionDownstreamCreditWaitInMills = 3000;
+
+    /**
+     * How a message is dispatched to the sessions of a group: freePriority, leastUnacked, p2c or wrr
+     */
+    public String eventMeshTcpDownstreamDispatchStrategy = "freePriority";
+
     public int eventMeshTcpMsgAsyncRetryTimes = 3;
 
     public int eventMeshTcpMsgSyncRetryTimes = 1;
@@ -58,6 +74,11 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
 
     public int eventMeshTcpMsgRetryQueueSize = 10000;
 
+    /**
+     * Threads of the tcp retry engine, which only hand the due retries over to the push path
+     */
+    public int eventMeshTcpMsgRetryThreadNum = 3;
+
     public Integer eventMeshTcpRebalanceIntervalInMills = 30 * 1000;
 
     public int eventMeshServerAdminPort = 10106;
@@ -76,6 +97,26 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
 
     public int eventMeshEventBatchSize = 10;
 
+    /**
+     * Whether clients may negotiate the binary header format in HELLO
+     */
+    public boolean eventMeshTcpBinaryHeaderEnabled = Boolean.TRUE;
+
+    /**
+     * Coalesce the flushes of a session: messages written in one event loop tick are sent with one syscall
+     */
+    public boolean eventMeshTcpFlushConsolidationEnabled = Boolean.TRUE;
+
+    /**
+     * Upper bound of messages held back by flush consolidation before an explicit flush
+     */
+    public int eventMeshTcpExplicitFlushAfterFlushes = 256;
+
+    /**
+     * Upper bound of bytes held back by flush consolidation before an explicit flush
+     */
+    public int eventMeshTcpFlushMaxPendingBytes = 64 * 1024;
+
     private TrafficShapingConfig gtc = new TrafficShapingConfig(0, 10_000, 1_000, 2000);
     private TrafficShapingConfig ctc = new TrafficShapingConfig(0, 2_000, 1_000, 10_000);
 
@@ -118,6 +159,15 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         eventMeshTcpSessionUpstreamBufferSize = configurationWrapper.getIntProp(
                 ConfKeys.KEYS_EVENTMESH_SERVER_SESSION_UPSTREAM_BUFFER_SIZE, eventMeshTcpSessionUpstreamBufferSize);
 
+        eventMeshTcpSessionDownstreamUnackSize = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_SESSION_DOWNSTREAM_UNACK_SIZE, eventMeshTcpSessionDownstreamUnackSize);
+
+        eventMeshTcpSessionDownstreamCreditWaitInMills = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_SESSION_DOWNSTREAM_CREDIT_WAIT_TIME, eventMeshTcpSessionDownstreamCreditWaitInMills);
+
+        eventMeshTcpDownstreamDispatchStrategy = configurationWrapper.getProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_DOWNSTREAM_DISPATCH_STRATEGY, eventMeshTcpDownstreamDispatchStrategy);
+
         //========================================eventMesh retry config=============================================//
         eventMeshTcpMsgAsyncRetryTimes = configurationWrapper.getIntProp(
                 ConfKeys.KEYS_EVENTMESH_SERVER_RETRY_ASYNC_PUSH_RETRY_TIMES, eventMeshTcpMsgAsyncRetryTimes);
@@ -134,6 +184,9 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         eventMeshTcpMsgRetryQueueSize = configurationWrapper.getIntProp(
                 ConfKeys.KEYS_EVENTMESH_SERVER_RETRY_PUSH_RETRY_QUEUE_SIZE, eventMeshTcpMsgRetryQueueSize);
 
+        eventMeshTcpMsgRetryThreadNum = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_RETRY_PUSH_RETRY_THREAD_NUM, eventMeshTcpMsgRetryThreadNum);
+
         eventMeshTcpRebalanceIntervalInMills = configurationWrapper.getIntProp(
                 ConfKeys.KEYS_EVENTMESH_SERVER_TCP_REBALANCE_INTERVAL, eventMeshTcpRebalanceIntervalInMills);
 
@@ -156,6 +209,18 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
 
         eventMeshEventBatchSize = configurationWrapper.getIntProp(
                 ConfKeys.KEYS_EVENTMESH_SERVER_EVENT_BATCHSIZE, eventMeshEventBatchSize);
+
+        eventMeshTcpBinaryHeaderEnabled = configurationWrapper.getBoolProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_BINARY_HEADER_ENABLED, eventMeshTcpBinaryHeaderEnabled);
+
+        eventMeshTcpFlushConsolidationEnabled = configurationWrapper.getBoolProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_FLUSH_CONSOLIDATION_ENABLED, eventMeshTcpFlushConsolidationEnabled);
+
+        eventMeshTcpExplicitFlushAfterFlushes = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_EXPLICIT_FLUSH_AFTER_FLUSHES, eventMeshTcpExplicitFlushAfterFlushes);
+
+        eventMeshTcpFlushMaxPendingBytes = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_FLUSH_MAX_PENDING_BYTES, eventMeshTcpFlushMaxPendingBytes);
     }
 
     public TrafficShapingConfig getGtc() {
@@ -181,11 +246,15 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         public static final String KEYS_EVENTMESH_SERVER_SESSION_EXPIRED_TIME = "eventMesh.server.session.expiredInMills";
         public static final String KEYS_EVENTMESH_SERVER_SESSION_UPSTREAM_BUFFER_SIZE = "eventMesh.server.session.upstreamBufferSize";
         public static final String KEYS_EVENTMESH_SERVER_SESSION_DOWNSTREAM_UNACK_SIZE = "eventMesh.server.session.downstreamUnackSize";
+        public static final String KEYS_EVENTMESH_SERVER_SESSION_DOWNSTREAM_CREDIT_WAIT_TIME =
+                "eventMesh.server.session.downstreamCreditWaitInMills";
+        public static final String KEYS_EVENTMESH_SERVER_TCP_DOWNSTREAM_DISPATCH_STRATEGY = "eventMesh.server.tcp.downstreamDispatchStrategy";
         public static final String KEYS_EVENTMESH_SERVER_RETRY_ASYNC_PUSH_RETRY_TIMES = "eventMesh.server.retry.async.pushRetryTimes";
         public static final String KEYS_EVENTMESH_SERVER_RETRY_SYNC_PUSH_RETRY_TIMES = "eventMesh.server.retry.sync.pushRetryTimes";
         public static final String KEYS_EVENTMESH_SERVER_RETRY_ASYNC_PUSH_RETRY_DELAY = "eventMesh.server.retry.async.pushRetryDelayInMills";
         public static final String KEYS_EVENTMESH_SERVER_RETRY_SYNC_PUSH_RETRY_DELAY = "eventMesh.server.retry.sync.pushRetryDelayInMills";
         public static final String KEYS_EVENTMESH_SERVER_RETRY_PUSH_RETRY_QUEUE_SIZE = "eventMesh.server.retry.pushRetryQueueSize";
+        public static final String KEYS_EVENTMESH_SERVER_RETRY_PUSH_RETRY_THREAD_NUM = "eventMesh.server.retry.pushRetryThreadNum";
         public static final String KEYS_EVENTMESH_SERVER_ADMIN_HTTP_PORT = "eventMesh.server.admin.http.port";
         public static final String KEYS_EVENTMESH_TCP_SEND_BACK_ENABLED = "eventMesh.server.tcp.sendBack.enabled";
         public static final String KEYS_EVENTMESH_SERVER_PUSH_FAIL_ISOLATE_TIME = "eventMesh.server.tcp.pushFailIsolateTimeInMills";
@@ -193,6 +262,10 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         public static final String KEYS_EVENTMESH_SERVER_REBALANCE_REDIRECT_SLEEP_TIME = "eventMesh.server.rebalanceRedirect.sleepIntervalInM";
         public static final String KEYS_EVENTMESH_SERVER_EVENTSIZE = "eventMesh.server.maxEventSize";
         public static final String KEYS_EVENTMESH_SERVER_EVENT_BATCHSIZE = "eventMesh.server.maxEventBatchSize";
+        public static final String KEYS_EVENTMESH_SERVER_TCP_BINARY_HEADER_ENABLED = "eventMesh.server.tcp.binaryHeader.enabled";
+        public static final String KEYS_EVENTMESH_SERVER_TCP_FLUSH_CONSOLIDATION_ENABLED = "eventMesh.server.tcp.flushConsolidation.enabled";
+        public static final String KEYS_EVENTMESH_SERVER_TCP_EXPLICIT_FLUSH_AFTER_FLUSHES = "eventMesh.server.tcp.explicitFlushAfterFlushes";
+        public static final String KEYS_EVENTMESH_SERVER_TCP_FLUSH_MAX_PENDING_BYTES = "eventMesh.server.tcp.flushMaxPendingBytes";
     }
 
     public static class TrafficShapingConfig {
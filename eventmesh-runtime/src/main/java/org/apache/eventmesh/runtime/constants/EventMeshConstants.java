@@ -136,6 +136,7 @@ public class EventMeshConstants {
     public static final String CONSUMER_GROUP = "consumerGroup";
     public static final String INSTANCE_NAME = "instanceName";
     public static final String EVENT_MESH_IDC = "eventMeshIDC";
+    public static final String EVENT_MESH_NAME = "eventMeshName";
     public static final String IS_BROADCAST = "isBroadcast";
 
     public static final String RESP_CODE = "respCode";
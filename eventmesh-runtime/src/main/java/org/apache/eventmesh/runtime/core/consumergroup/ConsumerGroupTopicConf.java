@@ -60,6 +60,16 @@ public class ConsumerGroupTopicConf implements Serializable {
      */
     private Map<String, String> httpAuthTypeMap = Maps.newConcurrentMap();
 
+    /**
+     * max events of one batched push, 0 or 1 pushes the events one by one
+     */
+    private int pushBatchSize;
+
+    /**
+     * max time in millis an event waits for its batch to fill up
+     */
+    private int pushBatchLatencyInMills;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -75,12 +85,16 @@ public class ConsumerGroupTopicConf implements Serializable {
                 &&
                 Objects.equals(subscriptionItem, that.subscriptionItem)
                 &&
-                Objects.equals(idcUrls, that.idcUrls);
+                Objects.equals(idcUrls, that.idcUrls)
+                &&
+                pushBatchSize == that.pushBatchSize
+                &&
+                pushBatchLatencyInMills == that.pushBatchLatencyInMills;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(consumerGroup, topic, subscriptionItem, idcUrls);
+        return Objects.hash(consumerGroup, topic, subscriptionItem, idcUrls, pushBatchSize, pushBatchLatencyInMills);
     }
 
     @Override
@@ -89,7 +103,9 @@ public class ConsumerGroupTopicConf implements Serializable {
         sb.append("consumeTopicConfig={consumerGroup=").append(consumerGroup)
                 .append(",topic=").append(topic)
                 .append(",subscriptionMode=").append(subscriptionItem)
-                .append(",idcUrls=").append(idcUrls).append("}");
+                .append(",idcUrls=").append(idcUrls)
+                .append(",pushBatchSize=").append(pushBatchSize)
+                .append(",pushBatchLatencyInMills=").append(pushBatchLatencyInMills).append("}");
         return sb.toString();
     }
 
@@ -136,4 +152,24 @@ public class ConsumerGroupTopicConf implements Serializable {
     public Map<String, String> getHttpAuthTypeMap() {
         return httpAuthTypeMap;
     }
+
+    public int getPushBatchSize() {
+        return pushBatchSize;
+    }
+
+    public void setPushBatchSize(int pushBatchSize) {
+        this.pushBatchSize = pushBatchSize;
+    }
+
+    public int getPushBatchLatencyInMills() {
+        return pushBatchLatencyInMills;
+    }
+
+    public void setPushBatchLatencyInMills(int pushBatchLatencyInMills) {
+        this.pushBatchLatencyInMills = pushBatchLatencyInMills;
+    }
+
+    public boolean isPushBatchEnabled() {
+        return pushBatchSize > 1;
+    }
 }
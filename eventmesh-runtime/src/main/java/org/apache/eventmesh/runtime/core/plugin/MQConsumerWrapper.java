@@ -18,12 +18,17 @@
 package org.apache.eventmesh.runtime.core.plugin;
 
 import org.apache.eventmesh.api.AbstractContext;
+import org.apache.eventmesh.api.BatchEventListener;
 import org.apache.eventmesh.api.EventListener;
+import org.apache.eventmesh.api.EventMeshAction;
+import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
 import org.apache.eventmesh.api.consumer.Consumer;
 import org.apache.eventmesh.api.factory.ConnectorPluginFactory;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 
 import java.util.List;
 import java.util.Properties;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,7 +78,27 @@ public class MQConsumerWrapper extends MQWrapper {
         meshMQPushConsumer.registerEventListener(listener);
     }
 
+    public void registerBatchEventListener(BatchEventListener listener) {
+        meshMQPushConsumer.registerBatchEventListener(listener);
+    }
+
+    /**
+     * Register a handler returning the action of each consumed event.
+     *
+     * @param batch if true the events are consumed in batches, and each run of events with the same action is committed at once
+     */
+    public void registerEventHandler(BiFunction<CloudEvent, AbstractContext, EventMeshAction> handler, boolean batch) {
+        if (batch) {
+            registerBatchEventListener((events, context) -> context.commitEach(events, handler));
+        } else {
+            registerEventListener((event, context) -> {
+                EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext = (EventMeshAsyncConsumeContext) context;
+                eventMeshAsyncConsumeContext.commit(handler.apply(event, eventMeshAsyncConsumeContext.getAbstractContext()));
+            });
+        }
+    }
+
     public void updateOffset(List<CloudEvent> events, AbstractContext eventMeshConsumeConcurrentlyContext) {
-        meshMQPushConsumer.updateOffset(events, eventMeshConsumeConcurrentlyContext);
+        meshMQPushConsumer.updateOffset(EventMeshCloudEvent.materialize(events), eventMeshConsumeConcurrentlyContext);
     }
 }
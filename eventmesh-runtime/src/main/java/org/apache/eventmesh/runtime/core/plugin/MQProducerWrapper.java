@@ -17,11 +17,14 @@
 
 package org.apache.eventmesh.runtime.core.plugin;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.factory.ConnectorPluginFactory;
 import org.apache.eventmesh.api.producer.Producer;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 
+import java.util.List;
 import java.util.Properties;
 
 import org.slf4j.Logger;
@@ -78,16 +81,20 @@ public class MQProducerWrapper extends MQWrapper {
     }
 
     public void send(CloudEvent cloudEvent, SendCallback sendCallback) throws Exception {
-        meshMQProducer.publish(cloudEvent, sendCallback);
+        meshMQProducer.publish(EventMeshCloudEvent.materialize(cloudEvent), sendCallback);
+    }
+
+    public void sendBatch(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) throws Exception {
+        meshMQProducer.publishBatch(EventMeshCloudEvent.materialize(cloudEvents), batchSendCallback);
     }
 
     public void request(CloudEvent cloudEvent, RequestReplyCallback rrCallback, long timeout)
             throws Exception {
-        meshMQProducer.request(cloudEvent, rrCallback, timeout);
+        meshMQProducer.request(EventMeshCloudEvent.materialize(cloudEvent), rrCallback, timeout);
     }
 
     public boolean reply(final CloudEvent cloudEvent, final SendCallback sendCallback) throws Exception {
-        return meshMQProducer.reply(cloudEvent, sendCallback);
+        return meshMQProducer.reply(EventMeshCloudEvent.materialize(cloudEvent), sendCallback);
     }
 
     public Producer getMeshMQProducer() {
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol;
+
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.CloudEventData;
+import io.cloudevents.SpecVersion;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+/**
+ * CloudEvent adding extensions on top of an immutable origin event, without copying it.
+ * <p>
+ * The runtime adds a few extensions to an event at every hop, and rebuilding the event each time copies its data
+ * and all of its extensions. This event keeps the added extensions in an overlay instead, which is copied on write:
+ * {@link #of(CloudEvent)} on an EventMeshCloudEvent shares the overlay, so that the forks given to several sessions
+ * never see the extensions of each other. The overlay is only merged into a real event by {@link #materialize()},
+ * when the event leaves the runtime to a connector or a protocol adaptor.
+ * <p>
+ * An instance is not thread safe, an event handed to another thread should be forked.
+ */
+public class EventMeshCloudEvent implements CloudEvent {
+
+    private final CloudEvent origin;
+
+    private Map<String, String> extensions;
+
+    /**
+     * false while the overlay may be shared with a fork
+     */
+    private boolean ownExtensions;
+
+    private CloudEvent materialized;
+
+    private EventMeshCloudEvent(CloudEvent origin, Map<String, String> extensions) {
+        this.origin = origin;
+        this.extensions = extensions;
+    }
+
+    /**
+     * Wrap the event, or fork it if it is an EventMeshCloudEvent already.
+     */
+    public static EventMeshCloudEvent of(CloudEvent event) {
+        if (event instanceof EventMeshCloudEvent) {
+            EventMeshCloudEvent eventMeshCloudEvent = (EventMeshCloudEvent) event;
+            EventMeshCloudEvent fork = new EventMeshCloudEvent(eventMeshCloudEvent.origin, eventMeshCloudEvent.extensions);
+            fork.materialized = eventMeshCloudEvent.materialized;
+            // both copy the overlay on their next write
+            eventMeshCloudEvent.ownExtensions = false;
+            return fork;
+        }
+        return new EventMeshCloudEvent(event, Collections.emptyMap());
+    }
+
+    /**
+     * @return the event with the extensions merged in, the event itself if it is not an EventMeshCloudEvent
+     */
+    public static CloudEvent materialize(CloudEvent event) {
+        return event instanceof EventMeshCloudEvent ? ((EventMeshCloudEvent) event).materialize() : event;
+    }
+
+    /**
+     * @return the events with the extensions merged in
+     */
+    public static List<CloudEvent> materialize(List<CloudEvent> events) {
+        List<CloudEvent> materialized = new ArrayList<>(events.size());
+        for (CloudEvent event : events) {
+            materialized.add(materialize(event));
+        }
+        return materialized;
+    }
+
+    public EventMeshCloudEvent withExtension(String name, String value) {
+        if (!ownExtensions) {
+            extensions = new HashMap<>(extensions);
+            ownExtensions = true;
+        }
+        extensions.put(name, value);
+        materialized = null;
+        return this;
+    }
+
+    public CloudEvent getOrigin() {
+        return origin;
+    }
+
+    /**
+     * @return the extensions added on top of the origin event
+     */
+    public Map<String, String> getAddedExtensions() {
+        return Collections.unmodifiableMap(extensions);
+    }
+
+    /**
+     * Build the origin event with the added extensions, once until an extension is added again.
+     */
+    public CloudEvent materialize() {
+        if (extensions.isEmpty()) {
+            return origin;
+        }
+        CloudEvent current = materialized;
+        if (current == null) {
+            CloudEventBuilder builder = CloudEventBuilder.from(origin);
+            extensions.forEach(builder::withExtension);
+            current = builder.build();
+            materialized = current;
+        }
+        return current;
+    }
+
+    @Override
+    public CloudEventData getData() {
+        return origin.getData();
+    }
+
+    @Override
+    public SpecVersion getSpecVersion() {
+        return origin.getSpecVersion();
+    }
+
+    @Override
+    public String getId() {
+        return origin.getId();
+    }
+
+    @Override
+    public String getType() {
+        return origin.getType();
+    }
+
+    @Override
+    public URI getSource() {
+        return origin.getSource();
+    }
+
+    @Override
+    public String getDataContentType() {
+        return origin.getDataContentType();
+    }
+
+    @Override
+    public URI getDataSchema() {
+        return origin.getDataSchema();
+    }
+
+    @Override
+    public String getSubject() {
+        return origin.getSubject();
+    }
+
+    @Override
+    public OffsetDateTime getTime() {
+        return origin.getTime();
+    }
+
+    @Override
+    public Object getAttribute(String attributeName) throws IllegalArgumentException {
+        return origin.getAttribute(attributeName);
+    }
+
+    @Override
+    public Object getExtension(String extensionName) {
+        String value = extensions.get(extensionName);
+        return value != null ? value : origin.getExtension(extensionName);
+    }
+
+    @Override
+    public Set<String> getExtensionNames() {
+        if (extensions.isEmpty()) {
+            return origin.getExtensionNames();
+        }
+        Set<String> names = new LinkedHashSet<>(origin.getExtensionNames());
+        names.addAll(extensions.keySet());
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return "EventMeshCloudEvent{"
+            + "origin=" + origin
+            + ", extensions=" + extensions
+            + '}';
+    }
+}
@@ -23,9 +23,7 @@ import static org.apache.eventmesh.runtime.constants.EventMeshConstants.INSTANCE
 import static org.apache.eventmesh.runtime.constants.EventMeshConstants.IS_BROADCAST;
 
 import org.apache.eventmesh.api.AbstractContext;
-import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.EventMeshAction;
-import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
@@ -37,6 +35,7 @@ import org.apache.eventmesh.runtime.common.ServiceState;
 import org.apache.eventmesh.runtime.configuration.EventMeshGrpcConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.plugin.MQConsumerWrapper;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.consumergroup.ConsumerGroupClient;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.consumergroup.ConsumerGroupTopicConfig;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.consumergroup.GrpcType;
@@ -50,12 +49,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
-import io.cloudevents.core.builder.CloudEventBuilder;
 
 public class EventMeshConsumer {
 
@@ -145,8 +144,8 @@ public class EventMeshConsumer {
         keyValue.put(INSTANCE_NAME, EventMeshUtil.buildMeshClientID(consumerGroup,
                 eventMeshGrpcConfiguration.getEventMeshCluster()));
         persistentMqConsumer.init(keyValue);
-        EventListener clusterEventListner = createEventListener(SubscriptionMode.CLUSTERING);
-        persistentMqConsumer.registerEventListener(clusterEventListner);
+        boolean batchConsume = eventMeshGrpcConfiguration.isEventMeshServerBatchConsumeEnable();
+        persistentMqConsumer.registerEventHandler(createEventHandler(SubscriptionMode.CLUSTERING), batchConsume);
 
         Properties broadcastKeyValue = new Properties();
         broadcastKeyValue.put(IS_BROADCAST, "true");
@@ -155,8 +154,7 @@ public class EventMeshConsumer {
         broadcastKeyValue.put(INSTANCE_NAME, EventMeshUtil.buildMeshClientID(consumerGroup,
                 eventMeshGrpcConfiguration.getEventMeshCluster()));
         broadcastMqConsumer.init(broadcastKeyValue);
-        EventListener broadcastEventListner = createEventListener(SubscriptionMode.BROADCASTING);
-        broadcastMqConsumer.registerEventListener(broadcastEventListner);
+        broadcastMqConsumer.registerEventHandler(createEventHandler(SubscriptionMode.BROADCASTING), batchConsume);
 
         serviceState = ServiceState.INITED;
         LOGGER.info("EventMeshConsumer [{}] initialized.............", consumerGroup);
@@ -229,12 +227,14 @@ public class EventMeshConsumer {
         }
     }
 
-    private EventListener createEventListener(SubscriptionMode subscriptionMode) {
+    /**
+     * @return handler returning the action to commit a consumed event with
+     */
+    private BiFunction<CloudEvent, AbstractContext, EventMeshAction> createEventHandler(SubscriptionMode subscriptionMode) {
         return (event, context) -> {
 
-            event = CloudEventBuilder.from(event)
-                    .withExtension(EventMeshConstants.REQ_MQ2EVENTMESH_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
-                    .build();
+            event = EventMeshCloudEvent.of(event)
+                    .withExtension(EventMeshConstants.REQ_MQ2EVENTMESH_TIMESTAMP, String.valueOf(System.currentTimeMillis()));
 
             String topic = event.getSubject();
             Object bizSeqNo = event.getExtension(Constants.PROPERTY_MESSAGE_SEARCH_KEYS);
@@ -252,19 +252,16 @@ public class EventMeshConsumer {
                 eventMeshGrpcServer.getMetricsMonitor().recordReceiveMsgFromQueue();
             }
 
-            EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext = (EventMeshAsyncConsumeContext) context;
-
             ConsumerGroupTopicConfig topicConfig = consumerGroupTopicConfig.get(topic);
 
             if (topicConfig != null) {
                 GrpcType grpcType = topicConfig.getGrpcType();
                 HandleMsgContext handleMsgContext = new HandleMsgContext(consumerGroup, event, subscriptionMode, grpcType,
-                        eventMeshAsyncConsumeContext.getAbstractContext(), eventMeshGrpcServer, this,
+                        context, eventMeshGrpcServer, this,
                         topicConfig);
 
                 if (messageHandler.handle(handleMsgContext)) {
-                    eventMeshAsyncConsumeContext.commit(EventMeshAction.ManualAck);
-                    return;
+                    return EventMeshAction.ManualAck;
                 } else {
                     // can not handle the message due to the capacity limit is reached
                     // wait for sometime and send this message back to mq and consume again
@@ -280,7 +277,7 @@ public class EventMeshConsumer {
                     LOGGER.debug("no active consumer for topic={}|msg={}", topic, event);
                 }
             }
-            eventMeshAsyncConsumeContext.commit(EventMeshAction.CommitMessage);
+            return EventMeshAction.CommitMessage;
         };
     }
 
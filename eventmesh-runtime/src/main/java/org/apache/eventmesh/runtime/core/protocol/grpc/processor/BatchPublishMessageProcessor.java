@@ -17,6 +17,7 @@
 
 package org.apache.eventmesh.runtime.core.protocol.grpc.processor;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.AclException;
@@ -96,33 +97,69 @@ public class BatchPublishMessageProcessor {
         ProtocolAdaptor<ProtocolTransportObject> grpcCommandProtocolAdaptor = ProtocolPluginFactory.getProtocolAdaptor(protocolType);
         List<CloudEvent> cloudEvents = grpcCommandProtocolAdaptor.toBatchCloudEvent(new BatchMessageWrapper(message));
 
-        for (CloudEvent event : cloudEvents) {
-            String seqNum = event.getId();
-            String uniqueId = (event.getExtension(ProtocolKey.UNIQUE_ID) == null) ? "" : event.getExtension(ProtocolKey.UNIQUE_ID).toString();
-            ProducerManager producerManager = eventMeshGrpcServer.getProducerManager();
-            EventMeshProducer eventMeshProducer = producerManager.getEventMeshProducer(producerGroup);
+        ProducerManager producerManager = eventMeshGrpcServer.getProducerManager();
+        EventMeshProducer eventMeshProducer = producerManager.getEventMeshProducer(producerGroup);
 
-            SendMessageContext sendMessageContext = new SendMessageContext(seqNum, event, eventMeshProducer, eventMeshGrpcServer);
+        if (eventMeshGrpcServer.getEventMeshGrpcConfiguration().eventMeshServerBatchMsgBatchEnabled) {
+            sendBatch(topic, cloudEvents, eventMeshProducer);
+        } else {
+            for (CloudEvent event : cloudEvents) {
+                send(topic, event, eventMeshProducer);
+            }
+        }
+        ServiceUtils.sendRespAndDone(StatusCode.SUCCESS, "batch publish success", emitter);
+    }
 
+    /**
+     * Hand all the events to the connector at once, it may send them in a single request.
+     */
+    private void sendBatch(String topic, List<CloudEvent> cloudEvents, EventMeshProducer eventMeshProducer) throws Exception {
+        for (int i = 0; i < cloudEvents.size(); i++) {
             eventMeshGrpcServer.getMetricsMonitor().recordSendMsgToQueue();
-            long startTime = System.currentTimeMillis();
-            eventMeshProducer.send(sendMessageContext, new SendCallback() {
-                @Override
-                public void onSuccess(SendResult sendResult) {
-                    long endTime = System.currentTimeMillis();
-                    logger.info("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
-                        endTime - startTime, topic, seqNum, uniqueId);
+        }
+        long startTime = System.currentTimeMillis();
+        eventMeshProducer.sendBatch(cloudEvents, new BatchSendCallback() {
+            @Override
+            public void onSuccess(List<SendResult> sendResults) {
+                long endTime = System.currentTimeMillis();
+                logger.info("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|msgNum={}",
+                    endTime - startTime, topic, sendResults.size());
+            }
+
+            @Override
+            public void onException(List<SendResult> sendResults, List<OnExceptionContext> contexts) {
+                long endTime = System.currentTimeMillis();
+                for (OnExceptionContext context : contexts) {
+                    logger.error("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|bizSeqNo={}",
+                        endTime - startTime, topic, context.getMessageId(), context.getException());
                 }
+            }
+        });
+    }
 
-                @Override
-                public void onException(OnExceptionContext context) {
-                    long endTime = System.currentTimeMillis();
-                    logger.error("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
-                        endTime - startTime, topic, seqNum, uniqueId, context.getException());
-                }
-            });
-        }
-        ServiceUtils.sendRespAndDone(StatusCode.SUCCESS, "batch publish success", emitter);
+    private void send(String topic, CloudEvent event, EventMeshProducer eventMeshProducer) throws Exception {
+        String seqNum = event.getId();
+        String uniqueId = (event.getExtension(ProtocolKey.UNIQUE_ID) == null) ? "" : event.getExtension(ProtocolKey.UNIQUE_ID).toString();
+
+        SendMessageContext sendMessageContext = new SendMessageContext(seqNum, event, eventMeshProducer, eventMeshGrpcServer);
+
+        eventMeshGrpcServer.getMetricsMonitor().recordSendMsgToQueue();
+        long startTime = System.currentTimeMillis();
+        eventMeshProducer.send(sendMessageContext, new SendCallback() {
+            @Override
+            public void onSuccess(SendResult sendResult) {
+                long endTime = System.currentTimeMillis();
+                logger.info("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
+                    endTime - startTime, topic, seqNum, uniqueId);
+            }
+
+            @Override
+            public void onException(OnExceptionContext context) {
+                long endTime = System.currentTimeMillis();
+                logger.error("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
+                    endTime - startTime, topic, seqNum, uniqueId, context.getException());
+            }
+        });
     }
 
     private void doAclCheck(BatchMessage message) throws AclException {
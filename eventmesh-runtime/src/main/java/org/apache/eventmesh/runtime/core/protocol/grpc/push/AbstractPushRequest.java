@@ -28,9 +28,11 @@ import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.boot.EventMeshGrpcServer;
 import org.apache.eventmesh.runtime.configuration.EventMeshGrpcConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.EventMeshConsumer;
 import org.apache.eventmesh.runtime.core.protocol.grpc.retry.GrpcRetryer;
 import org.apache.eventmesh.runtime.core.protocol.grpc.retry.RetryContext;
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
 
 import java.util.Collections;
 import java.util.Map;
@@ -83,7 +85,7 @@ public abstract class AbstractPushRequest extends RetryContext {
         try {
             String protocolType = Objects.requireNonNull(cloudEvent.getExtension(Constants.PROTOCOL_TYPE)).toString();
             ProtocolAdaptor<ProtocolTransportObject> protocolAdaptor = ProtocolPluginFactory.getProtocolAdaptor(protocolType);
-            ProtocolTransportObject protocolTransportObject = protocolAdaptor.fromCloudEvent(cloudEvent);
+            ProtocolTransportObject protocolTransportObject = protocolAdaptor.fromCloudEvent(EventMeshCloudEvent.materialize(cloudEvent));
             return ((SimpleMessageWrapper) protocolTransportObject).getMessage();
         } catch (Exception e) {
             LOGGER.error("Error in getting EventMeshMessage from CloudEvent", e);
@@ -102,6 +104,11 @@ public abstract class AbstractPushRequest extends RetryContext {
         }
     }
 
+    @Override
+    public String retryGroup() {
+        return handleMsgContext.getConsumerGroup();
+    }
+
     @Override
     public boolean retry() {
         tryPushRequest();
@@ -111,7 +118,7 @@ public abstract class AbstractPushRequest extends RetryContext {
     protected void delayRetry() {
         if (retryTimes < EventMeshConstants.DEFAULT_PUSH_RETRY_TIMES) {
             retryTimes++;
-            delay((long) retryTimes * EventMeshConstants.DEFAULT_PUSH_RETRY_TIME_DISTANCE_IN_MILLSECONDS);
+            delay(RetryEngine.backoff(EventMeshConstants.DEFAULT_PUSH_RETRY_TIME_DISTANCE_IN_MILLSECONDS, retryTimes - 1));
             grpcRetryer.pushRetry(this);
         } else {
             complete();
@@ -17,10 +17,19 @@
 
 package org.apache.eventmesh.runtime.core.protocol.grpc.retry;
 
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
+
 import java.util.concurrent.Delayed;
 
 /**
  */
 public interface DelayRetryable extends Delayed {
     boolean retry() throws Exception;
+
+    /**
+     * Group the retry is accounted to by the retry engine.
+     */
+    default String retryGroup() {
+        return RetryEngine.DEFAULT_GROUP;
+    }
 }
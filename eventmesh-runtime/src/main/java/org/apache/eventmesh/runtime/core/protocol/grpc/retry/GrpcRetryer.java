@@ -19,13 +19,9 @@ package org.apache.eventmesh.runtime.core.protocol.grpc.retry;
 
 import org.apache.eventmesh.runtime.boot.EventMeshGrpcServer;
 import org.apache.eventmesh.runtime.configuration.EventMeshGrpcConfiguration;
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,75 +38,54 @@ public class GrpcRetryer {
         this.grpcConfiguration = eventMeshGrpcServer.getEventMeshGrpcConfiguration();
     }
 
-    private DelayQueue<DelayRetryable> failed = new DelayQueue<DelayRetryable>();
-
-    private ThreadPoolExecutor pool;
-
-    private Thread dispatcher;
+    private RetryEngine retryEngine;
 
     public void pushRetry(DelayRetryable delayRetryable) {
-        if (failed.size() >= grpcConfiguration.eventMeshServerRetryBlockQueueSize) {
+        if (!retryEngine.schedule(delayRetryable.retryGroup(), executeTime(delayRetryable), () -> retry(delayRetryable))) {
             retryLogger.error("[RETRY-QUEUE] is full!");
-            return;
         }
-        failed.offer(delayRetryable);
     }
 
-    public void init() {
-        pool = new ThreadPoolExecutor(grpcConfiguration.eventMeshServerRetryThreadNum,
-            grpcConfiguration.eventMeshServerRetryThreadNum,
-            60000,
-            TimeUnit.MILLISECONDS,
-            new ArrayBlockingQueue<>(grpcConfiguration.eventMeshServerRetryBlockQueueSize),
-            new ThreadFactory() {
-                private AtomicInteger count = new AtomicInteger();
-
-                @Override
-                public Thread newThread(Runnable r) {
-                    Thread thread = new Thread(r, "grpc-retry-" + count.incrementAndGet());
-                    thread.setPriority(Thread.NORM_PRIORITY);
-                    thread.setDaemon(true);
-                    return thread;
-                }
-            }, new ThreadPoolExecutor.AbortPolicy());
-
-        dispatcher = new Thread(() -> {
-            try {
-                DelayRetryable retryObj = null;
-                while (!Thread.currentThread().isInterrupted()
-                    && (retryObj = failed.take()) != null) {
-                    final DelayRetryable delayRetryable = retryObj;
-                    pool.execute(() -> {
-                        try {
-                            delayRetryable.retry();
-                            if (retryLogger.isDebugEnabled()) {
-                                retryLogger.debug("retryObj : {}", delayRetryable);
-                            }
-                        } catch (Exception e) {
-                            retryLogger.error("grpc-retry-dispatcher error!", e);
-                        }
-                    });
-                }
-            } catch (Exception e) {
-                retryLogger.error("grpc-retry-dispatcher error!", e);
+    private long executeTime(DelayRetryable delayRetryable) {
+        return System.currentTimeMillis() + delayRetryable.getDelay(TimeUnit.MILLISECONDS);
+    }
+
+    private void retry(DelayRetryable delayRetryable) {
+        try {
+            delayRetryable.retry();
+            if (retryLogger.isDebugEnabled()) {
+                retryLogger.debug("retryObj : {}", delayRetryable);
             }
-        }, "grpc-retry-dispatcher");
-        dispatcher.setDaemon(true);
+        } catch (Exception e) {
+            retryLogger.error("grpc-retry-dispatcher error!", e);
+        }
+    }
+
+    public void init() {
+        retryEngine = new RetryEngine("grpc-retry", grpcConfiguration.eventMeshServerRetryThreadNum,
+            grpcConfiguration.eventMeshServerRetryBlockQueueSize, grpcConfiguration.getEventMeshServerRetryGroupBudget(),
+            grpcConfiguration.getEventMeshServerRetryMaxBackoffInMills());
         logger.info("GrpcRetryer inited......");
     }
 
     public int size() {
-        return failed.size();
+        return retryEngine.size();
+    }
+
+    /**
+     * Get retry engine, this method is just used for metrics.
+     */
+    public RetryEngine getRetryEngine() {
+        return retryEngine;
     }
 
     public void shutdown() {
-        dispatcher.interrupt();
-        pool.shutdown();
+        retryEngine.shutdown();
         logger.info("GrpcRetryer shutdown......");
     }
 
     public void start() throws Exception {
-        dispatcher.start();
+        retryEngine.start();
         logger.info("GrpcRetryer started......");
     }
 }
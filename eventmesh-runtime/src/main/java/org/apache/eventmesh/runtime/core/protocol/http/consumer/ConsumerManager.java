@@ -313,6 +313,8 @@ public class ConsumerManager {
             }
         } catch (Exception ex) {
             logger.error("onChange event:{} err", event, ex);
+        } finally {
+            evictPushEndpoints();
         }
     }
 
@@ -336,6 +338,24 @@ public class ConsumerManager {
             }
         } catch (Exception ex) {
             logger.error("onChange event:{} err", event, ex);
+        } finally {
+            evictPushEndpoints();
         }
     }
+
+    /**
+     * Drop the push url health of the urls no consumer group subscribes any more.
+     */
+    private void evictPushEndpoints() {
+        if (eventMeshHTTPServer.getPushEndpoints() == null) {
+            return;
+        }
+        Set<String> subscribedUrls = new HashSet<>();
+        for (ConsumerGroupManager manager : consumerTable.values()) {
+            for (ConsumerGroupTopicConf topicConf : manager.getConsumerGroupConfig().getConsumerGroupTopicConf().values()) {
+                subscribedUrls.addAll(topicConf.getUrls());
+            }
+        }
+        eventMeshHTTPServer.getPushEndpoints().retain(subscribedUrls);
+    }
 }
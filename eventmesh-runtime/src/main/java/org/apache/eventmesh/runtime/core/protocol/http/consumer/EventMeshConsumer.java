@@ -23,9 +23,7 @@ import static org.apache.eventmesh.runtime.constants.EventMeshConstants.INSTANCE
 import static org.apache.eventmesh.runtime.constants.EventMeshConstants.IS_BROADCAST;
 
 import org.apache.eventmesh.api.AbstractContext;
-import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.EventMeshAction;
-import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
@@ -37,6 +35,7 @@ import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.consumergroup.ConsumerGroupConf;
 import org.apache.eventmesh.runtime.core.consumergroup.ConsumerGroupTopicConf;
 import org.apache.eventmesh.runtime.core.plugin.MQConsumerWrapper;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 import org.apache.eventmesh.runtime.core.protocol.http.producer.EventMeshProducer;
 import org.apache.eventmesh.runtime.core.protocol.http.producer.SendMessageContext;
 import org.apache.eventmesh.runtime.core.protocol.http.push.HTTPMessageHandler;
@@ -51,12 +50,12 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
-import io.cloudevents.core.builder.CloudEventBuilder;
 import io.opentelemetry.api.trace.Span;
 
 public class EventMeshConsumer {
@@ -102,23 +101,18 @@ public class EventMeshConsumer {
                 eventMeshHTTPServer.getEventMeshHttpConfiguration().getEventMeshCluster()));
         persistentMqConsumer.init(keyValue);
 
-        EventListener clusterEventListener = (event, context) -> {
-            String protocolVersion =
-                Objects.requireNonNull(event.getSpecVersion()).toString();
-
-            Span span = TraceUtils.prepareServerSpan(
-                EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+        BiFunction<CloudEvent, AbstractContext, EventMeshAction> clusterEventHandler = (event, context) -> {
+            Span span = TraceUtils.prepareServerSpan(event,
                 EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_SERVER_SPAN, false);
             try {
                 String topic = event.getSubject();
                 String bizSeqNo = Objects.requireNonNull(event.getExtension(ProtocolKey.ClientInstanceKey.BIZSEQNO)).toString();
                 String uniqueId = Objects.requireNonNull(event.getExtension(ProtocolKey.ClientInstanceKey.UNIQUEID)).toString();
 
-                event = CloudEventBuilder.from(event)
+                event = EventMeshCloudEvent.of(event)
                     .withExtension(EventMeshConstants.REQ_MQ2EVENTMESH_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
                     .withExtension(EventMeshConstants.REQ_RECEIVE_EVENTMESH_IP,
-                        eventMeshHTTPServer.getEventMeshHttpConfiguration().getEventMeshServerIp())
-                    .build();
+                        eventMeshHTTPServer.getEventMeshHttpConfiguration().getEventMeshServerIp());
                 if (messageLogger.isDebugEnabled()) {
                     messageLogger.debug("message|mq2eventMesh|topic={}|event={}", topic, event);
                 } else {
@@ -127,15 +121,13 @@ public class EventMeshConsumer {
 
                 ConsumerGroupTopicConf currentTopicConfig = MapUtils.getObject(consumerGroupConf.getConsumerGroupTopicConf(),
                     topic, null);
-                EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext = (EventMeshAsyncConsumeContext) context;
 
                 if (currentTopicConfig == null) {
                     logger.error("no topicConfig found, consumerGroup:{} topic:{}",
                         consumerGroupConf.getConsumerGroup(), topic);
                     try {
                         sendMessageBack(event, uniqueId, bizSeqNo);
-                        eventMeshAsyncConsumeContext.commit(EventMeshAction.CommitMessage);
-                        return;
+                        return EventMeshAction.CommitMessage;
                     } catch (Exception ex) {
                         //ignore
                     }
@@ -145,24 +137,25 @@ public class EventMeshConsumer {
                     consumerGroupConf.getConsumerGroupTopicConf().get(topic).getSubscriptionItem();
                 HandleMsgContext handleMsgContext = new HandleMsgContext(EventMeshUtil.buildPushMsgSeqNo(),
                     consumerGroupConf.getConsumerGroup(), EventMeshConsumer.this,
-                    topic, event, subscriptionItem, eventMeshAsyncConsumeContext.getAbstractContext(),
+                    topic, event, subscriptionItem, context,
                     consumerGroupConf, eventMeshHTTPServer, bizSeqNo, uniqueId, currentTopicConfig);
 
                 if (httpMessageHandler.handle(handleMsgContext)) {
-                    eventMeshAsyncConsumeContext.commit(EventMeshAction.ManualAck);
+                    return EventMeshAction.ManualAck;
                 } else {
                     try {
                         sendMessageBack(event, uniqueId, bizSeqNo);
                     } catch (Exception e) {
                         //ignore
                     }
-                    eventMeshAsyncConsumeContext.commit(EventMeshAction.CommitMessage);
+                    return EventMeshAction.CommitMessage;
                 }
             } finally {
                 TraceUtils.finishSpan(span, event);
             }
         };
-        persistentMqConsumer.registerEventListener(clusterEventListener);
+        boolean batchConsume = eventMeshHTTPServer.getEventMeshHttpConfiguration().isEventMeshServerBatchConsumeEnable();
+        persistentMqConsumer.registerEventHandler(clusterEventHandler, batchConsume);
 
         //broadcast consumer
         Properties broadcastKeyValue = new Properties();
@@ -173,22 +166,17 @@ public class EventMeshConsumer {
                 eventMeshHTTPServer.getEventMeshHttpConfiguration().getEventMeshCluster()));
         broadcastMqConsumer.init(broadcastKeyValue);
 
-        EventListener broadcastEventListener = (event, context) -> {
-
-            String protocolVersion =
-                Objects.requireNonNull(event.getSpecVersion()).toString();
+        BiFunction<CloudEvent, AbstractContext, EventMeshAction> broadcastEventHandler = (event, context) -> {
 
-            Span span = TraceUtils.prepareServerSpan(
-                EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+            Span span = TraceUtils.prepareServerSpan(event,
                 EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_SERVER_SPAN, false);
             try {
 
-                event = CloudEventBuilder.from(event)
+                event = EventMeshCloudEvent.of(event)
                     .withExtension(EventMeshConstants.REQ_MQ2EVENTMESH_TIMESTAMP,
                         String.valueOf(System.currentTimeMillis()))
                     .withExtension(EventMeshConstants.REQ_RECEIVE_EVENTMESH_IP,
-                        eventMeshHTTPServer.getEventMeshHttpConfiguration().getEventMeshServerIp())
-                    .build();
+                        eventMeshHTTPServer.getEventMeshHttpConfiguration().getEventMeshServerIp());
 
                 String topic = event.getSubject();
                 String bizSeqNo = getEventExtension(event, ProtocolKey.ClientInstanceKey.BIZSEQNO, "");
@@ -204,16 +192,13 @@ public class EventMeshConsumer {
 
                 ConsumerGroupTopicConf currentTopicConfig = MapUtils.getObject(
                     consumerGroupConf.getConsumerGroupTopicConf(), topic, null);
-                EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext =
-                    (EventMeshAsyncConsumeContext) context;
 
                 if (currentTopicConfig == null) {
                     logger.error("no topicConfig found, consumerGroup:{} topic:{}",
                         consumerGroupConf.getConsumerGroup(), topic);
                     try {
                         sendMessageBack(event, uniqueId, bizSeqNo);
-                        eventMeshAsyncConsumeContext.commit(EventMeshAction.CommitMessage);
-                        return;
+                        return EventMeshAction.CommitMessage;
                     } catch (Exception ex) {
                         //ignore
                     }
@@ -226,25 +211,25 @@ public class EventMeshConsumer {
                     new HandleMsgContext(EventMeshUtil.buildPushMsgSeqNo(),
                         consumerGroupConf.getConsumerGroup(), EventMeshConsumer.this,
                         topic, event, subscriptionItem,
-                        eventMeshAsyncConsumeContext.getAbstractContext(),
+                        context,
                         consumerGroupConf, eventMeshHTTPServer, bizSeqNo, uniqueId,
                         currentTopicConfig);
 
                 if (httpMessageHandler.handle(handleMsgContext)) {
-                    eventMeshAsyncConsumeContext.commit(EventMeshAction.ManualAck);
+                    return EventMeshAction.ManualAck;
                 } else {
                     try {
                         sendMessageBack(event, uniqueId, bizSeqNo);
                     } catch (Exception e) {
                         //ignore
                     }
-                    eventMeshAsyncConsumeContext.commit(EventMeshAction.CommitMessage);
+                    return EventMeshAction.CommitMessage;
                 }
             } finally {
                 TraceUtils.finishSpan(span, event);
             }
         };
-        broadcastMqConsumer.registerEventListener(broadcastEventListener);
+        broadcastMqConsumer.registerEventHandler(broadcastEventHandler, batchConsume);
 
         inited4Persistent.compareAndSet(false, true);
         inited4Broadcast.compareAndSet(false, true);
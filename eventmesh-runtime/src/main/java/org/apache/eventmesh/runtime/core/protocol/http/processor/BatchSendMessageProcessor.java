@@ -17,6 +17,7 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.processor;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
@@ -51,8 +52,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -286,21 +289,27 @@ public class BatchSendMessageProcessor implements HttpRequestProcessor {
 
         if (eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerBatchMsgBatchEnabled) {
             for (List<CloudEvent> eventlist : topicBatchMessageMappings.values()) {
-                // TODO: Implementation in API. Consider whether to put it in the plug-in.
-                CloudEvent event = null;
                 // TODO: Detect the maximum length of messages for different producers.
-                final SendMessageContext sendMessageContext = new SendMessageContext(batchId, event, batchEventMeshProducer,
+                final SendMessageContext sendMessageContext = new SendMessageContext(batchId, null, batchEventMeshProducer,
                         eventMeshHTTPServer);
                 sendMessageContext.setEventList(eventlist);
-                batchEventMeshProducer.send(sendMessageContext, new SendCallback() {
+                batchEventMeshProducer.sendBatch(sendMessageContext, new BatchSendCallback() {
                     @Override
-                    public void onSuccess(SendResult sendResult) {
+                    public void onSuccess(List<SendResult> sendResults) {
                     }
 
                     @Override
-                    public void onException(OnExceptionContext context) {
-                        batchMessageLogger.warn("", context.getException());
-                        eventMeshHTTPServer.getHttpRetryer().pushRetry(sendMessageContext.delay(10000));
+                    public void onException(List<SendResult> sendResults, List<OnExceptionContext> contexts) {
+                        contexts.forEach(context -> batchMessageLogger.warn("", context.getException()));
+                        // only the events which were not sent are retried
+                        Set<String> failedIds = contexts.stream().map(OnExceptionContext::getMessageId).collect(Collectors.toSet());
+                        List<CloudEvent> failedEvents = eventlist.stream()
+                                .filter(event -> failedIds.contains(event.getId())).collect(Collectors.toList());
+                        SendMessageContext retryContext = new SendMessageContext(batchId, null, batchEventMeshProducer,
+                                eventMeshHTTPServer);
+                        // a connector which does not report the event ids gets the whole batch again
+                        retryContext.setEventList(failedEvents.size() < contexts.size() ? eventlist : failedEvents);
+                        eventMeshHTTPServer.getHttpRetryer().pushRetry(retryContext.delay(10000));
                     }
 
                 });
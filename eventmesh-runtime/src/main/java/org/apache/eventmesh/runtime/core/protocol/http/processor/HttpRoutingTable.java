@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.processor;
+
+import org.apache.eventmesh.runtime.common.Pair;
+import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.EventProcessor;
+import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.HttpRequestProcessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Routing table of the http server, resolving a request code or a request uri to its processor in a single lookup.
+ * <p>
+ * Lookups read an immutable snapshot without locking. Registration is rare, it compiles a new snapshot from the
+ * registered routes and swaps it in, so a request always sees either the old or the new table.
+ */
+public class HttpRoutingTable {
+
+    private final Map<String, Pair<HttpRequestProcessor, ThreadPoolExecutor>> requestCodeRoutes = new HashMap<>();
+
+    private final Map<String, Pair<EventProcessor, ThreadPoolExecutor>> requestURIRoutes = new TreeMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), PrefixNode.compile(Collections.emptyMap()));
+
+    public synchronized void register(String requestCode, HttpRequestProcessor processor, ThreadPoolExecutor executor) {
+        requestCodeRoutes.put(requestCode, new Pair<>(processor, executor));
+        publish();
+    }
+
+    public synchronized void registerPrefix(String requestURI, EventProcessor processor, ThreadPoolExecutor executor) {
+        requestURIRoutes.put(requestURI, new Pair<>(processor, executor));
+        publish();
+    }
+
+    /**
+     * @return the processor registered for the request code, null if there is none
+     */
+    public Pair<HttpRequestProcessor, ThreadPoolExecutor> route(String requestCode) {
+        return requestCode == null ? null : snapshot.requestCodeRoutes.get(requestCode);
+    }
+
+    /**
+     * @return the processor registered with the longest prefix of the uri, null if no prefix matches
+     */
+    public Pair<EventProcessor, ThreadPoolExecutor> routePrefix(String requestURI) {
+        return requestURI == null ? null : snapshot.requestURIRoot.longestPrefix(requestURI);
+    }
+
+    private void publish() {
+        snapshot = new Snapshot(Collections.unmodifiableMap(new HashMap<>(requestCodeRoutes)),
+            PrefixNode.compile(requestURIRoutes));
+    }
+
+    private static final class Snapshot {
+
+        private final Map<String, Pair<HttpRequestProcessor, ThreadPoolExecutor>> requestCodeRoutes;
+
+        private final PrefixNode requestURIRoot;
+
+        Snapshot(Map<String, Pair<HttpRequestProcessor, ThreadPoolExecutor>> requestCodeRoutes,
+                 PrefixNode requestURIRoot) {
+            this.requestCodeRoutes = requestCodeRoutes;
+            this.requestURIRoot = requestURIRoot;
+        }
+    }
+
+    /**
+     * Node of the compiled prefix trie, children are kept in arrays sorted by their label for a binary search.
+     */
+    private static final class PrefixNode {
+
+        private static final char[] NO_LABELS = new char[0];
+
+        private static final PrefixNode[] NO_CHILDREN = new PrefixNode[0];
+
+        private final char[] labels;
+
+        private final PrefixNode[] children;
+
+        private final Pair<EventProcessor, ThreadPoolExecutor> route;
+
+        private PrefixNode(char[] labels, PrefixNode[] children, Pair<EventProcessor, ThreadPoolExecutor> route) {
+            this.labels = labels;
+            this.children = children;
+            this.route = route;
+        }
+
+        /**
+         * @param routes routes sorted by prefix
+         */
+        static PrefixNode compile(Map<String, Pair<EventProcessor, ThreadPoolExecutor>> routes) {
+            List<Map.Entry<String, Pair<EventProcessor, ThreadPoolExecutor>>> entries = new ArrayList<>(routes.entrySet());
+            return compile(entries, 0, entries.size(), 0);
+        }
+
+        private static PrefixNode compile(List<Map.Entry<String, Pair<EventProcessor, ThreadPoolExecutor>>> entries,
+                                          int from, int to, int depth) {
+            Pair<EventProcessor, ThreadPoolExecutor> route = null;
+            if (from < to && entries.get(from).getKey().length() == depth) {
+                route = entries.get(from).getValue();
+                from++;
+            }
+
+            char[] labels = new char[to - from];
+            PrefixNode[] children = new PrefixNode[to - from];
+            int size = 0;
+            int start = from;
+            while (start < to) {
+                char label = entries.get(start).getKey().charAt(depth);
+                int end = start + 1;
+                while (end < to && entries.get(end).getKey().charAt(depth) == label) {
+                    end++;
+                }
+                labels[size] = label;
+                children[size] = compile(entries, start, end, depth + 1);
+                size++;
+                start = end;
+            }
+            return size == 0 ? new PrefixNode(NO_LABELS, NO_CHILDREN, route)
+                : new PrefixNode(Arrays.copyOf(labels, size), Arrays.copyOf(children, size), route);
+        }
+
+        Pair<EventProcessor, ThreadPoolExecutor> longestPrefix(String key) {
+            PrefixNode node = this;
+            Pair<EventProcessor, ThreadPoolExecutor> matched = route;
+            for (int i = 0; i < key.length(); i++) {
+                int index = Arrays.binarySearch(node.labels, key.charAt(i));
+                if (index < 0) {
+                    break;
+                }
+                node = node.children[index];
+                if (node.route != null) {
+                    matched = node.route;
+                }
+            }
+            return matched;
+        }
+    }
+}
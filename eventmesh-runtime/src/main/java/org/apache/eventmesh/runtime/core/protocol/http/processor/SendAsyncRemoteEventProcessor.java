@@ -275,7 +275,7 @@ public class SendAsyncRemoteEventProcessor implements AsyncHttpProcessor {
             event = CloudEventBuilder.from(sendMessageContext.getEvent())
                     .withExtension(EventMeshConstants.REQ_EVENTMESH2MQ_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
                     .build();
-            handlerSpecific.getTraceOperation().createClientTraceOperation(EventMeshUtil.getCloudEventExtensionMap(SpecVersion.V1.toString(), event),
+            handlerSpecific.getTraceOperation().createClientTraceOperation(event,
                     EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_CLIENT_SPAN, false);
 
             eventMeshProducer.send(sendMessageContext, new SendCallback() {
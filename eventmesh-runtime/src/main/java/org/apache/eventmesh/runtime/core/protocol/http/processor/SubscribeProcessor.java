@@ -222,6 +222,8 @@ public class SubscribeProcessor implements HttpRequestProcessor {
                     consumeTopicConfig.setUrls(new HashSet<>(Arrays.asList(url)));
 
                     consumeTopicConfig.setIdcUrls(idcUrls);
+                    consumeTopicConfig.setPushBatchSize(subscribeRequestBody.getPushBatchSize());
+                    consumeTopicConfig.setPushBatchLatencyInMills(subscribeRequestBody.getPushBatchLatency());
 
                     Map<String, ConsumerGroupTopicConf> map = new HashMap<>();
                     map.put(subTopic.getTopic(), consumeTopicConfig);
@@ -238,6 +240,8 @@ public class SubscribeProcessor implements HttpRequestProcessor {
                         newTopicConf.setSubscriptionItem(subTopic);
                         newTopicConf.setUrls(new HashSet<>(Arrays.asList(url)));
                         newTopicConf.setIdcUrls(idcUrls);
+                        newTopicConf.setPushBatchSize(subscribeRequestBody.getPushBatchSize());
+                        newTopicConf.setPushBatchLatencyInMills(subscribeRequestBody.getPushBatchLatency());
                         map.put(subTopic.getTopic(), newTopicConf);
                     }
                     for (Map.Entry<String, ConsumerGroupTopicConf> set : map.entrySet()) {
@@ -251,6 +255,8 @@ public class SubscribeProcessor implements HttpRequestProcessor {
                             ConsumerGroupTopicConf currentTopicConf = set.getValue();
                             latestTopicConf.getUrls().addAll(currentTopicConf.getUrls());
                             latestTopicConf.setIdcUrls(idcUrls);
+                            latestTopicConf.setPushBatchSize(subscribeRequestBody.getPushBatchSize());
+                            latestTopicConf.setPushBatchLatencyInMills(subscribeRequestBody.getPushBatchLatency());
 
                             map.put(set.getKey(), latestTopicConf);
                         }
@@ -17,6 +17,7 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
@@ -123,6 +124,11 @@ public class SendMessageContext extends RetryContext {
         return sb.toString();
     }
 
+    @Override
+    public String retryGroup() {
+        return eventMeshProducer != null ? eventMeshProducer.producerGroupConfig.getGroupName() : super.retryGroup();
+    }
+
     @Override
     public boolean retry() throws Exception {
         if (eventMeshProducer == null) {
@@ -134,6 +140,20 @@ public class SendMessageContext extends RetryContext {
         }
 
         retryTimes++;
+        if (eventList != null) {
+            eventMeshProducer.sendBatch(this, new BatchSendCallback() {
+                @Override
+                public void onSuccess(List<SendResult> sendResults) {
+                }
+
+                @Override
+                public void onException(List<SendResult> sendResults, List<OnExceptionContext> contexts) {
+                    contexts.forEach(context -> logger.warn("", context.getException()));
+                    eventMeshHTTPServer.metrics.getSummaryMetrics().recordSendBatchMsgFailed(contexts.size());
+                }
+            });
+            return true;
+        }
         eventMeshProducer.send(this, new SendCallback() {
 
             @Override
@@ -17,22 +17,36 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.push;
 
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.SubscriptionType;
+import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
+import org.apache.eventmesh.common.protocol.http.common.ProtocolVersion;
+import org.apache.eventmesh.common.protocol.http.common.RequestCode;
 import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
 import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
 import org.apache.eventmesh.runtime.core.protocol.http.retry.HttpRetryer;
 import org.apache.eventmesh.runtime.core.protocol.http.retry.RetryContext;
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang3.RandomUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.Response;
+import org.asynchttpclient.util.HttpConstants;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+
 import com.google.common.collect.Lists;
 
 public abstract class AbstractHTTPPushRequest extends RetryContext {
@@ -47,7 +61,7 @@ public abstract class AbstractHTTPPushRequest extends RetryContext {
 
     public List<String> totalUrls;
 
-    public volatile int startIdx;
+    public volatile String currPushUrl;
 
     public EventMeshHTTPConfiguration eventMeshHttpConfiguration;
 
@@ -67,12 +81,19 @@ public abstract class AbstractHTTPPushRequest extends RetryContext {
         this.eventMeshHttpConfiguration = handleMsgContext.getEventMeshHTTPServer().getEventMeshHttpConfiguration();
         this.retryer = handleMsgContext.getEventMeshHTTPServer().getHttpRetryer();
         this.ttl = handleMsgContext.getTtl();
-        this.startIdx = RandomUtils.nextInt(0, totalUrls.size());
     }
 
     public void tryHTTPRequest() {
     }
 
+    /**
+     * Builder of a push to the current url. The client gives up on the push once its ttl expired, as the timeout
+     * tracker does, so a push timed out does not hold its in-flight slot of the url any longer.
+     */
+    protected RequestBuilder newPushRequestBuilder() {
+        return new RequestBuilder(HttpConstants.Methods.POST).setUrl(currPushUrl).setRequestTimeout(Math.max(ttl, 1));
+    }
+
     public void delayRetry(long delayTime) {
         if (retryTimes < EventMeshConstants.DEFAULT_PUSH_RETRY_TIMES && delayTime > 0) {
             retryTimes++;
@@ -86,18 +107,28 @@ public abstract class AbstractHTTPPushRequest extends RetryContext {
     public void delayRetry() {
         if (retryTimes < EventMeshConstants.DEFAULT_PUSH_RETRY_TIMES) {
             retryTimes++;
-            delay(retryTimes * EventMeshConstants.DEFAULT_PUSH_RETRY_TIME_DISTANCE_IN_MILLSECONDS);
+            delay(RetryEngine.backoff(EventMeshConstants.DEFAULT_PUSH_RETRY_TIME_DISTANCE_IN_MILLSECONDS, retryTimes - 1));
             retryer.pushRetry(this);
         } else {
             complete.compareAndSet(Boolean.FALSE, Boolean.TRUE);
         }
     }
 
+    @Override
+    public String retryGroup() {
+        return handleMsgContext.getConsumerGroup();
+    }
+
+    /**
+     * Pick the url of the next attempt, the local idc first unless all of its urls are ejected.
+     */
     public String getUrl() {
+        HttpPushEndpoints endpoints = eventMeshHTTPServer.getPushEndpoints();
+        String previousUrl = retryTimes > 0 ? currPushUrl : null;
         List<String> localIDCUrl = MapUtils.getObject(urls,
                 eventMeshHttpConfiguration.getEventMeshIDC(), null);
-        if (CollectionUtils.isNotEmpty(localIDCUrl)) {
-            return localIDCUrl.get((startIdx + retryTimes) % localIDCUrl.size());
+        if (CollectionUtils.isNotEmpty(localIDCUrl) && endpoints.hasSelectable(localIDCUrl)) {
+            return endpoints.select(localIDCUrl, previousUrl);
         }
 
         List<String> otherIDCUrl = new ArrayList<String>();
@@ -106,12 +137,70 @@ public abstract class AbstractHTTPPushRequest extends RetryContext {
         }
 
         if (CollectionUtils.isNotEmpty(otherIDCUrl)) {
-            return otherIDCUrl.get((startIdx + retryTimes) % otherIDCUrl.size());
+            return endpoints.select(otherIDCUrl, previousUrl);
         }
 
         return null;
     }
 
+    /**
+     * Report the outcome of a push to the health of its url.
+     *
+     * @param httpStatus status of the response, or -1 if the push got no response
+     */
+    protected void recordPushResult(String url, int httpStatus, long cost) {
+        if (httpStatus < 0 || httpStatus >= HttpStatus.SC_INTERNAL_SERVER_ERROR
+            || httpStatus == 429 || httpStatus == HttpStatus.SC_REQUEST_TIMEOUT) {
+            eventMeshHTTPServer.getPushEndpoints().onFailure(url);
+        } else {
+            eventMeshHTTPServer.getPushEndpoints().onSuccess(url, cost);
+        }
+    }
+
+    protected String pushRequestCode() {
+        if (SubscriptionType.SYNC == handleMsgContext.getSubscriptionItem().getType()) {
+            return String.valueOf(RequestCode.HTTP_PUSH_CLIENT_SYNC.getRequestCode());
+        }
+        return String.valueOf(RequestCode.HTTP_PUSH_CLIENT_ASYNC.getRequestCode());
+    }
+
+    protected HttpHeaders pushHeaders(String requestCode, String localAddress) {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.add(ProtocolKey.REQUEST_CODE, requestCode);
+        headers.add(ProtocolKey.LANGUAGE, Constants.LANGUAGE_JAVA);
+        headers.add(ProtocolKey.VERSION, ProtocolVersion.V1.getVersion());
+        headers.add(ProtocolKey.EventMeshInstanceKey.EVENTMESHCLUSTER, eventMeshHttpConfiguration.getEventMeshCluster());
+        headers.add(ProtocolKey.EventMeshInstanceKey.EVENTMESHIP, localAddress);
+        headers.add(ProtocolKey.EventMeshInstanceKey.EVENTMESHENV, eventMeshHttpConfiguration.getEventMeshEnv());
+        headers.add(ProtocolKey.EventMeshInstanceKey.EVENTMESHIDC, eventMeshHttpConfiguration.getEventMeshIDC());
+        return headers;
+    }
+
+    protected boolean processResponseStatus(int httpStatus, Response httpResponse) {
+        if (httpStatus == HttpStatus.SC_OK || httpStatus == HttpStatus.SC_CREATED
+            || httpStatus == HttpStatus.SC_NO_CONTENT || httpStatus == HttpStatus.SC_ACCEPTED) {
+            // success http response
+            return true;
+        } else if (httpStatus == 429) {
+            // failed with customer retry interval
+
+            // Response Status code is 429 Too Many Requests
+            // retry after the time specified by the header
+            String retryAfter = httpResponse.getHeader("Retry-After");
+            if (StringUtils.isNumeric(retryAfter)) {
+                delayRetry(Long.parseLong(retryAfter));
+            }
+            return false;
+        } else if (httpStatus == HttpStatus.SC_GONE || httpStatus == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
+            // failed with no retry
+            return false;
+        }
+
+        // failed with default retry
+        delayRetry();
+        return false;
+    }
+
     public boolean isComplete() {
         return complete.get();
     }
@@ -122,6 +211,9 @@ public abstract class AbstractHTTPPushRequest extends RetryContext {
 
     public void timeout() {
         if (!isComplete() && System.currentTimeMillis() - lastPushTime >= ttl) {
+            if (currPushUrl != null) {
+                recordPushResult(currPushUrl, -1, ttl);
+            }
             delayRetry();
         }
     }
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig;
+import org.asynchttpclient.Dsl;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+
+/**
+ * Non-blocking client pushing messages to webhook subscribers.
+ * <p>
+ * Connections are pooled per subscriber host by the underlying netty client, and the pushes in flight to
+ * one url are capped, so a slow subscriber only holds its own slots, each until the request timeout of the push.
+ * No thread waits for a response: the returned future completes on the io thread which read it.
+ */
+public class AsyncHTTPPushClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHTTPPushClient.class);
+
+    private final AsyncHttpClient client;
+
+    private final int maxInflightPerUrl;
+
+    /**
+     * url -> pushes in flight, the entry is removed when the count drops to zero so urls gone away do not pile up
+     */
+    private final Map<String, Integer> inflight = new ConcurrentHashMap<>();
+
+    public AsyncHTTPPushClient(EventMeshHTTPConfiguration configuration) {
+        this(buildClient(configuration), configuration.eventMeshServerPushMaxInflightPerUrl);
+    }
+
+    AsyncHTTPPushClient(AsyncHttpClient client, int maxInflightPerUrl) {
+        this.client = client;
+        this.maxInflightPerUrl = maxInflightPerUrl;
+    }
+
+    private static AsyncHttpClient buildClient(EventMeshHTTPConfiguration configuration) {
+        DefaultAsyncHttpClientConfig.Builder builder = Dsl.config()
+            .setThreadPoolName("eventMesh-http-push")
+            .setMaxConnectionsPerHost(configuration.eventMeshServerPushMaxConnectionsPerHost)
+            .setConnectTimeout(configuration.eventMeshServerPushConnectTimeoutInMills)
+            .setKeepAlive(true)
+            .setFollowRedirect(false)
+            .setDisableHttpsEndpointIdentificationAlgorithm(true);
+        try {
+            // subscribers are trusted the same way as by HTTPClientPool
+            builder.setSslContext(SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build());
+        } catch (Exception e) {
+            LOGGER.error("build push client ssl context error, use the default one", e);
+        }
+        return Dsl.asyncHttpClient(builder);
+    }
+
+    /**
+     * Send the request unless the url is already at its in-flight limit.
+     *
+     * @return the response future, failed with {@link RejectedExecutionException} when the url is busy
+     */
+    public CompletableFuture<Response> execute(String url, Request request) {
+        if (!acquire(url)) {
+            CompletableFuture<Response> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new RejectedExecutionException("too many in-flight pushes to " + url));
+            return rejected;
+        }
+        CompletableFuture<Response> future;
+        try {
+            future = client.executeRequest(request).toCompletableFuture();
+        } catch (Exception e) {
+            release(url);
+            CompletableFuture<Response> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return future.whenComplete((response, throwable) -> release(url));
+    }
+
+    public int getInflight(String url) {
+        return inflight.getOrDefault(url, 0);
+    }
+
+    private boolean acquire(String url) {
+        boolean[] acquired = new boolean[1];
+        inflight.compute(url, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxInflightPerUrl) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void release(String url) {
+        inflight.computeIfPresent(url, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    public void shutdown() throws Exception {
+        client.close();
+    }
+}
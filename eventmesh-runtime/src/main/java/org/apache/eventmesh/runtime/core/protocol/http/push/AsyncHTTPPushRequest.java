@@ -20,56 +20,44 @@ package org.apache.eventmesh.runtime.core.protocol.http.push;
 import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.exception.JsonException;
 import org.apache.eventmesh.common.protocol.ProtocolTransportObject;
-import org.apache.eventmesh.common.protocol.SubscriptionType;
 import org.apache.eventmesh.common.protocol.http.HttpCommand;
 import org.apache.eventmesh.common.protocol.http.HttpEventWrapper;
 import org.apache.eventmesh.common.protocol.http.body.message.PushMessageRequestBody;
 import org.apache.eventmesh.common.protocol.http.common.ClientRetCode;
-import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
-import org.apache.eventmesh.common.protocol.http.common.ProtocolVersion;
-import org.apache.eventmesh.common.protocol.http.common.RequestCode;
 import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.common.utils.RandomStringUtils;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.runtime.util.WebhookUtil;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
-import org.apache.http.Header;
-import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
-import org.apache.http.HttpStatus;
-import org.apache.http.NameValuePair;
-import org.apache.http.client.ResponseHandler;
-import org.apache.http.client.entity.UrlEncodedFormEntity;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.util.EntityUtils;
-
-import java.io.IOException;
+
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.asynchttpclient.Param;
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
-import io.cloudevents.core.builder.CloudEventBuilder;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.Timeout;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.google.common.collect.Sets;
 
 public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
 
@@ -79,13 +67,13 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
 
     public static final Logger LOGGER = LoggerFactory.getLogger("AsyncHTTPPushRequest");
 
-    public String currPushUrl;
-    private Map<String, Set<AbstractHTTPPushRequest>> waitingRequests;
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded; charset=UTF-8";
+
+    private final HttpPushTimeoutTracker timeoutTracker;
 
-    public AsyncHTTPPushRequest(HandleMsgContext handleMsgContext,
-                                Map<String, Set<AbstractHTTPPushRequest>> waitingRequests) {
+    public AsyncHTTPPushRequest(HandleMsgContext handleMsgContext, HttpPushTimeoutTracker timeoutTracker) {
         super(handleMsgContext);
-        this.waitingRequests = waitingRequests;
+        this.timeoutTracker = timeoutTracker;
     }
 
     @Override
@@ -97,33 +85,17 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
             return;
         }
 
-        HttpPost builder = new HttpPost(currPushUrl);
+        RequestBuilder builder = newPushRequestBuilder();
 
-        String requestCode = "";
-        if (SubscriptionType.SYNC == handleMsgContext.getSubscriptionItem().getType()) {
-            requestCode = String.valueOf(RequestCode.HTTP_PUSH_CLIENT_SYNC.getRequestCode());
-        } else {
-            requestCode = String.valueOf(RequestCode.HTTP_PUSH_CLIENT_ASYNC.getRequestCode());
-        }
+        String requestCode = pushRequestCode();
         String localAddress = IPUtils.getLocalAddress();
-        builder.addHeader(ProtocolKey.REQUEST_CODE, requestCode);
-        builder.addHeader(ProtocolKey.LANGUAGE, Constants.LANGUAGE_JAVA);
-        builder.addHeader(ProtocolKey.VERSION, ProtocolVersion.V1.getVersion());
-        builder.addHeader(ProtocolKey.EventMeshInstanceKey.EVENTMESHCLUSTER,
-            handleMsgContext.getEventMeshHTTPServer()
-                .getEventMeshHttpConfiguration().getEventMeshCluster());
-        builder.addHeader(ProtocolKey.EventMeshInstanceKey.EVENTMESHIP, localAddress);
-        builder.addHeader(ProtocolKey.EventMeshInstanceKey.EVENTMESHENV,
-            handleMsgContext.getEventMeshHTTPServer().getEventMeshHttpConfiguration().getEventMeshEnv());
-        builder.addHeader(ProtocolKey.EventMeshInstanceKey.EVENTMESHIDC,
-            handleMsgContext.getEventMeshHTTPServer().getEventMeshHttpConfiguration().getEventMeshIDC());
-
-        CloudEvent event = CloudEventBuilder.from(handleMsgContext.getEvent())
+        HttpHeaders headers = pushHeaders(requestCode, localAddress);
+
+        EventMeshCloudEvent event = EventMeshCloudEvent.of(handleMsgContext.getEvent())
             .withExtension(EventMeshConstants.REQ_EVENTMESH2C_TIMESTAMP,
                 String.valueOf(System.currentTimeMillis()))
             .withExtension(EventMeshConstants.RSP_URL, currPushUrl)
-            .withExtension(EventMeshConstants.RSP_GROUP, handleMsgContext.getConsumerGroup())
-            .build();
+            .withExtension(EventMeshConstants.RSP_GROUP, handleMsgContext.getConsumerGroup());
         handleMsgContext.setEvent(event);
 
         String content = "";
@@ -133,7 +105,7 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
             ProtocolAdaptor<ProtocolTransportObject> protocolAdaptor = ProtocolPluginFactory.getProtocolAdaptor(protocolType);
 
             ProtocolTransportObject protocolTransportObject =
-                protocolAdaptor.fromCloudEvent(handleMsgContext.getEvent());
+                protocolAdaptor.fromCloudEvent(event.materialize());
             if (protocolTransportObject instanceof HttpCommand) {
                 content = ((HttpCommand) protocolTransportObject).getBody().toMap().get("content").toString();
             } else {
@@ -142,8 +114,8 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
                 Set<Map.Entry<String, Object>> sysHeaderMapEntry = sysHeaderMap.entrySet();
                 content = new String(httpEventWrapper.getBody(), StandardCharsets.UTF_8);
                 for (Map.Entry<String, Object> header : sysHeaderMapEntry) {
-                    if (!builder.containsHeader(header.getKey())) {
-                        builder.addHeader(header.getKey(), header.getValue().toString());
+                    if (!headers.contains(header.getKey())) {
+                        headers.add(header.getKey(), header.getValue().toString());
                     }
                 }
             }
@@ -153,39 +125,37 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
             return;
         }
 
-        List<NameValuePair> body = new ArrayList<>();
-        body.add(new BasicNameValuePair(PushMessageRequestBody.CONTENT, content));
+        List<Param> body = new ArrayList<>();
+        body.add(new Param(PushMessageRequestBody.CONTENT, content));
         if (StringUtils.isBlank(handleMsgContext.getBizSeqNo())) {
-            body.add(new BasicNameValuePair(PushMessageRequestBody.BIZSEQNO,
+            body.add(new Param(PushMessageRequestBody.BIZSEQNO,
                 RandomStringUtils.generateNum(20)));
         } else {
-            body.add(new BasicNameValuePair(PushMessageRequestBody.BIZSEQNO,
+            body.add(new Param(PushMessageRequestBody.BIZSEQNO,
                 handleMsgContext.getBizSeqNo()));
         }
         if (StringUtils.isBlank(handleMsgContext.getUniqueId())) {
-            body.add(new BasicNameValuePair(PushMessageRequestBody.UNIQUEID,
+            body.add(new Param(PushMessageRequestBody.UNIQUEID,
                 RandomStringUtils.generateNum(20)));
         } else {
-            body.add(new BasicNameValuePair(PushMessageRequestBody.UNIQUEID,
+            body.add(new Param(PushMessageRequestBody.UNIQUEID,
                 handleMsgContext.getUniqueId()));
         }
 
-        body.add(new BasicNameValuePair(PushMessageRequestBody.RANDOMNO,
+        body.add(new Param(PushMessageRequestBody.RANDOMNO,
             handleMsgContext.getMsgRandomNo()));
-        body.add(new BasicNameValuePair(PushMessageRequestBody.TOPIC, handleMsgContext.getTopic()));
+        body.add(new Param(PushMessageRequestBody.TOPIC, handleMsgContext.getTopic()));
 
-        body.add(new BasicNameValuePair(PushMessageRequestBody.EXTFIELDS,
+        body.add(new Param(PushMessageRequestBody.EXTFIELDS,
             JsonUtils.serialize(EventMeshUtil.getEventProp(handleMsgContext.getEvent()))));
 
-        HttpEntity httpEntity = new UrlEncodedFormEntity(body, StandardCharsets.UTF_8);
-
-        builder.setEntity(httpEntity);
+        builder.setHeaders(headers).setFormParams(body).setCharset(StandardCharsets.UTF_8);
 
         // for CloudEvents Webhook spec
         String urlAuthType = handleMsgContext.getConsumerGroupConfig().getConsumerGroupTopicConf()
             .get(handleMsgContext.getTopic()).getHttpAuthTypeMap().get(currPushUrl);
 
-        WebhookUtil.setWebhookHeaders(builder, httpEntity.getContentType().getValue(),
+        WebhookUtil.setWebhookHeaders(builder, FORM_CONTENT_TYPE,
             eventMeshHttpConfiguration.getEventMeshWebhookOrigin(),
             urlAuthType);
 
@@ -194,97 +164,109 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
 
         this.lastPushTime = System.currentTimeMillis();
 
-        addToWaitingMap(this);
+        Timeout pushTimeout = timeoutTracker.register(handleMsgContext.getConsumerGroup(), ttl, this::timeout);
 
         if (CMD_LOGGER.isInfoEnabled()) {
             CMD_LOGGER.info("cmd={}|eventMesh2client|from={}|to={}", requestCode,
                 localAddress, currPushUrl);
         }
 
-        try {
-            eventMeshHTTPServer.httpClientPool.getClient().execute(builder, new ResponseHandler<Object>() {
-                @Override
-                public Object handleResponse(HttpResponse response) {
-                    removeWaitingMap(AsyncHTTPPushRequest.this);
-                    long cost = System.currentTimeMillis() - lastPushTime;
-                    eventMeshHTTPServer.metrics.getSummaryMetrics().recordHTTPPushTimeCost(cost);
-
-                    if (processResponseStatus(response.getStatusLine().getStatusCode(), response)) {
-                        // this is successful response, process response payload
-                        String res = "";
-                        try {
-                            res = EntityUtils.toString(response.getEntity(),
-                                Charset.forName(EventMeshConstants.DEFAULT_CHARSET));
-                        } catch (IOException e) {
-                            handleMsgContext.finish();
-                            return new Object();
-                        }
-                        ClientRetCode result = processResponseContent(res);
-                        if (MESSAGE_LOGGER.isInfoEnabled()) {
-                            MESSAGE_LOGGER.info(
-                                "message|eventMesh2client|{}|url={}|topic={}|bizSeqNo={}"
-                                    + "|uniqueId={}|cost={}",
-                                result, currPushUrl, handleMsgContext.getTopic(),
-                                handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId(), cost);
-                        }
-                        if (result == ClientRetCode.OK || result == ClientRetCode.REMOTE_OK) {
-                            complete();
-                            if (isComplete()) {
-                                handleMsgContext.finish();
-                            }
-                        } else if (result == ClientRetCode.RETRY) {
-                            delayRetry();
-                            if (isComplete()) {
-                                handleMsgContext.finish();
-                            }
-                        } else if (result == ClientRetCode.NOLISTEN) {
-                            delayRetry();
-                            if (isComplete()) {
-                                handleMsgContext.finish();
-                            }
-                        } else if (result == ClientRetCode.FAIL) {
-                            complete();
-                            if (isComplete()) {
-                                handleMsgContext.finish();
-                            }
-                        }
-                    } else {
-                        eventMeshHTTPServer.metrics.getSummaryMetrics().recordHttpPushMsgFailed();
-                        if (MESSAGE_LOGGER.isInfoEnabled()) {
-                            MESSAGE_LOGGER.info(
-                                "message|eventMesh2client|exception|url={}|topic={}|bizSeqNo={}"
-                                    + "|uniqueId={}|cost={}", currPushUrl, handleMsgContext.getTopic(),
-                                handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId(), cost);
-                        }
-
-                        if (isComplete()) {
-                            handleMsgContext.finish();
-                        }
-                    }
-                    return new Object();
+        String pushUrl = currPushUrl;
+        eventMeshHTTPServer.httpPushClient.execute(pushUrl, builder.build())
+            .whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    onPushError(pushUrl, pushTimeout, throwable);
+                } else {
+                    onPushResponse(pushUrl, pushTimeout, response);
                 }
             });
 
-            if (MESSAGE_LOGGER.isDebugEnabled()) {
-                MESSAGE_LOGGER.debug("message|eventMesh2client|url={}|topic={}|event={}", currPushUrl,
-                    handleMsgContext.getTopic(),
-                    handleMsgContext.getEvent());
-            } else {
-                if (MESSAGE_LOGGER.isInfoEnabled()) {
-                    MESSAGE_LOGGER
-                        .info("message|eventMesh2client|url={}|topic={}|bizSeqNo={}|uniqueId={}",
-                            currPushUrl, handleMsgContext.getTopic(),
-                            handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId());
-                }
+        if (MESSAGE_LOGGER.isDebugEnabled()) {
+            MESSAGE_LOGGER.debug("message|eventMesh2client|url={}|topic={}|event={}", currPushUrl,
+                handleMsgContext.getTopic(),
+                handleMsgContext.getEvent());
+        } else {
+            if (MESSAGE_LOGGER.isInfoEnabled()) {
+                MESSAGE_LOGGER
+                    .info("message|eventMesh2client|url={}|topic={}|bizSeqNo={}|uniqueId={}",
+                        currPushUrl, handleMsgContext.getTopic(),
+                        handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId());
+            }
+        }
+    }
+
+    private void onPushResponse(String pushUrl, Timeout pushTimeout, Response response) {
+        if (!settle(pushUrl, pushTimeout)) {
+            return;
+        }
+        long cost = System.currentTimeMillis() - lastPushTime;
+        eventMeshHTTPServer.metrics.getSummaryMetrics().recordHTTPPushTimeCost(cost);
+        recordPushResult(pushUrl, response.getStatusCode(), cost);
+
+        if (processResponseStatus(response.getStatusCode(), response)) {
+            // this is successful response, process response payload
+            ClientRetCode result = processResponseContent(
+                response.getResponseBody(Charset.forName(EventMeshConstants.DEFAULT_CHARSET)));
+            if (MESSAGE_LOGGER.isInfoEnabled()) {
+                MESSAGE_LOGGER.info(
+                    "message|eventMesh2client|{}|url={}|topic={}|bizSeqNo={}"
+                        + "|uniqueId={}|cost={}",
+                    result, currPushUrl, handleMsgContext.getTopic(),
+                    handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId(), cost);
+            }
+            if (result == ClientRetCode.OK || result == ClientRetCode.REMOTE_OK) {
+                complete();
+            } else if (result == ClientRetCode.RETRY) {
+                delayRetry();
+            } else if (result == ClientRetCode.NOLISTEN) {
+                delayRetry();
+            } else if (result == ClientRetCode.FAIL) {
+                complete();
             }
-        } catch (IOException e) {
-            MESSAGE_LOGGER.error("push2client err", e);
-            removeWaitingMap(this);
-            delayRetry();
-            if (isComplete()) {
-                handleMsgContext.finish();
+        } else {
+            eventMeshHTTPServer.metrics.getSummaryMetrics().recordHttpPushMsgFailed();
+            if (MESSAGE_LOGGER.isInfoEnabled()) {
+                MESSAGE_LOGGER.info(
+                    "message|eventMesh2client|exception|url={}|topic={}|bizSeqNo={}"
+                        + "|uniqueId={}|cost={}", currPushUrl, handleMsgContext.getTopic(),
+                    handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId(), cost);
             }
         }
+        if (isComplete()) {
+            handleMsgContext.finish();
+        }
+    }
+
+    private void onPushError(String pushUrl, Timeout pushTimeout, Throwable throwable) {
+        if (!settle(pushUrl, pushTimeout)) {
+            return;
+        }
+        if (throwable instanceof RejectedExecutionException) {
+            MESSAGE_LOGGER.warn("push2client rejected, url={}|topic={}|bizSeqNo={}|uniqueId={}", pushUrl,
+                handleMsgContext.getTopic(), handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId());
+        } else {
+            MESSAGE_LOGGER.error("push2client err", throwable);
+            recordPushResult(pushUrl, -1, System.currentTimeMillis() - lastPushTime);
+            eventMeshHTTPServer.metrics.getSummaryMetrics().recordHttpPushMsgFailed();
+        }
+        delayRetry();
+        if (isComplete()) {
+            handleMsgContext.finish();
+        }
+    }
+
+    /**
+     * The response and the timeout race to settle a push, the cancel of the timeout is the CAS between them.
+     *
+     * @return false for a response arriving after the timeout, which already recorded the failure and retried
+     */
+    private boolean settle(String pushUrl, Timeout pushTimeout) {
+        if (timeoutTracker.unregister(handleMsgContext.getConsumerGroup(), pushTimeout)) {
+            return true;
+        }
+        MESSAGE_LOGGER.warn("push2client late response ignored, url={}|topic={}|bizSeqNo={}|uniqueId={}", pushUrl,
+            handleMsgContext.getTopic(), handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId());
+        return false;
     }
 
     @Override
@@ -292,7 +274,6 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
         StringBuilder sb = new StringBuilder();
         sb.append("asyncPushRequest={")
             .append("bizSeqNo=").append(handleMsgContext.getBizSeqNo())
-            .append(",startIdx=").append(startIdx)
             .append(",retryTimes=").append(retryTimes)
             .append(",uniqueId=").append(handleMsgContext.getUniqueId())
             .append(",executeTime=")
@@ -304,31 +285,6 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
         return sb.toString();
     }
 
-    boolean processResponseStatus(int httpStatus, HttpResponse httpResponse) {
-        if (httpStatus == HttpStatus.SC_OK || httpStatus == HttpStatus.SC_CREATED
-            || httpStatus == HttpStatus.SC_NO_CONTENT || httpStatus == HttpStatus.SC_ACCEPTED) {
-            // success http response
-            return true;
-        } else if (httpStatus == 429) {
-            // failed with customer retry interval
-
-            // Response Status code is 429 Too Many Requests
-            // retry after the time specified by the header
-            Optional<Header> optHeader = Arrays.stream(httpResponse.getHeaders("Retry-After")).findAny();
-            if (optHeader.isPresent() && StringUtils.isNumeric(optHeader.get().getValue())) {
-                delayRetry(Long.parseLong(optHeader.get().getValue()));
-            }
-            return false;
-        } else if (httpStatus == HttpStatus.SC_GONE || httpStatus == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
-            // failed with no retry
-            return false;
-        }
-
-        // failed with default retry
-        delayRetry();
-        return false;
-    }
-
     ClientRetCode processResponseContent(String content) {
         if (StringUtils.isBlank(content)) {
             return ClientRetCode.FAIL;
@@ -365,22 +321,6 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
         }
     }
 
-    private void addToWaitingMap(AsyncHTTPPushRequest request) {
-        if (waitingRequests.containsKey(request.handleMsgContext.getConsumerGroup())) {
-            waitingRequests.get(request.handleMsgContext.getConsumerGroup()).add(request);
-            return;
-        }
-        waitingRequests
-            .put(request.handleMsgContext.getConsumerGroup(), Sets.newConcurrentHashSet());
-        waitingRequests.get(request.handleMsgContext.getConsumerGroup()).add(request);
-    }
-
-    private void removeWaitingMap(AsyncHTTPPushRequest request) {
-        if (waitingRequests.containsKey(request.handleMsgContext.getConsumerGroup())) {
-            waitingRequests.get(request.handleMsgContext.getConsumerGroup()).remove(request);
-        }
-    }
-
     @Override
     public boolean retry() {
         tryHTTPRequest();
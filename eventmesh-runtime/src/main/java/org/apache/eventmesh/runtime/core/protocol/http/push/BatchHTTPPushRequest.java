@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.http.common.ClientRetCode;
+import org.apache.eventmesh.common.utils.IPUtils;
+import org.apache.eventmesh.common.utils.JsonUtils;
+import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
+import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
+import org.apache.eventmesh.runtime.util.WebhookUtil;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateFormatUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cloudevents.core.format.EventFormat;
+import io.cloudevents.core.provider.EventFormatProvider;
+import io.cloudevents.jackson.JsonFormat;
+import io.netty.util.Timeout;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Pushes the events of one consumer group and topic to a webhook in a single request,
+ * as a CloudEvents json batch.
+ * <p>
+ * The subscriber answers either one retCode for the whole batch, or a retCode per event id in {@code results}:
+ * <pre>{"retCode": 0, "results": [{"id": "...", "retCode": 2}]}</pre>
+ * The acknowledged events are finished one by one, so their offsets are committed individually,
+ * and only the events asking for a retry are pushed again.
+ */
+public class BatchHTTPPushRequest extends AbstractHTTPPushRequest {
+
+    public static final Logger MESSAGE_LOGGER = LoggerFactory.getLogger("message");
+
+    public static final Logger CMD_LOGGER = LoggerFactory.getLogger("cmd");
+
+    public static final String CONTENT_TYPE = "application/cloudevents-batch+json";
+
+    static final String RET_CODE = "retCode";
+
+    static final String RESULTS = "results";
+
+    static final String ID = "id";
+
+    private static final EventFormat EVENT_FORMAT = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE);
+
+    private final HttpPushTimeoutTracker timeoutTracker;
+
+    private volatile List<HandleMsgContext> pending;
+
+
+    public BatchHTTPPushRequest(List<HandleMsgContext> handleMsgContexts, HttpPushTimeoutTracker timeoutTracker) {
+        super(handleMsgContexts.get(0));
+        this.pending = handleMsgContexts;
+        this.timeoutTracker = timeoutTracker;
+    }
+
+    @Override
+    public void tryHTTPRequest() {
+
+        currPushUrl = getUrl();
+
+        if (StringUtils.isBlank(currPushUrl)) {
+            MESSAGE_LOGGER.warn("no url to push the batch to, group={}|topic={}|batch={}", handleMsgContext.getConsumerGroup(),
+                handleMsgContext.getTopic(), pending.size());
+            delayRetry();
+            if (isComplete()) {
+                finishPending();
+            }
+            return;
+        }
+
+        List<HandleMsgContext> batch = pending;
+        String requestCode = pushRequestCode();
+        String localAddress = IPUtils.getLocalAddress();
+
+        byte[] body;
+        try {
+            body = serialize(batch);
+        } catch (Exception ex) {
+            // the same events would fail again, give the batch up like one out of retries
+            MESSAGE_LOGGER.error("Failed to serialize the CloudEvents batch", ex);
+            complete();
+            finishPending();
+            return;
+        }
+
+        RequestBuilder builder = newPushRequestBuilder()
+            .setHeaders(pushHeaders(requestCode, localAddress))
+            .setBody(body);
+
+        // for CloudEvents Webhook spec
+        String urlAuthType = handleMsgContext.getConsumerGroupConfig().getConsumerGroupTopicConf()
+            .get(handleMsgContext.getTopic()).getHttpAuthTypeMap().get(currPushUrl);
+
+        WebhookUtil.setWebhookHeaders(builder, CONTENT_TYPE,
+            eventMeshHttpConfiguration.getEventMeshWebhookOrigin(),
+            urlAuthType);
+
+        for (int i = 0; i < batch.size(); i++) {
+            eventMeshHTTPServer.metrics.getSummaryMetrics().recordPushMsg();
+        }
+
+        this.lastPushTime = System.currentTimeMillis();
+
+        Timeout pushTimeout = timeoutTracker.register(handleMsgContext.getConsumerGroup(), ttl, this::timeout);
+
+        if (CMD_LOGGER.isInfoEnabled()) {
+            CMD_LOGGER.info("cmd={}|eventMesh2client|from={}|to={}|batch={}", requestCode,
+                localAddress, currPushUrl, batch.size());
+        }
+
+        String pushUrl = currPushUrl;
+        eventMeshHTTPServer.httpPushClient.execute(pushUrl, builder.build())
+            .whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    onPushError(pushUrl, pushTimeout, batch, throwable);
+                } else {
+                    onPushResponse(pushUrl, pushTimeout, batch, response);
+                }
+            });
+    }
+
+    private byte[] serialize(List<HandleMsgContext> batch) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < batch.size(); i++) {
+            HandleMsgContext context = batch.get(i);
+            EventMeshCloudEvent event = EventMeshCloudEvent.of(context.getEvent())
+                .withExtension(EventMeshConstants.REQ_EVENTMESH2C_TIMESTAMP,
+                    String.valueOf(System.currentTimeMillis()))
+                .withExtension(EventMeshConstants.RSP_URL, currPushUrl)
+                .withExtension(EventMeshConstants.RSP_GROUP, context.getConsumerGroup());
+            context.setEvent(event);
+            if (i > 0) {
+                out.write(',');
+            }
+            byte[] serialized = EVENT_FORMAT.serialize(event.materialize());
+            out.write(serialized, 0, serialized.length);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private void onPushResponse(String pushUrl, Timeout pushTimeout, List<HandleMsgContext> batch, Response response) {
+        if (!settle(pushUrl, pushTimeout, batch)) {
+            return;
+        }
+        long cost = System.currentTimeMillis() - lastPushTime;
+        eventMeshHTTPServer.metrics.getSummaryMetrics().recordHTTPPushTimeCost(cost);
+        recordPushResult(pushUrl, response.getStatusCode(), cost);
+
+        if (processResponseStatus(response.getStatusCode(), response)) {
+            BatchPushResult result = parseResponse(
+                response.getResponseBody(Charset.forName(EventMeshConstants.DEFAULT_CHARSET)));
+            List<HandleMsgContext> retry = new ArrayList<>();
+            for (HandleMsgContext context : batch) {
+                ClientRetCode retCode = result.of(context.getEvent().getId());
+                if (retCode == ClientRetCode.RETRY || retCode == ClientRetCode.NOLISTEN) {
+                    retry.add(context);
+                } else {
+                    context.finish();
+                }
+            }
+            if (MESSAGE_LOGGER.isInfoEnabled()) {
+                MESSAGE_LOGGER.info("message|eventMesh2client|batch|url={}|topic={}|size={}|retry={}|cost={}",
+                    currPushUrl, handleMsgContext.getTopic(), batch.size(), retry.size(), cost);
+            }
+            pending = retry;
+            if (retry.isEmpty()) {
+                complete();
+            } else {
+                delayRetry();
+            }
+        } else {
+            eventMeshHTTPServer.metrics.getSummaryMetrics().recordHttpPushMsgFailed();
+            if (MESSAGE_LOGGER.isInfoEnabled()) {
+                MESSAGE_LOGGER.info("message|eventMesh2client|batch|exception|url={}|topic={}|size={}|cost={}",
+                    currPushUrl, handleMsgContext.getTopic(), batch.size(), cost);
+            }
+        }
+        if (isComplete()) {
+            finishPending();
+        }
+    }
+
+    private void onPushError(String pushUrl, Timeout pushTimeout, List<HandleMsgContext> batch, Throwable throwable) {
+        if (!settle(pushUrl, pushTimeout, batch)) {
+            return;
+        }
+        if (throwable instanceof RejectedExecutionException) {
+            MESSAGE_LOGGER.warn("push2client rejected, url={}|topic={}|batch={}", currPushUrl,
+                handleMsgContext.getTopic(), pending.size());
+        } else {
+            MESSAGE_LOGGER.error("push2client err", throwable);
+            recordPushResult(pushUrl, -1, System.currentTimeMillis() - lastPushTime);
+            eventMeshHTTPServer.metrics.getSummaryMetrics().recordHttpPushMsgFailed();
+        }
+        delayRetry();
+        if (isComplete()) {
+            finishPending();
+        }
+    }
+
+    /**
+     * The response and the timeout race to settle a push, the cancel of the timeout is the CAS between them.
+     *
+     * @return false for a response arriving after the timeout, which already recorded the failure and retried
+     */
+    private boolean settle(String pushUrl, Timeout pushTimeout, List<HandleMsgContext> batch) {
+        if (timeoutTracker.unregister(handleMsgContext.getConsumerGroup(), pushTimeout)) {
+            return true;
+        }
+        MESSAGE_LOGGER.warn("push2client late response ignored, url={}|topic={}|batch={}", pushUrl,
+            handleMsgContext.getTopic(), batch.size());
+        return false;
+    }
+
+    private void finishPending() {
+        List<HandleMsgContext> batch = pending;
+        pending = Collections.emptyList();
+        batch.forEach(HandleMsgContext::finish);
+    }
+
+    /**
+     * Parse the answer of the subscriber, an unknown or missing retCode counts as FAIL like a single push.
+     */
+    static BatchPushResult parseResponse(String content) {
+        BatchPushResult result = new BatchPushResult();
+        if (StringUtils.isBlank(content)) {
+            return result;
+        }
+        try {
+            Map<String, Object> ret = JsonUtils.deserialize(content, new TypeReference<Map<String, Object>>() {
+            });
+            result.retCode = toRetCode(ret.get(RET_CODE));
+            Object results = ret.get(RESULTS);
+            if (results instanceof List) {
+                for (Object item : (List<?>) results) {
+                    if (item instanceof Map) {
+                        Object id = ((Map<?, ?>) item).get(ID);
+                        if (id != null) {
+                            result.eventRetCodes.put(id.toString(), toRetCode(((Map<?, ?>) item).get(RET_CODE)));
+                        }
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            if (MESSAGE_LOGGER.isWarnEnabled()) {
+                MESSAGE_LOGGER.warn("batch push httpResponse:{}", content, t);
+            }
+        }
+        return result;
+    }
+
+    private static ClientRetCode toRetCode(Object value) {
+        if (value instanceof Integer && ClientRetCode.contains((Integer) value)) {
+            return ClientRetCode.get((Integer) value);
+        }
+        return ClientRetCode.FAIL;
+    }
+
+    @Override
+    public boolean retry() {
+        tryHTTPRequest();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("batchPushRequest={")
+            .append("consumerGroup=").append(handleMsgContext.getConsumerGroup())
+            .append(",topic=").append(handleMsgContext.getTopic())
+            .append(",size=").append(pending.size())
+            .append(",retryTimes=").append(retryTimes)
+            .append(",executeTime=")
+            .append(DateFormatUtils.format(executeTime, Constants.DATE_FORMAT))
+            .append(",lastPushTime=")
+            .append(DateFormatUtils.format(lastPushTime, Constants.DATE_FORMAT))
+            .append(",createTime=")
+            .append(DateFormatUtils.format(createTime, Constants.DATE_FORMAT)).append("}");
+        return sb.toString();
+    }
+
+    static final class BatchPushResult {
+
+        private ClientRetCode retCode = ClientRetCode.FAIL;
+
+        private final Map<String, ClientRetCode> eventRetCodes = new HashMap<>();
+
+        ClientRetCode of(String eventId) {
+            ClientRetCode eventRetCode = eventRetCodes.get(eventId);
+            return eventRetCode == null ? retCode : eventRetCode;
+        }
+    }
+}
@@ -17,85 +17,62 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.push;
 
-import org.apache.eventmesh.common.Constants;
-import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.EventMeshConsumer;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
 import org.apache.eventmesh.runtime.trace.TraceUtils;
-import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.trace.api.common.EventMeshTraceConstants;
 
-import org.apache.commons.collections4.MapUtils;
-
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
+import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.opentelemetry.api.trace.Span;
 
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
-
 public class HTTPMessageHandler implements MessageHandler {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(HTTPMessageHandler.class);
 
     private transient EventMeshConsumer eventMeshConsumer;
 
-    private static final transient ScheduledExecutorService SCHEDULER =
-            ThreadPoolFactory.createSingleScheduledExecutor("eventMesh-pushMsgTimeout-");
-
     private static final Integer CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD = 10000;
 
-    public static final transient Map<String, Set<AbstractHTTPPushRequest>> waitingRequests = Maps.newConcurrentMap();
-
     private transient ThreadPoolExecutor pushExecutor;
 
-    private void checkTimeout() {
-        waitingRequests.forEach((key, value) -> {
-            value.forEach(r -> {
-                r.timeout();
-                waitingRequests.get(r.handleMsgContext.getConsumerGroup()).remove(r);
-            });
-        });
-
-    }
+    private transient HttpPushTimeoutTracker pushTimeoutTracker;
 
+    private transient HttpPushBatcher pushBatcher;
 
     public HTTPMessageHandler(EventMeshConsumer eventMeshConsumer) {
         this.eventMeshConsumer = eventMeshConsumer;
         this.pushExecutor = eventMeshConsumer.getEventMeshHTTPServer().pushMsgExecutor;
-        waitingRequests.put(this.eventMeshConsumer.getConsumerGroupConf().getConsumerGroup(), Sets.newConcurrentHashSet());
-        SCHEDULER.scheduleAtFixedRate(this::checkTimeout, 0, 1000, TimeUnit.MILLISECONDS);
+        this.pushTimeoutTracker = eventMeshConsumer.getEventMeshHTTPServer().getPushTimeoutTracker();
+        this.pushBatcher = eventMeshConsumer.getEventMeshHTTPServer().getPushBatcher();
     }
 
     @Override
     public boolean handle(final HandleMsgContext handleMsgContext) {
-        if (MapUtils.getObject(waitingRequests, handleMsgContext.getConsumerGroup(), Sets.newConcurrentHashSet()).size()
-                > CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD) {
+        if (pushTimeoutTracker.getWaitingNum(handleMsgContext.getConsumerGroup()) > CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD) {
             LOGGER.warn("waitingRequests is too many, so reject, this message will be send back to MQ, "
                             + "consumerGroup:{}, threshold:{}",
                     handleMsgContext.getConsumerGroup(), CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD);
             return false;
         }
 
+        if (handleMsgContext.getConsumeTopicConfig().isPushBatchEnabled()) {
+            pushBatcher.add(handleMsgContext, this::pushBatch);
+            return true;
+        }
+
         try {
             pushExecutor.submit(() -> {
-                String protocolVersion = Objects.requireNonNull(handleMsgContext.getEvent().getSpecVersion()).toString();
-
-                Span span = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion,
-                                handleMsgContext.getEvent()),
+                Span span = TraceUtils.prepareClientSpan(handleMsgContext.getEvent(),
                         EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_CLIENT_SPAN, false);
 
                 try {
-                    new AsyncHTTPPushRequest(handleMsgContext, waitingRequests).tryHTTPRequest();
+                    new AsyncHTTPPushRequest(handleMsgContext, pushTimeoutTracker).tryHTTPRequest();
                 } finally {
                     TraceUtils.finishSpan(span, handleMsgContext.getEvent());
                 }
@@ -108,4 +85,15 @@ public class HTTPMessageHandler implements MessageHandler {
             return false;
         }
     }
+
+    private void pushBatch(List<HandleMsgContext> batch) {
+        BatchHTTPPushRequest batchPushRequest = new BatchHTTPPushRequest(batch, pushTimeoutTracker);
+        try {
+            pushExecutor.submit(batchPushRequest::tryHTTPRequest);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("pushMsgThreadPoolQueue is full, so delay the batch push, current task size {}",
+                    pushExecutor.getQueue().size(), e);
+            batchPushRequest.delayRetry();
+        }
+    }
 }
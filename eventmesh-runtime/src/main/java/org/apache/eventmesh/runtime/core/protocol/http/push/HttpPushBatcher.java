@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.common.ThreadPoolFactory;
+import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Accumulates the events of the consumer group topics which opted in batch push.
+ * <p>
+ * A batch is handed to its pusher as soon as it holds pushBatchSize events,
+ * or pushBatchLatencyInMills after its first event, whichever comes first.
+ * On shutdown the partial batches are pushed right away rather than dropped.
+ */
+public class HttpPushBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpPushBatcher.class);
+
+    private static final long ANY_GENERATION = -1;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+
+    public HttpPushBatcher(String name) {
+        this.scheduler = ThreadPoolFactory.createSingleScheduledExecutor(name);
+    }
+
+    /**
+     * @param handleMsgContext event of a topic whose {@code ConsumerGroupTopicConf} enables batch push
+     * @param pusher           sends a full batch, the pusher of the first event of a batch is used for all
+     */
+    public void add(HandleMsgContext handleMsgContext, Consumer<List<HandleMsgContext>> pusher) {
+        int batchSize = handleMsgContext.getConsumeTopicConfig().getPushBatchSize();
+        long latency = Math.max(handleMsgContext.getConsumeTopicConfig().getPushBatchLatencyInMills(), 0);
+        Batch batch = batches.computeIfAbsent(handleMsgContext.getConsumerGroup() + "@" + handleMsgContext.getTopic(),
+            k -> new Batch());
+        List<HandleMsgContext> full = null;
+        Consumer<List<HandleMsgContext>> fullPusher = null;
+        synchronized (batch) {
+            if (batch.contexts.isEmpty()) {
+                batch.pusher = pusher;
+            }
+            batch.contexts.add(handleMsgContext);
+            if (batch.contexts.size() >= batchSize) {
+                fullPusher = batch.pusher;
+                full = batch.drain();
+            } else if (batch.contexts.size() == 1) {
+                long generation = batch.generation;
+                try {
+                    scheduler.schedule(() -> flush(batch, generation), latency, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // shut down, nothing would flush the batch later
+                    fullPusher = batch.pusher;
+                    full = batch.drain();
+                }
+            }
+        }
+        if (full != null) {
+            push(fullPusher, full);
+        }
+    }
+
+    private void flush(Batch batch, long generation) {
+        List<HandleMsgContext> due;
+        Consumer<List<HandleMsgContext>> pusher;
+        synchronized (batch) {
+            if ((generation != ANY_GENERATION && batch.generation != generation) || batch.contexts.isEmpty()) {
+                return;
+            }
+            pusher = batch.pusher;
+            due = batch.drain();
+        }
+        push(pusher, due);
+    }
+
+    private void push(Consumer<List<HandleMsgContext>> pusher, List<HandleMsgContext> batch) {
+        try {
+            pusher.accept(batch);
+        } catch (Exception e) {
+            LOGGER.error("push batch of {} events error", batch.size(), e);
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+        batches.values().forEach(batch -> flush(batch, ANY_GENERATION));
+    }
+
+    private static final class Batch {
+
+        private List<HandleMsgContext> contexts = new ArrayList<>();
+
+        private Consumer<List<HandleMsgContext>> pusher;
+
+        private long generation;
+
+        private List<HandleMsgContext> drain() {
+            List<HandleMsgContext> drained = contexts;
+            contexts = new ArrayList<>();
+            generation++;
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+/**
+ * Health of one subscriber url: latency EWMA, error rate over a sliding window and circuit breaker state.
+ * <p>
+ * The circuit opens when the url fails too often, and the url is ejected from the push selection until the
+ * ejection time is over. Then one probe push is let through: its success closes the circuit, its failure
+ * opens it again for twice as long, up to {@link #MAX_EJECTION_IN_MILLS}.
+ */
+public class HttpPushEndpointHealth {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    static final double EWMA_ALPHA = 0.2;
+
+    static final long WINDOW_IN_MILLS = 10 * 1000;
+
+    static final int MIN_WINDOW_REQUESTS = 10;
+
+    static final double MAX_ERROR_RATE = 0.5;
+
+    static final int MAX_CONSECUTIVE_FAILURES = 5;
+
+    static final long BASE_EJECTION_IN_MILLS = 5 * 1000;
+
+    static final long MAX_EJECTION_IN_MILLS = 60 * 1000;
+
+    private final String url;
+
+    private double latencyEwma;
+
+    // the error rate is taken over the current and the previous window
+    private long windowStart;
+
+    private int windowRequests;
+
+    private int windowFailures;
+
+    private int prevWindowRequests;
+
+    private int prevWindowFailures;
+
+    private int consecutiveFailures;
+
+    private State state = State.CLOSED;
+
+    private long openUntil;
+
+    private int ejections;
+
+    private long probeTime;
+
+    private long totalRequests;
+
+    private long totalFailures;
+
+    public HttpPushEndpointHealth(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Whether a push may be sent to the url now, does not change the state.
+     */
+    public synchronized boolean isSelectable(long now) {
+        switch (state) {
+            case OPEN:
+                return now >= openUntil;
+            case HALF_OPEN:
+                // a single probe at a time, unless the previous one never reported back
+                return now - probeTime >= BASE_EJECTION_IN_MILLS;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * The url was picked for a push, an expired ejection turns into a probe.
+     */
+    public synchronized void onSelected(long now) {
+        if (state == State.OPEN && now >= openUntil || state == State.HALF_OPEN && now - probeTime >= BASE_EJECTION_IN_MILLS) {
+            state = State.HALF_OPEN;
+            probeTime = now;
+        }
+    }
+
+    public synchronized void onSuccess(long latency, long now) {
+        roll(now);
+        windowRequests++;
+        totalRequests++;
+        consecutiveFailures = 0;
+        latencyEwma = latencyEwma == 0 ? latency : EWMA_ALPHA * latency + (1 - EWMA_ALPHA) * latencyEwma;
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            ejections = 0;
+        }
+    }
+
+    public synchronized void onFailure(long now) {
+        roll(now);
+        windowRequests++;
+        windowFailures++;
+        totalRequests++;
+        totalFailures++;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            open(now);
+        } else if (state == State.CLOSED && (consecutiveFailures >= MAX_CONSECUTIVE_FAILURES
+            || windowRequests + prevWindowRequests >= MIN_WINDOW_REQUESTS && errorRate() >= MAX_ERROR_RATE)) {
+            open(now);
+        }
+    }
+
+    private void open(long now) {
+        long ejection = BASE_EJECTION_IN_MILLS << Math.min(ejections, 4);
+        openUntil = now + Math.min(ejection, MAX_EJECTION_IN_MILLS);
+        ejections++;
+        state = State.OPEN;
+    }
+
+    private void roll(long now) {
+        if (now - windowStart < WINDOW_IN_MILLS) {
+            return;
+        }
+        boolean adjacent = now - windowStart < 2 * WINDOW_IN_MILLS;
+        prevWindowRequests = adjacent ? windowRequests : 0;
+        prevWindowFailures = adjacent ? windowFailures : 0;
+        windowRequests = 0;
+        windowFailures = 0;
+        windowStart = now;
+    }
+
+    private double errorRate() {
+        int requests = windowRequests + prevWindowRequests;
+        return requests == 0 ? 0 : (double) (windowFailures + prevWindowFailures) / requests;
+    }
+
+    public synchronized double getErrorRate(long now) {
+        roll(now);
+        return errorRate();
+    }
+
+    public synchronized double getLatencyEwma() {
+        return latencyEwma;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getOpenUntil() {
+        return openUntil;
+    }
+
+    public synchronized long getTotalRequests() {
+        return totalRequests;
+    }
+
+    public synchronized long getTotalFailures() {
+        return totalFailures;
+    }
+}
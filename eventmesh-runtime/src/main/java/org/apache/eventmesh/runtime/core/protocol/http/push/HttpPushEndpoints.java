@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+
+/**
+ * Health of the subscriber urls of a server, and the push url selection.
+ * <p>
+ * The urls with an open circuit are skipped. Among the others two are picked at random and the push goes
+ * to the one with the lower latency EWMA weighted by its outstanding pushes (power of two choices).
+ * When every url is ejected they are all used again, so that a total outage does not stop the pushes.
+ */
+public class HttpPushEndpoints {
+
+    private final Map<String, HttpPushEndpointHealth> endpoints = new ConcurrentHashMap<>();
+
+    private final ToIntFunction<String> outstanding;
+
+    /**
+     * @param outstanding pushes in flight to a url
+     */
+    public HttpPushEndpoints(ToIntFunction<String> outstanding) {
+        this.outstanding = outstanding;
+    }
+
+    public HttpPushEndpointHealth health(String url) {
+        return endpoints.computeIfAbsent(url, HttpPushEndpointHealth::new);
+    }
+
+    public boolean hasSelectable(List<String> urls) {
+        long now = System.currentTimeMillis();
+        for (String url : urls) {
+            if (health(url).isSelectable(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param urls    candidate urls, not empty
+     * @param exclude url of the previous attempt, avoided when another url is selectable
+     */
+    public String select(List<String> urls, String exclude) {
+        long now = System.currentTimeMillis();
+        List<String> candidates = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            if (!Objects.equals(url, exclude) && health(url).isSelectable(now)) {
+                candidates.add(url);
+            }
+        }
+        if (candidates.isEmpty()) {
+            if (exclude != null && urls.contains(exclude) && health(exclude).isSelectable(now)) {
+                candidates.add(exclude);
+            } else {
+                candidates.addAll(urls);
+            }
+        }
+
+        String selected;
+        if (candidates.size() == 1) {
+            selected = candidates.get(0);
+        } else {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            String a = candidates.get(first);
+            String b = candidates.get(second);
+            selected = score(a) <= score(b) ? a : b;
+        }
+        health(selected).onSelected(now);
+        return selected;
+    }
+
+    private double score(String url) {
+        return (health(url).getLatencyEwma() + 1) * (outstanding.applyAsInt(url) + 1);
+    }
+
+    public void onSuccess(String url, long latency) {
+        health(url).onSuccess(latency, System.currentTimeMillis());
+    }
+
+    public void onFailure(String url) {
+        health(url).onFailure(System.currentTimeMillis());
+    }
+
+    /**
+     * Forget the urls no longer subscribed, together with the metrics labelled by them.
+     *
+     * @param subscribedUrls urls of every consumer group topic of the server
+     */
+    public void retain(Set<String> subscribedUrls) {
+        endpoints.keySet().retainAll(subscribedUrls);
+    }
+
+    public int getOutstanding(String url) {
+        return outstanding.applyAsInt(url);
+    }
+
+    public Collection<HttpPushEndpointHealth> getEndpoints() {
+        return endpoints.values();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.runtime.util.EventMeshThreadFactoryImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+/**
+ * In-flight http pushes of a server, each one parked on a timing wheel until its ttl.
+ * <p>
+ * A push which gets its response is cancelled from the wheel in O(1), so the single wheel thread only
+ * visits the pushes which really timed out. The in-flight and timed out pushes are counted per consumer group.
+ */
+public class HttpPushTimeoutTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpPushTimeoutTracker.class);
+
+    private static final long TICK_DURATION_IN_MILLS = 100;
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private final HashedWheelTimer timer;
+
+    private final Map<String, GroupCounter> groups = new ConcurrentHashMap<>();
+
+    public HttpPushTimeoutTracker(String name) {
+        this.timer = new HashedWheelTimer(new EventMeshThreadFactoryImpl(name, true),
+            TICK_DURATION_IN_MILLS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Track a push until it is unregistered or its ttl expires.
+     *
+     * @param group     consumer group of the push
+     * @param ttl       time to wait for the response, in millis
+     * @param onTimeout run on the wheel thread if the push is still in flight after the ttl
+     * @return handle to unregister the push with
+     */
+    public Timeout register(String group, long ttl, Runnable onTimeout) {
+        GroupCounter counter = groups.computeIfAbsent(group, k -> new GroupCounter());
+        counter.waiting.incrementAndGet();
+        try {
+            return timer.newTimeout(timeout -> {
+                counter.waiting.decrementAndGet();
+                counter.timeouts.increment();
+                try {
+                    onTimeout.run();
+                } catch (Throwable e) {
+                    LOGGER.error("push timeout of group {} error", group, e);
+                }
+            }, Math.max(ttl, 0), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            counter.waiting.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Stop tracking a push which got its response.
+     *
+     * @return false if the push already timed out
+     */
+    public boolean unregister(String group, Timeout timeout) {
+        if (timeout == null || !timeout.cancel()) {
+            return false;
+        }
+        GroupCounter counter = groups.get(group);
+        if (counter != null) {
+            counter.waiting.decrementAndGet();
+        }
+        return true;
+    }
+
+    public int getWaitingNum(String group) {
+        GroupCounter counter = groups.get(group);
+        return counter == null ? 0 : counter.waiting.get();
+    }
+
+    /**
+     * Timed out pushes per consumer group since the previous call.
+     */
+    public Map<String, Long> drainTimeoutNum() {
+        Map<String, Long> timeoutNum = new HashMap<>();
+        groups.forEach((group, counter) -> timeoutNum.put(group, counter.timeouts.sumThenReset()));
+        return timeoutNum;
+    }
+
+    public void shutdown() {
+        timer.stop();
+    }
+
+    private static final class GroupCounter {
+
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        private final LongAdder timeouts = new LongAdder();
+    }
+}
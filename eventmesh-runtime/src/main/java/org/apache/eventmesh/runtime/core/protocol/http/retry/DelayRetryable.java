@@ -17,6 +17,8 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.retry;
 
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
+
 import java.util.concurrent.Delayed;
 
 /**
@@ -24,4 +26,11 @@ import java.util.concurrent.Delayed;
  */
 public interface DelayRetryable extends Delayed {
     boolean retry() throws Exception;
+
+    /**
+     * Group the retry is accounted to by the retry engine.
+     */
+    default String retryGroup() {
+        return RetryEngine.DEFAULT_GROUP;
+    }
 }
@@ -18,13 +18,10 @@
 package org.apache.eventmesh.runtime.core.protocol.http.retry;
 
 import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,82 +38,55 @@ public class HttpRetryer {
         this.eventMeshHTTPServer = eventMeshHTTPServer;
     }
 
-    private DelayQueue<DelayRetryable> failed = new DelayQueue<>();
-
-    private ThreadPoolExecutor pool;
-
-    private Thread dispatcher;
+    private RetryEngine retryEngine;
 
     public void pushRetry(DelayRetryable delayRetryable) {
-        if (failed.size() >= eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryBlockQSize) {
+        if (!retryEngine.schedule(delayRetryable.retryGroup(), executeTime(delayRetryable), () -> retry(delayRetryable))) {
             retryLogger.error("[RETRY-QUEUE] is full!");
-            return;
         }
-        failed.offer(delayRetryable);
     }
 
-    public void init() {
-        pool = new ThreadPoolExecutor(eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryThreadNum,
-                eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryThreadNum,
-                60000,
-                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(
-                    eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryBlockQSize),
-                new ThreadFactory() {
-                    private AtomicInteger count = new AtomicInteger();
-
-                    @Override
-                    public Thread newThread(Runnable r) {
-                        Thread thread = new Thread(r, "http-retry-" + count.incrementAndGet());
-                        thread.setPriority(Thread.NORM_PRIORITY);
-                        thread.setDaemon(true);
-                        return thread;
-                    }
-                },
-                new ThreadPoolExecutor.AbortPolicy());
-
-        dispatcher = new Thread(() -> {
-            try {
-                DelayRetryable retryObj;
-                while (!Thread.currentThread().isInterrupted() && (retryObj = failed.take()) != null) {
-                    final DelayRetryable delayRetryable = retryObj;
-                    pool.execute(() -> {
-                        try {
-                            delayRetryable.retry();
-                            if (retryLogger.isDebugEnabled()) {
-                                retryLogger.debug("retryObj : {}", delayRetryable);
-                            }
-                        } catch (Exception e) {
-                            retryLogger.error("http-retry-dispatcher error!", e);
-                        }
-                    });
-                }
-            } catch (Exception e) {
-                retryLogger.error("http-retry-dispatcher error!", e);
+    private long executeTime(DelayRetryable delayRetryable) {
+        return System.currentTimeMillis() + delayRetryable.getDelay(TimeUnit.MILLISECONDS);
+    }
+
+    private void retry(DelayRetryable delayRetryable) {
+        try {
+            delayRetryable.retry();
+            if (retryLogger.isDebugEnabled()) {
+                retryLogger.debug("retryObj : {}", delayRetryable);
             }
-        }, "http-retry-dispatcher");
-        dispatcher.setDaemon(true);
+        } catch (Exception e) {
+            retryLogger.error("http-retry-dispatcher error!", e);
+        }
+    }
+
+    public void init() {
+        EventMeshHTTPConfiguration configuration = eventMeshHTTPServer.getEventMeshHttpConfiguration();
+        retryEngine = new RetryEngine("http-retry", configuration.eventMeshServerRetryThreadNum,
+            configuration.eventMeshServerRetryBlockQSize, configuration.getEventMeshServerRetryGroupBudget(),
+            configuration.getEventMeshServerRetryMaxBackoffInMills());
         logger.info("HttpRetryer inited......");
     }
 
     public int size() {
-        return failed.size();
+        return retryEngine.size();
     }
 
     /**
-     * Get failed queue, this method is just used for metrics.
+     * Get retry engine, this method is just used for metrics.
      */
-    public DelayQueue<DelayRetryable> getFailedQueue() {
-        return failed;
+    public RetryEngine getRetryEngine() {
+        return retryEngine;
     }
 
     public void shutdown() {
-        dispatcher.interrupt();
-        pool.shutdown();
+        retryEngine.shutdown();
         logger.info("HttpRetryer shutdown......");
     }
 
     public void start() throws Exception {
-        dispatcher.start();
+        retryEngine.start();
         logger.info("HttpRetryer started......");
     }
 }
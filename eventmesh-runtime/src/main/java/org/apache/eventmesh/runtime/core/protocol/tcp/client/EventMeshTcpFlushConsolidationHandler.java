@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client;
+
+import java.util.concurrent.Future;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.MessageSizeEstimator;
+
+/**
+ * Coalesce the flushes of a tcp session so that the messages written in one event loop tick go out in one syscall.
+ * <p>
+ * A flush is issued at the end of the tick, after {@code explicitFlushAfterFlushes} flush requests,
+ * or as soon as {@code maxPendingBytes} were written since the last flush, whichever comes first.
+ * Same consolidation as netty's FlushConsolidationHandler, which does not tell when it flushed and so cannot
+ * bound the bytes held back. Must be placed after the encoder, next to the head of the pipeline.
+ */
+public class EventMeshTcpFlushConsolidationHandler extends ChannelDuplexHandler {
+
+    private final int explicitFlushAfterFlushes;
+
+    private final int maxPendingBytes;
+
+    private final Runnable flushTask;
+
+    private MessageSizeEstimator.Handle sizeHandle;
+
+    private int flushPendingCount;
+
+    private long bytesSinceFlush;
+
+    private boolean readInProgress;
+
+    private ChannelHandlerContext ctx;
+
+    private Future<?> nextScheduledFlush;
+
+    public EventMeshTcpFlushConsolidationHandler(int explicitFlushAfterFlushes, int maxPendingBytes) {
+        if (explicitFlushAfterFlushes <= 0) {
+            throw new IllegalArgumentException("explicitFlushAfterFlushes: " + explicitFlushAfterFlushes + " (expected: > 0)");
+        }
+        this.explicitFlushAfterFlushes = explicitFlushAfterFlushes;
+        this.maxPendingBytes = maxPendingBytes;
+        this.flushTask = () -> {
+            if (flushPendingCount > 0 && !readInProgress) {
+                nextScheduledFlush = null;
+                flushNow(this.ctx);
+            }
+        };
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        this.sizeHandle = ctx.channel().config().getMessageSizeEstimator().newHandle();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        flushIfNeeded(ctx);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        // size it before passing it on, the message may be released once written
+        bytesSinceFlush += sizeHandle.size(msg);
+        ctx.write(msg, promise);
+        if (bytesSinceFlush >= maxPendingBytes) {
+            flushNow(ctx);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (++flushPendingCount >= explicitFlushAfterFlushes) {
+            flushNow(ctx);
+        } else if (!readInProgress) {
+            scheduleFlush(ctx);
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        readInProgress = true;
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        resetReadAndFlushIfNeeded(ctx);
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (!ctx.channel().isWritable()) {
+            // hand everything over to the transport so that it drains the buffer
+            flushIfNeeded(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        resetReadAndFlushIfNeeded(ctx);
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) {
+        resetReadAndFlushIfNeeded(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+        resetReadAndFlushIfNeeded(ctx);
+        ctx.close(promise);
+    }
+
+    private void resetReadAndFlushIfNeeded(ChannelHandlerContext ctx) {
+        readInProgress = false;
+        flushIfNeeded(ctx);
+    }
+
+    private void flushIfNeeded(ChannelHandlerContext ctx) {
+        if (flushPendingCount > 0) {
+            flushNow(ctx);
+        }
+    }
+
+    private void flushNow(ChannelHandlerContext ctx) {
+        if (nextScheduledFlush != null) {
+            nextScheduledFlush.cancel(false);
+            nextScheduledFlush = null;
+        }
+        flushPendingCount = 0;
+        bytesSinceFlush = 0;
+        ctx.flush();
+    }
+
+    private void scheduleFlush(ChannelHandlerContext ctx) {
+        if (nextScheduledFlush == null) {
+            nextScheduledFlush = ctx.channel().eventLoop().submit(flushTask);
+        }
+    }
+}
@@ -17,10 +17,8 @@
 
 package org.apache.eventmesh.runtime.core.protocol.tcp.client.group;
 
-import org.apache.eventmesh.api.AsyncConsumeContext;
-import org.apache.eventmesh.api.EventListener;
+import org.apache.eventmesh.api.AbstractContext;
 import org.apache.eventmesh.api.EventMeshAction;
-import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
@@ -33,8 +31,11 @@ import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.plugin.MQConsumerWrapper;
 import org.apache.eventmesh.runtime.core.plugin.MQProducerWrapper;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.TopicSessions;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.retry.EventMeshTcpRetryer;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.UpStreamMsgContext;
@@ -54,19 +55,19 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
-import io.cloudevents.core.builder.CloudEventBuilder;
 import io.opentelemetry.api.trace.Span;
 
 import com.google.common.base.Preconditions;
@@ -112,12 +113,21 @@ public class ClientGroupWrapper {
     private ConcurrentHashMap<String, Set<Session>> topic2sessionInGroupMapping =
             new ConcurrentHashMap<String, Set<Session>>();
 
+    /**
+     * topic -> snapshot of the sessions in topic2sessionInGroupMapping, rebuilt under the write lock of the group
+     */
+    private ConcurrentHashMap<String, TopicSessions> topic2dispatchSessions = new ConcurrentHashMap<>();
+
     private ConcurrentHashMap<String, SubscriptionItem> subscriptions = new ConcurrentHashMap<>();
 
     public AtomicBoolean producerStarted = new AtomicBoolean(Boolean.FALSE);
 
     private MQProducerWrapper mqProducerWrapper;
 
+    private final Object downstreamCreditLock = new Object();
+
+    private final AtomicInteger downstreamCreditWaiters = new AtomicInteger(0);
+
     public ClientGroupWrapper(String sysId, String group,
                               EventMeshTCPServer eventMeshTCPServer,
                               DownstreamDispatchStrategy downstreamDispatchStrategy) {
@@ -142,6 +152,56 @@ public class ClientGroupWrapper {
         return topic2sessionInGroupMapping;
     }
 
+    /**
+     * @return the sessions to dispatch the messages of the topic to, never null
+     */
+    public TopicSessions getTopicSessions(String topic) {
+        return topic2dispatchSessions.getOrDefault(topic, TopicSessions.EMPTY);
+    }
+
+    /**
+     * Snapshot of the subscribed sessions which listen, a session which only subscribed does not take messages yet.
+     * Called under the write lock of the group.
+     */
+    private TopicSessions buildTopicSessions(Set<Session> sessions) {
+        List<Session> listening = new ArrayList<>(sessions.size());
+        for (Session session : sessions) {
+            if (groupConsumerSessions.contains(session)) {
+                listening.add(session);
+            }
+        }
+        return new TopicSessions(listening);
+    }
+
+    /**
+     * Rebuild the snapshots of all the topics, after a session started or stopped listening.
+     * Called under the write lock of the group.
+     */
+    private void rebuildTopicSessions() {
+        topic2sessionInGroupMapping.forEach((topic, sessions) -> topic2dispatchSessions.put(topic, buildTopicSessions(sessions)));
+    }
+
+    /**
+     * Rebuild the snapshots of the topics subscribed by the session, after its credit window changed.
+     */
+    public void refreshTopicSessions(Session session) {
+        try {
+            this.groupLock.writeLock().lockInterruptibly();
+            try {
+                for (String topic : session.getSessionContext().subscribeTopics.keySet()) {
+                    Set<Session> sessions = topic2sessionInGroupMapping.get(topic);
+                    if (sessions != null && sessions.contains(session)) {
+                        topic2dispatchSessions.put(topic, buildTopicSessions(sessions));
+                    }
+                }
+            } finally {
+                this.groupLock.writeLock().unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public boolean hasSubscription(String topic) {
         boolean has = false;
         try {
@@ -213,6 +273,7 @@ public class ClientGroupWrapper {
             }
             r = topic2sessionInGroupMapping.get(topic).add(session);
             if (r) {
+                topic2dispatchSessions.put(topic, buildTopicSessions(topic2sessionInGroupMapping.get(topic)));
 
                 if (LOGGER.isInfoEnabled()) {
                     LOGGER.info("addSubscription success, group:{} topic:{} client:{}", group,
@@ -254,6 +315,7 @@ public class ClientGroupWrapper {
             if (topic2sessionInGroupMapping.containsKey(topic)) {
                 r = topic2sessionInGroupMapping.get(topic).remove(session);
                 if (r) {
+                    topic2dispatchSessions.put(topic, buildTopicSessions(topic2sessionInGroupMapping.get(topic)));
 
                     if (LOGGER.isInfoEnabled()) {
                         LOGGER.info(
@@ -270,6 +332,7 @@ public class ClientGroupWrapper {
             }
             if (CollectionUtils.size(topic2sessionInGroupMapping.get(topic)) == 0) {
                 topic2sessionInGroupMapping.remove(topic);
+                topic2dispatchSessions.remove(topic);
                 subscriptions.remove(topic);
 
                 LOGGER.info("removeSubscription remove topic success, group:{} topic:{}",
@@ -335,6 +398,7 @@ public class ClientGroupWrapper {
             this.groupLock.writeLock().lockInterruptibly();
             r = groupConsumerSessions.add(session);
             if (r) {
+                rebuildTopicSessions();
 
                 if (LOGGER.isInfoEnabled()) {
                     LOGGER.info("addGroupConsumerSession success, group:{} client:{}", group,
@@ -391,6 +455,7 @@ public class ClientGroupWrapper {
             this.groupLock.writeLock().lockInterruptibly();
             r = groupConsumerSessions.remove(session);
             if (r) {
+                rebuildTopicSessions();
 
                 if (LOGGER.isInfoEnabled()) {
                     LOGGER.info("removeGroupConsumerSession success, group:{} client:{}", group,
@@ -448,42 +513,33 @@ public class ClientGroupWrapper {
 
         persistentMsgConsumer.init(keyValue);
 
-        EventListener listener = (CloudEvent event, AsyncConsumeContext context) -> {
-            String protocolVersion =
-                    Objects.requireNonNull(event.getSpecVersion()).toString();
-
-            Span span = TraceUtils.prepareServerSpan(
-                    EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+        BiFunction<CloudEvent, AbstractContext, EventMeshAction> handler = (event, context) -> {
+            Span span = TraceUtils.prepareServerSpan(event,
                     EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_SERVER_SPAN, false);
 
             try {
                 eventMeshTcpMonitor.getTcpSummaryMetrics().getMq2eventMeshMsgNum()
                         .incrementAndGet();
-                event = CloudEventBuilder.from(event)
+                event = EventMeshCloudEvent.of(event)
                         .withExtension(EventMeshConstants.REQ_MQ2EVENTMESH_TIMESTAMP,
                                 String.valueOf(System.currentTimeMillis()))
                         .withExtension(EventMeshConstants.REQ_RECEIVE_EVENTMESH_IP,
-                                eventMeshTCPConfiguration.getEventMeshServerIp()).build();
+                                eventMeshTCPConfiguration.getEventMeshServerIp());
                 String topic = event.getSubject();
-
-                EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext =
-                        (EventMeshAsyncConsumeContext) context;
-                Session session = downstreamDispatchStrategy
-                        .select(group, topic, groupConsumerSessions);
+                Session session = awaitDownstreamCredit(topic)
+                        ? downstreamDispatchStrategy.select(group, topic, getTopicSessions(topic)) : null;
                 String bizSeqNo = EventMeshUtil.getMessageBizSeq(event);
                 if (session == null) {
                     try {
                         Integer sendBackTimes = 0;
                         String sendBackFromEventMeshIp = "";
-                        if (StringUtils.isNotBlank(Objects.requireNonNull(event.getExtension(
-                                EventMeshConstants.EVENTMESH_SEND_BACK_TIMES)).toString())) {
-                            sendBackTimes = (Integer) event.getExtension(
-                                    EventMeshConstants.EVENTMESH_SEND_BACK_TIMES);
+                        Object sendBackTimesExt = event.getExtension(EventMeshConstants.EVENTMESH_SEND_BACK_TIMES);
+                        if (sendBackTimesExt != null && StringUtils.isNotBlank(sendBackTimesExt.toString())) {
+                            sendBackTimes = Integer.valueOf(sendBackTimesExt.toString());
                         }
-                        if (StringUtils.isNotBlank(Objects.requireNonNull(event.getExtension(
-                                EventMeshConstants.EVENTMESH_SEND_BACK_IP)).toString())) {
-                            sendBackFromEventMeshIp = (String) event.getExtension(
-                                    EventMeshConstants.EVENTMESH_SEND_BACK_IP);
+                        Object sendBackIpExt = event.getExtension(EventMeshConstants.EVENTMESH_SEND_BACK_IP);
+                        if (sendBackIpExt != null && StringUtils.isNotBlank(sendBackIpExt.toString())) {
+                            sendBackFromEventMeshIp = sendBackIpExt.toString();
                         }
 
                         LOGGER.error(
@@ -502,35 +558,34 @@ public class ClientGroupWrapper {
                                     group, topic, bizSeqNo);
                         } else {
                             sendBackTimes++;
-                            event = CloudEventBuilder.from(event)
+                            event = EventMeshCloudEvent.of(event)
                                     .withExtension(EventMeshConstants.EVENTMESH_SEND_BACK_TIMES,
                                             sendBackTimes.toString())
                                     .withExtension(EventMeshConstants.EVENTMESH_SEND_BACK_IP,
-                                            eventMeshTCPConfiguration.getEventMeshServerIp()).build();
+                                            eventMeshTCPConfiguration.getEventMeshServerIp());
                             sendMsgBackToBroker(event, bizSeqNo);
                         }
                     } catch (Exception e) {
                         LOGGER.warn("handle msg exception when no session found", e);
                     }
 
-                    eventMeshAsyncConsumeContext.commit(EventMeshAction.CommitMessage);
-                    return;
+                    return EventMeshAction.CommitMessage;
                 }
 
                 SubscriptionItem subscriptionItem = subscriptions.get(topic);
                 DownStreamMsgContext downStreamMsgContext =
                         new DownStreamMsgContext(event, session, persistentMsgConsumer,
-                                eventMeshAsyncConsumeContext.getAbstractContext(), false,
+                                context, false,
                                 subscriptionItem);
                 //msg put in eventmesh,waiting client ack
-                session.getPusher().unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
+                session.getPusher().unAckMsg(downStreamMsgContext);
                 session.downstreamMsg(downStreamMsgContext);
-                eventMeshAsyncConsumeContext.commit(EventMeshAction.ManualAck);
+                return EventMeshAction.ManualAck;
             } finally {
                 TraceUtils.finishSpan(span, event);
             }
         };
-        persistentMsgConsumer.registerEventListener(listener);
+        persistentMsgConsumer.registerEventHandler(handler, eventMeshTCPConfiguration.isEventMeshServerBatchConsumeEnable());
 
         inited4Persistent.compareAndSet(false, true);
         if (LOGGER.isInfoEnabled()) {
@@ -538,6 +593,73 @@ public class ClientGroupWrapper {
         }
     }
 
+    /**
+     * Backpressure of the persistent consumer: hold the consumer thread while every session subscribing the topic
+     * is out of credit, so the connector stops fetching until the clients ack.
+     *
+     * @return false if no session got credit within
+     * {@link EventMeshTCPConfiguration#eventMeshTcpSessionDownstreamCreditWaitInMills}, the message is then sent back
+     * to the broker instead of piling up on the exhausted sessions
+     */
+    boolean awaitDownstreamCredit(String topic) {
+        if (hasDownstreamCredit(topic)) {
+            return true;
+        }
+        long waitStart = System.currentTimeMillis();
+        long deadline = waitStart + eventMeshTCPConfiguration.eventMeshTcpSessionDownstreamCreditWaitInMills;
+        downstreamCreditWaiters.incrementAndGet();
+        try {
+            synchronized (downstreamCreditLock) {
+                long remaining = deadline - System.currentTimeMillis();
+                while (!hasDownstreamCredit(topic)) {
+                    if (remaining <= 0) {
+                        LOGGER.warn("sessions out of downstream credit, group:{}, topic:{}, waited:{}ms",
+                                group, topic, System.currentTimeMillis() - waitStart);
+                        return false;
+                    }
+                    downstreamCreditLock.wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            downstreamCreditWaiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return true if a session may take the message, or if there is no session at all and waiting would not help
+     */
+    private boolean hasDownstreamCredit(String topic) {
+        boolean hasSession = false;
+        TopicSessions topicSessions = getTopicSessions(topic);
+        for (int i = 0; i < topicSessions.size(); i++) {
+            Session session = topicSessions.get(i);
+            if (session.getSessionState() != SessionState.RUNNING) {
+                continue;
+            }
+            if (session.getPusher().hasCredit()) {
+                return true;
+            }
+            hasSession = true;
+        }
+        return !hasSession;
+    }
+
+    /**
+     * Wake up the consumer threads waiting in {@link #awaitDownstreamCredit(String)}.
+     */
+    public void notifyDownstreamCredit() {
+        if (downstreamCreditWaiters.get() > 0) {
+            synchronized (downstreamCreditLock) {
+                downstreamCreditLock.notifyAll();
+            }
+        }
+    }
+
     public synchronized void startClientGroupPersistentConsumer() throws Exception {
         if (started4Persistent.get()) {
             return;
@@ -558,36 +680,29 @@ public class ClientGroupWrapper {
         keyValue.put(EventMeshConstants.IS_BROADCAST, "true");
         keyValue.put(EventMeshConstants.CONSUMER_GROUP, group);
         keyValue.put(EventMeshConstants.EVENT_MESH_IDC, eventMeshTCPConfiguration.getEventMeshIDC());
+        keyValue.put(EventMeshConstants.EVENT_MESH_NAME, eventMeshTCPConfiguration.getEventMeshName());
         keyValue.put(EventMeshConstants.INSTANCE_NAME, EventMeshUtil
                 .buildMeshTcpClientID(sysId, EventMeshConstants.PURPOSE_SUB_UPPER_CASE,
                         eventMeshTCPConfiguration.getEventMeshCluster()));
         broadCastMsgConsumer.init(keyValue);
 
-        EventListener listener = (event, context) -> {
-            String protocolVersion =
-                    Objects.requireNonNull(event.getSpecVersion()).toString();
-
-            Span span = TraceUtils.prepareServerSpan(
-                    EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+        BiFunction<CloudEvent, AbstractContext, EventMeshAction> handler = (event, context) -> {
+            Span span = TraceUtils.prepareServerSpan(event,
                     EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_SERVER_SPAN, false);
             try {
                 eventMeshTcpMonitor.getTcpSummaryMetrics().getMq2eventMeshMsgNum()
                         .incrementAndGet();
-                event = CloudEventBuilder.from(event)
+                event = EventMeshCloudEvent.of(event)
                         .withExtension(EventMeshConstants.REQ_MQ2EVENTMESH_TIMESTAMP,
                                 String.valueOf(System.currentTimeMillis()))
                         .withExtension(EventMeshConstants.REQ_RECEIVE_EVENTMESH_IP,
-                                eventMeshTCPConfiguration.getEventMeshServerIp()).build();
+                                eventMeshTCPConfiguration.getEventMeshServerIp());
                 String topic = event.getSubject();
-
-                EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext =
-                        (EventMeshAsyncConsumeContext) context;
                 if (CollectionUtils.isEmpty(groupConsumerSessions)) {
                     if (LOGGER.isWarnEnabled()) {
                         LOGGER.warn("found no session to downstream broadcast msg");
                     }
-                    eventMeshAsyncConsumeContext.commit(EventMeshAction.CommitMessage);
-                    return;
+                    return EventMeshAction.CommitMessage;
                 }
 
                 Iterator<Session> sessionsItr = groupConsumerSessions.iterator();
@@ -595,7 +710,7 @@ public class ClientGroupWrapper {
                 SubscriptionItem subscriptionItem = subscriptions.get(topic);
                 DownStreamMsgContext downStreamMsgContext =
                         new DownStreamMsgContext(event, null, broadCastMsgConsumer,
-                                eventMeshAsyncConsumeContext.getAbstractContext(), false,
+                                context, false,
                                 subscriptionItem);
 
                 while (sessionsItr.hasNext()) {
@@ -617,19 +732,18 @@ public class ClientGroupWrapper {
                                 @Override
                                 public void run() {
                                     //msg put in eventmesh,waiting client ack
-                                    session.getPusher()
-                                            .unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
+                                    session.getPusher().unAckMsg(downStreamMsgContext);
                                     session.downstreamMsg(downStreamMsgContext);
                                 }
                             });
                 }
 
-                eventMeshAsyncConsumeContext.commit(EventMeshAction.ManualAck);
+                return EventMeshAction.ManualAck;
             } finally {
                 TraceUtils.finishSpan(span, event);
             }
         };
-        broadCastMsgConsumer.registerEventListener(listener);
+        broadCastMsgConsumer.registerEventHandler(handler, eventMeshTCPConfiguration.isEventMeshServerBatchConsumeEnable());
 
         inited4Broadcast.compareAndSet(false, true);
         if (LOGGER.isInfoEnabled()) {
@@ -26,13 +26,18 @@ import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcp2Client;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategy;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.FreePriorityDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.LeastUnackedDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.PowerOfTwoChoicesDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.WeightedRoundRobinDispatchStrategy;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.UnAckMsgTable;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.runtime.util.RemotingHelper;
 
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.lang.ref.WeakReference;
 import java.net.InetSocketAddress;
@@ -187,6 +192,23 @@ public class ClientSessionGroupMapping {
                 downstreamDispatchStrategy);
     }
 
+    private DownstreamDispatchStrategy createDownstreamDispatchStrategy() {
+        String strategy = eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpDownstreamDispatchStrategy;
+        switch (StringUtils.trimToEmpty(strategy)) {
+            case "leastUnacked":
+                return new LeastUnackedDispatchStrategy();
+            case "p2c":
+                return new PowerOfTwoChoicesDispatchStrategy();
+            case "wrr":
+                return new WeightedRoundRobinDispatchStrategy();
+            case "freePriority":
+                return new FreePriorityDispatchStrategy();
+            default:
+                log.warn("unknown downstream dispatch strategy:{}, use freePriority", strategy);
+                return new FreePriorityDispatchStrategy();
+        }
+    }
+
     private void initClientGroupWrapper(UserAgent user, Session session) throws Exception {
         if (!lockMap.containsKey(user.getGroup())) {
             Object obj = lockMap.putIfAbsent(user.getGroup(), new Object());
@@ -197,7 +219,7 @@ public class ClientSessionGroupMapping {
         synchronized (lockMap.get(user.getGroup())) {
             if (!clientGroupMap.containsKey(user.getGroup())) {
                 ClientGroupWrapper cgw = constructClientGroupWrapper(user.getSubsystem(), user.getGroup(),
-                        eventMeshTCPServer, new FreePriorityDispatchStrategy());
+                        eventMeshTCPServer, createDownstreamDispatchStrategy());
                 clientGroupMap.put(user.getGroup(), cgw);
                 log.info("create new ClientGroupWrapper, group:{}", user.getGroup());
             }
@@ -297,28 +319,27 @@ public class ClientSessionGroupMapping {
      * @param session
      */
     private void handleUnackMsgsInSession(Session session) {
-        ConcurrentHashMap<String /** seq */, DownStreamMsgContext> unAckMsg = session.getPusher().getUnAckMsg();
+        UnAckMsgTable unAckMsg = session.getPusher().getUnAckMsg();
         if (unAckMsg.size() > 0 && Objects.requireNonNull(session.getClientGroupWrapper().get()).getGroupConsumerSessions().size() > 0) {
-            for (Map.Entry<String, DownStreamMsgContext> entry : unAckMsg.entrySet()) {
-                DownStreamMsgContext downStreamMsgContext = entry.getValue();
+            for (DownStreamMsgContext downStreamMsgContext : unAckMsg.values()) {
                 if (SubscriptionMode.BROADCASTING == downStreamMsgContext.subscriptionItem.getMode()) {
                     log.warn("exist broadcast msg unack when closeSession,seq:{},bizSeq:{},client:{}",
                             downStreamMsgContext.seq, EventMeshUtil.getMessageBizSeq(downStreamMsgContext.event),
                             session.getClient());
                     continue;
                 }
-                Session reChooseSession = Objects.requireNonNull(session.getClientGroupWrapper().get()).getDownstreamDispatchStrategy()
-                        .select(Objects.requireNonNull(session.getClientGroupWrapper().get()).getGroup(),
-                                downStreamMsgContext.event.getSubject(),
-                                Objects.requireNonNull(session.getClientGroupWrapper().get()).groupConsumerSessions);
+                ClientGroupWrapper clientGroupWrapper = Objects.requireNonNull(session.getClientGroupWrapper().get());
+                String topic = downStreamMsgContext.event.getSubject();
+                Session reChooseSession = clientGroupWrapper.getDownstreamDispatchStrategy()
+                        .select(clientGroupWrapper.getGroup(), topic, clientGroupWrapper.getTopicSessions(topic));
                 if (reChooseSession != null) {
                     downStreamMsgContext.session = reChooseSession;
-                    reChooseSession.getPusher().unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
+                    reChooseSession.getPusher().unAckMsg(downStreamMsgContext);
                     reChooseSession.downstreamMsg(downStreamMsgContext);
-                    log.info("rePush msg form unAckMsgs,seq:{},rePushClient:{}", entry.getKey(),
+                    log.info("rePush msg form unAckMsgs,seq:{},rePushClient:{}", downStreamMsgContext.seq,
                             downStreamMsgContext.session.getClient());
                 } else {
-                    log.warn("select session fail in handleUnackMsgsInSession,seq:{},topic:{}", entry.getKey(),
+                    log.warn("select session fail in handleUnackMsgsInSession,seq:{},topic:{}", downStreamMsgContext.seq,
                             downStreamMsgContext.event.getSubject());
                 }
             }
@@ -390,16 +411,11 @@ public class ClientSessionGroupMapping {
 
                         //scan non-broadcast msg
                         for (Session tmp : sessionTable.values()) {
-                            for (Map.Entry<String, DownStreamMsgContext> entry : tmp.getPusher().getUnAckMsg().entrySet()) {
-                                String seqKey = entry.getKey();
-                                DownStreamMsgContext downStreamMsgContext = entry.getValue();
-                                if (!downStreamMsgContext.isExpire()) {
-                                    continue;
-                                }
+                            for (DownStreamMsgContext downStreamMsgContext
+                                : tmp.getPusher().removeExpiredUnAckMsgs(System.currentTimeMillis())) {
                                 downStreamMsgContext.ackMsg();
-                                tmp.getPusher().getUnAckMsg().remove(seqKey);
                                 log.warn("remove expire downStreamMsgContext, session:{}, topic:{}, seq:{}", tmp,
-                                    downStreamMsgContext.event.getSubject(), seqKey);
+                                    downStreamMsgContext.event.getSubject(), downStreamMsgContext.seq);
                             }
                         }
                     }
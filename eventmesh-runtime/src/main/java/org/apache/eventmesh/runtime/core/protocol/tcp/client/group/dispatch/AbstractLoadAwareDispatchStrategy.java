@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base of the strategies which weigh the sessions by their unacked messages.
+ * <p>
+ * Like {@link FreePriorityDispatchStrategy}, a session with credit which is not isolated is preferred,
+ * then an isolated one, then one out of credit. The selection works on the {@link TopicSessions} snapshot
+ * and allocates nothing.
+ */
+public abstract class AbstractLoadAwareDispatchStrategy implements DownstreamDispatchStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractLoadAwareDispatchStrategy.class);
+
+    static final int FREE = 0;
+
+    static final int ISOLATED = 1;
+
+    static final int EXHAUSTED = 2;
+
+    static final int UNAVAILABLE = 3;
+
+    @Override
+    public Session select(String group, String topic, Set<Session> consumeSessions) {
+        if (CollectionUtils.isEmpty(consumeSessions) || StringUtils.isBlank(topic)) {
+            return null;
+        }
+        List<Session> subscribed = new ArrayList<>(consumeSessions.size());
+        for (Session session : consumeSessions) {
+            if (session.getSessionContext().subscribeTopics.containsKey(topic)) {
+                subscribed.add(session);
+            }
+        }
+        return select(group, topic, new TopicSessions(subscribed));
+    }
+
+    @Override
+    public abstract Session select(String group, String topic, TopicSessions topicSessions);
+
+    static int rank(Session session) {
+        // a session listens once it is running, and never again once it is closed
+        if (session.getSessionState() != SessionState.RUNNING) {
+            return UNAVAILABLE;
+        }
+        if (!session.getPusher().hasCredit()) {
+            return EXHAUSTED;
+        }
+        if (session.isIsolated()) {
+            return ISOLATED;
+        }
+        return FREE;
+    }
+
+    static int unacked(Session session) {
+        return session.getPusher().getTotalUnackMsgs();
+    }
+
+    /**
+     * Scan all the sessions from the start index for the best rank with the least unacked messages,
+     * so that sessions with the same load are not always resolved to the first one.
+     *
+     * @return null if no session is running
+     */
+    static Session selectLeastUnacked(String group, String topic, TopicSessions topicSessions, int start) {
+        int size = topicSessions.size();
+        Session best = null;
+        int bestRank = UNAVAILABLE;
+        int bestUnacked = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Session session = topicSessions.get((start + i) % size);
+            int rank = rank(session);
+            if (rank == UNAVAILABLE || rank > bestRank) {
+                continue;
+            }
+            int unacked = unacked(session);
+            if (rank < bestRank || unacked < bestUnacked) {
+                best = session;
+                bestRank = rank;
+                bestUnacked = unacked;
+            }
+        }
+        if (best == null) {
+            logger.warn("all sessions can't downstream msg,group:{},topic:{}", group, topic);
+        } else if (bestRank == ISOLATED) {
+            logger.warn("all sessions are isolated,group:{},topic:{}", group, topic);
+        } else if (bestRank == EXHAUSTED) {
+            logger.warn("all sessions are out of credit,group:{},topic:{}", group, topic);
+        }
+        return best;
+    }
+}
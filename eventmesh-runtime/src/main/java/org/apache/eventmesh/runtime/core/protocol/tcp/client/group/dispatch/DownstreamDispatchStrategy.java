@@ -34,4 +34,16 @@ public interface DownstreamDispatchStrategy {
      * @return client session
      */
     Session select(String group, String topic, Set<Session> consumeSessions);
+
+    /**
+     * select a SESSION among the sessions subscribing the topic
+     *
+     * @param group
+     * @param topic
+     * @param topicSessions snapshot of the sessions of the group subscribing the topic
+     * @return client session
+     */
+    default Session select(String group, String topic, TopicSessions topicSessions) {
+        return select(group, topic, topicSessions.getSessionSet());
+    }
 }
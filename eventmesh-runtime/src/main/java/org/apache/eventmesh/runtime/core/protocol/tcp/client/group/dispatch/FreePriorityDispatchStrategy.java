@@ -44,10 +44,15 @@ public class FreePriorityDispatchStrategy implements DownstreamDispatchStrategy
 
         List<Session> filtered = new ArrayList<Session>();
         List<Session> isolatedSessions = new ArrayList<>();
+        List<Session> exhaustedSessions = new ArrayList<>();
         for (Session session : groupConsumerSessions) {
             if (!session.isAvailable(topic)) {
                 continue;
             }
+            if (!session.getPusher().hasCredit()) {
+                exhaustedSessions.add(session);
+                continue;
+            }
             if (session.isIsolated()) {
                 isolatedSessions.add(session);
                 logger.info("session is not available because session is isolated,isolateTime:{},client:{}",
@@ -59,8 +64,12 @@ public class FreePriorityDispatchStrategy implements DownstreamDispatchStrategy
 
         if (CollectionUtils.isEmpty(filtered)) {
             if (CollectionUtils.isEmpty(isolatedSessions)) {
-                logger.warn("all sessions can't downstream msg");
-                return null;
+                if (CollectionUtils.isEmpty(exhaustedSessions)) {
+                    logger.warn("all sessions can't downstream msg");
+                    return null;
+                }
+                logger.warn("all sessions are out of credit,group:{},topic:{}", group, topic);
+                filtered.addAll(exhaustedSessions);
             } else {
                 logger.warn("all sessions are isolated,group:{},topic:{}", group, topic);
                 filtered.addAll(isolatedSessions);
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Select the session holding the least unacked messages, a linear scan of the topic sessions.
+ */
+public class LeastUnackedDispatchStrategy extends AbstractLoadAwareDispatchStrategy {
+
+    @Override
+    public Session select(String group, String topic, TopicSessions topicSessions) {
+        int size = topicSessions.size();
+        if (size == 0) {
+            return null;
+        }
+        return selectLeastUnacked(group, topic, topicSessions, size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size));
+    }
+}
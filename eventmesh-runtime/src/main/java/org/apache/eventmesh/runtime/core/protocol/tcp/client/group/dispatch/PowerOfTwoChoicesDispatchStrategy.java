@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sample two distinct sessions at random and select the one holding less unacked messages.
+ * <p>
+ * It costs O(1) per message and still keeps the load close to least unacked. Only when neither sample
+ * is free, the sessions are scanned for a free one.
+ */
+public class PowerOfTwoChoicesDispatchStrategy extends AbstractLoadAwareDispatchStrategy {
+
+    @Override
+    public Session select(String group, String topic, TopicSessions topicSessions) {
+        int size = topicSessions.size();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return selectLeastUnacked(group, topic, topicSessions, 0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Session firstSession = topicSessions.get(first);
+        Session secondSession = topicSessions.get(second);
+        boolean firstFree = rank(firstSession) == FREE;
+        boolean secondFree = rank(secondSession) == FREE;
+        if (firstFree && secondFree) {
+            return unacked(secondSession) < unacked(firstSession) ? secondSession : firstSession;
+        }
+        if (firstFree) {
+            return firstSession;
+        }
+        if (secondFree) {
+            return secondSession;
+        }
+        return selectLeastUnacked(group, topic, topicSessions, first);
+    }
+}
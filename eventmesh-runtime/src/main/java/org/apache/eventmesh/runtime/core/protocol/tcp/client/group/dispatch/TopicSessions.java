@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable snapshot of the sessions of a group subscribing a topic, rebuilt whenever they change,
+ * so that a dispatch strategy picks a session by index without walking or copying the group.
+ * <p>
+ * It also holds the weighted round robin schedule, where each session appears in proportion to its credit window.
+ */
+public final class TopicSessions {
+
+    public static final TopicSessions EMPTY = new TopicSessions(Collections.emptySet());
+
+    /**
+     * max appearances of a session in the schedule, the largest credit window gets all of them
+     */
+    static final int MAX_WEIGHT = 16;
+
+    private final Session[] sessions;
+
+    private final Set<Session> sessionSet;
+
+    private final Session[] schedule;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public TopicSessions(Collection<Session> sessions) {
+        this.sessions = sessions.toArray(new Session[0]);
+        this.sessionSet = Collections.unmodifiableSet(new HashSet<>(sessions));
+        this.schedule = buildSchedule(this.sessions);
+    }
+
+    public int size() {
+        return sessions.length;
+    }
+
+    public Session get(int index) {
+        return sessions[index];
+    }
+
+    public Set<Session> getSessionSet() {
+        return sessionSet;
+    }
+
+    /**
+     * @return the next session of the weighted schedule, null if there is no session
+     */
+    Session nextScheduled() {
+        if (schedule.length == 0) {
+            return null;
+        }
+        return schedule[(cursor.getAndIncrement() & Integer.MAX_VALUE) % schedule.length];
+    }
+
+    /**
+     * Lay out MAX_WEIGHT rounds, a session of weight w takes part in w of them, spread evenly,
+     * so that a heavy session never gets a long run of consecutive messages.
+     */
+    private static Session[] buildSchedule(Session[] sessions) {
+        int maxWindow = 1;
+        for (Session session : sessions) {
+            maxWindow = Math.max(maxWindow, getCreditWindow(session));
+        }
+        int[] weights = new int[sessions.length];
+        int total = 0;
+        for (int i = 0; i < sessions.length; i++) {
+            weights[i] = Math.max(1, (int) ((long) getCreditWindow(sessions[i]) * MAX_WEIGHT / maxWindow));
+            total += weights[i];
+        }
+        Session[] schedule = new Session[total];
+        int next = 0;
+        for (int round = 0; round < MAX_WEIGHT; round++) {
+            for (int i = 0; i < sessions.length; i++) {
+                if ((round + 1) * weights[i] / MAX_WEIGHT > round * weights[i] / MAX_WEIGHT) {
+                    schedule[next++] = sessions[i];
+                }
+            }
+        }
+        return schedule;
+    }
+
+    private static int getCreditWindow(Session session) {
+        return session.getPusher() == null ? 1 : Math.max(1, session.getPusher().getCreditWindow());
+    }
+}
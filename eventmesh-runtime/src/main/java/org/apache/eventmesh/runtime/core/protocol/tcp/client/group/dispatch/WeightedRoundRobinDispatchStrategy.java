@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+/**
+ * Select the sessions in turn, each in proportion to the credit window granted by its client.
+ * <p>
+ * The schedule is laid out in {@link TopicSessions}, so a selection is a single cursor increment. A scheduled
+ * session which is not free is skipped for the free session with the least unacked messages.
+ */
+public class WeightedRoundRobinDispatchStrategy extends AbstractLoadAwareDispatchStrategy {
+
+    @Override
+    public Session select(String group, String topic, TopicSessions topicSessions) {
+        Session session = topicSessions.nextScheduled();
+        if (session == null) {
+            return null;
+        }
+        if (rank(session) == FREE) {
+            return session;
+        }
+        return selectLeastUnacked(group, topic, topicSessions, 0);
+    }
+}
@@ -17,13 +17,14 @@
 
 package org.apache.eventmesh.runtime.core.protocol.tcp.client.rebalance;
 
-import org.apache.eventmesh.api.registry.dto.EventMeshDataInfo;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcp2Client;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.recommend.EventMeshRecommendImpl;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.recommend.EventMeshRecommendStrategy;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.registry.EventMeshClusterView;
+import org.apache.eventmesh.runtime.registry.EventMeshDistributionView;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -75,22 +76,16 @@ public class EventmeshRebalanceImpl implements EventMeshRebalanceStrategy {
 
     private Map<String, String> queryLocalEventMeshMap(String cluster) {
         Map<String, String> localEventMeshMap = null;
-        List<EventMeshDataInfo> eventMeshDataInfoList = null;
+        EventMeshClusterView clusterView = null;
         try {
-            eventMeshDataInfoList = eventMeshTCPServer.getRegistry().findEventMeshInfoByCluster(cluster);
+            clusterView = eventMeshTCPServer.getRegistry().getEventMeshClusterView(cluster);
 
-            if (eventMeshDataInfoList == null || CollectionUtils.isEmpty(eventMeshDataInfoList)) {
+            if (clusterView == null || clusterView.isEmpty()) {
                 logger.warn("doRebalance failed,query eventmesh instances is null from registry,cluster:{}", cluster);
                 return null;
             }
-            localEventMeshMap = new HashMap<>();
             String localIdc = eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshIDC();
-            for (EventMeshDataInfo eventMeshDataInfo : eventMeshDataInfoList) {
-                String idc = eventMeshDataInfo.getEventMeshName().split("-")[0];
-                if (StringUtils.isNotBlank(idc) && StringUtils.equals(idc, localIdc)) {
-                    localEventMeshMap.put(eventMeshDataInfo.getEventMeshName(), eventMeshDataInfo.getEndpoint());
-                }
-            }
+            localEventMeshMap = clusterView.getEventMeshMap(localIdc);
 
             if (0 == localEventMeshMap.size()) {
                 logger.warn("doRebalance failed,query eventmesh instances of localIDC is null from registry,localIDC:{},cluster:{}",
@@ -224,25 +219,18 @@ public class EventmeshRebalanceImpl implements EventMeshRebalanceStrategy {
     private Map<String, Integer> queryLocalEventMeshDistributeData(String cluster, String group, String purpose,
                                                                    Map<String, String> eventMeshMap) {
         Map<String, Integer> localEventMeshDistributeData = null;
-        Map<String, Map<String, Integer>> eventMeshClientDistributionDataMap = null;
+        EventMeshDistributionView distributionView = null;
         try {
-            eventMeshClientDistributionDataMap = eventMeshTCPServer.getRegistry().findEventMeshClientDistributionData(
-                    cluster, group, purpose);
+            distributionView = eventMeshTCPServer.getRegistry().getEventMeshDistributionView(cluster, group, purpose);
 
-            if (eventMeshClientDistributionDataMap == null || eventMeshClientDistributionDataMap.size() == 0) {
+            if (distributionView == null || distributionView.isEmpty()) {
                 logger.warn("doRebalance failed,found no distribute data in regitry, cluster:{}, group:{}, purpose:{}",
                         cluster, group, purpose);
                 return null;
             }
 
-            localEventMeshDistributeData = new HashMap<>();
             String localIdc = eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshIDC();
-            for (Map.Entry<String, Map<String, Integer>> entry : eventMeshClientDistributionDataMap.entrySet()) {
-                String idc = entry.getKey().split("-")[0];
-                if (StringUtils.isNotBlank(idc) && StringUtils.equals(idc, localIdc)) {
-                    localEventMeshDistributeData.put(entry.getKey(), entry.getValue().get(purpose));
-                }
-            }
+            localEventMeshDistributeData = new HashMap<>(distributionView.getClientDistributionMap(localIdc));
 
             if (0 == localEventMeshDistributeData.size()) {
                 logger.warn("doRebalance failed,found no distribute data of localIDC in regitry,cluster:{},group:{}, purpose:{},localIDC:{}",
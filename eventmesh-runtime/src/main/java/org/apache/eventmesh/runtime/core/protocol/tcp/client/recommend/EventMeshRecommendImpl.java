@@ -17,12 +17,11 @@
 
 package org.apache.eventmesh.runtime.core.protocol.tcp.client.recommend;
 
-import org.apache.eventmesh.api.registry.dto.EventMeshDataInfo;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
+import org.apache.eventmesh.runtime.registry.EventMeshClusterView;
+import org.apache.eventmesh.runtime.registry.EventMeshDistributionView;
 import org.apache.eventmesh.runtime.util.ValueComparator;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
@@ -30,6 +29,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,41 +46,29 @@ public class EventMeshRecommendImpl implements EventMeshRecommendStrategy {
 
     @Override
     public String calculateRecommendEventMesh(String group, String purpose) throws Exception {
-        List<EventMeshDataInfo> eventMeshDataInfoList = null;
+        EventMeshClusterView clusterView = null;
         if (StringUtils.isBlank(group) || StringUtils.isBlank(purpose)) {
             logger.warn("EventMeshRecommend failed,params illegal,group:{},purpose:{}", group, purpose);
             return null;
         }
         final String cluster = eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshCluster();
         try {
-            eventMeshDataInfoList = eventMeshTCPServer.getRegistry().findEventMeshInfoByCluster(cluster);
+            clusterView = eventMeshTCPServer.getRegistry().getEventMeshClusterView(cluster);
         } catch (Exception e) {
             logger.warn("EventMeshRecommend failed, findEventMeshInfoByCluster failed, cluster:{}, group:{}, purpose:{}, errMsg:{}",
                     cluster, group, purpose, e);
             return null;
         }
 
-        if (eventMeshDataInfoList == null || CollectionUtils.isEmpty(eventMeshDataInfoList)) {
+        if (clusterView == null || clusterView.isEmpty()) {
             logger.warn("EventMeshRecommend failed,not find eventMesh instances from registry,cluster:{},group:{},purpose:{}",
                     cluster, group, purpose);
             return null;
         }
 
-        Map<String, String> localEventMeshMap = new HashMap<>();
-        Map<String, String> remoteEventMeshMap = new HashMap<>();
         String localIdc = eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshIDC();
-        for (EventMeshDataInfo eventMeshDataInfo : eventMeshDataInfoList) {
-            String idc = eventMeshDataInfo.getEventMeshName().split("-")[0];
-            if (StringUtils.isNotBlank(idc)) {
-                if (StringUtils.equals(idc, localIdc)) {
-                    localEventMeshMap.put(eventMeshDataInfo.getEventMeshName(), eventMeshDataInfo.getEndpoint());
-                } else {
-                    remoteEventMeshMap.put(eventMeshDataInfo.getEventMeshName(), eventMeshDataInfo.getEndpoint());
-                }
-            } else {
-                logger.error("EventMeshName may be illegal,idc is null,eventMeshName:{}", eventMeshDataInfo.getEventMeshName());
-            }
-        }
+        Map<String, String> localEventMeshMap = clusterView.getEventMeshMap(localIdc);
+        Map<String, String> remoteEventMeshMap = clusterView.getOtherIdcEventMeshMap(localIdc);
 
         if (localEventMeshMap.size() == 0 && remoteEventMeshMap.size() == 0) {
             logger.warn("EventMeshRecommend failed,find no legal eventMesh instances from registry,localIDC:{}", localIdc);
@@ -138,36 +126,32 @@ public class EventMeshRecommendImpl implements EventMeshRecommendStrategy {
 
         String recommendProxyAddr = null;
         List<String> tmpProxyAddrList = null;
-        Map<String, Map<String, Integer>> eventMeshClientDistributionDataMap = null;
+        EventMeshDistributionView distributionView = null;
         try {
-            eventMeshClientDistributionDataMap = eventMeshTCPServer.getRegistry().findEventMeshClientDistributionData(
-                    cluster, group, purpose);
+            distributionView = eventMeshTCPServer.getRegistry().getEventMeshDistributionView(cluster, group, purpose);
         } catch (Exception e) {
             logger.warn("EventMeshRecommend failed,findEventMeshClientDistributionData failed,"
                     + "cluster:{},group:{},purpose:{}, errMsg:{}", cluster, group, purpose, e);
         }
 
-        if (eventMeshClientDistributionDataMap == null || MapUtils.isEmpty(eventMeshClientDistributionDataMap)) {
+        if (distributionView == null || distributionView.isEmpty()) {
             tmpProxyAddrList = new ArrayList<>(eventMeshMap.values());
-            Collections.shuffle(tmpProxyAddrList);
-            recommendProxyAddr = tmpProxyAddrList.get(0);
+            recommendProxyAddr = tmpProxyAddrList.get(ThreadLocalRandom.current().nextInt(tmpProxyAddrList.size()));
             logger.info("No distribute data in registry,cluster:{}, group:{},purpose:{}, recommendProxyAddr:{}",
                     cluster, group, purpose, recommendProxyAddr);
             return recommendProxyAddr;
         }
 
-        Map<String, Integer> localClientDistributionMap = new HashMap<>();
+        String localIdc = eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshIDC();
+        Map<String, Integer> localClientDistributionMap = new HashMap<>(distributionView.getClientDistributionMap(localIdc));
         Map<String, Integer> remoteClientDistributionMap = new HashMap<>();
-        for (Map.Entry<String, Map<String, Integer>> entry : eventMeshClientDistributionDataMap.entrySet()) {
-            String idc = entry.getKey().split("-")[0];
-            if (StringUtils.isNotBlank(idc)) {
-                if (StringUtils.equals(idc, eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshIDC())) {
-                    localClientDistributionMap.put(entry.getKey(), entry.getValue().get(purpose));
-                } else {
-                    remoteClientDistributionMap.put(entry.getKey(), entry.getValue().get(purpose));
+        if (!caculateLocal) {
+            for (String eventMeshName : eventMeshMap.keySet()) {
+                String idc = EventMeshClusterView.getIdc(eventMeshName);
+                Integer clientNum = distributionView.getClientDistributionMap(idc).get(eventMeshName);
+                if (clientNum != null) {
+                    remoteClientDistributionMap.put(eventMeshName, clientNum);
                 }
-            } else {
-                logger.error("eventMeshName may be illegal,idc is null,eventMeshName:{}", entry.getKey());
             }
         }
         recommendProxyAddr = recommendProxy(eventMeshMap, (caculateLocal == true) ? localClientDistributionMap
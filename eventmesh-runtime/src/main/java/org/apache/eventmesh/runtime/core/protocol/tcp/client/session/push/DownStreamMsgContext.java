@@ -22,10 +22,10 @@ import org.apache.eventmesh.common.protocol.SubscriptionItem;
 import org.apache.eventmesh.common.protocol.SubscriptionMode;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.plugin.MQConsumerWrapper;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.ClientGroupWrapper;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.retry.RetryContext;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
-import org.apache.eventmesh.runtime.util.ServerGlobal;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
@@ -43,6 +43,11 @@ public class DownStreamMsgContext extends RetryContext {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    /**
+     * Primitive form of the seq, the key of the unack table
+     */
+    public final long seqId;
+
     public Session session;
 
     public AbstractContext consumeConcurrentlyContext;
@@ -62,7 +67,8 @@ public class DownStreamMsgContext extends RetryContext {
     public DownStreamMsgContext(CloudEvent event, Session session, MQConsumerWrapper consumer,
                                 AbstractContext consumeConcurrentlyContext, boolean msgFromOtherEventMesh,
                                 SubscriptionItem subscriptionItem) {
-        this.seq = String.valueOf(ServerGlobal.getInstance().getMsgCounter().incrementAndGet());
+        this.seqId = session == null ? SessionPusher.nextSharedSeq() : session.getPusher().nextSeq();
+        this.seq = String.valueOf(seqId);
         this.event = event;
         this.session = session;
         this.consumer = consumer;
@@ -77,6 +83,10 @@ public class DownStreamMsgContext extends RetryContext {
         this.msgFromOtherEventMesh = msgFromOtherEventMesh;
     }
 
+    public long getExpireTime() {
+        return expireTime;
+    }
+
     public boolean isExpire() {
         return System.currentTimeMillis() >= expireTime;
     }
@@ -119,6 +129,11 @@ public class DownStreamMsgContext extends RetryContext {
             + '}';
     }
 
+    @Override
+    public String retryGroup() {
+        return session.getClient().getGroup();
+    }
+
     @Override
     public void retry() {
         try {
@@ -134,9 +149,9 @@ public class DownStreamMsgContext extends RetryContext {
             Session rechoosen;
             String topic = this.event.getSubject();
             if (SubscriptionMode.BROADCASTING != this.subscriptionItem.getMode()) {
-                rechoosen = Objects.requireNonNull(this.session.getClientGroupWrapper().get())
-                    .getDownstreamDispatchStrategy().select(Objects.requireNonNull(this.session.getClientGroupWrapper().get()).getSysId(),
-                        topic, Objects.requireNonNull(this.session.getClientGroupWrapper().get()).getGroupConsumerSessions());
+                ClientGroupWrapper clientGroupWrapper = Objects.requireNonNull(this.session.getClientGroupWrapper().get());
+                rechoosen = clientGroupWrapper.getDownstreamDispatchStrategy()
+                    .select(clientGroupWrapper.getGroup(), topic, clientGroupWrapper.getTopicSessions(topic));
             } else {
                 rechoosen = this.session;
             }
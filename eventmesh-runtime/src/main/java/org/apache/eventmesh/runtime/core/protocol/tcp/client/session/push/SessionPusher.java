@@ -28,22 +28,23 @@ import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.ClientGroupWrapper;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.trace.TraceUtils;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
+import org.apache.eventmesh.runtime.util.ServerGlobal;
 import org.apache.eventmesh.trace.api.common.EventMeshTraceConstants;
 
-import org.apache.commons.collections4.CollectionUtils;
-
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.cloudevents.core.builder.CloudEventBuilder;
 import io.netty.channel.ChannelFutureListener;
 import io.opentelemetry.api.trace.Span;
 
@@ -57,12 +58,33 @@ public class SessionPusher {
 
     private final AtomicLong deliverFailMsgsCount = new AtomicLong(0);
 
-    private final ConcurrentHashMap<String /* seq */, DownStreamMsgContext> downStreamMap = new ConcurrentHashMap<>();
+    /**
+     * Seqs carry the id of the issuing pusher in the high 32 bits, so they stay unique when a message is re-pushed
+     * to another session. Id 0 is left to messages not bound to a session yet, such as broadcasts.
+     */
+    private static final AtomicInteger PUSHER_ID = new AtomicInteger();
+
+    private static final long SEQ_MASK = 0xFFFFFFFFL;
+
+    private final long seqPrefix = (long) (PUSHER_ID.incrementAndGet() & Integer.MAX_VALUE) << 32;
+
+    private final AtomicInteger seqGenerator = new AtomicInteger();
+
+    private final UnAckMsgTable downStreamMap = new UnAckMsgTable();
+
+    /**
+     * Messages that may still be pushed before the client acks, it goes below zero when pushes race for the last credit
+     */
+    private final AtomicInteger credits = new AtomicInteger();
+
+    private volatile int creditWindow;
 
     private final Session session;
 
     public SessionPusher(Session session) {
         this.session = session;
+        this.creditWindow = session.getEventMeshTCPConfiguration().eventMeshTcpSessionDownstreamUnackSize;
+        this.credits.set(creditWindow);
     }
 
     @Override
@@ -73,7 +95,9 @@ public class SessionPusher {
             +
             ",deliverFailCount=" + deliverFailMsgsCount.longValue()
             +
-            ",unAckMsg=" + CollectionUtils.size(downStreamMap) + '}';
+            ",unAckMsg=" + downStreamMap.size()
+            +
+            ",credits=" + credits.get() + "/" + creditWindow + '}';
     }
 
     public void push(final DownStreamMsgContext downStreamMsgContext) {
@@ -92,15 +116,16 @@ public class SessionPusher {
 
         Package pkg = new Package();
 
-        downStreamMsgContext.event = CloudEventBuilder.from(downStreamMsgContext.event)
+        // a fork, the broadcast sessions share the context
+        EventMeshCloudEvent event = EventMeshCloudEvent.of(downStreamMsgContext.event)
             .withExtension(EventMeshConstants.REQ_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
             .withExtension(EventMeshConstants.RSP_SYS, session.getClient().getSubsystem())
             .withExtension(EventMeshConstants.RSP_GROUP, session.getClient().getGroup())
             .withExtension(EventMeshConstants.RSP_IDC, session.getClient().getIdc())
-            .withExtension(EventMeshConstants.RSP_IP, session.getClient().getHost())
-            .build();
+            .withExtension(EventMeshConstants.RSP_IP, session.getClient().getHost());
+        downStreamMsgContext.event = event;
         try {
-            pkg = (Package) protocolAdaptor.fromCloudEvent(downStreamMsgContext.event);
+            pkg = (Package) protocolAdaptor.fromCloudEvent(event.materialize());
             pkg.setHeader(new Header(cmd, OPStatus.SUCCESS.getCode(), null, downStreamMsgContext.seq));
             pkg.getHeader().putProperty(Constants.PROTOCOL_TYPE, protocolType);
             messageLogger.info("pkg|mq2eventMesh|cmd={}|mqMsg={}|user={}", cmd, pkg, session.getClient());
@@ -114,9 +139,7 @@ public class SessionPusher {
                 .incrementAndGet();
 
             //TODO uploadTrace
-            String protocolVersion = Objects.requireNonNull(downStreamMsgContext.event.getSpecVersion()).toString();
-
-            Span span = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion, downStreamMsgContext.event),
+            Span span = TraceUtils.prepareClientSpan(downStreamMsgContext.event,
                 EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_CLIENT_SPAN, false);
 
             try {
@@ -158,16 +181,111 @@ public class SessionPusher {
         }
     }
 
-    public void unAckMsg(String seq, DownStreamMsgContext downStreamMsgContext) {
-        downStreamMap.put(seq, downStreamMsgContext);
-        logger.info("put msg in unAckMsg,seq:{},unAckMsgSize:{}", seq, getTotalUnackMsgs());
+    /**
+     * Next seq of this session, without touching any counter shared with the other sessions.
+     */
+    public long nextSeq() {
+        return seqPrefix | (seqGenerator.incrementAndGet() & SEQ_MASK);
+    }
+
+    /**
+     * Seq of a message which is not bound to a session when it is created.
+     */
+    public static long nextSharedSeq() {
+        return ServerGlobal.getInstance().getMsgCounter().incrementAndGet() & SEQ_MASK;
+    }
+
+    public void unAckMsg(DownStreamMsgContext downStreamMsgContext) {
+        if (downStreamMap.put(downStreamMsgContext.seqId, downStreamMsgContext)) {
+            credits.decrementAndGet();
+        }
+        logger.info("put msg in unAckMsg,seq:{},unAckMsgSize:{}", downStreamMsgContext.seq, getTotalUnackMsgs());
+    }
+
+    public DownStreamMsgContext getUnAckMsg(long seq) {
+        return downStreamMap.get(seq);
+    }
+
+    /**
+     * Remove an acked or expired message and give its credit back.
+     *
+     * @return the removed message, null if the seq is not unacked
+     */
+    public DownStreamMsgContext removeUnAckMsg(long seq) {
+        DownStreamMsgContext downStreamMsgContext = downStreamMap.remove(seq);
+        if (downStreamMsgContext != null) {
+            releaseCredits(1);
+        }
+        return downStreamMsgContext;
+    }
+
+    /**
+     * Remove the messages which expired before now and give their credits back.
+     *
+     * @return the removed messages
+     */
+    public List<DownStreamMsgContext> removeExpiredUnAckMsgs(long now) {
+        List<DownStreamMsgContext> expired = downStreamMap.removeExpired(now);
+        if (!expired.isEmpty()) {
+            releaseCredits(expired.size());
+        }
+        return expired;
+    }
+
+    private void releaseCredits(int released) {
+        int after = credits.addAndGet(released);
+        if (after > 0 && after - released <= 0) {
+            ClientGroupWrapper clientGroupWrapper = session.getClientGroupWrapper() == null
+                ? null : session.getClientGroupWrapper().get();
+            if (clientGroupWrapper != null) {
+                clientGroupWrapper.notifyDownstreamCredit();
+            }
+        }
+    }
+
+    /**
+     * Apply the credit window granted by the client, capped by the server side limit.
+     *
+     * @param requested window asked by the client, the current window is kept if it is not positive
+     */
+    public void grantCredits(int requested) {
+        if (requested <= 0) {
+            return;
+        }
+        int window = Math.min(requested, session.getEventMeshTCPConfiguration().eventMeshTcpSessionDownstreamUnackSize);
+        synchronized (this) {
+            if (window == creditWindow) {
+                return;
+            }
+            credits.addAndGet(window - creditWindow);
+            creditWindow = window;
+        }
+        logger.info("grant downstream credits,window:{},client:{}", window, session.getClient());
+        // the window weighs the session in the dispatch of its group, refreshed outside the lock of the pusher
+        ClientGroupWrapper clientGroupWrapper = session.getClientGroupWrapper() == null
+            ? null : session.getClientGroupWrapper().get();
+        if (clientGroupWrapper != null) {
+            clientGroupWrapper.refreshTopicSessions(session);
+        }
+    }
+
+    public boolean hasCredit() {
+        return credits.get() > 0;
+    }
+
+    public int getCredits() {
+        return credits.get();
+    }
+
+    public int getCreditWindow() {
+        return creditWindow;
     }
 
     public int getTotalUnackMsgs() {
         return downStreamMap.size();
     }
 
-    public ConcurrentHashMap<String, DownStreamMsgContext> getUnAckMsg() {
+    public UnAckMsgTable getUnAckMsg() {
         return downStreamMap;
     }
 
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.util.collection.LongObjectHashMap;
+
+/**
+ * Unacked downstream messages of one session, keyed by the primitive seq.
+ * <p>
+ * Entries are spread over shards by seq, so pushes, acks and sweeps only contend when they hit the same shard.
+ * Each shard also files its seqs in expire time buckets, a sweep only visits the buckets that are due
+ * instead of scanning every unacked message. Acked seqs are dropped from their bucket lazily, by the sweep.
+ */
+public class UnAckMsgTable {
+
+    static final int SHARDS = 16;
+
+    static final long EXPIRE_BUCKET_IN_MILLS = 1000;
+
+    private final Shard[] shards = new Shard[SHARDS];
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    public UnAckMsgTable() {
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    private Shard shardOf(long seq) {
+        return shards[(int) (seq ^ (seq >>> 32)) & (SHARDS - 1)];
+    }
+
+    /**
+     * @return true if the seq was not unacked yet
+     */
+    public boolean put(long seq, DownStreamMsgContext downStreamMsgContext) {
+        Shard shard = shardOf(seq);
+        synchronized (shard) {
+            if (shard.entries.put(seq, downStreamMsgContext) != null) {
+                return false;
+            }
+            shard.expiry.computeIfAbsent(downStreamMsgContext.getExpireTime() / EXPIRE_BUCKET_IN_MILLS, k -> new SeqList())
+                .add(seq);
+        }
+        size.incrementAndGet();
+        return true;
+    }
+
+    public DownStreamMsgContext get(long seq) {
+        Shard shard = shardOf(seq);
+        synchronized (shard) {
+            return shard.entries.get(seq);
+        }
+    }
+
+    public DownStreamMsgContext remove(long seq) {
+        Shard shard = shardOf(seq);
+        DownStreamMsgContext removed;
+        synchronized (shard) {
+            removed = shard.entries.remove(seq);
+        }
+        if (removed != null) {
+            size.decrementAndGet();
+        }
+        return removed;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Snapshot of the unacked messages.
+     */
+    public List<DownStreamMsgContext> values() {
+        List<DownStreamMsgContext> values = new ArrayList<>(size());
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                values.addAll(shard.entries.values());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Remove the messages which expired before now.
+     *
+     * @return the removed messages
+     */
+    public List<DownStreamMsgContext> removeExpired(long now) {
+        List<DownStreamMsgContext> expired = new ArrayList<>();
+        long dueBucket = now / EXPIRE_BUCKET_IN_MILLS;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                Map.Entry<Long, SeqList> bucket;
+                SeqList notExpired = null;
+                while ((bucket = shard.expiry.firstEntry()) != null && bucket.getKey() <= dueBucket) {
+                    shard.expiry.pollFirstEntry();
+                    SeqList seqs = bucket.getValue();
+                    for (int i = 0; i < seqs.size; i++) {
+                        long seq = seqs.seqs[i];
+                        DownStreamMsgContext downStreamMsgContext = shard.entries.get(seq);
+                        if (downStreamMsgContext == null) {
+                            continue;
+                        }
+                        if (downStreamMsgContext.getExpireTime() <= now) {
+                            shard.entries.remove(seq);
+                            expired.add(downStreamMsgContext);
+                        } else {
+                            if (notExpired == null) {
+                                notExpired = new SeqList();
+                            }
+                            notExpired.add(seq);
+                        }
+                    }
+                }
+                if (notExpired != null) {
+                    shard.expiry.put(dueBucket, notExpired);
+                }
+            }
+        }
+        size.addAndGet(-expired.size());
+        return expired;
+    }
+
+    /**
+     * Parse a seq acked by the client.
+     *
+     * @return the seq, -1 if it is not a non-negative decimal number
+     */
+    public static long parseSeq(String seq) {
+        if (seq == null || seq.isEmpty() || seq.length() > 19) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < seq.length(); i++) {
+            char c = seq.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+            if (value < 0) {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    private static final class Shard {
+
+        private final LongObjectHashMap<DownStreamMsgContext> entries = new LongObjectHashMap<>();
+
+        private final TreeMap<Long, SeqList> expiry = new TreeMap<>();
+    }
+
+    private static final class SeqList {
+
+        private long[] seqs = new long[8];
+
+        private int size;
+
+        private void add(long seq) {
+            if (size == seqs.length) {
+                seqs = Arrays.copyOf(seqs, size << 1);
+            }
+            seqs[size++] = seq;
+        }
+    }
+}
@@ -19,15 +19,11 @@ package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.retry;
 
 import org.apache.eventmesh.common.protocol.SubscriptionType;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
-import org.apache.eventmesh.runtime.util.EventMeshThreadFactoryImpl;
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,16 +33,7 @@ public class EventMeshTcpRetryer {
 
     private EventMeshTCPServer eventMeshTCPServer;
 
-    private DelayQueue<RetryContext> retrys = new DelayQueue<RetryContext>();
-
-    private ThreadPoolExecutor pool = new ThreadPoolExecutor(3,
-        3,
-        60000,
-        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(1000),
-        new EventMeshThreadFactoryImpl("eventMesh-tcp-retry", true),
-        new ThreadPoolExecutor.AbortPolicy());
-
-    private Thread dispatcher;
+    private RetryEngine retryEngine;
 
     public EventMeshTcpRetryer(EventMeshTCPServer eventMeshTCPServer) {
         this.eventMeshTCPServer = eventMeshTCPServer;
@@ -61,13 +48,6 @@ public class EventMeshTcpRetryer {
     }
 
     public void pushRetry(RetryContext retryContext) {
-        if (retrys.size() >= eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgRetryQueueSize) {
-            logger.error("pushRetry fail,retrys is too much,allow max retryQueueSize:{}, retryTimes:{}, seq:{}, bizSeq:{}",
-                eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgRetryQueueSize, retryContext.retryTimes,
-                retryContext.seq, EventMeshUtil.getMessageBizSeq(retryContext.event));
-            return;
-        }
-
         int maxRetryTimes = eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgAsyncRetryTimes;
         if (retryContext instanceof DownStreamMsgContext) {
             DownStreamMsgContext downStreamMsgContext = (DownStreamMsgContext) retryContext;
@@ -82,41 +62,39 @@ public class EventMeshTcpRetryer {
             return;
         }
 
-        retrys.offer(retryContext);
+        if (!retryEngine.schedule(retryContext.retryGroup(), retryContext.executeTime, retryContext::retry)) {
+            logger.error("pushRetry fail,retrys is too much,allow max retryQueueSize:{}, retryTimes:{}, seq:{}, bizSeq:{}",
+                eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgRetryQueueSize, retryContext.retryTimes,
+                retryContext.seq, EventMeshUtil.getMessageBizSeq(retryContext.event));
+            return;
+        }
         logger.info("pushRetry success,seq:{}, retryTimes:{}, bizSeq:{}", retryContext.seq, retryContext.retryTimes,
             EventMeshUtil.getMessageBizSeq(retryContext.event));
     }
 
     public void init() {
-        dispatcher = new Thread(() -> {
-            try {
-                RetryContext retryContext;
-                while ((retryContext = retrys.take()) != null) {
-                    pool.execute(retryContext::retry);
-                }
-            } catch (Exception e) {
-                logger.error("retry-dispatcher error!", e);
-            }
-        }, "retry-dispatcher");
-        dispatcher.setDaemon(true);
+        EventMeshTCPConfiguration configuration = eventMeshTCPServer.getEventMeshTCPConfiguration();
+        retryEngine = new RetryEngine("eventMesh-tcp-retry", configuration.eventMeshTcpMsgRetryThreadNum,
+            configuration.eventMeshTcpMsgRetryQueueSize,
+            configuration.getEventMeshServerRetryGroupBudget(), configuration.getEventMeshServerRetryMaxBackoffInMills());
         logger.info("EventMeshTcpRetryer inited......");
     }
 
     public void start() throws Exception {
-        dispatcher.start();
+        retryEngine.start();
         logger.info("EventMeshTcpRetryer started......");
     }
 
     public void shutdown() {
-        pool.shutdown();
+        retryEngine.shutdown();
         logger.info("EventMeshTcpRetryer shutdown......");
     }
 
     public int getRetrySize() {
-        return retrys.size();
+        return retryEngine.size();
     }
 
-    public void printRetryThreadPoolState() {
-        //ThreadPoolHelper.printState(pool);
+    public RetryEngine getRetryEngine() {
+        return retryEngine;
     }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.retry;
 
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
+
 import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
 
@@ -33,10 +35,17 @@ public abstract class RetryContext implements Delayed {
     public long executeTime = System.currentTimeMillis();
 
     public RetryContext delay(long delay) {
-        this.executeTime = System.currentTimeMillis() + (retryTimes + 1) * delay;
+        this.executeTime = System.currentTimeMillis() + RetryEngine.backoff(delay, retryTimes);
         return this;
     }
 
+    /**
+     * Group the retry is accounted to by the retry engine.
+     */
+    public String retryGroup() {
+        return RetryEngine.DEFAULT_GROUP;
+    }
+
     @Override
     public int compareTo(Delayed delayed) {
         RetryContext obj = (RetryContext) delayed;
@@ -28,9 +28,9 @@ import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.trace.TraceUtils;
-import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.runtime.util.Utils;
 import org.apache.eventmesh.trace.api.common.EventMeshTraceConstants;
 
@@ -94,8 +94,6 @@ public class SessionSender {
                 UpStreamMsgContext upStreamMsgContext;
                 Command cmd = header.getCmd();
 
-                String protocolVersion = header.getProperty(Constants.PROTOCOL_VERSION).toString();
-
                 long ttl = EventMeshConstants.DEFAULT_TIMEOUT_IN_MILLISECONDS;
                 if (Command.REQUEST_TO_SERVER == cmd) {
                     if (event.getExtension(EventMeshConstants.PROPERTY_MESSAGE_TTL) != null) {
@@ -104,8 +102,7 @@ public class SessionSender {
                     }
                     upStreamMsgContext = new UpStreamMsgContext(session, event, header, startTime, taskExecuteTime);
 
-                    Span span = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion,
-                                    event),
+                    Span span = TraceUtils.prepareClientSpan(event,
                             EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_CLIENT_SPAN, false);
                     try {
                         Objects.requireNonNull(session.getClientGroupWrapper().get())
@@ -129,8 +126,7 @@ public class SessionSender {
                 } else {
                     upStreamMsgContext = new UpStreamMsgContext(session, event, header, startTime, taskExecuteTime);
 
-                    Span span = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion,
-                                    event),
+                    Span span = TraceUtils.prepareClientSpan(event,
                             EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_CLIENT_SPAN, false);
                     try {
                         Objects.requireNonNull(session.getClientGroupWrapper().get())
@@ -170,11 +166,10 @@ public class SessionSender {
             public void onSuccess(CloudEvent event) {
                 String seq = header.getSeq();
                 // TODO: How to assign values here
-                event = CloudEventBuilder.from(event)
+                EventMeshCloudEvent response = EventMeshCloudEvent.of(event)
                         .withExtension(EventMeshConstants.RSP_MQ2EVENTMESH_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
                         .withExtension(EventMeshConstants.RSP_RECEIVE_EVENTMESH_IP,
-                                session.getEventMeshTCPConfiguration().getEventMeshServerIp())
-                        .build();
+                                session.getEventMeshTCPConfiguration().getEventMeshServerIp());
                 Objects.requireNonNull(session.getClientGroupWrapper().get())
                         .getEventMeshTcpMonitor().getTcpSummaryMetrics().getMq2eventMeshMsgNum()
                         .incrementAndGet();
@@ -183,12 +178,11 @@ public class SessionSender {
                 if (Command.REQUEST_TO_SERVER == header.getCmd()) {
                     cmd = Command.RESPONSE_TO_CLIENT;
                 } else {
-                    MESSAGE_LOGGER.error("invalid message|messageHeader={}|event={}", header, event);
+                    MESSAGE_LOGGER.error("invalid message|messageHeader={}|event={}", header, response);
                     return;
                 }
-                event = CloudEventBuilder.from(event)
-                        .withExtension(EventMeshConstants.RSP_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
-                        .build();
+                response.withExtension(EventMeshConstants.RSP_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()));
+                event = response.materialize();
                 String protocolType = Objects.requireNonNull(event.getExtension(Constants.PROTOCOL_TYPE)).toString();
 
                 ProtocolAdaptor<ProtocolTransportObject> protocolAdaptor = ProtocolPluginFactory.getProtocolAdaptor(protocolType);
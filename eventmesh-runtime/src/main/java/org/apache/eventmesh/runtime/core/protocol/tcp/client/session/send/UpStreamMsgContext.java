@@ -85,6 +85,11 @@ public class UpStreamMsgContext extends RetryContext {
             + ",executeTime=" + DateFormatUtils.format(executeTime, EventMeshConstants.DATE_FORMAT);
     }
 
+    @Override
+    public String retryGroup() {
+        return session.getClient().getGroup();
+    }
+
     @Override
     public void retry() {
         logger.info("retry upStream msg start,seq:{},retryTimes:{},bizSeq:{}", this.seq, this.retryTimes,
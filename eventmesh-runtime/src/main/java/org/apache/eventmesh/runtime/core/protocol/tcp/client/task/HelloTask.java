@@ -24,6 +24,7 @@ import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.common.protocol.tcp.OPStatus;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
 import org.apache.eventmesh.runtime.acl.Acl;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.common.ServiceState;
@@ -75,6 +76,7 @@ public class HelloTask extends AbstractTask {
             session = eventMeshTCPServer.getClientSessionGroupMapping().createSession(user, ctx);
             res.setHeader(new Header(HELLO_RESPONSE, OPStatus.SUCCESS.getCode(), OPStatus.SUCCESS.getDesc(),
                     pkg.getHeader().getSeq()));
+            negotiateHeaderFormat(user, res);
             Utils.writeAndFlush(res, startTime, taskExecuteTime, session.getContext(), session);
         } catch (Throwable e) {
             MESSAGE_LOGGER.error("HelloTask failed|address={},errMsg={}", ctx.channel().remoteAddress(), e);
@@ -97,6 +99,19 @@ public class HelloTask extends AbstractTask {
         }
     }
 
+    /**
+     * Confirm the binary header format if the client asked for it, the decoder on both sides detects the format
+     * per frame, so the switch may take effect from this response on.
+     */
+    private void negotiateHeaderFormat(UserAgent user, Package res) {
+        if (!eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpBinaryHeaderEnabled
+                || !StringUtils.equals(Codec.HEADER_FORMAT_BINARY, user.getHeaderFormat())) {
+            return;
+        }
+        res.getHeader().putProperty(Codec.HEADER_FORMAT_PROPERTY, Codec.HEADER_FORMAT_BINARY);
+        Codec.enableBinaryHeader(ctx.channel());
+    }
+
     private void validateUserAgent(UserAgent user) throws Exception {
         if (user == null) {
             throw new Exception("client info cannot be null");
@@ -19,6 +19,7 @@ package org.apache.eventmesh.runtime.core.protocol.tcp.client.task;
 
 import static org.apache.eventmesh.common.protocol.tcp.Command.LISTEN_RESPONSE;
 
+import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.common.protocol.tcp.OPStatus;
 import org.apache.eventmesh.common.protocol.tcp.Package;
@@ -43,6 +44,9 @@ public class ListenTask extends AbstractTask {
         Header header = new Header(LISTEN_RESPONSE, OPStatus.SUCCESS.getCode(), OPStatus.SUCCESS.getDesc(), pkg.getHeader().getSeq());
         session.setListenRequestSeq(pkg.getHeader().getSeq());
         try {
+            Object credits = pkg.getHeader().getProperty(Constants.LISTEN_CREDITS);
+            session.getPusher().grantCredits(credits == null
+                ? session.getClient().getUnack() : Integer.parseInt(credits.toString()));
             synchronized (session) {
                 eventMeshTCPServer.getClientSessionGroupMapping().readySession(session);
             }
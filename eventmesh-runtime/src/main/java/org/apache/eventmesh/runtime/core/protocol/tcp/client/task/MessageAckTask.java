@@ -21,6 +21,7 @@ import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.UnAckMsgTable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,11 +48,12 @@ public class MessageAckTask extends AbstractTask {
             LOGGER.error("MessageAckTask failed, seq cannot be null|user={}", session.getClient());
             return;
         }
-        DownStreamMsgContext downStreamMsgContext = session.getPusher().getUnAckMsg().get(seq);
+        long seqId = UnAckMsgTable.parseSeq(seq);
+        DownStreamMsgContext downStreamMsgContext = seqId < 0 ? null : session.getPusher().getUnAckMsg(seqId);
         // ack non-broadcast msg
         if (downStreamMsgContext != null) {
             downStreamMsgContext.ackMsg();
-            session.getPusher().getUnAckMsg().remove(seq);
+            session.getPusher().removeUnAckMsg(seqId);
         } else {
             if (cmd != Command.RESPONSE_TO_CLIENT_ACK) {
                 LOGGER.warn("MessageAckTask, seq:{}, downStreamMsgContext not in downStreamMap,client:{}",
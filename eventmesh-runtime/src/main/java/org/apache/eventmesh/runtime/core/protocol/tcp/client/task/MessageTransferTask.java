@@ -33,6 +33,7 @@ import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.acl.Acl;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.EventMeshTcpSendResult;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.EventMeshTcpSendStatus;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.UpStreamMsgContext;
@@ -53,7 +54,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
-import io.cloudevents.core.builder.CloudEventBuilder;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -190,23 +190,21 @@ public class MessageTransferTask extends AbstractTask {
 
     private CloudEvent addTimestamp(CloudEvent event, Command cmd, long sendTime) {
         if (cmd == RESPONSE_TO_SERVER) {
-            event = CloudEventBuilder.from(event)
+            event = EventMeshCloudEvent.of(event)
                     .withExtension(EventMeshConstants.RSP_C2EVENTMESH_TIMESTAMP,
                             String.valueOf(startTime))
                     .withExtension(EventMeshConstants.RSP_EVENTMESH2MQ_TIMESTAMP,
                             String.valueOf(sendTime))
                     .withExtension(EventMeshConstants.RSP_SEND_EVENTMESH_IP,
-                            eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshServerIp())
-                    .build();
+                            eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshServerIp());
         } else {
-            event = CloudEventBuilder.from(event)
+            event = EventMeshCloudEvent.of(event)
                     .withExtension(EventMeshConstants.REQ_C2EVENTMESH_TIMESTAMP,
                             String.valueOf(startTime))
                     .withExtension(EventMeshConstants.REQ_EVENTMESH2MQ_TIMESTAMP,
                             String.valueOf(sendTime))
                     .withExtension(EventMeshConstants.REQ_SEND_EVENTMESH_IP,
-                            eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshServerIp())
-                    .build();
+                            eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshServerIp());
         }
         return event;
     }
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.retry;
+
+import org.apache.eventmesh.runtime.util.EventMeshThreadFactoryImpl;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
+/**
+ * Retry scheduler shared by the tcp, http and grpc retryers.
+ * <p>
+ * Pending retries are parked on a hashed timing wheel, so scheduling costs O(1) whatever the backlog is.
+ * When a retry is due it is queued under its consumer group, and the workers take one retry per ready group
+ * in turn, so a group with a large backlog can not starve the others.
+ * The engine is bounded by a global capacity and by an optional budget per group.
+ */
+public class RetryEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryEngine.class);
+
+    public static final String DEFAULT_GROUP = "default";
+
+    private static final long TICK_DURATION_IN_MILLS = 10;
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    private final String name;
+
+    private final int capacity;
+
+    private final int groupBudget;
+
+    private final long maxDelayInMills;
+
+    private final HashedWheelTimer timer;
+
+    private final Thread[] workers;
+
+    private final ConcurrentHashMap<String, GroupQueue> groups = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<GroupQueue> readyGroups = new LinkedBlockingQueue<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final RetryLatencyHistogram latency = new RetryLatencyHistogram();
+
+    private volatile boolean running;
+
+    /**
+     * @param name            thread name prefix
+     * @param workerNum       threads running the due retries
+     * @param capacity        max pending retries of the engine
+     * @param groupBudget     max pending retries of one group, 0 means no limit besides the capacity
+     * @param maxDelayInMills upper bound of the delay of one retry
+     */
+    public RetryEngine(String name, int workerNum, int capacity, int groupBudget, long maxDelayInMills) {
+        this.name = name;
+        this.capacity = capacity;
+        this.groupBudget = groupBudget;
+        this.maxDelayInMills = maxDelayInMills;
+        this.timer = new HashedWheelTimer(new EventMeshThreadFactoryImpl(name + "-timer", true),
+            TICK_DURATION_IN_MILLS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+        this.workers = new Thread[Math.max(1, workerNum)];
+        EventMeshThreadFactoryImpl workerFactory = new EventMeshThreadFactoryImpl(name, true);
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = workerFactory.newThread(this::work);
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter: the delay of attempt n is picked in [base * 2^n / 2, base * 2^n].
+     *
+     * @param baseDelay delay of the first attempt in millis
+     * @param attempt   number of attempts made so far
+     */
+    public static long backoff(long baseDelay, int attempt) {
+        if (baseDelay <= 0) {
+            return 0;
+        }
+        int shift = Math.min(Math.max(attempt, 0), MAX_BACKOFF_SHIFT);
+        long delay = shift >= Long.numberOfLeadingZeros(baseDelay) ? Long.MAX_VALUE : baseDelay << shift;
+        long half = delay >>> 1;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /**
+     * Schedule a retry.
+     *
+     * @param group       consumer or producer group the retry is accounted to
+     * @param executeTime when the retry is due, in millis
+     * @param task        the retry
+     * @return false if the engine or the group has no room left
+     */
+    public boolean schedule(String group, long executeTime, Runnable task) {
+        GroupQueue groupQueue = groups.computeIfAbsent(StringUtils.isBlank(group) ? DEFAULT_GROUP : group, GroupQueue::new);
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        if (groupQueue.pending.incrementAndGet() > groupBudget && groupBudget > 0) {
+            groupQueue.pending.decrementAndGet();
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        long delay = executeTime - now;
+        if (delay > maxDelayInMills) {
+            delay = backoffCap();
+            executeTime = now + delay;
+        }
+        RetryTask retryTask = new RetryTask(groupQueue, executeTime, task);
+        try {
+            timer.newTimeout(retryTask, Math.max(delay, 0), TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException | RejectedExecutionException e) {
+            groupQueue.pending.decrementAndGet();
+            pending.decrementAndGet();
+            rejected.increment();
+            logger.warn("{} schedule retry fail, engine is stopped", name);
+            return false;
+        }
+        return true;
+    }
+
+    private long backoffCap() {
+        long half = maxDelayInMills >>> 1;
+        return half + ThreadLocalRandom.current().nextLong(maxDelayInMills - half + 1);
+    }
+
+    public void start() {
+        running = true;
+        timer.start();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        logger.info("{} retry engine started, workers:{}, capacity:{}, groupBudget:{}", name, workers.length, capacity,
+            groupBudget);
+    }
+
+    public void shutdown() {
+        running = false;
+        timer.stop();
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        logger.info("{} retry engine shutdown", name);
+    }
+
+    /**
+     * Retries waiting on the wheel or queued for a worker.
+     */
+    public int size() {
+        return pending.get();
+    }
+
+    public int size(String group) {
+        GroupQueue groupQueue = groups.get(group);
+        return groupQueue == null ? 0 : groupQueue.pending.get();
+    }
+
+    public long getRejectedNum() {
+        return rejected.sum();
+    }
+
+    /**
+     * Latency between the time a retry was due and the time it started running.
+     */
+    public RetryLatencyHistogram getLatency() {
+        return latency;
+    }
+
+    private void work() {
+        while (running) {
+            GroupQueue groupQueue;
+            try {
+                groupQueue = readyGroups.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            RetryTask retryTask = groupQueue.tasks.poll();
+            groupQueue.requeue();
+            if (retryTask != null) {
+                retryTask.execute();
+            }
+        }
+    }
+
+    private final class GroupQueue {
+
+        private final String group;
+
+        private final Queue<RetryTask> tasks = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private final AtomicBoolean ready = new AtomicBoolean();
+
+        private GroupQueue(String group) {
+            this.group = group;
+        }
+
+        private void offer(RetryTask retryTask) {
+            tasks.offer(retryTask);
+            signal();
+        }
+
+        private void signal() {
+            if (ready.compareAndSet(false, true)) {
+                readyGroups.offer(this);
+            }
+        }
+
+        /**
+         * Put the group back at the tail of the ready queue while it still has due retries.
+         */
+        private void requeue() {
+            if (!tasks.isEmpty()) {
+                readyGroups.offer(this);
+                return;
+            }
+            ready.set(false);
+            if (!tasks.isEmpty()) {
+                signal();
+            }
+        }
+    }
+
+    private final class RetryTask implements TimerTask {
+
+        private final GroupQueue groupQueue;
+
+        private final long executeTime;
+
+        private final Runnable task;
+
+        private RetryTask(GroupQueue groupQueue, long executeTime, Runnable task) {
+            this.groupQueue = groupQueue;
+            this.executeTime = executeTime;
+            this.task = task;
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            groupQueue.offer(this);
+        }
+
+        private void execute() {
+            latency.record(System.currentTimeMillis() - executeTime);
+            // release the slot first, a retry which fails again is pushed back from inside the task
+            groupQueue.pending.decrementAndGet();
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                logger.error("{} retry of group {} error", name, groupQueue.group, e);
+            }
+        }
+    }
+}
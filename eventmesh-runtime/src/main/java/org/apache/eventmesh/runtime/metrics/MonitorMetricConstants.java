@@ -29,6 +29,8 @@ public class MonitorMetricConstants {
     public static final String ALL_TPS = "allTPS";
     public static final String CONNECTION = "connection";
     public static final String SUB_TOPIC_NUM = "subTopicNum";
+    public static final String PARTIAL_FRAME_WAIT_NUM = "partialFrameWaitNum";
+    public static final String OVERSIZE_FRAME_REJECT_NUM = "oversizeFrameRejectNum";
 
     public static final String RETRY_QUEUE_SIZE = "retryQueueSize";
 
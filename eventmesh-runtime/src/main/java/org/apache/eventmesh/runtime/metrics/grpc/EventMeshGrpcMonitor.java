@@ -21,6 +21,7 @@ import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.metrics.api.MetricsRegistry;
 import org.apache.eventmesh.metrics.api.model.GrpcSummaryMetrics;
 import org.apache.eventmesh.runtime.boot.EventMeshGrpcServer;
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
 import org.apache.eventmesh.runtime.util.EventMeshThreadFactoryImpl;
 
 import java.util.List;
@@ -66,6 +67,11 @@ public class EventMeshGrpcMonitor {
             grpcSummaryMetrics.refreshTpsMetrics(SCHEDULE_PERIOD_MILLS);
             grpcSummaryMetrics.clearAllMessageCounter();
             grpcSummaryMetrics.setRetrySize(eventMeshGrpcServer.getGrpcRetryer().size());
+            RetryEngine retryEngine = eventMeshGrpcServer.getGrpcRetryer().getRetryEngine();
+            grpcSummaryMetrics.setRetryLatencyP50(retryEngine.getLatency().percentile(0.5));
+            grpcSummaryMetrics.setRetryLatencyP99(retryEngine.getLatency().percentile(0.99));
+            grpcSummaryMetrics.setRetryRejectNum(retryEngine.getRejectedNum());
+            retryEngine.getLatency().reset();
             grpcSummaryMetrics.setSubscribeTopicNum(eventMeshGrpcServer.getConsumerManager().getAllConsumerTopic().size());
         }, DELAY_MILLS, SCHEDULE_PERIOD_MILLS, TimeUnit.MILLISECONDS);
     }
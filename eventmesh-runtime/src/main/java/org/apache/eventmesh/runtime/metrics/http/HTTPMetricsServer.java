@@ -20,8 +20,12 @@ package org.apache.eventmesh.runtime.metrics.http;
 import org.apache.eventmesh.metrics.api.MetricsRegistry;
 import org.apache.eventmesh.metrics.api.model.HttpSummaryMetrics;
 import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.core.protocol.http.push.HttpPushEndpointHealth;
+import org.apache.eventmesh.runtime.core.retry.RetryLatencyHistogram;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -38,6 +42,8 @@ public class HTTPMetricsServer {
 
     private static final Logger HTTP_LOGGER = LoggerFactory.getLogger("httpMonitor");
 
+    private static final long PRINT_PERIOD_IN_MILLS = 30 * 1000;
+
     private final transient EventMeshHTTPServer eventMeshHTTPServer;
 
     private final transient List<MetricsRegistry> metricsRegistries;
@@ -51,7 +57,7 @@ public class HTTPMetricsServer {
             eventMeshHTTPServer.batchMsgExecutor,
             eventMeshHTTPServer.sendMsgExecutor,
             eventMeshHTTPServer.pushMsgExecutor,
-            eventMeshHTTPServer.getHttpRetryer().getFailedQueue());
+            () -> eventMeshHTTPServer.getHttpRetryer().size());
     }
 
     public void init() throws Exception {
@@ -85,7 +91,7 @@ public class HTTPMetricsServer {
             } catch (Exception ex) {
                 log.warn("eventMesh print metrics err", ex);
             }
-        }, 1000, 30 * 1000, TimeUnit.MILLISECONDS);
+        }, 1000, PRINT_PERIOD_IN_MILLS, TimeUnit.MILLISECONDS);
 
         if (log.isInfoEnabled()) {
             log.info("HTTPMetricsServer started......");
@@ -117,12 +123,14 @@ public class HTTPMetricsServer {
         if (HTTP_LOGGER.isInfoEnabled()) {
             HTTP_LOGGER.info("===========================================SERVER METRICS==================================================");
 
-            HTTP_LOGGER.info("maxHTTPTPS: {}, avgHTTPTPS: {}, maxHTTPCOST: {}, avgHTTPCOST: {}, avgHTTPBodyDecodeCost: {}, httpDiscard: {}",
+            HTTP_LOGGER.info("maxHTTPTPS: {}, avgHTTPTPS: {}, maxHTTPCOST: {}, avgHTTPCOST: {}, avgHTTPBodyDecodeCost: {}, "
+                    + "avgHTTPBodyDecodeAllocatedBytes: {}, httpDiscard: {}",
                 summaryMetrics.maxHTTPTPS(),
                 summaryMetrics.avgHTTPTPS(),
                 summaryMetrics.maxHTTPCost(),
                 summaryMetrics.avgHTTPCost(),
                 summaryMetrics.avgHTTPBodyDecodeCost(),
+                summaryMetrics.avgHTTPBodyDecodeAllocatedBytes(),
                 summaryMetrics.getHttpDiscard());
         }
 
@@ -178,6 +186,42 @@ public class HTTPMetricsServer {
                 eventMeshHTTPServer.getHttpRetryer().size());
         }
 
+        RetryLatencyHistogram retryLatency = eventMeshHTTPServer.getHttpRetryer().getRetryEngine().getLatency();
+        summaryMetrics.setRetryLatencyP50(retryLatency.percentile(0.5));
+        summaryMetrics.setRetryLatencyP99(retryLatency.percentile(0.99));
+        summaryMetrics.setRetryRejectNum(eventMeshHTTPServer.getHttpRetryer().getRetryEngine().getRejectedNum());
+        retryLatency.reset();
+        if (HTTP_LOGGER.isInfoEnabled()) {
+            HTTP_LOGGER.info("retryLatencyP50: {}, retryLatencyP99: {}, retryRejectNum: {}",
+                summaryMetrics.getRetryLatencyP50(),
+                summaryMetrics.getRetryLatencyP99(),
+                summaryMetrics.getRetryRejectNum());
+        }
+
+        Map<String, Double> pushTimeoutRate = new HashMap<>();
+        eventMeshHTTPServer.getPushTimeoutTracker().drainTimeoutNum()
+            .forEach((group, num) -> pushTimeoutRate.put(group, num * 1000d / PRINT_PERIOD_IN_MILLS));
+        summaryMetrics.setPushTimeoutRate(pushTimeoutRate);
+        if (HTTP_LOGGER.isInfoEnabled()) {
+            HTTP_LOGGER.info("pushTimeoutRate: {}", pushTimeoutRate);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, Double> pushEndpointLatency = new HashMap<>();
+        Map<String, Double> pushEndpointErrorRate = new HashMap<>();
+        Map<String, Integer> pushEndpointEjected = new HashMap<>();
+        for (HttpPushEndpointHealth health : eventMeshHTTPServer.getPushEndpoints().getEndpoints()) {
+            pushEndpointLatency.put(health.getUrl(), health.getLatencyEwma());
+            pushEndpointErrorRate.put(health.getUrl(), health.getErrorRate(now));
+            pushEndpointEjected.put(health.getUrl(), health.getState() == HttpPushEndpointHealth.State.CLOSED ? 0 : 1);
+        }
+        summaryMetrics.setPushEndpointLatency(pushEndpointLatency);
+        summaryMetrics.setPushEndpointErrorRate(pushEndpointErrorRate);
+        summaryMetrics.setPushEndpointEjected(pushEndpointEjected);
+        if (HTTP_LOGGER.isInfoEnabled()) {
+            HTTP_LOGGER.info("pushEndpointErrorRate: {}, pushEndpointEjected: {}", pushEndpointErrorRate, pushEndpointEjected);
+        }
+
         if (HTTP_LOGGER.isInfoEnabled()) {
             HTTP_LOGGER.info("batchAvgSend2MQCost: {}, avgSend2MQCost: {}, avgReply2MQCost: {}",
                 summaryMetrics.avgBatchSendMsgCost(),
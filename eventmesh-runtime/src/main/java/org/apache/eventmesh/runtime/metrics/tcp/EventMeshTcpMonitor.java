@@ -17,12 +17,14 @@
 
 package org.apache.eventmesh.runtime.metrics.tcp;
 
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
 import org.apache.eventmesh.metrics.api.MetricsRegistry;
 import org.apache.eventmesh.metrics.api.model.TcpSummaryMetrics;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpConnectionHandler;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.retry.RetryEngine;
 import org.apache.eventmesh.runtime.metrics.MonitorMetricConstants;
 
 import java.net.InetSocketAddress;
@@ -38,12 +40,14 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.channel.ChannelHandlerContext;
+
 import com.google.common.base.Preconditions;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class EventMeshTcpMonitor {
+public class EventMeshTcpMonitor implements Codec.DecoderListener {
 
     private final EventMeshTCPServer eventMeshTCPServer;
 
@@ -112,12 +116,16 @@ public class EventMeshTcpMonitor {
                 AtomicLong deliveredMsgsCount = session.getPusher().getDeliveredMsgsCount();
                 AtomicLong deliveredFailCount = session.getPusher().getDeliverFailMsgsCount();
                 int unAckMsgsCount = session.getPusher().getTotalUnackMsgs();
+                int credits = session.getPusher().getCredits();
                 int sendTopics = session.getSessionContext().sendTopics.size();
                 int subscribeTopics = session.getSessionContext().subscribeTopics.size();
+                Codec.Decoder decoder = session.getContext().pipeline().get(Codec.Decoder.class);
+                long partialFrameWaits = decoder == null ? 0 : decoder.getPartialFrameWaits();
 
-                tcpLogger.info("session|deliveredFailCount={}|deliveredMsgsCount={}|unAckMsgsCount={}|sendTopics={}|subscribeTopics={}|user={}",
+                tcpLogger.info("session|deliveredFailCount={}|deliveredMsgsCount={}|unAckMsgsCount={}|credits={}|sendTopics={}"
+                        + "|subscribeTopics={}|partialFrameWaits={}|user={}",
                     deliveredFailCount.longValue(), deliveredMsgsCount.longValue(),
-                    unAckMsgsCount, sendTopics, subscribeTopics, session.getClient());
+                    unAckMsgsCount, credits, sendTopics, subscribeTopics, partialFrameWaits, session.getClient());
 
                 topicSet.addAll(session.getSessionContext().subscribeTopics.keySet());
             }
@@ -130,7 +138,6 @@ public class EventMeshTcpMonitor {
 
         monitorThreadPoolTask = eventMeshTCPServer.getScheduler().scheduleAtFixedRate(() -> {
             eventMeshTCPServer.getEventMeshRebalanceService().printRebalanceThreadPoolState();
-            eventMeshTCPServer.getEventMeshTcpRetryer().printRetryThreadPoolState();
 
             //monitor retry queue size
             tcpSummaryMetrics.setRetrySize(eventMeshTCPServer.getEventMeshTcpRetryer().getRetrySize());
@@ -140,6 +147,15 @@ public class EventMeshTcpMonitor {
                 MonitorMetricConstants.RETRY_QUEUE_SIZE,
                 tcpSummaryMetrics.getRetrySize()));
 
+            RetryEngine retryEngine = eventMeshTCPServer.getEventMeshTcpRetryer().getRetryEngine();
+            tcpSummaryMetrics.setRetryLatencyP50(retryEngine.getLatency().percentile(0.5));
+            tcpSummaryMetrics.setRetryLatencyP99(retryEngine.getLatency().percentile(0.99));
+            tcpSummaryMetrics.setRetryRejectNum(retryEngine.getRejectedNum());
+            retryEngine.getLatency().reset();
+            appLogger.info("protocol: {}, retryLatencyP50: {}, retryLatencyP99: {}, retryRejectNum: {}",
+                EventMeshConstants.PROTOCOL_TCP, tcpSummaryMetrics.getRetryLatencyP50(),
+                tcpSummaryMetrics.getRetryLatencyP99(), tcpSummaryMetrics.getRetryRejectNum());
+
         }, 10, PRINT_THREADPOOLSTATE_INTERVAL, TimeUnit.SECONDS);
         log.info("EventMeshTcpMonitor started......");
     }
@@ -165,6 +181,24 @@ public class EventMeshTcpMonitor {
 
         appLogger.info("protocol: {}, s: {}, t: {}", EventMeshConstants.PROTOCOL_TCP, MonitorMetricConstants.SUB_TOPIC_NUM,
             tcpSummaryMetrics.getSubTopicNum());
+
+        appLogger.info("protocol: {}, s: {}, t: {}", EventMeshConstants.PROTOCOL_TCP, MonitorMetricConstants.PARTIAL_FRAME_WAIT_NUM,
+            tcpSummaryMetrics.getPartialFrameWaitNum());
+
+        appLogger.info("protocol: {}, s: {}, t: {}", EventMeshConstants.PROTOCOL_TCP, MonitorMetricConstants.OVERSIZE_FRAME_REJECT_NUM,
+            tcpSummaryMetrics.getOversizeFrameRejectNum());
+    }
+
+    @Override
+    public void onPartialFrame(ChannelHandlerContext ctx, int readableBytes, int frameLength) {
+        tcpSummaryMetrics.getPartialFrameWaitNum().incrementAndGet();
+    }
+
+    @Override
+    public void onOversizeFrame(ChannelHandlerContext ctx, int length) {
+        tcpSummaryMetrics.getOversizeFrameRejectNum().incrementAndGet();
+        tcpLogger.warn("session|oversize frame rejected|length={}|remoteAddress={}", length,
+            ctx == null ? null : ctx.channel().remoteAddress());
     }
 
     public TcpSummaryMetrics getTcpSummaryMetrics() {
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.registry;
+
+import org.apache.eventmesh.api.registry.dto.EventMeshDataInfo;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable snapshot of the eventmesh instances of a cluster, indexed by the idc prefix of their names.
+ */
+public class EventMeshClusterView {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventMeshClusterView.class);
+
+    private final List<EventMeshDataInfo> eventMeshDataInfoList;
+
+    /**
+     * idc -> eventMeshName -> endpoint
+     */
+    private final Map<String, Map<String, String>> eventMeshMapByIdc;
+
+    /**
+     * the instances of the other idcs, merged once per local idc
+     */
+    private final Map<String, Map<String, String>> otherIdcEventMeshMaps = new ConcurrentHashMap<>();
+
+    public EventMeshClusterView(List<EventMeshDataInfo> eventMeshDataInfoList) {
+        this.eventMeshDataInfoList = eventMeshDataInfoList == null
+            ? Collections.emptyList() : Collections.unmodifiableList(eventMeshDataInfoList);
+        Map<String, Map<String, String>> eventMeshMapByIdc = new HashMap<>();
+        for (EventMeshDataInfo eventMeshDataInfo : this.eventMeshDataInfoList) {
+            String idc = getIdc(eventMeshDataInfo.getEventMeshName());
+            if (StringUtils.isBlank(idc)) {
+                logger.error("EventMeshName may be illegal,idc is null,eventMeshName:{}", eventMeshDataInfo.getEventMeshName());
+                continue;
+            }
+            eventMeshMapByIdc.computeIfAbsent(idc, k -> new HashMap<>())
+                .put(eventMeshDataInfo.getEventMeshName(), eventMeshDataInfo.getEndpoint());
+        }
+        eventMeshMapByIdc.replaceAll((idc, eventMeshMap) -> Collections.unmodifiableMap(eventMeshMap));
+        this.eventMeshMapByIdc = eventMeshMapByIdc;
+    }
+
+    /**
+     * The idc of an eventmesh is the prefix of its name, e.g. FT of FT-eventmesh-TCP.
+     */
+    public static String getIdc(String eventMeshName) {
+        return eventMeshName == null ? null : eventMeshName.split("-")[0];
+    }
+
+    public List<EventMeshDataInfo> getEventMeshDataInfoList() {
+        return eventMeshDataInfoList;
+    }
+
+    public boolean isEmpty() {
+        return eventMeshDataInfoList.isEmpty();
+    }
+
+    /**
+     * @return eventMeshName -> endpoint of the instances of the idc, unmodifiable
+     */
+    public Map<String, String> getEventMeshMap(String idc) {
+        return eventMeshMapByIdc.getOrDefault(idc, Collections.emptyMap());
+    }
+
+    /**
+     * @return eventMeshName -> endpoint of the instances of all the idcs but the given one, unmodifiable
+     */
+    public Map<String, String> getOtherIdcEventMeshMap(String idc) {
+        return otherIdcEventMeshMaps.computeIfAbsent(idc, localIdc -> {
+            Map<String, String> otherIdcEventMeshMap = new HashMap<>();
+            eventMeshMapByIdc.forEach((eventMeshIdc, eventMeshMap) -> {
+                if (!StringUtils.equals(eventMeshIdc, localIdc)) {
+                    otherIdcEventMeshMap.putAll(eventMeshMap);
+                }
+            });
+            return Collections.unmodifiableMap(otherIdcEventMeshMap);
+        });
+    }
+}
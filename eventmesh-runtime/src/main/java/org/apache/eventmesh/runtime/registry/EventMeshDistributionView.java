@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.registry;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable snapshot of the client distribution of a group and purpose over the eventmesh instances, indexed by idc.
+ */
+public class EventMeshDistributionView {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventMeshDistributionView.class);
+
+    /**
+     * idc -> eventMeshName -> number of clients
+     */
+    private final Map<String, Map<String, Integer>> clientDistributionMapByIdc;
+
+    /**
+     * @param distributionData eventMeshName -> purpose -> number of clients, as read from the registry
+     */
+    public EventMeshDistributionView(Map<String, Map<String, Integer>> distributionData, String purpose) {
+        Map<String, Map<String, Integer>> clientDistributionMapByIdc = new HashMap<>();
+        if (distributionData != null) {
+            for (Map.Entry<String, Map<String, Integer>> entry : distributionData.entrySet()) {
+                String idc = EventMeshClusterView.getIdc(entry.getKey());
+                if (StringUtils.isBlank(idc)) {
+                    logger.error("eventMeshName may be illegal,idc is null,eventMeshName:{}", entry.getKey());
+                    continue;
+                }
+                clientDistributionMapByIdc.computeIfAbsent(idc, k -> new HashMap<>())
+                    .put(entry.getKey(), entry.getValue().get(purpose));
+            }
+        }
+        clientDistributionMapByIdc.replaceAll((idc, clientDistributionMap) -> Collections.unmodifiableMap(clientDistributionMap));
+        this.clientDistributionMapByIdc = clientDistributionMapByIdc;
+    }
+
+    public boolean isEmpty() {
+        return clientDistributionMapByIdc.isEmpty();
+    }
+
+    /**
+     * @return eventMeshName -> number of clients on the instances of the idc, unmodifiable
+     */
+    public Map<String, Integer> getClientDistributionMap(String idc) {
+        return clientDistributionMapByIdc.getOrDefault(idc, Collections.emptyMap());
+    }
+}
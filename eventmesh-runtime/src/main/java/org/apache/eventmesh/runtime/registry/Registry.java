@@ -25,19 +25,48 @@ import org.apache.eventmesh.spi.EventMeshExtensionFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * The registry plugin of the server.
+ * <p>
+ * Besides the direct queries, it keeps a view of the instances of each cluster and of each client distribution,
+ * so that the recommend and the rebalance decisions are lookups in memory. A cluster view is refreshed when the
+ * plugin notifies a change, the views expire after the ttl in any case.
+ */
 public class Registry {
     private static final Logger logger = LoggerFactory.getLogger(Registry.class);
 
+    private static final long DEFAULT_CACHE_TTL_IN_MILLS = 30000;
+
+    private static final long CACHE_RETRY_INTERVAL_IN_MILLS = 1000;
+
     private volatile boolean inited = false;
 
     private volatile boolean started = false;
 
     private RegistryService registryService;
 
+    private final long cacheTtlInMills;
+
+    private final Map<String, CachedView<EventMeshClusterView>> clusterViews = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedView<EventMeshDistributionView>> distributionViews = new ConcurrentHashMap<>();
+
+    public Registry() {
+        this(DEFAULT_CACHE_TTL_IN_MILLS);
+    }
+
+    public Registry(long cacheTtlInMills) {
+        this.cacheTtlInMills = cacheTtlInMills;
+    }
+
     public synchronized void init(String registryPluginType) throws Exception {
         if (!inited) {
             registryService = EventMeshExtensionFactory.getExtension(RegistryService.class, registryPluginType);
@@ -60,6 +89,8 @@ public class Registry {
     public synchronized void shutdown() throws Exception {
         if (started) {
             registryService.shutdown();
+            clusterViews.clear();
+            distributionViews.clear();
             started = false;
             inited = false;
         }
@@ -77,6 +108,33 @@ public class Registry {
         return registryService.findEventMeshClientDistributionData(clusterName, group, purpose);
     }
 
+    /**
+     * The cached instances of the cluster, the first call of a cluster subscribes to its changes.
+     */
+    public EventMeshClusterView getEventMeshClusterView(String clusterName) throws Exception {
+        CachedView<EventMeshClusterView> cachedView = clusterViews.computeIfAbsent(clusterName, k -> new CachedView<>());
+        if (cachedView.subscribed.compareAndSet(false, true)) {
+            try {
+                if (!registryService.subscribe(clusterName, changedCluster -> cachedView.invalidate())) {
+                    logger.info("registry plugin can't watch the cluster {}, refresh it every {}ms", clusterName, cacheTtlInMills);
+                }
+            } catch (Exception e) {
+                logger.warn("subscribe the cluster {} failed, refresh it every {}ms", clusterName, cacheTtlInMills, e);
+            }
+        }
+        return cachedView.get(() -> new EventMeshClusterView(registryService.findEventMeshInfoByCluster(clusterName)));
+    }
+
+    /**
+     * The cached client distribution of the group and purpose, refreshed after the ttl.
+     */
+    public EventMeshDistributionView getEventMeshDistributionView(String clusterName, String group, String purpose) throws Exception {
+        CachedView<EventMeshDistributionView> cachedView = distributionViews.computeIfAbsent(
+            String.join("@", clusterName, group, purpose), k -> new CachedView<>());
+        return cachedView.get(() -> new EventMeshDistributionView(
+            registryService.findEventMeshClientDistributionData(clusterName, group, purpose), purpose));
+    }
+
     public void registerMetadata(Map<String, String> metadata) {
         registryService.registerMetadata(metadata);
     }
@@ -88,4 +146,76 @@ public class Registry {
     public boolean unRegister(EventMeshUnRegisterInfo eventMeshUnRegisterInfo) throws Exception {
         return registryService.unRegister(eventMeshUnRegisterInfo);
     }
+
+    /**
+     * A view loaded by one caller at a time. Once loaded, an expired view is still served to the other callers
+     * while it is reloaded, so that a burst of lookups issues a single query to the registry.
+     * <p>
+     * A view loaded while it was invalidated may predate the change, so it stays expired.
+     */
+    private final class CachedView<T> {
+
+        private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+        private final AtomicBoolean loading = new AtomicBoolean(false);
+
+        private volatile T view;
+
+        private volatile long expireTime;
+
+        /**
+         * incremented by every invalidation
+         */
+        private final AtomicLong generation = new AtomicLong();
+
+        T get(Callable<T> loader) throws Exception {
+            T current = view;
+            if (current != null && System.currentTimeMillis() < expireTime) {
+                return current;
+            }
+            if (current == null) {
+                synchronized (this) {
+                    if (view == null || System.currentTimeMillis() >= expireTime) {
+                        load(loader, generation.get());
+                    }
+                    return view;
+                }
+            }
+            if (loading.compareAndSet(false, true)) {
+                long loadGeneration = generation.get();
+                try {
+                    load(loader, loadGeneration);
+                } catch (Exception e) {
+                    logger.warn("refresh the registry view failed, serve the expired one", e);
+                    publishExpireTime(loadGeneration,
+                        System.currentTimeMillis() + Math.min(cacheTtlInMills, CACHE_RETRY_INTERVAL_IN_MILLS));
+                } finally {
+                    loading.set(false);
+                }
+            }
+            return view;
+        }
+
+        /**
+         * @param loadGeneration the generation read before the loader is called
+         */
+        private void load(Callable<T> loader, long loadGeneration) throws Exception {
+            view = loader.call();
+            publishExpireTime(loadGeneration, System.currentTimeMillis() + cacheTtlInMills);
+        }
+
+        private void publishExpireTime(long loadGeneration, long time) {
+            expireTime = time;
+            // an invalidation bumps the generation before it resets the expire time, so either it is seen here
+            // or its reset comes after the write above
+            if (generation.get() != loadGeneration) {
+                expireTime = 0;
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            expireTime = 0;
+        }
+    }
 }
@@ -17,10 +17,15 @@
 
 package org.apache.eventmesh.runtime.trace;
 
+import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.trace.api.EventMeshTraceService;
 import org.apache.eventmesh.trace.api.TracePluginFactory;
+import org.apache.eventmesh.trace.api.exporter.ExporterMetrics;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -34,22 +39,49 @@ import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Context;
 
 public class Trace {
+    private static final long PRINT_PERIOD_IN_MILLS = 30 * 1000;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final Logger appLogger = LoggerFactory.getLogger("appMonitor");
 
     private final boolean useTrace;
     private EventMeshTraceService eventMeshTraceService;
+    private ScheduledExecutorService metricsScheduler;
+
+    /**
+     * the extensions recorded as span attributes, an array so that the recording allocates no iterator
+     */
+    private final String[] traceAttributes;
 
     public Trace(boolean useTrace) {
+        this(useTrace, Collections.emptyList());
+    }
+
+    public Trace(boolean useTrace, Collection<String> traceAttributes) {
         this.useTrace = useTrace;
+        this.traceAttributes = traceAttributes.toArray(new String[0]);
     }
 
     public void init(String tracePluginType) throws Exception {
         if (useTrace) {
             eventMeshTraceService = TracePluginFactory.getEventMeshTraceService(tracePluginType);
             eventMeshTraceService.init();
+            ExporterMetrics exporterMetrics = eventMeshTraceService.getExporterMetrics();
+            if (exporterMetrics != null) {
+                metricsScheduler = ThreadPoolFactory.createScheduledExecutor(1, "eventMesh-trace-metrics-");
+                metricsScheduler.scheduleAtFixedRate(() -> appLogger.info("trace exporter: {}", exporterMetrics),
+                    PRINT_PERIOD_IN_MILLS, PRINT_PERIOD_IN_MILLS, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
+    /**
+     * @return the counters of the span export of the trace plugin, null if the trace is disabled or not counted
+     */
+    public ExporterMetrics getExporterMetrics() {
+        return eventMeshTraceService == null ? null : eventMeshTraceService.getExporterMetrics();
+    }
+
     public Span createSpan(String spanName, SpanKind spanKind, long startTime, TimeUnit timeUnit,
                            Context context, boolean isSpanFinishInOtherThread) {
         if (!useTrace) {
@@ -68,6 +100,10 @@ public class Trace {
             isSpanFinishInOtherThread);
     }
 
+    public boolean isEnabled() {
+        return useTrace;
+    }
+
     public Context extractFrom(Context context, Map<String, Object> map) {
         if (!useTrace) {
             return null;
@@ -78,6 +114,19 @@ public class Trace {
         return eventMeshTraceService.extractFrom(context, map);
     }
 
+    /**
+     * Extract the trace context from the extensions of the event, without copying them.
+     */
+    public Context extractFrom(Context context, CloudEvent cloudEvent) {
+        if (!useTrace) {
+            return null;
+        }
+        if (cloudEvent == null) {
+            return context;
+        }
+        return eventMeshTraceService.extractFrom(context, cloudEvent);
+    }
+
     public void inject(Context context, Map<String, Object> map) {
         if (!useTrace) {
             return;
@@ -101,9 +150,7 @@ public class Trace {
         }
 
         //add trace info
-        for (String entry : cloudEvent.getExtensionNames()) {
-            span.setAttribute(entry, cloudEvent.getExtension(entry) == null ? "" : cloudEvent.getExtension(entry).toString());
-        }
+        addAttributes(span, cloudEvent);
         return span;
     }
 
@@ -121,9 +168,7 @@ public class Trace {
             return span;
         }
 
-        for (String entry : cloudEvent.getExtensionNames()) {
-            span.setAttribute(entry, cloudEvent.getExtension(entry) == null ? "" : cloudEvent.getExtension(entry).toString());
-        }
+        addAttributes(span, cloudEvent);
         return span;
     }
 
@@ -137,16 +182,34 @@ public class Trace {
             return null;
         }
 
-        if (map == null || map.size() < 1) {
+        if (map == null || map.size() < 1 || !span.isRecording()) {
             return span;
         }
 
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            span.setAttribute(entry.getKey(), entry.getValue().toString());
+        for (String traceAttribute : traceAttributes) {
+            Object value = map.get(traceAttribute);
+            if (value != null) {
+                span.setAttribute(traceAttribute, value.toString());
+            }
         }
         return span;
     }
 
+    /**
+     * Record the allowed extensions of the event, nothing for a span which is not sampled.
+     */
+    private void addAttributes(Span span, CloudEvent cloudEvent) {
+        if (!span.isRecording()) {
+            return;
+        }
+        for (String traceAttribute : traceAttributes) {
+            Object value = cloudEvent.getExtension(traceAttribute);
+            if (value != null) {
+                span.setAttribute(traceAttribute, value.toString());
+            }
+        }
+    }
+
     public void finishSpan(ChannelHandlerContext ctx, StatusCode statusCode) {
         try {
             if (useTrace) {
@@ -229,6 +292,9 @@ public class Trace {
     }
 
     public void shutdown() throws Exception {
+        if (metricsScheduler != null) {
+            metricsScheduler.shutdownNow();
+        }
         if (useTrace) {
             eventMeshTraceService.shutdown();
         }
@@ -17,7 +17,9 @@
 
 package org.apache.eventmesh.runtime.trace;
 
+import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
 import org.apache.eventmesh.runtime.boot.EventMeshServer;
+import org.apache.eventmesh.trace.api.sampler.SamplingContext;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -32,15 +34,24 @@ import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Context;
 
+/**
+ * Spans of the messages passing through the server.
+ * <p>
+ * When tracing is disabled every method returns before touching the event, and the span of an event is created from
+ * its extensions in place, so that a message which is not traced allocates nothing for the tracing.
+ */
 public class TraceUtils {
     private static Logger logger = LoggerFactory.getLogger(TraceUtils.class);
 
     public static Span prepareClientSpan(Map<String, Object> map, String spanName,
                                          boolean isSpanFinishInOtherThread) {
+        if (!isTraceEnabled()) {
+            return Span.getInvalid();
+        }
         Span span = null;
         try {
             span = EventMeshServer.getTrace().createSpan(
-                spanName, SpanKind.CLIENT, Context.current(), isSpanFinishInOtherThread);
+                spanName, SpanKind.CLIENT, samplingContext(Context.current(), map), isSpanFinishInOtherThread);
             EventMeshServer.getTrace().inject(Context.current(), map);
         } catch (Throwable ex) {
             logger.warn("upload trace fail when prepareSpan", ex);
@@ -48,11 +59,31 @@ public class TraceUtils {
         return span;
     }
 
+    /**
+     * Client span of an event, the event is immutable so that the trace context travels with the span.
+     */
+    public static Span prepareClientSpan(CloudEvent event, String spanName, boolean isSpanFinishInOtherThread) {
+        if (!isTraceEnabled()) {
+            return Span.getInvalid();
+        }
+        Trace trace = EventMeshServer.getTrace();
+        Span span = null;
+        try {
+            span = trace.createSpan(spanName, SpanKind.CLIENT, samplingContext(Context.current(), event), isSpanFinishInOtherThread);
+        } catch (Throwable ex) {
+            logger.warn("upload trace fail when prepareSpan", ex);
+        }
+        return span;
+    }
+
     public static Span prepareServerSpan(Map<String, Object> map, String spanName,
                                          boolean isSpanFinishInOtherThread) {
+        if (!isTraceEnabled()) {
+            return Span.getInvalid();
+        }
         Span span = null;
         try {
-            Context traceContext = EventMeshServer.getTrace().extractFrom(Context.current(), map);
+            Context traceContext = samplingContext(EventMeshServer.getTrace().extractFrom(Context.current(), map), map);
             span = EventMeshServer.getTrace()
                 .createSpan(spanName, SpanKind.SERVER, traceContext, isSpanFinishInOtherThread);
         } catch (Throwable ex) {
@@ -61,11 +92,32 @@ public class TraceUtils {
         return span;
     }
 
+    /**
+     * Server span of an event, continuing the trace context read from the extensions of the event.
+     */
+    public static Span prepareServerSpan(CloudEvent event, String spanName, boolean isSpanFinishInOtherThread) {
+        if (!isTraceEnabled()) {
+            return Span.getInvalid();
+        }
+        Trace trace = EventMeshServer.getTrace();
+        Span span = null;
+        try {
+            Context traceContext = samplingContext(trace.extractFrom(Context.current(), event), event);
+            span = trace.createSpan(spanName, SpanKind.SERVER, traceContext, isSpanFinishInOtherThread);
+        } catch (Throwable ex) {
+            logger.warn("upload trace fail when prepareSpan", ex);
+        }
+        return span;
+    }
+
     public static Span prepareServerSpan(Map<String, Object> map, String spanName, long startTime,
                                          TimeUnit timeUnit, boolean isSpanFinishInOtherThread) {
+        if (!isTraceEnabled()) {
+            return Span.getInvalid();
+        }
         Span span = null;
         try {
-            Context traceContext = EventMeshServer.getTrace().extractFrom(Context.current(), map);
+            Context traceContext = samplingContext(EventMeshServer.getTrace().extractFrom(Context.current(), map), map);
             if (startTime > 0) {
                 span = EventMeshServer.getTrace()
                     .createSpan(spanName, SpanKind.SERVER, startTime, timeUnit, traceContext,
@@ -81,7 +133,29 @@ public class TraceUtils {
     }
 
 
+    /**
+     * The topic and the consumer group of the event, for the sampler to decide on.
+     */
+    private static Context samplingContext(Context context, CloudEvent event) {
+        if (event == null) {
+            return context;
+        }
+        Object consumerGroup = event.getExtension(ProtocolKey.ClientInstanceKey.CONSUMERGROUP);
+        return SamplingContext.with(context, event.getSubject(), consumerGroup == null ? null : consumerGroup.toString());
+    }
+
+    private static Context samplingContext(Context context, Map<String, Object> map) {
+        if (map == null) {
+            return context;
+        }
+        Object consumerGroup = map.get(ProtocolKey.ClientInstanceKey.CONSUMERGROUP);
+        return SamplingContext.with(context, null, consumerGroup == null ? null : consumerGroup.toString());
+    }
+
     public static void finishSpan(Span span, CloudEvent event) {
+        if (!isTraceEnabled()) {
+            return;
+        }
         try {
             logger.debug("finishSpan with event:{}", event);
             EventMeshServer.getTrace().addTraceInfoToSpan(span, event);
@@ -93,6 +167,9 @@ public class TraceUtils {
     }
 
     public static void finishSpan(ChannelHandlerContext ctx, CloudEvent event) {
+        if (!isTraceEnabled()) {
+            return;
+        }
         try {
             logger.debug("finishSpan with event:{}", event);
             EventMeshServer.getTrace().addTraceInfoToSpan(ctx, event);
@@ -105,6 +182,9 @@ public class TraceUtils {
 
     public static void finishSpanWithException(ChannelHandlerContext ctx, CloudEvent event,
                                                String errMsg, Throwable e) {
+        if (!isTraceEnabled()) {
+            return;
+        }
         try {
             logger.debug("finishSpanWithException with event:{}", event);
             EventMeshServer.getTrace().addTraceInfoToSpan(ctx, event);
@@ -114,8 +194,24 @@ public class TraceUtils {
         }
     }
 
+    public static void finishSpanWithException(Span span, CloudEvent event, String errMsg, Throwable e) {
+        if (!isTraceEnabled()) {
+            return;
+        }
+        try {
+            logger.debug("finishSpanWithException with event:{}", event);
+            EventMeshServer.getTrace().addTraceInfoToSpan(span, event);
+            EventMeshServer.getTrace().finishSpan(span, StatusCode.ERROR, errMsg, e);
+        } catch (Throwable ex) {
+            logger.warn("upload trace fail when finishSpanWithException", ex);
+        }
+    }
+
     public static void finishSpanWithException(Span span, Map<String, Object> map, String errMsg,
                                                Throwable e) {
+        if (!isTraceEnabled()) {
+            return;
+        }
         try {
             logger.debug("finishSpanWithException with map:{}", map);
             EventMeshServer.getTrace().addTraceInfoToSpan(span, map);
@@ -124,4 +220,9 @@ public class TraceUtils {
             logger.warn("upload trace fail when finishSpanWithException", ex);
         }
     }
+
+    private static boolean isTraceEnabled() {
+        Trace trace = EventMeshServer.getTrace();
+        return trace != null && trace.isEnabled();
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.eventmesh.common.utils.RandomStringUtils;
 import org.apache.eventmesh.common.utils.ThreadUtils;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.constants.EventMeshVersion;
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -295,10 +296,14 @@ public class EventMeshUtil {
         CloudEvent cloudEvent) {
         try {
             EventMeshCloudEventWriter eventMeshCloudEventWriter = new EventMeshCloudEventWriter();
+            CloudEvent origin = cloudEvent instanceof EventMeshCloudEvent ? ((EventMeshCloudEvent) cloudEvent).getOrigin() : cloudEvent;
             if (StringUtils.equals(SpecVersion.V1.toString(), protocolVersion)) {
-                ((CloudEventV1) cloudEvent).readContext(eventMeshCloudEventWriter);
+                ((CloudEventV1) origin).readContext(eventMeshCloudEventWriter);
             } else if (StringUtils.equals(SpecVersion.V03.toString(), protocolVersion)) {
-                ((CloudEventV03) cloudEvent).readContext(eventMeshCloudEventWriter);
+                ((CloudEventV03) origin).readContext(eventMeshCloudEventWriter);
+            }
+            if (cloudEvent instanceof EventMeshCloudEvent) {
+                eventMeshCloudEventWriter.getExtensionMap().putAll(((EventMeshCloudEvent) cloudEvent).getAddedExtensions());
             }
             return eventMeshCloudEventWriter.getExtensionMap();
         } catch (Throwable e) {
@@ -31,6 +31,7 @@ import org.apache.http.message.BasicHeader;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.asynchttpclient.RequestBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,6 +76,16 @@ public class WebhookUtil {
         }
     }
 
+    public static void setWebhookHeaders(RequestBuilder builder, String contentType, String requestOrigin, String urlAuthType) {
+        builder.setHeader(CONTENT_TYPE_HEADER, contentType);
+        builder.setHeader(REQUEST_ORIGIN_HEADER, requestOrigin);
+
+        Map<String, String> authParam = getHttpAuthParam(urlAuthType);
+        if (authParam != null) {
+            authParam.forEach(builder::addHeader);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private static Map<String, String> getHttpAuthParam(String authType) {
         if (StringUtils.isEmpty(authType)) {
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol;
+
+import org.apache.eventmesh.runtime.util.EventMeshUtil;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.SpecVersion;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class EventMeshCloudEventTest {
+
+    private final CloudEvent origin = CloudEventBuilder.v1()
+        .withId("id")
+        .withSource(URI.create("source"))
+        .withType("type")
+        .withSubject("topic")
+        .withData("data".getBytes(StandardCharsets.UTF_8))
+        .withExtension("protocoltype", "cloudevents")
+        .build();
+
+    @Test
+    public void testWithExtension() {
+        EventMeshCloudEvent event = EventMeshCloudEvent.of(origin).withExtension("rspgroup", "group");
+        Assert.assertSame(origin, event.getOrigin());
+        Assert.assertEquals("topic", event.getSubject());
+        Assert.assertEquals("group", event.getExtension("rspgroup"));
+        Assert.assertEquals("cloudevents", event.getExtension("protocoltype"));
+        Assert.assertTrue(event.getExtensionNames().contains("rspgroup"));
+        Assert.assertTrue(event.getExtensionNames().contains("protocoltype"));
+        Assert.assertNull(origin.getExtension("rspgroup"));
+
+        event.withExtension("protocoltype", "tcp");
+        Assert.assertEquals("tcp", event.getExtension("protocoltype"));
+    }
+
+    @Test
+    public void testFork() {
+        EventMeshCloudEvent event = EventMeshCloudEvent.of(origin).withExtension("reqc2eventmeshtimestamp", "1");
+        EventMeshCloudEvent first = EventMeshCloudEvent.of(event).withExtension("rspip", "first");
+        EventMeshCloudEvent second = EventMeshCloudEvent.of(event).withExtension("rspip", "second");
+        event.withExtension("rspgroup", "group");
+
+        Assert.assertSame(origin, first.getOrigin());
+        Assert.assertEquals("1", first.getExtension("reqc2eventmeshtimestamp"));
+        Assert.assertEquals("first", first.getExtension("rspip"));
+        Assert.assertEquals("second", second.getExtension("rspip"));
+        Assert.assertNull(event.getExtension("rspip"));
+        Assert.assertNull(first.getExtension("rspgroup"));
+        Assert.assertNull(second.getExtension("rspgroup"));
+    }
+
+    @Test
+    public void testMaterialize() {
+        EventMeshCloudEvent event = EventMeshCloudEvent.of(origin);
+        Assert.assertSame(origin, event.materialize());
+        Assert.assertSame(origin, EventMeshCloudEvent.materialize(origin));
+
+        event.withExtension("rspgroup", "group");
+        CloudEvent materialized = event.materialize();
+        Assert.assertFalse(materialized instanceof EventMeshCloudEvent);
+        Assert.assertSame(materialized, event.materialize());
+        Assert.assertEquals("id", materialized.getId());
+        Assert.assertArrayEquals(origin.getData().toBytes(), materialized.getData().toBytes());
+        Assert.assertEquals("group", materialized.getExtension("rspgroup"));
+        Assert.assertEquals("cloudevents", materialized.getExtension("protocoltype"));
+        Assert.assertEquals(event.getExtensionNames(), materialized.getExtensionNames());
+
+        event.withExtension("rspip", "ip");
+        Assert.assertNotSame(materialized, event.materialize());
+        Assert.assertEquals("ip", event.materialize().getExtension("rspip"));
+    }
+
+    @Test
+    public void testGetCloudEventExtensionMap() {
+        EventMeshCloudEvent event = EventMeshCloudEvent.of(origin).withExtension("rspgroup", "group");
+        Map<String, Object> extensionMap = EventMeshUtil.getCloudEventExtensionMap(SpecVersion.V1.toString(), event);
+        Assert.assertNotNull(extensionMap);
+        Assert.assertEquals("id", extensionMap.get("id"));
+        Assert.assertEquals("cloudevents", extensionMap.get("protocoltype"));
+        Assert.assertEquals("group", extensionMap.get("rspgroup"));
+    }
+}
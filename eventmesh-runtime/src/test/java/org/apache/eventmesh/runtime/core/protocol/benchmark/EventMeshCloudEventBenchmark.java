@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.benchmark;
+
+import org.apache.eventmesh.runtime.core.protocol.EventMeshCloudEvent;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+/**
+ * The extensions added to an event on its way from the connector to a tcp client, once by rebuilding the event
+ * at every hop and once on the overlay. Compare the gc.alloc.rate.norm of both.
+ * <p>
+ * Not part of the test run, start it with {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMeshCloudEventBenchmark {
+
+    @Param({"4", "16"})
+    private int extensionNum;
+
+    @Param({"256", "4096"})
+    private int dataSize;
+
+    private CloudEvent event;
+
+    @Setup
+    public void setup() {
+        CloudEventBuilder builder = CloudEventBuilder.v1()
+            .withId("benchmark")
+            .withSource(URI.create("/benchmark"))
+            .withType("benchmark")
+            .withSubject("benchmark-topic")
+            .withData(new byte[dataSize]);
+        for (int i = 0; i < extensionNum; i++) {
+            builder.withExtension("extension" + i, "value" + i);
+        }
+        event = builder.build();
+    }
+
+    @Benchmark
+    public CloudEvent rebuild() {
+        CloudEvent current = CloudEventBuilder.from(event)
+            .withExtension("rspmq2eventmeshtimestamp", "1")
+            .withExtension("rspreceiveeventmeship", "127.0.0.1")
+            .build();
+        current = CloudEventBuilder.from(current)
+            .withExtension("reqeventmesh2ctimestamp", "2")
+            .withExtension("rspsys", "sys")
+            .withExtension("rspgroup", "group")
+            .withExtension("rspidc", "idc")
+            .withExtension("rspip", "127.0.0.1")
+            .build();
+        return CloudEventBuilder.from(current)
+            .withExtension("rspeventmesh2ctimestamp", "3")
+            .build();
+    }
+
+    @Benchmark
+    public CloudEvent overlay() {
+        EventMeshCloudEvent current = EventMeshCloudEvent.of(event)
+            .withExtension("rspmq2eventmeshtimestamp", "1")
+            .withExtension("rspreceiveeventmeship", "127.0.0.1");
+        current = EventMeshCloudEvent.of(current)
+            .withExtension("reqeventmesh2ctimestamp", "2")
+            .withExtension("rspsys", "sys")
+            .withExtension("rspgroup", "group")
+            .withExtension("rspidc", "idc")
+            .withExtension("rspip", "127.0.0.1");
+        return current
+            .withExtension("rspeventmesh2ctimestamp", "3")
+            .materialize();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(EventMeshCloudEventBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
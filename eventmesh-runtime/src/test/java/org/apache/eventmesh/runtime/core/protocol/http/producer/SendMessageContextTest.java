@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.producer;
+
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.SendCallback;
+import org.apache.eventmesh.api.SendResult;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.metrics.api.model.HttpSummaryMetrics;
+import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.metrics.http.HTTPMetricsServer;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class SendMessageContextTest {
+
+    private EventMeshProducer eventMeshProducer;
+
+    private EventMeshHTTPServer eventMeshHTTPServer;
+
+    private HttpSummaryMetrics summaryMetrics;
+
+    @Before
+    public void setUp() {
+        eventMeshProducer = Mockito.mock(EventMeshProducer.class);
+        eventMeshHTTPServer = Mockito.mock(EventMeshHTTPServer.class);
+        eventMeshHTTPServer.metrics = Mockito.mock(HTTPMetricsServer.class);
+        summaryMetrics = Mockito.mock(HttpSummaryMetrics.class);
+        Mockito.when(eventMeshHTTPServer.metrics.getSummaryMetrics()).thenReturn(summaryMetrics);
+    }
+
+    @Test
+    public void testRetryWithoutProducer() throws Exception {
+        SendMessageContext sendMessageContext = new SendMessageContext("1", buildCloudEvent("id1"), null, eventMeshHTTPServer);
+
+        Assert.assertFalse(sendMessageContext.retry());
+    }
+
+    @Test
+    public void testRetryBatchOnce() throws Exception {
+        SendMessageContext sendMessageContext = new SendMessageContext("1", null, eventMeshProducer, eventMeshHTTPServer);
+        sendMessageContext.setEventList(Arrays.asList(buildCloudEvent("id1"), buildCloudEvent("id2"), buildCloudEvent("id3")));
+        // two of the three events fail again
+        Mockito.doAnswer(invocation -> {
+            BatchSendCallback batchSendCallback = invocation.getArgument(1);
+            batchSendCallback.onException(Collections.singletonList(new SendResult()),
+                Arrays.asList(buildOnExceptionContext("id2"), buildOnExceptionContext("id3")));
+            return null;
+        }).when(eventMeshProducer).sendBatch(ArgumentMatchers.same(sendMessageContext), ArgumentMatchers.any());
+
+        Assert.assertTrue(sendMessageContext.retry());
+        Assert.assertFalse(sendMessageContext.retry());
+
+        Mockito.verify(eventMeshProducer).sendBatch(ArgumentMatchers.same(sendMessageContext), ArgumentMatchers.any());
+        Mockito.verify(eventMeshProducer, Mockito.never()).send(ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.verify(summaryMetrics).recordSendBatchMsgFailed(2);
+    }
+
+    @Test
+    public void testRetrySingleEvent() throws Exception {
+        SendMessageContext sendMessageContext = new SendMessageContext("1", buildCloudEvent("id1"), eventMeshProducer, eventMeshHTTPServer);
+        Mockito.doAnswer(invocation -> {
+            SendCallback sendCallback = invocation.getArgument(1);
+            sendCallback.onException(buildOnExceptionContext("id1"));
+            return null;
+        }).when(eventMeshProducer).send(ArgumentMatchers.same(sendMessageContext), ArgumentMatchers.any());
+
+        Assert.assertTrue(sendMessageContext.retry());
+
+        Mockito.verify(eventMeshProducer, Mockito.never()).sendBatch(ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.verify(summaryMetrics).recordSendBatchMsgFailed(1);
+    }
+
+    private static OnExceptionContext buildOnExceptionContext(String messageId) {
+        return OnExceptionContext.builder().messageId(messageId).topic("TEST-TOPIC").build();
+    }
+
+    private static CloudEvent buildCloudEvent(String id) {
+        return CloudEventBuilder.v1()
+            .withId(id)
+            .withSource(URI.create("/test"))
+            .withType("test")
+            .withSubject("TEST-TOPIC")
+            .build();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+public class AsyncHTTPPushClientTest {
+
+    private static final String URL = "http://127.0.0.1/push";
+
+    private AsyncHttpClient asyncHttpClient;
+
+    private AsyncHTTPPushClient pushClient;
+
+    @Before
+    public void setUp() {
+        asyncHttpClient = Mockito.mock(AsyncHttpClient.class);
+        pushClient = new AsyncHTTPPushClient(asyncHttpClient, 2);
+    }
+
+    @Test
+    public void testInflightLimit() throws Exception {
+        CompletableFuture<Response> first = mockResponse();
+        pushClient.execute(URL, Mockito.mock(Request.class));
+        CompletableFuture<Response> second = mockResponse();
+        pushClient.execute(URL, Mockito.mock(Request.class));
+        Assert.assertEquals(2, pushClient.getInflight(URL));
+
+        CompletableFuture<Response> rejected = pushClient.execute(URL, Mockito.mock(Request.class));
+        assertFailedWith(rejected, RejectedExecutionException.class);
+        Assert.assertEquals(2, pushClient.getInflight(URL));
+        // another url has its own slots
+        mockResponse();
+        Assert.assertFalse(pushClient.execute("http://127.0.0.2/push", Mockito.mock(Request.class)).isDone());
+
+        first.complete(Mockito.mock(Response.class));
+        Assert.assertEquals(1, pushClient.getInflight(URL));
+        mockResponse();
+        Assert.assertFalse(pushClient.execute(URL, Mockito.mock(Request.class)).isDone());
+        Assert.assertEquals(2, pushClient.getInflight(URL));
+        second.completeExceptionally(new IllegalStateException("connection reset"));
+        Assert.assertEquals(1, pushClient.getInflight(URL));
+    }
+
+    @Test
+    public void testInflightEntryRemoved() {
+        CompletableFuture<Response> response = mockResponse();
+        pushClient.execute(URL, Mockito.mock(Request.class));
+        Map<String, Integer> inflight = Whitebox.getInternalState(pushClient, "inflight");
+        Assert.assertTrue(inflight.containsKey(URL));
+
+        response.complete(Mockito.mock(Response.class));
+        Assert.assertEquals(0, pushClient.getInflight(URL));
+        Assert.assertFalse(inflight.containsKey(URL));
+    }
+
+    @Test
+    public void testSlotReleasedWhenSendFails() throws Exception {
+        Mockito.when(asyncHttpClient.executeRequest(ArgumentMatchers.any(Request.class)))
+            .thenThrow(new IllegalStateException("closed"));
+        assertFailedWith(pushClient.execute(URL, Mockito.mock(Request.class)), IllegalStateException.class);
+        Assert.assertEquals(0, pushClient.getInflight(URL));
+        Map<String, Integer> inflight = Whitebox.getInternalState(pushClient, "inflight");
+        Assert.assertTrue(inflight.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Response> mockResponse() {
+        CompletableFuture<Response> response = new CompletableFuture<>();
+        ListenableFuture<Response> future = Mockito.mock(ListenableFuture.class);
+        Mockito.when(future.toCompletableFuture()).thenReturn(response);
+        Mockito.when(asyncHttpClient.executeRequest(ArgumentMatchers.any(Request.class))).thenReturn(future);
+        return response;
+    }
+
+    private static void assertFailedWith(CompletableFuture<Response> future, Class<? extends Throwable> cause) throws Exception {
+        Assert.assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(cause.isInstance(e.getCause()));
+        }
+    }
+}
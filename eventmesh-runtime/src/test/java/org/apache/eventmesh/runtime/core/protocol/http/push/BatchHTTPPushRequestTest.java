@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.common.protocol.http.common.ClientRetCode;
+import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.consumergroup.ConsumerGroupTopicConf;
+import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
+import org.apache.eventmesh.runtime.core.protocol.http.push.BatchHTTPPushRequest.BatchPushResult;
+import org.apache.eventmesh.runtime.core.protocol.http.retry.HttpRetryer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.asynchttpclient.Response;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+import io.netty.util.Timeout;
+
+public class BatchHTTPPushRequestTest {
+
+    @Test
+    public void testParseBatchRetCode() {
+        BatchPushResult result = BatchHTTPPushRequest.parseResponse("{\"retCode\":0}");
+        Assert.assertEquals(ClientRetCode.REMOTE_OK, result.of("1"));
+        Assert.assertEquals(ClientRetCode.REMOTE_OK, result.of("2"));
+    }
+
+    @Test
+    public void testParseEventRetCodes() {
+        BatchPushResult result = BatchHTTPPushRequest.parseResponse(
+            "{\"retCode\":0,\"results\":[{\"id\":\"1\",\"retCode\":2},{\"id\":\"2\",\"retCode\":5},{\"id\":\"3\",\"retCode\":3}]}");
+        Assert.assertEquals(ClientRetCode.RETRY, result.of("1"));
+        Assert.assertEquals(ClientRetCode.NOLISTEN, result.of("2"));
+        Assert.assertEquals(ClientRetCode.FAIL, result.of("3"));
+        Assert.assertEquals(ClientRetCode.REMOTE_OK, result.of("4"));
+    }
+
+    @Test
+    public void testParseInvalidResponse() {
+        Assert.assertEquals(ClientRetCode.FAIL, BatchHTTPPushRequest.parseResponse("").of("1"));
+        Assert.assertEquals(ClientRetCode.FAIL, BatchHTTPPushRequest.parseResponse("not json").of("1"));
+        Assert.assertEquals(ClientRetCode.FAIL, BatchHTTPPushRequest.parseResponse("{\"results\":[]}").of("1"));
+    }
+
+    @Test
+    public void testNoUrlRetriedThenFinished() {
+        EventMeshHTTPServer server = Mockito.mock(EventMeshHTTPServer.class);
+        HttpRetryer retryer = Mockito.mock(HttpRetryer.class);
+        Mockito.when(server.getEventMeshHttpConfiguration()).thenReturn(new EventMeshHTTPConfiguration(null));
+        Mockito.when(server.getHttpRetryer()).thenReturn(retryer);
+        Mockito.when(server.getPushEndpoints()).thenReturn(new HttpPushEndpoints(url -> 0));
+        List<HandleMsgContext> batch = Arrays.asList(mockContext(server), mockContext(server));
+        BatchHTTPPushRequest request = new BatchHTTPPushRequest(batch, Mockito.mock(HttpPushTimeoutTracker.class));
+
+        for (int i = 0; i < EventMeshConstants.DEFAULT_PUSH_RETRY_TIMES; i++) {
+            request.tryHTTPRequest();
+        }
+        Mockito.verify(retryer, Mockito.times(EventMeshConstants.DEFAULT_PUSH_RETRY_TIMES)).pushRetry(request);
+        Assert.assertFalse(request.isComplete());
+        batch.forEach(context -> Mockito.verify(context, Mockito.never()).finish());
+
+        // out of retries, the batch is finished like any failed push
+        request.tryHTTPRequest();
+        Assert.assertTrue(request.isComplete());
+        batch.forEach(context -> Mockito.verify(context).finish());
+    }
+
+    @Test
+    public void testLateResponseIgnored() throws Exception {
+        EventMeshHTTPServer server = Mockito.mock(EventMeshHTTPServer.class);
+        HttpPushEndpoints endpoints = new HttpPushEndpoints(url -> 0);
+        Mockito.when(server.getEventMeshHttpConfiguration()).thenReturn(new EventMeshHTTPConfiguration(null));
+        Mockito.when(server.getHttpRetryer()).thenReturn(Mockito.mock(HttpRetryer.class));
+        Mockito.when(server.getPushEndpoints()).thenReturn(endpoints);
+        List<HandleMsgContext> batch = Arrays.asList(mockContext(server), mockContext(server));
+        HttpPushTimeoutTracker timeoutTracker = Mockito.mock(HttpPushTimeoutTracker.class);
+        // the timeout fired first
+        Mockito.when(timeoutTracker.unregister(Mockito.anyString(), Mockito.any())).thenReturn(false);
+        BatchHTTPPushRequest request = new BatchHTTPPushRequest(batch, timeoutTracker);
+
+        Response response = Mockito.mock(Response.class);
+        Mockito.when(response.getStatusCode()).thenReturn(200);
+        Whitebox.invokeMethod(request, "onPushResponse", "http://a", Mockito.mock(Timeout.class), batch, response);
+        Whitebox.invokeMethod(request, "onPushError", "http://a", Mockito.mock(Timeout.class), batch, new IOException("reset"));
+
+        Assert.assertTrue(endpoints.getEndpoints().isEmpty());
+        Assert.assertFalse(request.isComplete());
+        batch.forEach(context -> Mockito.verify(context, Mockito.never()).finish());
+    }
+
+    @Test
+    public void testRequestTimeoutIsTtl() {
+        EventMeshHTTPServer server = Mockito.mock(EventMeshHTTPServer.class);
+        Mockito.when(server.getEventMeshHttpConfiguration()).thenReturn(new EventMeshHTTPConfiguration(null));
+        HandleMsgContext context = mockContext(server);
+        Mockito.when(context.getTtl()).thenReturn(3000);
+        BatchHTTPPushRequest request = new BatchHTTPPushRequest(Collections.singletonList(context),
+            Mockito.mock(HttpPushTimeoutTracker.class));
+        request.currPushUrl = "http://a";
+
+        // the client frees the in-flight slot of the url when the tracker times the push out
+        Assert.assertEquals(3000, request.newPushRequestBuilder().build().getRequestTimeout());
+    }
+
+    private static HandleMsgContext mockContext(EventMeshHTTPServer server) {
+        HandleMsgContext context = Mockito.mock(HandleMsgContext.class);
+        Mockito.when(context.getEventMeshHTTPServer()).thenReturn(server);
+        Mockito.when(context.getConsumeTopicConfig()).thenReturn(new ConsumerGroupTopicConf());
+        Mockito.when(context.getConsumerGroup()).thenReturn("group");
+        Mockito.when(context.getTopic()).thenReturn("topic");
+        return context;
+    }
+}
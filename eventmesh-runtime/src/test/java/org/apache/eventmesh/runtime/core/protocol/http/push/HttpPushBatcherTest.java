@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.runtime.core.consumergroup.ConsumerGroupTopicConf;
+import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class HttpPushBatcherTest {
+
+    private final BlockingQueue<List<HandleMsgContext>> pushed = new LinkedBlockingQueue<>();
+
+    private HttpPushBatcher batcher;
+
+    @Before
+    public void setUp() {
+        batcher = new HttpPushBatcher("test-pushBatch-");
+    }
+
+    @After
+    public void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testPushFullBatch() {
+        for (int i = 0; i < 3; i++) {
+            batcher.add(mockContext("topic", 3, 60_000), pushed::add);
+        }
+        Assert.assertEquals(1, pushed.size());
+        Assert.assertEquals(3, pushed.poll().size());
+    }
+
+    @Test
+    public void testPushAfterLatency() throws InterruptedException {
+        batcher.add(mockContext("topic", 100, 10), pushed::add);
+        batcher.add(mockContext("topic", 100, 10), pushed::add);
+        List<HandleMsgContext> batch = pushed.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(batch);
+        Assert.assertEquals(2, batch.size());
+        Assert.assertTrue(pushed.isEmpty());
+    }
+
+    @Test
+    public void testBatchPerTopic() {
+        batcher.add(mockContext("topicA", 2, 60_000), pushed::add);
+        batcher.add(mockContext("topicB", 2, 60_000), pushed::add);
+        Assert.assertTrue(pushed.isEmpty());
+        batcher.add(mockContext("topicA", 2, 60_000), pushed::add);
+        Assert.assertEquals(1, pushed.size());
+        Assert.assertEquals("topicA", pushed.poll().get(1).getTopic());
+    }
+
+    @Test
+    public void testShutdownPushesPendingBatches() {
+        batcher.add(mockContext("topicA", 100, 60_000), pushed::add);
+        batcher.add(mockContext("topicA", 100, 60_000), pushed::add);
+        batcher.add(mockContext("topicB", 100, 60_000), pushed::add);
+        batcher.shutdown();
+        Assert.assertEquals(2, pushed.size());
+        Assert.assertEquals(3, pushed.stream().mapToInt(List::size).sum());
+
+        // nothing would flush a batch any more, push at once
+        batcher.add(mockContext("topicA", 100, 60_000), pushed::add);
+        Assert.assertEquals(3, pushed.size());
+    }
+
+    private static HandleMsgContext mockContext(String topic, int batchSize, int latencyInMills) {
+        ConsumerGroupTopicConf topicConf = new ConsumerGroupTopicConf();
+        topicConf.setPushBatchSize(batchSize);
+        topicConf.setPushBatchLatencyInMills(latencyInMills);
+        HandleMsgContext context = Mockito.mock(HandleMsgContext.class);
+        Mockito.when(context.getConsumerGroup()).thenReturn("group");
+        Mockito.when(context.getTopic()).thenReturn(topic);
+        Mockito.when(context.getConsumeTopicConfig()).thenReturn(topicConf);
+        return context;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HttpPushEndpointsTest {
+
+    @Test
+    public void testEjectAfterConsecutiveFailures() {
+        HttpPushEndpointHealth health = new HttpPushEndpointHealth("http://a");
+        long now = 1000;
+        for (int i = 0; i < HttpPushEndpointHealth.MAX_CONSECUTIVE_FAILURES - 1; i++) {
+            health.onFailure(now);
+        }
+        Assert.assertEquals(HttpPushEndpointHealth.State.CLOSED, health.getState());
+        health.onFailure(now);
+        Assert.assertEquals(HttpPushEndpointHealth.State.OPEN, health.getState());
+        Assert.assertFalse(health.isSelectable(now));
+        Assert.assertTrue(health.isSelectable(now + HttpPushEndpointHealth.BASE_EJECTION_IN_MILLS));
+    }
+
+    @Test
+    public void testProbeClosesOrReopens() {
+        HttpPushEndpointHealth health = new HttpPushEndpointHealth("http://a");
+        long now = 1000;
+        for (int i = 0; i < HttpPushEndpointHealth.MAX_CONSECUTIVE_FAILURES; i++) {
+            health.onFailure(now);
+        }
+        now += HttpPushEndpointHealth.BASE_EJECTION_IN_MILLS;
+        health.onSelected(now);
+        Assert.assertEquals(HttpPushEndpointHealth.State.HALF_OPEN, health.getState());
+        Assert.assertFalse(health.isSelectable(now));
+
+        // a failed probe doubles the ejection
+        health.onFailure(now);
+        Assert.assertEquals(HttpPushEndpointHealth.State.OPEN, health.getState());
+        Assert.assertEquals(now + 2 * HttpPushEndpointHealth.BASE_EJECTION_IN_MILLS, health.getOpenUntil());
+
+        now = health.getOpenUntil();
+        health.onSelected(now);
+        health.onSuccess(10, now);
+        Assert.assertEquals(HttpPushEndpointHealth.State.CLOSED, health.getState());
+        Assert.assertTrue(health.isSelectable(now));
+    }
+
+    @Test
+    public void testEjectOnErrorRate() {
+        HttpPushEndpointHealth health = new HttpPushEndpointHealth("http://a");
+        long now = 1000;
+        for (int i = 0; i < HttpPushEndpointHealth.MIN_WINDOW_REQUESTS; i++) {
+            if (i % 2 == 0) {
+                health.onSuccess(10, now);
+            } else {
+                health.onFailure(now);
+            }
+        }
+        Assert.assertEquals(HttpPushEndpointHealth.State.OPEN, health.getState());
+    }
+
+    @Test
+    public void testSelectSkipsEjectedUrl() {
+        HttpPushEndpoints endpoints = new HttpPushEndpoints(url -> 0);
+        List<String> urls = Arrays.asList("http://a", "http://b", "http://c");
+        for (int i = 0; i < HttpPushEndpointHealth.MAX_CONSECUTIVE_FAILURES; i++) {
+            endpoints.onFailure("http://a");
+        }
+        for (int i = 0; i < 100; i++) {
+            Assert.assertNotEquals("http://a", endpoints.select(urls, null));
+        }
+        Assert.assertTrue(endpoints.hasSelectable(urls));
+        Assert.assertFalse(endpoints.hasSelectable(Arrays.asList("http://a")));
+        // every url ejected, fall back to all of them
+        Assert.assertEquals("http://a", endpoints.select(Arrays.asList("http://a"), null));
+    }
+
+    @Test
+    public void testSelectPrefersLessOutstanding() {
+        Map<String, Integer> outstanding = new HashMap<>();
+        outstanding.put("http://a", 100);
+        outstanding.put("http://b", 0);
+        HttpPushEndpoints endpoints = new HttpPushEndpoints(url -> outstanding.getOrDefault(url, 0));
+        List<String> urls = Arrays.asList("http://a", "http://b");
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals("http://b", endpoints.select(urls, null));
+        }
+        Assert.assertEquals("http://a", endpoints.select(urls, "http://b"));
+    }
+
+    @Test
+    public void testRetainEvictsUnsubscribedUrls() {
+        HttpPushEndpoints endpoints = new HttpPushEndpoints(url -> 0);
+        endpoints.onSuccess("http://a", 10);
+        endpoints.onFailure("http://b");
+        endpoints.retain(Collections.singleton("http://a"));
+        Assert.assertEquals(1, endpoints.getEndpoints().size());
+        Assert.assertEquals("http://a", endpoints.getEndpoints().iterator().next().getUrl());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.util.Timeout;
+
+public class HttpPushTimeoutTrackerTest {
+
+    private final HttpPushTimeoutTracker tracker = new HttpPushTimeoutTracker("test-pushTimeout");
+
+    @After
+    public void tearDown() {
+        tracker.shutdown();
+    }
+
+    @Test
+    public void testUnregisterBeforeTtl() throws Exception {
+        AtomicInteger timeouts = new AtomicInteger();
+        Timeout timeout = tracker.register("group", 60000, timeouts::incrementAndGet);
+        Assert.assertEquals(1, tracker.getWaitingNum("group"));
+
+        Assert.assertTrue(tracker.unregister("group", timeout));
+        Assert.assertFalse(tracker.unregister("group", timeout));
+        Assert.assertEquals(0, tracker.getWaitingNum("group"));
+        Assert.assertEquals(0, timeouts.get());
+        Assert.assertEquals(Long.valueOf(0), tracker.drainTimeoutNum().get("group"));
+    }
+
+    @Test
+    public void testTimeoutAfterTtl() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        Timeout timeout = tracker.register("group1", 50, latch::countDown);
+        tracker.register("group2", 50, latch::countDown);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        Assert.assertFalse(tracker.unregister("group1", timeout));
+        Assert.assertEquals(0, tracker.getWaitingNum("group1"));
+        Assert.assertEquals(0, tracker.getWaitingNum("group2"));
+        Assert.assertEquals(Long.valueOf(1), tracker.drainTimeoutNum().get("group1"));
+        Assert.assertEquals(Long.valueOf(0), tracker.drainTimeoutNum().get("group1"));
+    }
+}
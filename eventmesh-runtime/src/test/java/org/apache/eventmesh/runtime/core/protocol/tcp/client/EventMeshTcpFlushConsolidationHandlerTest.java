@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class EventMeshTcpFlushConsolidationHandlerTest {
+
+    private static final int MESSAGE_SIZE = 64;
+
+    private final AtomicInteger flushes = new AtomicInteger();
+
+    @Test
+    public void testFlushAtEndOfTick() {
+        EmbeddedChannel channel = newChannel(256, 64 * 1024);
+        for (int i = 0; i < 3; i++) {
+            channel.writeAndFlush(message());
+        }
+        Assert.assertEquals(0, flushes.get());
+        Assert.assertNull(channel.readOutbound());
+
+        channel.runPendingTasks();
+        Assert.assertEquals(1, flushes.get());
+        Assert.assertEquals(3, releaseOutbound(channel));
+    }
+
+    @Test
+    public void testFlushAfterExplicitFlushes() {
+        EmbeddedChannel channel = newChannel(3, 64 * 1024);
+        for (int i = 0; i < 3; i++) {
+            channel.writeAndFlush(message());
+        }
+        Assert.assertEquals(1, flushes.get());
+        Assert.assertEquals(3, releaseOutbound(channel));
+    }
+
+    @Test
+    public void testFlushAfterMaxPendingBytes() {
+        EmbeddedChannel channel = newChannel(256, 2 * MESSAGE_SIZE);
+        for (int i = 0; i < 10; i++) {
+            channel.writeAndFlush(message());
+        }
+        // one flush per two messages, not one per message once the limit is reached
+        Assert.assertEquals(5, flushes.get());
+        Assert.assertEquals(10, releaseOutbound(channel));
+    }
+
+    @Test
+    public void testPendingBytesResetByConsolidatedFlush() {
+        EmbeddedChannel channel = newChannel(256, 2 * MESSAGE_SIZE);
+        channel.writeAndFlush(message());
+        channel.runPendingTasks();
+        Assert.assertEquals(1, flushes.get());
+
+        channel.writeAndFlush(message());
+        Assert.assertEquals(1, flushes.get());
+        channel.writeAndFlush(message());
+        Assert.assertEquals(2, flushes.get());
+        Assert.assertEquals(3, releaseOutbound(channel));
+    }
+
+    @Test
+    public void testFlushOnClose() {
+        EmbeddedChannel channel = newChannel(256, 64 * 1024);
+        channel.writeAndFlush(message());
+        channel.close();
+        Assert.assertEquals(1, flushes.get());
+        Assert.assertEquals(1, releaseOutbound(channel));
+    }
+
+    private EmbeddedChannel newChannel(int explicitFlushAfterFlushes, int maxPendingBytes) {
+        return new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void flush(ChannelHandlerContext ctx) {
+                flushes.incrementAndGet();
+                ctx.flush();
+            }
+        }, new EventMeshTcpFlushConsolidationHandler(explicitFlushAfterFlushes, maxPendingBytes));
+    }
+
+    private static ByteBuf message() {
+        return Unpooled.buffer(MESSAGE_SIZE).writeZero(MESSAGE_SIZE);
+    }
+
+    private static int releaseOutbound(EmbeddedChannel channel) {
+        int count = 0;
+        ByteBuf msg;
+        while ((msg = channel.readOutbound()) != null) {
+            msg.release();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Loopback benchmark of the downstream write path, with and without {@link EventMeshTcpFlushConsolidationHandler}.
+ * Messages are written with writeAndFlush from pusher threads, as SessionPusher does, and the flushes reaching the
+ * head of the pipeline are counted: each one costs a write syscall. The flushes and the messages of each iteration are
+ * reported by the {@link FlushCounters} auxiliary counters.
+ * <p>
+ * Not part of the test run, start it with {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class FlushConsolidationBenchmark {
+
+    private static final int MESSAGES_PER_OP = 64;
+
+    private static final int MESSAGE_SIZE = 512;
+
+    @Param({"false", "true"})
+    private boolean consolidate;
+
+    // flushes not reported yet, drained by the pushers
+    private final AtomicLong flushes = new AtomicLong();
+
+    private EventLoopGroup boss;
+
+    private EventLoopGroup io;
+
+    private EventLoopGroup client;
+
+    private Channel serverChannel;
+
+    private Channel clientChannel;
+
+    private volatile Channel channel;
+
+    private ByteBuf message;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        boss = new NioEventLoopGroup(1);
+        io = new NioEventLoopGroup(1);
+        client = new NioEventLoopGroup(1);
+        serverChannel = new ServerBootstrap().group(boss, io).channel(NioServerSocketChannel.class)
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    ch.pipeline().addLast(new ChannelOutboundHandlerAdapter() {
+                        @Override
+                        public void flush(ChannelHandlerContext ctx) {
+                            flushes.incrementAndGet();
+                            ctx.flush();
+                        }
+                    });
+                    if (consolidate) {
+                        ch.pipeline().addLast(new EventMeshTcpFlushConsolidationHandler(256, 64 * 1024));
+                    }
+                    channel = ch;
+                }
+            }).bind("127.0.0.1", 0).sync().channel();
+
+        clientChannel = new Bootstrap().group(client).channel(NioSocketChannel.class)
+            .handler(new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    ReferenceCountUtil.release(msg);
+                }
+            }).connect(serverChannel.localAddress()).sync().channel();
+        while (channel == null) {
+            Thread.sleep(1);
+        }
+        message = Unpooled.unreleasableBuffer(Unpooled.directBuffer(MESSAGE_SIZE).writeZero(MESSAGE_SIZE));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        clientChannel.close().sync();
+        serverChannel.close().sync();
+        client.shutdownGracefully().sync();
+        io.shutdownGracefully().sync();
+        boss.shutdownGracefully().sync();
+    }
+
+    /**
+     * Push a batch of messages and wait until the last one is written, so the pushers can not outrun the socket.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_OP)
+    public void push(FlushCounters counters) throws InterruptedException {
+        ChannelFuture last = null;
+        for (int i = 0; i < MESSAGES_PER_OP; i++) {
+            last = channel.writeAndFlush(message.duplicate());
+        }
+        last.sync();
+        counters.messages += MESSAGES_PER_OP;
+        // every flush is reported once, by the pusher which drains it
+        counters.flushes += flushes.getAndSet(0);
+    }
+
+    /**
+     * Flushes and messages of the iteration, summed over the pushers: their ratio is the messages written per syscall.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FlushCounters {
+
+        public long flushes;
+
+        public long messages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            flushes = 0;
+            messages = 0;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(FlushConsolidationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
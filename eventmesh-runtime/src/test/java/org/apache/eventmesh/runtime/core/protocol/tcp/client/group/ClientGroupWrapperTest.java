@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group;
+
+import org.apache.eventmesh.api.consumer.Consumer;
+import org.apache.eventmesh.api.factory.ConnectorPluginFactory;
+import org.apache.eventmesh.api.producer.Producer;
+import org.apache.eventmesh.common.protocol.SubscriptionItem;
+import org.apache.eventmesh.common.protocol.tcp.UserAgent;
+import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.FreePriorityDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.TopicSessions;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.SessionPusher;
+import org.apache.eventmesh.runtime.metrics.tcp.EventMeshTcpMonitor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+public class ClientGroupWrapperTest {
+
+    private MockedStatic<ConnectorPluginFactory> connectorPluginFactory;
+
+    private EventMeshTCPConfiguration configuration;
+
+    private ClientGroupWrapper clientGroupWrapper;
+
+    private SessionPusher pusher;
+
+    @Before
+    public void setUp() {
+        connectorPluginFactory = Mockito.mockStatic(ConnectorPluginFactory.class);
+        connectorPluginFactory.when(() -> ConnectorPluginFactory.getMeshMQPushConsumer(ArgumentMatchers.anyString()))
+            .thenReturn(Mockito.mock(Consumer.class));
+        connectorPluginFactory.when(() -> ConnectorPluginFactory.getMeshMQProducer(ArgumentMatchers.anyString()))
+            .thenReturn(Mockito.mock(Producer.class));
+
+        configuration = new EventMeshTCPConfiguration(null);
+        EventMeshTCPServer server = Mockito.mock(EventMeshTCPServer.class);
+        Mockito.when(server.getEventMeshTCPConfiguration()).thenReturn(configuration);
+        Mockito.when(server.getEventMeshTcpMonitor()).thenReturn(Mockito.mock(EventMeshTcpMonitor.class));
+        clientGroupWrapper = new ClientGroupWrapper("sysId", "group", server, new FreePriorityDispatchStrategy());
+
+        pusher = Mockito.mock(SessionPusher.class);
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getPusher()).thenReturn(pusher);
+        Mockito.when(session.getSessionState()).thenReturn(SessionState.RUNNING);
+        Map<String, TopicSessions> topicSessions = Whitebox.getInternalState(clientGroupWrapper, "topic2dispatchSessions");
+        topicSessions.put("topic", new TopicSessions(Collections.singletonList(session)));
+    }
+
+    @After
+    public void tearDown() {
+        connectorPluginFactory.close();
+    }
+
+    @Test
+    public void testAwaitDownstreamCredit() {
+        Mockito.when(pusher.hasCredit()).thenReturn(true);
+        Assert.assertTrue(clientGroupWrapper.awaitDownstreamCredit("topic"));
+        // no session, waiting would not help
+        Assert.assertTrue(clientGroupWrapper.awaitDownstreamCredit("other"));
+    }
+
+    @Test
+    public void testAwaitDownstreamCreditTimeout() {
+        configuration.eventMeshTcpSessionDownstreamCreditWaitInMills = 50;
+        Mockito.when(pusher.hasCredit()).thenReturn(false);
+        long start = System.currentTimeMillis();
+        Assert.assertFalse(clientGroupWrapper.awaitDownstreamCredit("topic"));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 50);
+    }
+
+    @Test
+    public void testNotifyDownstreamCredit() throws Exception {
+        configuration.eventMeshTcpSessionDownstreamCreditWaitInMills = 30_000;
+        Mockito.when(pusher.hasCredit()).thenReturn(false);
+        CompletableFuture<Boolean> granted = CompletableFuture.supplyAsync(() -> clientGroupWrapper.awaitDownstreamCredit("topic"));
+        while (Whitebox.<AtomicInteger>getInternalState(clientGroupWrapper, "downstreamCreditWaiters").get() == 0) {
+            Thread.sleep(1);
+        }
+        Assert.assertFalse(granted.isDone());
+
+        Mockito.when(pusher.hasCredit()).thenReturn(true);
+        clientGroupWrapper.notifyDownstreamCredit();
+        Assert.assertTrue(granted.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDispatchOnlyToListeningSessions() throws Exception {
+        UserAgent client = new UserAgent();
+        client.setGroup("group");
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getClient()).thenReturn(client);
+        SubscriptionItem item = new SubscriptionItem();
+        item.setTopic("subscribed");
+
+        Assert.assertTrue(clientGroupWrapper.addSubscription(item, session));
+        Assert.assertEquals(0, clientGroupWrapper.getTopicSessions("subscribed").size());
+
+        Assert.assertTrue(clientGroupWrapper.addGroupConsumerSession(session));
+        Assert.assertEquals(1, clientGroupWrapper.getTopicSessions("subscribed").size());
+        Assert.assertSame(session, clientGroupWrapper.getTopicSessions("subscribed").get(0));
+
+        Assert.assertTrue(clientGroupWrapper.removeGroupConsumerSession(session));
+        Assert.assertEquals(0, clientGroupWrapper.getTopicSessions("subscribed").size());
+    }
+
+    @Test
+    public void testAwaitDownstreamCreditSkipsSessionsNotRunning() {
+        configuration.eventMeshTcpSessionDownstreamCreditWaitInMills = 50;
+        Mockito.when(pusher.hasCredit()).thenReturn(true);
+        Session session = clientGroupWrapper.getTopicSessions("topic").get(0);
+        Mockito.when(session.getSessionState()).thenReturn(SessionState.CREATED);
+        Assert.assertFalse(clientGroupWrapper.awaitDownstreamCredit("topic"));
+    }
+}
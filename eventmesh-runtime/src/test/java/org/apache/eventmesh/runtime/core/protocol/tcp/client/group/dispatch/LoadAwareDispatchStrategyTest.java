@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.common.protocol.SubscriptionItem;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionContext;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.SessionPusher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class LoadAwareDispatchStrategyTest {
+
+    @Test
+    public void testLeastUnacked() {
+        Session light = mockSession(1, 100, true, false);
+        Session heavy = mockSession(50, 100, true, false);
+        TopicSessions topicSessions = new TopicSessions(Arrays.asList(heavy, light));
+        LeastUnackedDispatchStrategy strategy = new LeastUnackedDispatchStrategy();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(light, strategy.select("group", "topic", topicSessions));
+        }
+    }
+
+    @Test
+    public void testLeastUnackedPrefersFreeSessions() {
+        Session isolated = mockSession(0, 100, true, true);
+        Session exhausted = mockSession(0, 100, false, false);
+        Session free = mockSession(80, 100, true, false);
+        LeastUnackedDispatchStrategy strategy = new LeastUnackedDispatchStrategy();
+        Assert.assertSame(free, strategy.select("group", "topic", new TopicSessions(Arrays.asList(isolated, exhausted, free))));
+        Assert.assertSame(isolated, strategy.select("group", "topic", new TopicSessions(Arrays.asList(isolated, exhausted))));
+        Assert.assertSame(exhausted, strategy.select("group", "topic", new TopicSessions(Collections.singletonList(exhausted))));
+    }
+
+    @Test
+    public void testClosedSessionsNeverSelected() {
+        Session closed = mockSession(0, 100, true, false);
+        Mockito.when(closed.getSessionState()).thenReturn(SessionState.CLOSED);
+        TopicSessions topicSessions = new TopicSessions(Collections.singletonList(closed));
+        Assert.assertNull(new LeastUnackedDispatchStrategy().select("group", "topic", topicSessions));
+        Assert.assertNull(new PowerOfTwoChoicesDispatchStrategy().select("group", "topic", topicSessions));
+        Assert.assertNull(new WeightedRoundRobinDispatchStrategy().select("group", "topic", topicSessions));
+        Assert.assertNull(new PowerOfTwoChoicesDispatchStrategy().select("group", "topic", TopicSessions.EMPTY));
+    }
+
+    @Test
+    public void testSessionsNotRunningNeverSelected() {
+        Session created = mockSession(0, 100, true, false);
+        Mockito.when(created.getSessionState()).thenReturn(SessionState.CREATED);
+        Session running = mockSession(90, 100, false, false);
+        TopicSessions topicSessions = new TopicSessions(Arrays.asList(created, running));
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(running, new LeastUnackedDispatchStrategy().select("group", "topic", topicSessions));
+            Assert.assertSame(running, new PowerOfTwoChoicesDispatchStrategy().select("group", "topic", topicSessions));
+            Assert.assertSame(running, new WeightedRoundRobinDispatchStrategy().select("group", "topic", topicSessions));
+        }
+    }
+
+    @Test
+    public void testPowerOfTwoChoices() {
+        Session light = mockSession(1, 100, true, false);
+        Session heavy = mockSession(50, 100, true, false);
+        TopicSessions topicSessions = new TopicSessions(Arrays.asList(heavy, light));
+        PowerOfTwoChoicesDispatchStrategy strategy = new PowerOfTwoChoicesDispatchStrategy();
+        // with two sessions both are always sampled
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(light, strategy.select("group", "topic", topicSessions));
+        }
+    }
+
+    @Test
+    public void testPowerOfTwoChoicesSkipsExhaustedSessions() {
+        Session[] exhausted = new Session[8];
+        for (int i = 0; i < exhausted.length; i++) {
+            exhausted[i] = mockSession(0, 100, false, false);
+        }
+        Session free = mockSession(90, 100, true, false);
+        Session[] all = Arrays.copyOf(exhausted, exhausted.length + 1);
+        all[exhausted.length] = free;
+        TopicSessions topicSessions = new TopicSessions(Arrays.asList(all));
+        PowerOfTwoChoicesDispatchStrategy strategy = new PowerOfTwoChoicesDispatchStrategy();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertSame(free, strategy.select("group", "topic", topicSessions));
+        }
+    }
+
+    @Test
+    public void testWeightedRoundRobin() {
+        Session big = mockSession(0, 100, true, false);
+        Session small = mockSession(0, 25, true, false);
+        TopicSessions topicSessions = new TopicSessions(Arrays.asList(big, small));
+        WeightedRoundRobinDispatchStrategy strategy = new WeightedRoundRobinDispatchStrategy();
+        Map<Session, Integer> selected = new HashMap<>();
+        // weights 16 and 4, four passes of the schedule
+        for (int i = 0; i < 80; i++) {
+            selected.merge(strategy.select("group", "topic", topicSessions), 1, Integer::sum);
+        }
+        Assert.assertEquals(64, selected.get(big).intValue());
+        Assert.assertEquals(16, selected.get(small).intValue());
+    }
+
+    @Test
+    public void testSelectFromGroupSessions() {
+        Session subscribed = mockSession(10, 100, true, false);
+        subscribed.getSessionContext().subscribeTopics.put("topic", new SubscriptionItem());
+        Session other = mockSession(0, 100, true, false);
+        Assert.assertSame(subscribed, new LeastUnackedDispatchStrategy().select("group", "topic",
+            new HashSet<>(Arrays.asList(subscribed, other))));
+    }
+
+    private static Session mockSession(int unacked, int creditWindow, boolean hasCredit, boolean isolated) {
+        SessionPusher pusher = Mockito.mock(SessionPusher.class);
+        Mockito.when(pusher.getTotalUnackMsgs()).thenReturn(unacked);
+        Mockito.when(pusher.getCreditWindow()).thenReturn(creditWindow);
+        Mockito.when(pusher.hasCredit()).thenReturn(hasCredit);
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getPusher()).thenReturn(pusher);
+        Mockito.when(session.getSessionState()).thenReturn(SessionState.RUNNING);
+        Mockito.when(session.isIsolated()).thenReturn(isolated);
+        Mockito.when(session.getSessionContext()).thenReturn(new SessionContext(session));
+        return session;
+    }
+}
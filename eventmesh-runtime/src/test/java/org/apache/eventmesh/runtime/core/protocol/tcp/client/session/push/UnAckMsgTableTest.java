@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class UnAckMsgTableTest {
+
+    private DownStreamMsgContext context(long expireTime) {
+        DownStreamMsgContext downStreamMsgContext = Mockito.mock(DownStreamMsgContext.class);
+        Mockito.when(downStreamMsgContext.getExpireTime()).thenReturn(expireTime);
+        return downStreamMsgContext;
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        UnAckMsgTable table = new UnAckMsgTable();
+        DownStreamMsgContext downStreamMsgContext = context(System.currentTimeMillis() + 60000);
+        long seq = (5L << 32) | 7;
+
+        Assert.assertTrue(table.put(seq, downStreamMsgContext));
+        Assert.assertFalse(table.put(seq, downStreamMsgContext));
+        Assert.assertEquals(1, table.size());
+        Assert.assertSame(downStreamMsgContext, table.get(seq));
+        Assert.assertNull(table.get(7));
+
+        Assert.assertSame(downStreamMsgContext, table.remove(seq));
+        Assert.assertNull(table.remove(seq));
+        Assert.assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testRemoveExpired() {
+        UnAckMsgTable table = new UnAckMsgTable();
+        long now = System.currentTimeMillis();
+        DownStreamMsgContext expired = context(now - 10);
+        DownStreamMsgContext acked = context(now - 10);
+        DownStreamMsgContext alive = context(now + 60000);
+        DownStreamMsgContext soon = context(now + 1);
+        table.put(1, expired);
+        table.put(2, acked);
+        table.put(3, alive);
+        table.put(4, soon);
+        table.remove(2);
+
+        List<DownStreamMsgContext> removed = table.removeExpired(now);
+        Assert.assertEquals(1, removed.size());
+        Assert.assertSame(expired, removed.get(0));
+        Assert.assertEquals(2, table.size());
+
+        removed = table.removeExpired(now + 1);
+        Assert.assertEquals(1, removed.size());
+        Assert.assertSame(soon, removed.get(0));
+        Assert.assertSame(alive, table.get(3));
+        Assert.assertEquals(1, table.values().size());
+    }
+
+    @Test
+    public void testParseSeq() {
+        Assert.assertEquals(123L, UnAckMsgTable.parseSeq("123"));
+        Assert.assertEquals(Long.MAX_VALUE, UnAckMsgTable.parseSeq(String.valueOf(Long.MAX_VALUE)));
+        Assert.assertEquals(-1L, UnAckMsgTable.parseSeq(null));
+        Assert.assertEquals(-1L, UnAckMsgTable.parseSeq(""));
+        Assert.assertEquals(-1L, UnAckMsgTable.parseSeq("12a"));
+        Assert.assertEquals(-1L, UnAckMsgTable.parseSeq("-1"));
+        Assert.assertEquals(-1L, UnAckMsgTable.parseSeq("9999999999999999999"));
+    }
+}
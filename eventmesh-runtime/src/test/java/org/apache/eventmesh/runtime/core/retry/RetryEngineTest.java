@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.retry;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RetryEngineTest {
+
+    private RetryEngine retryEngine;
+
+    @After
+    public void tearDown() {
+        if (retryEngine != null) {
+            retryEngine.shutdown();
+        }
+    }
+
+    @Test
+    public void testBackoff() {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            long delay = RetryEngine.backoff(100, attempt);
+            long upper = 100L << attempt;
+            Assert.assertTrue(delay >= upper / 2);
+            Assert.assertTrue(delay <= upper);
+        }
+        Assert.assertEquals(0, RetryEngine.backoff(0, 3));
+        Assert.assertTrue(RetryEngine.backoff(Long.MAX_VALUE / 2, 40) > 0);
+    }
+
+    @Test
+    public void testScheduleRunsDueRetries() throws Exception {
+        retryEngine = new RetryEngine("test-retry", 2, 100, 0, 60000);
+        retryEngine.start();
+        CountDownLatch latch = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(retryEngine.schedule("group", System.currentTimeMillis() + 20, latch::countDown));
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(3, retryEngine.getLatency().count());
+        Assert.assertEquals(0, retryEngine.size());
+    }
+
+    @Test
+    public void testCapacityAndGroupBudget() {
+        retryEngine = new RetryEngine("test-retry", 1, 3, 2, 60000);
+        long executeTime = System.currentTimeMillis() + 60000;
+        Assert.assertTrue(retryEngine.schedule("a", executeTime, () -> { }));
+        Assert.assertTrue(retryEngine.schedule("a", executeTime, () -> { }));
+        Assert.assertFalse(retryEngine.schedule("a", executeTime, () -> { }));
+        Assert.assertTrue(retryEngine.schedule("b", executeTime, () -> { }));
+        Assert.assertFalse(retryEngine.schedule("c", executeTime, () -> { }));
+        Assert.assertEquals(3, retryEngine.size());
+        Assert.assertEquals(2, retryEngine.size("a"));
+        Assert.assertEquals(2, retryEngine.getRejectedNum());
+    }
+
+    @Test
+    public void testGroupsAreDrainedInTurn() throws Exception {
+        retryEngine = new RetryEngine("test-retry", 1, 100, 0, 60000);
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(6);
+        long executeTime = System.currentTimeMillis();
+        for (int i = 0; i < 4; i++) {
+            retryEngine.schedule("busy", executeTime, () -> {
+                executed.add("busy");
+                latch.countDown();
+            });
+        }
+        for (int i = 0; i < 2; i++) {
+            retryEngine.schedule("quiet", executeTime, () -> {
+                executed.add("quiet");
+                latch.countDown();
+            });
+        }
+        // let the wheel move every retry to the group queues before the single worker starts
+        Thread.sleep(200);
+        retryEngine.start();
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals("quiet", executed.get(1));
+        Assert.assertEquals("quiet", executed.get(3));
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        RetryLatencyHistogram histogram = new RetryLatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(3);
+        }
+        histogram.record(1000);
+        histogram.record(100000);
+        Assert.assertEquals(4, histogram.percentile(0.5));
+        Assert.assertEquals(1024, histogram.percentile(0.99));
+        Assert.assertEquals(100000, histogram.percentile(1));
+        Assert.assertEquals(100000, histogram.max());
+        histogram.reset();
+        Assert.assertEquals(0, histogram.count());
+    }
+}
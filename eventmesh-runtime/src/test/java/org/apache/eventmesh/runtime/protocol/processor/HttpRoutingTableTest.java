@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.protocol.processor;
+
+import org.apache.eventmesh.runtime.core.protocol.http.processor.HttpRoutingTable;
+import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.EventProcessor;
+import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.HttpRequestProcessor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class HttpRoutingTableTest {
+
+    private final ThreadPoolExecutor executor = Mockito.mock(ThreadPoolExecutor.class);
+
+    @Test
+    public void testRouteRequestCode() {
+        HttpRoutingTable routingTable = new HttpRoutingTable();
+        HttpRequestProcessor processor = Mockito.mock(HttpRequestProcessor.class);
+        routingTable.register("101", processor, executor);
+
+        Assert.assertSame(processor, routingTable.route("101").getObject1());
+        Assert.assertNull(routingTable.route("102"));
+        Assert.assertNull(routingTable.route(null));
+    }
+
+    @Test
+    public void testLongestPrefix() {
+        HttpRoutingTable routingTable = new HttpRoutingTable();
+        EventProcessor root = Mockito.mock(EventProcessor.class);
+        EventProcessor publish = Mockito.mock(EventProcessor.class);
+        EventProcessor publishRemote = Mockito.mock(EventProcessor.class);
+        EventProcessor subscribe = Mockito.mock(EventProcessor.class);
+        routingTable.registerPrefix("/eventmesh/publish/remote", publishRemote, executor);
+        routingTable.registerPrefix("/eventmesh/publish", publish, executor);
+        routingTable.registerPrefix("/eventmesh/subscribe/local", subscribe, executor);
+
+        Assert.assertSame(publish, routingTable.routePrefix("/eventmesh/publish/topic").getObject1());
+        Assert.assertSame(publishRemote, routingTable.routePrefix("/eventmesh/publish/remote/topic").getObject1());
+        Assert.assertSame(subscribe, routingTable.routePrefix("/eventmesh/subscribe/local").getObject1());
+        Assert.assertNull(routingTable.routePrefix("/eventmesh/subscribe"));
+        Assert.assertNull(routingTable.routePrefix("/other"));
+
+        routingTable.registerPrefix("/", root, executor);
+        Assert.assertSame(root, routingTable.routePrefix("/other").getObject1());
+        Assert.assertSame(publish, routingTable.routePrefix("/eventmesh/publish").getObject1());
+    }
+}
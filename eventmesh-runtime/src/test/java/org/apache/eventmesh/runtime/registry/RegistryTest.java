@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.registry;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.apache.eventmesh.api.registry.RegistryListener;
+import org.apache.eventmesh.api.registry.RegistryService;
+import org.apache.eventmesh.api.registry.dto.EventMeshDataInfo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+public class RegistryTest {
+
+    private RegistryService registryService;
+
+    private Registry registry;
+
+    @Before
+    public void init() throws Exception {
+        registryService = Mockito.mock(RegistryService.class);
+        Mockito.when(registryService.findEventMeshInfoByCluster("cluster")).thenReturn(Arrays.asList(
+            new EventMeshDataInfo("cluster", "FT-eventmesh-TCP", "127.0.0.1:10000", 0, null),
+            new EventMeshDataInfo("cluster", "FT-eventmesh-TCP2", "127.0.0.2:10000", 0, null),
+            new EventMeshDataInfo("cluster", "SH-eventmesh-TCP", "127.0.0.3:10000", 0, null)));
+        registry = new Registry(60000);
+        Whitebox.setInternalState(registry, RegistryService.class, registryService);
+    }
+
+    @Test
+    public void testClusterViewIndexedByIdc() throws Exception {
+        EventMeshClusterView clusterView = registry.getEventMeshClusterView("cluster");
+        Assert.assertEquals(3, clusterView.getEventMeshDataInfoList().size());
+        Assert.assertEquals(2, clusterView.getEventMeshMap("FT").size());
+        Assert.assertEquals("127.0.0.3:10000", clusterView.getEventMeshMap("SH").get("SH-eventmesh-TCP"));
+        Assert.assertEquals(Collections.singleton("SH-eventmesh-TCP"), clusterView.getOtherIdcEventMeshMap("FT").keySet());
+        Assert.assertTrue(clusterView.getEventMeshMap("GZ").isEmpty());
+    }
+
+    @Test
+    public void testClusterViewCachedUntilChanged() throws Exception {
+        ArgumentCaptor<RegistryListener> listener = ArgumentCaptor.forClass(RegistryListener.class);
+        Mockito.when(registryService.subscribe(eq("cluster"), listener.capture())).thenReturn(true);
+
+        EventMeshClusterView clusterView = registry.getEventMeshClusterView("cluster");
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(clusterView, registry.getEventMeshClusterView("cluster"));
+        }
+        Mockito.verify(registryService, Mockito.times(1)).subscribe(anyString(), any());
+        Mockito.verify(registryService, Mockito.times(1)).findEventMeshInfoByCluster("cluster");
+
+        listener.getValue().onChange("cluster");
+        Assert.assertNotSame(clusterView, registry.getEventMeshClusterView("cluster"));
+        Mockito.verify(registryService, Mockito.times(2)).findEventMeshInfoByCluster("cluster");
+    }
+
+    @Test
+    public void testExpiredViewServedWhenReloadFails() throws Exception {
+        ArgumentCaptor<RegistryListener> listener = ArgumentCaptor.forClass(RegistryListener.class);
+        Mockito.when(registryService.subscribe(eq("cluster"), listener.capture())).thenReturn(true);
+
+        EventMeshClusterView clusterView = registry.getEventMeshClusterView("cluster");
+        Mockito.when(registryService.findEventMeshInfoByCluster("cluster")).thenThrow(new RuntimeException("unavailable"));
+        listener.getValue().onChange("cluster");
+        Assert.assertSame(clusterView, registry.getEventMeshClusterView("cluster"));
+    }
+
+    @Test
+    public void testChangeDuringLoadNotLost() throws Exception {
+        ArgumentCaptor<RegistryListener> listener = ArgumentCaptor.forClass(RegistryListener.class);
+        Mockito.when(registryService.subscribe(eq("cluster"), listener.capture())).thenReturn(true);
+        List<EventMeshDataInfo> instances = Collections.singletonList(
+            new EventMeshDataInfo("cluster", "FT-eventmesh-TCP", "127.0.0.1:10000", 0, null));
+        // the cluster changes while its view is loaded, the loaded view may not hold the change
+        Mockito.when(registryService.findEventMeshInfoByCluster("cluster")).thenAnswer(invocation -> {
+            listener.getValue().onChange("cluster");
+            return instances;
+        }).thenReturn(instances);
+
+        EventMeshClusterView clusterView = registry.getEventMeshClusterView("cluster");
+        Assert.assertNotSame(clusterView, registry.getEventMeshClusterView("cluster"));
+        Mockito.verify(registryService, Mockito.times(2)).findEventMeshInfoByCluster("cluster");
+    }
+
+    @Test
+    public void testDistributionView() throws Exception {
+        Map<String, Map<String, Integer>> distributionData = new HashMap<>();
+        distributionData.put("FT-eventmesh-TCP", Collections.singletonMap("sub", 3));
+        distributionData.put("SH-eventmesh-TCP", Collections.singletonMap("sub", 5));
+        Mockito.when(registryService.findEventMeshClientDistributionData("cluster", "group", "sub")).thenReturn(distributionData);
+
+        EventMeshDistributionView distributionView = registry.getEventMeshDistributionView("cluster", "group", "sub");
+        Assert.assertSame(distributionView, registry.getEventMeshDistributionView("cluster", "group", "sub"));
+        Mockito.verify(registryService, Mockito.times(1)).findEventMeshClientDistributionData("cluster", "group", "sub");
+        Assert.assertEquals(Integer.valueOf(3), distributionView.getClientDistributionMap("FT").get("FT-eventmesh-TCP"));
+        Assert.assertEquals(Integer.valueOf(5), distributionView.getClientDistributionMap("SH").get("SH-eventmesh-TCP"));
+        Assert.assertTrue(distributionView.getClientDistributionMap("GZ").isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.trace;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+
+public class TraceTest {
+
+    private final Trace trace = new Trace(true, Arrays.asList("bizseqno", "uniqueid"));
+
+    private final CloudEvent event = CloudEventBuilder.v1()
+        .withId("id")
+        .withSource(URI.create("source"))
+        .withType("type")
+        .withExtension("bizseqno", "1")
+        .withExtension("protocoltype", "cloudevents")
+        .build();
+
+    @Test
+    public void testAddTraceInfoToSpan() {
+        Span span = Mockito.mock(Span.class);
+        Mockito.when(span.isRecording()).thenReturn(true);
+
+        Assert.assertSame(span, trace.addTraceInfoToSpan(span, event));
+        Mockito.verify(span).setAttribute("bizseqno", "1");
+        Mockito.verify(span, Mockito.never()).setAttribute(Mockito.eq("uniqueid"), Mockito.anyString());
+        Mockito.verify(span, Mockito.never()).setAttribute(Mockito.eq("protocoltype"), Mockito.anyString());
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("uniqueid", "2");
+        map.put("protocoltype", "cloudevents");
+        trace.addTraceInfoToSpan(span, map);
+        Mockito.verify(span).setAttribute("uniqueid", "2");
+        Mockito.verify(span, Mockito.never()).setAttribute(Mockito.eq("protocoltype"), Mockito.anyString());
+    }
+
+    @Test
+    public void testAddTraceInfoToUnsampledSpan() {
+        Span span = Mockito.mock(Span.class);
+        Mockito.when(span.isRecording()).thenReturn(false);
+
+        trace.addTraceInfoToSpan(span, event);
+        Mockito.verify(span, Mockito.never()).setAttribute(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    public void testDisabled() {
+        Trace disabled = new Trace(false);
+        Assert.assertFalse(disabled.isEnabled());
+        Assert.assertSame(Span.getInvalid(), disabled.createSpan("span", SpanKind.SERVER, Context.root(), false));
+        Assert.assertNull(disabled.extractFrom(Context.root(), event));
+        Assert.assertNull(disabled.addTraceInfoToSpan(Span.getInvalid(), event));
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.trace.benchmark;
+
+import org.apache.eventmesh.runtime.boot.EventMeshServer;
+import org.apache.eventmesh.runtime.trace.Trace;
+import org.apache.eventmesh.runtime.trace.TraceUtils;
+import org.apache.eventmesh.runtime.util.EventMeshUtil;
+import org.apache.eventmesh.trace.api.EventMeshTraceService;
+import org.apache.eventmesh.trace.api.propagation.CloudEventGetter;
+
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.SpecVersion;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * The tracing overhead of one message, with tracing disabled and with tracing enabled but the span not sampled.
+ * {@code extensionMap} copies the extensions to a carrier map first, the way the callers used to, while {@code inPlace}
+ * reads them from the event. Compare the gc.alloc.rate.norm of both.
+ * <p>
+ * Not part of the test run, start it with {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraceBenchmark {
+
+    private static final String SPAN_NAME = "benchmark-span";
+
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    @Param({"4", "16"})
+    private int extensionNum;
+
+    private CloudEvent event;
+
+    private SdkTracerProvider tracerProvider;
+
+    @Setup
+    public void setup() throws Exception {
+        CloudEventBuilder builder = CloudEventBuilder.v1()
+            .withId("benchmark")
+            .withSource(URI.create("/benchmark"))
+            .withType("benchmark")
+            .withSubject("benchmark-topic")
+            .withExtension("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-00");
+        for (int i = 0; i < extensionNum; i++) {
+            builder.withExtension("extension" + i, "value" + i);
+        }
+        event = builder.build();
+
+        Trace trace = new Trace(enabled, Arrays.asList("bizseqno", "uniqueid"));
+        if (enabled) {
+            tracerProvider = SdkTracerProvider.builder().setSampler(Sampler.alwaysOff()).build();
+            setField(Trace.class, trace, "eventMeshTraceService", new UnsampledTraceService(tracerProvider.get(SPAN_NAME)));
+        }
+        setField(EventMeshServer.class, null, "trace", trace);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (tracerProvider != null) {
+            tracerProvider.close();
+        }
+    }
+
+    @Benchmark
+    public Span extensionMap() {
+        Span span = TraceUtils.prepareServerSpan(EventMeshUtil.getCloudEventExtensionMap(SpecVersion.V1.toString(), event),
+            SPAN_NAME, false);
+        TraceUtils.finishSpan(span, event);
+        return span;
+    }
+
+    @Benchmark
+    public Span inPlace() {
+        Span span = TraceUtils.prepareServerSpan(event, SPAN_NAME, false);
+        TraceUtils.finishSpan(span, event);
+        return span;
+    }
+
+    private static void setField(Class<?> clazz, Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = clazz.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static class UnsampledTraceService implements EventMeshTraceService {
+
+        private static final TextMapGetter<Map<String, Object>> MAP_GETTER = new TextMapGetter<Map<String, Object>>() {
+            @Override
+            public Iterable<String> keys(Map<String, Object> carrier) {
+                return carrier.keySet();
+            }
+
+            @Override
+            public String get(Map<String, Object> carrier, String key) {
+                Object value = carrier.get(key);
+                return value == null ? null : value.toString();
+            }
+        };
+
+        private final TextMapPropagator propagator = W3CTraceContextPropagator.getInstance();
+
+        private final Tracer tracer;
+
+        UnsampledTraceService(Tracer tracer) {
+            this.tracer = tracer;
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public Context extractFrom(Context context, Map<String, Object> carrier) {
+            return propagator.extract(context, carrier, MAP_GETTER);
+        }
+
+        @Override
+        public Context extractFrom(Context context, CloudEvent event) {
+            return propagator.extract(context, event, CloudEventGetter.INSTANCE);
+        }
+
+        @Override
+        public void inject(Context context, Map<String, Object> carrier) {
+            propagator.inject(context, carrier, Map::put);
+        }
+
+        @Override
+        public Span createSpan(String spanName, SpanKind spanKind, long startTimestamp, TimeUnit timeUnit,
+                               Context context, boolean isSpanFinishInOtherThread) {
+            return tracer.spanBuilder(spanName).setParent(context).setSpanKind(spanKind)
+                .setStartTimestamp(startTimestamp, timeUnit).startSpan();
+        }
+
+        @Override
+        public Span createSpan(String spanName, SpanKind spanKind, Context context, boolean isSpanFinishInOtherThread) {
+            return tracer.spanBuilder(spanName).setParent(context).setSpanKind(spanKind).startSpan();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TraceBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -67,6 +67,17 @@ public class MessageUtils {
         return msg;
     }
 
+    /**
+     * @param credits unacked messages the client accepts in flight, the server default applies if not positive
+     */
+    public static Package listen(int credits) {
+        Package msg = listen();
+        if (credits > 0) {
+            msg.getHeader().putProperty(Constants.LISTEN_CREDITS, credits);
+        }
+        return msg;
+    }
+
     public static Package subscribe(String topic, SubscriptionMode subscriptionMode,
                                     SubscriptionType subscriptionType) {
         Package msg = new Package();
@@ -151,6 +162,7 @@ public class MessageUtils {
                 .version(agent.getVersion())
                 .idc(agent.getIdc())
                 .group(agent.getGroup())
+                .headerFormat(agent.getHeaderFormat())
                 .purpose(EventMeshCommon.USER_AGENT_PURPOSE_SUB)
                 .build();
     }
@@ -168,6 +180,7 @@ public class MessageUtils {
                 .version(agent.getVersion())
                 .idc(agent.getIdc())
                 .group(agent.getGroup())
+                .headerFormat(agent.getHeaderFormat())
                 .purpose(EventMeshCommon.USER_AGENT_PURPOSE_PUB)
                 .build();
     }
@@ -21,6 +21,7 @@ import org.apache.eventmesh.client.tcp.conf.EventMeshTCPClientConfig;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
+import org.apache.eventmesh.common.transport.NettyTransport;
 
 import java.io.Closeable;
 import java.net.InetSocketAddress;
@@ -47,9 +48,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -68,7 +67,9 @@ public abstract class TcpClient implements Closeable {
 
     private final transient Bootstrap bootstrap = new Bootstrap();
 
-    private final transient EventLoopGroup workers = new NioEventLoopGroup();
+    private final transient NettyTransport transport;
+
+    private final transient EventLoopGroup workers;
 
     private transient Channel channel;
 
@@ -85,11 +86,15 @@ public abstract class TcpClient implements Closeable {
         this.host = eventMeshTcpClientConfig.getHost();
         this.port = eventMeshTcpClientConfig.getPort();
         this.userAgent = eventMeshTcpClientConfig.getUserAgent();
+        this.transport = NettyTransport.select(eventMeshTcpClientConfig.getNettyTransport());
+        this.workers = transport.newEventLoopGroup(0,
+                new ThreadFactoryBuilder().setNameFormat("TCPClientWorker-%d").build());
     }
 
     protected synchronized void open(SimpleChannelInboundHandler<Package> handler) throws Exception {
         bootstrap.group(workers);
-        bootstrap.channel(NioSocketChannel.class);
+        bootstrap.channel(transport.channelClass());
+        transport.configure(bootstrap);
         bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1_000)
                 .option(ChannelOption.SO_KEEPALIVE, true)
                 .option(ChannelOption.SO_SNDBUF, 64 * 1024)
@@ -195,7 +200,11 @@ public abstract class TcpClient implements Closeable {
     // todo: remove hello
     protected void hello() throws Exception {
         Package msg = MessageUtils.hello(userAgent);
-        this.io(msg, EventMeshCommon.DEFAULT_TIME_OUT_MILLS);
+        Package res = this.io(msg, EventMeshCommon.DEFAULT_TIME_OUT_MILLS);
+        if (res != null && res.getHeader() != null
+                && Codec.HEADER_FORMAT_BINARY.equals(res.getHeader().getStringProperty(Codec.HEADER_FORMAT_PROPERTY))) {
+            Codec.enableBinaryHeader(channel);
+        }
     }
 
     // todo: remove goodbye
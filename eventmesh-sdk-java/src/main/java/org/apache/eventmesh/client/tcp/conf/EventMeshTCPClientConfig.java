@@ -28,4 +28,8 @@ public class EventMeshTCPClientConfig {
     private String host;
     private int port;
     private UserAgent userAgent;
+    /**
+     * netty transport of the client: auto, nio or epoll, null means auto
+     */
+    private String nettyTransport;
 }
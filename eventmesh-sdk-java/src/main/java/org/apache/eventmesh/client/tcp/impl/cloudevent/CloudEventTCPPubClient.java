@@ -29,8 +29,8 @@ import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.exception.EventMeshException;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
 
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.cloudevents.CloudEvent;
@@ -157,7 +157,7 @@ class CloudEventTCPPubClient extends TcpClient implements EventMeshTCPPubClient<
             EventFormat eventFormat = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE);
             Preconditions.checkNotNull(eventFormat,
                     String.format("Cannot find the cloudevent format: %s", JsonFormat.CONTENT_TYPE));
-            return eventFormat.deserialize(tcpPackage.getBody().toString().getBytes(StandardCharsets.UTF_8));
+            return eventFormat.deserialize(Codec.getBodyBytes(tcpPackage));
         }
 
         @Override
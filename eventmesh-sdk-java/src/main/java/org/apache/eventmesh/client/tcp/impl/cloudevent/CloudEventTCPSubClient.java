@@ -31,10 +31,10 @@ import org.apache.eventmesh.common.protocol.SubscriptionMode;
 import org.apache.eventmesh.common.protocol.SubscriptionType;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
 
 import org.apache.commons.collections4.CollectionUtils;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -119,7 +119,7 @@ class CloudEventTCPSubClient extends TcpClient implements EventMeshTCPSubClient<
     @Override
     public void listen() throws EventMeshException {
         try {
-            Package request = MessageUtils.listen();
+            Package request = MessageUtils.listen(userAgent.getUnack());
             io(request, EventMeshCommon.DEFAULT_TIME_OUT_MILLS);
         } catch (Exception ex) {
             throw new EventMeshException("Listen error", ex);
@@ -153,7 +153,7 @@ class CloudEventTCPSubClient extends TcpClient implements EventMeshTCPSubClient<
             EventFormat eventFormat = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE);
             Preconditions.checkNotNull(eventFormat,
                     String.format("Cannot find the cloudevent format: %s", JsonFormat.CONTENT_TYPE));
-            return eventFormat.deserialize(tcpPackage.getBody().toString().getBytes(StandardCharsets.UTF_8));
+            return eventFormat.deserialize(Codec.getBodyBytes(tcpPackage));
         }
 
         @Override
@@ -110,7 +110,7 @@ class EventMeshMessageTCPSubClient extends TcpClient implements EventMeshTCPSubC
 
     public void listen() throws EventMeshException {
         try {
-            Package request = MessageUtils.listen();
+            Package request = MessageUtils.listen(userAgent.getUnack());
             io(request, EventMeshCommon.DEFAULT_TIME_OUT_MILLS);
         } catch (Exception ex) {
             throw new EventMeshException("Listen error", ex);
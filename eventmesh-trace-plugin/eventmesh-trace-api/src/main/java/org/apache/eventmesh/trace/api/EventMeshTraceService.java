@@ -20,10 +20,14 @@ package org.apache.eventmesh.trace.api;
 import org.apache.eventmesh.spi.EventMeshExtensionType;
 import org.apache.eventmesh.spi.EventMeshSPI;
 import org.apache.eventmesh.trace.api.exception.TraceException;
+import org.apache.eventmesh.trace.api.exporter.ExporterMetrics;
+import org.apache.eventmesh.trace.api.propagation.CloudEventGetter;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import io.cloudevents.CloudEvent;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
@@ -38,6 +42,19 @@ public interface EventMeshTraceService {
     //extract attr from carrier to context
     Context extractFrom(Context context, Map<String, Object> carrier) throws TraceException;
 
+    /**
+     * Extract the trace context from the extensions of the event, reading them in place.
+     * <p>
+     * The default copies the extensions to a map, a plugin should override it with {@link CloudEventGetter}.
+     */
+    default Context extractFrom(Context context, CloudEvent event) throws TraceException {
+        Map<String, Object> carrier = new HashMap<>();
+        for (String extensionName : event.getExtensionNames()) {
+            carrier.put(extensionName, event.getExtension(extensionName));
+        }
+        return extractFrom(context, carrier);
+    }
+
     //inject attr from context to carrier
     void inject(Context context, Map<String, Object> carrier);
 
@@ -47,5 +64,12 @@ public interface EventMeshTraceService {
     Span createSpan(String spanName, SpanKind spanKind, Context context,
                     boolean isSpanFinishInOtherThread) throws TraceException;
 
+    /**
+     * @return the queue depth and the counters of the span export, null if the plugin does not count them
+     */
+    default ExporterMetrics getExporterMetrics() {
+        return null;
+    }
+
     void shutdown() throws TraceException;
 }
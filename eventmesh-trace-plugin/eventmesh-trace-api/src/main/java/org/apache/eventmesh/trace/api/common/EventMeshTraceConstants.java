@@ -34,4 +34,15 @@ public class EventMeshTraceConstants {
     public static final String TRACE_EVENTMESH_MAX_QUEUE_SIZE = "eventmesh.trace.max.queue.size";
     public static final String TRACE_EVENTMESH_EXPORT_TIMEOUT = "eventmesh.trace.export.timeout";
     public static final String TRACE_EVENTMESH_EXPORT_INTERVAL = "eventmesh.trace.export.interval";
+
+    public static final String TRACE_EVENTMESH_SAMPLE_RATIO = "eventmesh.trace.sample.ratio";
+    public static final String TRACE_EVENTMESH_SAMPLE_TOPIC_RATIO = "eventmesh.trace.sample.topic.ratio";
+    public static final String TRACE_EVENTMESH_SAMPLE_GROUP_RATIO = "eventmesh.trace.sample.group.ratio";
+    public static final String TRACE_EVENTMESH_SAMPLE_RATE_LIMIT = "eventmesh.trace.sample.rate.limit";
+    public static final String TRACE_EVENTMESH_SAMPLE_RESPECT_REMOTE_PARENT = "eventmesh.trace.sample.respect.remote.parent";
+
+    public static final String TRACE_EVENTMESH_TAIL_SAMPLE_ENABLE = "eventmesh.trace.tail.sample.enable";
+    public static final String TRACE_EVENTMESH_TAIL_SAMPLE_LATENCY_THRESHOLD = "eventmesh.trace.tail.sample.latency.threshold";
+    public static final String TRACE_EVENTMESH_TAIL_SAMPLE_DECISION_WAIT = "eventmesh.trace.tail.sample.decision.wait";
+    public static final String TRACE_EVENTMESH_TAIL_SAMPLE_MAX_TRACES = "eventmesh.trace.tail.sample.max.traces";
 }
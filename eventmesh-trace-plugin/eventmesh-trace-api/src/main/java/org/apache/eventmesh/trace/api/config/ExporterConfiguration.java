@@ -29,6 +29,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import lombok.experimental.UtilityClass;
@@ -49,6 +52,17 @@ public class ExporterConfiguration {
     private int eventMeshTraceExportTimeout = 30;
     private int eventMeshTraceExportInterval = 5;
 
+    private double eventMeshTraceSampleRatio = 1.0;
+    private Map<String, Double> eventMeshTraceSampleTopicRatio = Collections.emptyMap();
+    private Map<String, Double> eventMeshTraceSampleGroupRatio = Collections.emptyMap();
+    private double eventMeshTraceSampleRateLimit = 0;
+    private boolean eventMeshTraceSampleRespectRemoteParent = true;
+
+    private boolean eventMeshTraceTailSampleEnable = false;
+    private long eventMeshTraceTailSampleLatencyThreshold = 1000;
+    private long eventMeshTraceTailSampleDecisionWait = 10;
+    private int eventMeshTraceTailSampleMaxTraces = 10000;
+
     static {
         loadProperties();
         initializeConfig();
@@ -70,6 +84,42 @@ public class ExporterConfiguration {
         return eventMeshTraceExportInterval;
     }
 
+    public static double getEventMeshTraceSampleRatio() {
+        return eventMeshTraceSampleRatio;
+    }
+
+    public static Map<String, Double> getEventMeshTraceSampleTopicRatio() {
+        return eventMeshTraceSampleTopicRatio;
+    }
+
+    public static Map<String, Double> getEventMeshTraceSampleGroupRatio() {
+        return eventMeshTraceSampleGroupRatio;
+    }
+
+    public static double getEventMeshTraceSampleRateLimit() {
+        return eventMeshTraceSampleRateLimit;
+    }
+
+    public static boolean isEventMeshTraceSampleRespectRemoteParent() {
+        return eventMeshTraceSampleRespectRemoteParent;
+    }
+
+    public static boolean isEventMeshTraceTailSampleEnable() {
+        return eventMeshTraceTailSampleEnable;
+    }
+
+    public static long getEventMeshTraceTailSampleLatencyThreshold() {
+        return eventMeshTraceTailSampleLatencyThreshold;
+    }
+
+    public static long getEventMeshTraceTailSampleDecisionWait() {
+        return eventMeshTraceTailSampleDecisionWait;
+    }
+
+    public static int getEventMeshTraceTailSampleMaxTraces() {
+        return eventMeshTraceTailSampleMaxTraces;
+    }
+
     private void initializeConfig() {
         String eventMeshTraceMaxExportSizeStr = properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_MAX_EXPORT_SIZE);
         if (StringUtils.isNotEmpty(eventMeshTraceMaxExportSizeStr)) {
@@ -93,6 +143,73 @@ public class ExporterConfiguration {
             eventMeshTraceExportInterval =
                 Integer.parseInt(StringUtils.deleteWhitespace(eventMeshTraceExportIntervalStr));
         }
+
+        String eventMeshTraceSampleRatioStr = properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_SAMPLE_RATIO);
+        if (StringUtils.isNotEmpty(eventMeshTraceSampleRatioStr)) {
+            eventMeshTraceSampleRatio = Double.parseDouble(StringUtils.deleteWhitespace(eventMeshTraceSampleRatioStr));
+        }
+
+        eventMeshTraceSampleTopicRatio =
+            parseRatios(properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_SAMPLE_TOPIC_RATIO));
+
+        eventMeshTraceSampleGroupRatio =
+            parseRatios(properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_SAMPLE_GROUP_RATIO));
+
+        String eventMeshTraceSampleRateLimitStr = properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_SAMPLE_RATE_LIMIT);
+        if (StringUtils.isNotEmpty(eventMeshTraceSampleRateLimitStr)) {
+            eventMeshTraceSampleRateLimit = Double.parseDouble(StringUtils.deleteWhitespace(eventMeshTraceSampleRateLimitStr));
+        }
+
+        String eventMeshTraceSampleRespectRemoteParentStr =
+            properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_SAMPLE_RESPECT_REMOTE_PARENT);
+        if (StringUtils.isNotEmpty(eventMeshTraceSampleRespectRemoteParentStr)) {
+            eventMeshTraceSampleRespectRemoteParent =
+                Boolean.parseBoolean(StringUtils.deleteWhitespace(eventMeshTraceSampleRespectRemoteParentStr));
+        }
+
+        String eventMeshTraceTailSampleEnableStr = properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_TAIL_SAMPLE_ENABLE);
+        if (StringUtils.isNotEmpty(eventMeshTraceTailSampleEnableStr)) {
+            eventMeshTraceTailSampleEnable = Boolean.parseBoolean(StringUtils.deleteWhitespace(eventMeshTraceTailSampleEnableStr));
+        }
+
+        String eventMeshTraceTailSampleLatencyThresholdStr =
+            properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_TAIL_SAMPLE_LATENCY_THRESHOLD);
+        if (StringUtils.isNotEmpty(eventMeshTraceTailSampleLatencyThresholdStr)) {
+            eventMeshTraceTailSampleLatencyThreshold =
+                Long.parseLong(StringUtils.deleteWhitespace(eventMeshTraceTailSampleLatencyThresholdStr));
+        }
+
+        String eventMeshTraceTailSampleDecisionWaitStr =
+            properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_TAIL_SAMPLE_DECISION_WAIT);
+        if (StringUtils.isNotEmpty(eventMeshTraceTailSampleDecisionWaitStr)) {
+            eventMeshTraceTailSampleDecisionWait =
+                Long.parseLong(StringUtils.deleteWhitespace(eventMeshTraceTailSampleDecisionWaitStr));
+        }
+
+        String eventMeshTraceTailSampleMaxTracesStr =
+            properties.getProperty(EventMeshTraceConstants.TRACE_EVENTMESH_TAIL_SAMPLE_MAX_TRACES);
+        if (StringUtils.isNotEmpty(eventMeshTraceTailSampleMaxTracesStr)) {
+            eventMeshTraceTailSampleMaxTraces =
+                Integer.parseInt(StringUtils.deleteWhitespace(eventMeshTraceTailSampleMaxTracesStr));
+        }
+    }
+
+    /**
+     * parse the ratios like "name-a:0.1,name-b:1"
+     */
+    private Map<String, Double> parseRatios(String ratiosStr) {
+        if (StringUtils.isBlank(ratiosStr)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Double> ratios = new HashMap<>();
+        for (String ratioStr : StringUtils.deleteWhitespace(ratiosStr).split(",")) {
+            int index = ratioStr.lastIndexOf(':');
+            if (index <= 0) {
+                throw new IllegalArgumentException("Invalid trace sample ratio: " + ratioStr);
+            }
+            ratios.put(ratioStr.substring(0, index), Double.parseDouble(ratioStr.substring(index + 1)));
+        }
+        return Collections.unmodifiableMap(ratios);
     }
 
     private void loadProperties() {
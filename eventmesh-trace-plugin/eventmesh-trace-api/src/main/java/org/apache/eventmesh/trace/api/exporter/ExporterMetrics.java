@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.exporter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the span export of a trace plugin.
+ */
+public class ExporterMetrics {
+
+    /**
+     * the ended spans which are not handed to the exporter yet
+     */
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final LongAdder droppedSpans = new LongAdder();
+
+    private final LongAdder exportedBatches = new LongAdder();
+
+    private final LongAdder exportedSpans = new LongAdder();
+
+    private final LongAdder failedSpans = new LongAdder();
+
+    /**
+     * the spans of the traces the tail sampling did not keep
+     */
+    private final LongAdder tailDroppedSpans = new LongAdder();
+
+    /**
+     * Take a place in the queue, unless it already holds the max number of spans.
+     */
+    boolean tryEnqueue(int maxQueueSize) {
+        for (;;) {
+            int depth = queueDepth.get();
+            if (depth >= maxQueueSize) {
+                droppedSpans.increment();
+                return false;
+            }
+            if (queueDepth.compareAndSet(depth, depth + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void onExport(int batchSize) {
+        queueDepth.addAndGet(-batchSize);
+        exportedBatches.increment();
+    }
+
+    void onExported(int exported, int failed) {
+        exportedSpans.add(exported);
+        failedSpans.add(failed);
+    }
+
+    public void onTailDropped(int spans) {
+        tailDroppedSpans.add(spans);
+    }
+
+    public int getQueueDepth() {
+        return Math.max(queueDepth.get(), 0);
+    }
+
+    public long getDroppedSpans() {
+        return droppedSpans.sum();
+    }
+
+    public long getExportedBatches() {
+        return exportedBatches.sum();
+    }
+
+    public long getExportedSpans() {
+        return exportedSpans.sum();
+    }
+
+    public long getFailedSpans() {
+        return failedSpans.sum();
+    }
+
+    public long getTailDroppedSpans() {
+        return tailDroppedSpans.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ExporterMetrics{"
+            + "queueDepth=" + getQueueDepth()
+            + ", droppedSpans=" + getDroppedSpans()
+            + ", exportedBatches=" + getExportedBatches()
+            + ", exportedSpans=" + getExportedSpans()
+            + ", failedSpans=" + getFailedSpans()
+            + ", tailDroppedSpans=" + getTailDroppedSpans()
+            + '}';
+    }
+}
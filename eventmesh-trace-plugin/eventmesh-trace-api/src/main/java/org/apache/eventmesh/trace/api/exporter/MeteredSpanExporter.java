@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.exporter;
+
+import java.util.Collection;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Counts the batches handed to an exporter and the result of their export, span by span if the exporter is a
+ * {@link PartialSpanExporter}.
+ */
+public class MeteredSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate;
+
+    private final ExporterMetrics metrics;
+
+    public MeteredSpanExporter(SpanExporter delegate, ExporterMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        int batchSize = spans.size();
+        metrics.onExport(batchSize);
+        if (delegate instanceof PartialSpanExporter) {
+            int failed = ((PartialSpanExporter) delegate).exportPartially(spans);
+            metrics.onExported(batchSize - failed, failed);
+            return failed == 0 ? CompletableResultCode.ofSuccess() : CompletableResultCode.ofFailure();
+        }
+        CompletableResultCode result = delegate.export(spans);
+        result.whenComplete(() -> {
+            boolean success = result.isSuccess();
+            metrics.onExported(success ? batchSize : 0, success ? 0 : batchSize);
+        });
+        return result;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.exporter;
+
+import java.util.Collection;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * An exporter which hands the spans of a batch on one by one, so that only a part of the batch can fail.
+ */
+public interface PartialSpanExporter extends SpanExporter {
+
+    /**
+     * Export the spans synchronously.
+     *
+     * @return the number of spans of the batch which were not exported
+     */
+    int exportPartially(Collection<SpanData> spans);
+
+    @Override
+    default CompletableResultCode export(Collection<SpanData> spans) {
+        return exportPartially(spans) == 0 ? CompletableResultCode.ofSuccess() : CompletableResultCode.ofFailure();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.exporter;
+
+import org.apache.eventmesh.trace.api.config.ExporterConfiguration;
+import org.apache.eventmesh.trace.api.sampler.TailSamplingSpanProcessor;
+
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Creates the span processor of the trace plugins from exporter.properties.
+ */
+@UtilityClass
+public class SpanProcessorFactory {
+
+    /**
+     * The spans are exported in batches and counted in the metrics, and only the slow or failed traces are passed
+     * on if the tail sampling is enabled.
+     */
+    public static SpanProcessor createSpanProcessor(SpanExporter spanExporter, ExporterMetrics metrics) {
+        int maxQueueSize = ExporterConfiguration.getEventMeshTraceMaxQueueSize();
+        SpanProcessor batchSpanProcessor = BatchSpanProcessor.builder(new MeteredSpanExporter(spanExporter, metrics))
+            .setScheduleDelay(ExporterConfiguration.getEventMeshTraceExportInterval(), TimeUnit.SECONDS)
+            .setExporterTimeout(ExporterConfiguration.getEventMeshTraceExportTimeout(), TimeUnit.SECONDS)
+            .setMaxExportBatchSize(ExporterConfiguration.getEventMeshTraceMaxExportSize())
+            .setMaxQueueSize(maxQueueSize)
+            .build();
+        SpanProcessor spanProcessor = new MeteredSpanProcessor(batchSpanProcessor, metrics, maxQueueSize);
+        if (!ExporterConfiguration.isEventMeshTraceTailSampleEnable()) {
+            return spanProcessor;
+        }
+        return new TailSamplingSpanProcessor(spanProcessor,
+            ExporterConfiguration.getEventMeshTraceTailSampleLatencyThreshold(),
+            ExporterConfiguration.getEventMeshTraceTailSampleDecisionWait(),
+            ExporterConfiguration.getEventMeshTraceTailSampleMaxTraces(), metrics);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.propagation;
+
+import io.cloudevents.CloudEvent;
+import io.opentelemetry.context.propagation.TextMapGetter;
+
+/**
+ * Reads the trace context from the extensions of an event in place, without copying them to a carrier map.
+ */
+public final class CloudEventGetter implements TextMapGetter<CloudEvent> {
+
+    public static final CloudEventGetter INSTANCE = new CloudEventGetter();
+
+    private CloudEventGetter() {
+    }
+
+    @Override
+    public Iterable<String> keys(CloudEvent carrier) {
+        return carrier.getExtensionNames();
+    }
+
+    @Override
+    public String get(CloudEvent carrier, String key) {
+        if (carrier == null) {
+            return null;
+        }
+        Object value = carrier.getExtension(key);
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+/**
+ * Samples a trace with the ratio of its consumer group, else of its topic, else the default ratio, and caps the
+ * sampled traces with an optional rate limit.
+ * <p>
+ * The topic and the consumer group are read from the {@link SamplingContext} of the parent context. The ratio
+ * samplers are created once per name, so that a decision is a map lookup and allocates nothing.
+ */
+public class EventMeshSampler implements Sampler {
+
+    private final Sampler defaultSampler;
+
+    private final Map<String, Sampler> topicSamplers;
+
+    private final Map<String, Sampler> groupSamplers;
+
+    private final Sampler rateLimitingSampler;
+
+    /**
+     * @param ratio          ratio of the traces matching no topic and no group
+     * @param topicRatios    ratio per topic
+     * @param groupRatios    ratio per consumer group, taking precedence over the topic
+     * @param spansPerSecond max sampled traces per second, no limit when not positive
+     */
+    public EventMeshSampler(double ratio, Map<String, Double> topicRatios, Map<String, Double> groupRatios,
+                            double spansPerSecond) {
+        this.defaultSampler = Sampler.traceIdRatioBased(ratio);
+        this.topicSamplers = toSamplers(topicRatios);
+        this.groupSamplers = toSamplers(groupRatios);
+        this.rateLimitingSampler = spansPerSecond > 0 ? new RateLimitingSampler(spansPerSecond) : null;
+    }
+
+    private static Map<String, Sampler> toSamplers(Map<String, Double> ratios) {
+        if (ratios == null || ratios.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Sampler> samplers = new HashMap<>(ratios.size() * 2);
+        ratios.forEach((name, ratio) -> samplers.put(name, Sampler.traceIdRatioBased(ratio)));
+        return samplers;
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                      Attributes attributes, List<LinkData> parentLinks) {
+        SamplingResult result = select(parentContext).shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        if (rateLimitingSampler == null || result.getDecision() != SamplingDecision.RECORD_AND_SAMPLE) {
+            return result;
+        }
+        return rateLimitingSampler.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+    }
+
+    private Sampler select(Context parentContext) {
+        if (!groupSamplers.isEmpty()) {
+            String consumerGroup = SamplingContext.getConsumerGroup(parentContext);
+            Sampler sampler = consumerGroup == null ? null : groupSamplers.get(consumerGroup);
+            if (sampler != null) {
+                return sampler;
+            }
+        }
+        if (!topicSamplers.isEmpty()) {
+            String topic = SamplingContext.getTopic(parentContext);
+            Sampler sampler = topic == null ? null : topicSamplers.get(topic);
+            if (sampler != null) {
+                return sampler;
+            }
+        }
+        return defaultSampler;
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("EventMeshSampler{default=%s,topics=%s,groups=%s,rateLimit=%s}",
+            defaultSampler.getDescription(), topicSamplers.keySet(), groupSamplers.keySet(),
+            rateLimitingSampler == null ? "none" : rateLimitingSampler.getDescription());
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+/**
+ * Samples at most the given number of spans per second, with a burst of one second worth of spans.
+ * <p>
+ * The limit is kept as the time at which the next span is due, moved forward by one interval per sampled span, so
+ * that a decision is one compare and set without a lock or a refill thread.
+ */
+public class RateLimitingSampler implements Sampler {
+
+    private static final SamplingResult SAMPLE = SamplingResult.create(SamplingDecision.RECORD_AND_SAMPLE);
+
+    private static final SamplingResult DROP = SamplingResult.create(SamplingDecision.DROP);
+
+    private final double spansPerSecond;
+
+    private final long intervalNanos;
+
+    private final long burstNanos = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong nextDueNanos;
+
+    public RateLimitingSampler(double spansPerSecond) {
+        if (spansPerSecond <= 0) {
+            throw new IllegalArgumentException("spansPerSecond must be positive: " + spansPerSecond);
+        }
+        this.spansPerSecond = spansPerSecond;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / spansPerSecond));
+        this.nextDueNanos = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                      Attributes attributes, List<LinkData> parentLinks) {
+        return tryAcquire(System.nanoTime()) ? SAMPLE : DROP;
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        for (;;) {
+            long nextDue = nextDueNanos.get();
+            if (nextDue - nowNanos > 0) {
+                return false;
+            }
+            // the unused time of an idle period is credited up to the burst
+            long updated = Math.max(nextDue, nowNanos - burstNanos) + intervalNanos;
+            if (nextDueNanos.compareAndSet(nextDue, updated)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("RateLimitingSampler{%s}", spansPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import org.apache.eventmesh.trace.api.config.ExporterConfiguration;
+
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Creates the head sampler of the trace plugins from exporter.properties.
+ */
+@UtilityClass
+public class SamplerFactory {
+
+    /**
+     * A span with a local parent follows the decision of its parent, so that a trace is sampled as a whole.
+     * The decision of a remote parent is followed only if configured, else the trace is sampled again here.
+     */
+    public static Sampler createSampler() {
+        Sampler root = new EventMeshSampler(
+            ExporterConfiguration.getEventMeshTraceSampleRatio(),
+            ExporterConfiguration.getEventMeshTraceSampleTopicRatio(),
+            ExporterConfiguration.getEventMeshTraceSampleGroupRatio(),
+            ExporterConfiguration.getEventMeshTraceSampleRateLimit());
+        if (ExporterConfiguration.isEventMeshTraceSampleRespectRemoteParent()) {
+            return Sampler.parentBased(root);
+        }
+        return Sampler.parentBasedBuilder(root)
+            .setRemoteParentSampled(root)
+            .setRemoteParentNotSampled(root)
+            .build();
+    }
+}
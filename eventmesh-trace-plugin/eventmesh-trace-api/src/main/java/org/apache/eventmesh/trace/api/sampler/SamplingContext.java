@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+
+/**
+ * Carries the topic and the consumer group of a message in the parent context of its span, so that the sampler can
+ * decide on them when the span is created.
+ */
+public final class SamplingContext {
+
+    private static final ContextKey<String> TOPIC_KEY = ContextKey.named("eventmesh-sampling-topic");
+
+    private static final ContextKey<String> CONSUMER_GROUP_KEY = ContextKey.named("eventmesh-sampling-consumer-group");
+
+    private SamplingContext() {
+    }
+
+    public static Context with(Context context, String topic, String consumerGroup) {
+        Context samplingContext = context;
+        if (topic != null) {
+            samplingContext = samplingContext.with(TOPIC_KEY, topic);
+        }
+        if (consumerGroup != null) {
+            samplingContext = samplingContext.with(CONSUMER_GROUP_KEY, consumerGroup);
+        }
+        return samplingContext;
+    }
+
+    public static String getTopic(Context context) {
+        return context.get(TOPIC_KEY);
+    }
+
+    public static String getConsumerGroup(Context context) {
+        return context.get(CONSUMER_GROUP_KEY);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import org.apache.eventmesh.trace.api.exporter.ExporterMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+/**
+ * Passes on only the traces which have a slow or a failed span.
+ * <p>
+ * The ended spans of a trace are held until one of them is slow or failed, then the held spans and the later ones of
+ * the trace are passed to the delegate. A trace which stays fast and successful for the decision wait is dropped, as
+ * are the oldest traces beyond the max number of held traces.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private final SpanProcessor delegate;
+
+    private final long latencyThresholdNanos;
+
+    private final long decisionWaitNanos;
+
+    private final int maxTraces;
+
+    /**
+     * the held traces in the order of their first span, guarded by this
+     */
+    private final LinkedHashMap<String, TraceBuffer> traces = new LinkedHashMap<>();
+
+    private final ExporterMetrics metrics;
+
+    public TailSamplingSpanProcessor(SpanProcessor delegate, long latencyThreshold, long decisionWait, int maxTraces) {
+        this(delegate, latencyThreshold, decisionWait, maxTraces, new ExporterMetrics());
+    }
+
+    /**
+     * @param delegate         the processor the kept spans are passed to
+     * @param latencyThreshold latency from which a span is slow, in millis
+     * @param decisionWait     time the spans of a trace are held, in seconds
+     * @param maxTraces        max number of held traces
+     * @param metrics          counts the dropped spans
+     */
+    public TailSamplingSpanProcessor(SpanProcessor delegate, long latencyThreshold, long decisionWait, int maxTraces,
+                                     ExporterMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
+        this.decisionWaitNanos = TimeUnit.SECONDS.toNanos(decisionWait);
+        this.maxTraces = maxTraces;
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        delegate.onStart(parentContext, span);
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return delegate.isStartRequired();
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (!span.getSpanContext().isSampled()) {
+            return;
+        }
+        boolean keep = isSlowOrFailed(span);
+        String traceId = span.getSpanContext().getTraceId();
+        List<ReadableSpan> held = Collections.emptyList();
+        synchronized (this) {
+            long now = System.nanoTime();
+            expire(now);
+            TraceBuffer buffer = traces.get(traceId);
+            if (buffer == null) {
+                if (traces.size() >= maxTraces) {
+                    evictEldest();
+                }
+                buffer = new TraceBuffer(now);
+                traces.put(traceId, buffer);
+            }
+            if (!buffer.kept) {
+                if (!keep) {
+                    buffer.spans.add(span);
+                    return;
+                }
+                held = buffer.spans;
+                buffer.spans = null;
+                buffer.kept = true;
+            }
+        }
+        for (ReadableSpan heldSpan : held) {
+            delegate.onEnd(heldSpan);
+        }
+        delegate.onEnd(span);
+    }
+
+    private boolean isSlowOrFailed(ReadableSpan span) {
+        return span.getLatencyNanos() >= latencyThresholdNanos
+            || span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR;
+    }
+
+    private void expire(long now) {
+        Iterator<TraceBuffer> iterator = traces.values().iterator();
+        while (iterator.hasNext()) {
+            TraceBuffer buffer = iterator.next();
+            if (now - buffer.firstEndNanos < decisionWaitNanos) {
+                return;
+            }
+            drop(buffer);
+            iterator.remove();
+        }
+    }
+
+    private void evictEldest() {
+        Iterator<TraceBuffer> iterator = traces.values().iterator();
+        if (iterator.hasNext()) {
+            drop(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private void drop(TraceBuffer buffer) {
+        if (!buffer.kept) {
+            metrics.onTailDropped(buffer.spans.size());
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    public synchronized int getHeldTraces() {
+        return traces.size();
+    }
+
+    public long getDroppedSpans() {
+        return metrics.getTailDroppedSpans();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        synchronized (this) {
+            traces.values().forEach(this::drop);
+            traces.clear();
+        }
+        return delegate.shutdown();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return delegate.forceFlush();
+    }
+
+    private static final class TraceBuffer {
+
+        private final long firstEndNanos;
+
+        private List<ReadableSpan> spans = new ArrayList<>(4);
+
+        private boolean kept;
+
+        private TraceBuffer(long firstEndNanos) {
+            this.firstEndNanos = firstEndNanos;
+        }
+    }
+}
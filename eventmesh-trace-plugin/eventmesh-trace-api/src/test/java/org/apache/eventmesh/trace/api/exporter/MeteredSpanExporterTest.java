@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.exporter;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+public class MeteredSpanExporterTest {
+
+    private final ExporterMetrics metrics = new ExporterMetrics();
+
+    @Test
+    public void testPartiallyRefusedBatch() {
+        MeteredSpanExporter exporter = new MeteredSpanExporter(new RefusingSpanExporter(2), metrics);
+
+        CompletableResultCode result = exporter.export(Collections.nCopies(5, null));
+
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals(1, metrics.getExportedBatches());
+        Assert.assertEquals(3, metrics.getExportedSpans());
+        Assert.assertEquals(2, metrics.getFailedSpans());
+    }
+
+    @Test
+    public void testFailedBatch() {
+        // a plain exporter fails or succeeds as a whole
+        SpanExporter failing = new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> spans) {
+                return CompletableResultCode.ofFailure();
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+        MeteredSpanExporter exporter = new MeteredSpanExporter(failing, metrics);
+
+        exporter.export(Collections.nCopies(4, null));
+
+        Assert.assertEquals(0, metrics.getExportedSpans());
+        Assert.assertEquals(4, metrics.getFailedSpans());
+    }
+
+    @Test
+    public void testExportedBatch() {
+        MeteredSpanExporter exporter = new MeteredSpanExporter(new RefusingSpanExporter(0), metrics);
+
+        Assert.assertTrue(exporter.export(Collections.nCopies(4, null)).isSuccess());
+
+        Assert.assertEquals(4, metrics.getExportedSpans());
+        Assert.assertEquals(0, metrics.getFailedSpans());
+    }
+
+    private static class RefusingSpanExporter implements PartialSpanExporter {
+
+        private final int refused;
+
+        RefusingSpanExporter(int refused) {
+            this.refused = refused;
+        }
+
+        @Override
+        public int exportPartially(Collection<SpanData> spans) {
+            return refused;
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
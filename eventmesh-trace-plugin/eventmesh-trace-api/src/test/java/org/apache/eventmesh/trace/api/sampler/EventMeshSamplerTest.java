@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+
+public class EventMeshSamplerTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    @Test
+    public void testRatioPerTopicAndGroup() {
+        Map<String, Double> topicRatios = new HashMap<>();
+        topicRatios.put("sampled-topic", 1.0);
+        topicRatios.put("dropped-topic", 0.0);
+        EventMeshSampler sampler = new EventMeshSampler(0.0, topicRatios, Collections.singletonMap("sampled-group", 1.0), 0);
+
+        Assert.assertEquals(SamplingDecision.DROP, decide(sampler, Context.root()));
+        Assert.assertEquals(SamplingDecision.RECORD_AND_SAMPLE,
+            decide(sampler, SamplingContext.with(Context.root(), "sampled-topic", null)));
+        Assert.assertEquals(SamplingDecision.DROP,
+            decide(sampler, SamplingContext.with(Context.root(), "dropped-topic", "other-group")));
+        // the group takes precedence over the topic
+        Assert.assertEquals(SamplingDecision.RECORD_AND_SAMPLE,
+            decide(sampler, SamplingContext.with(Context.root(), "dropped-topic", "sampled-group")));
+    }
+
+    @Test
+    public void testRateLimit() {
+        EventMeshSampler sampler = new EventMeshSampler(1.0, Collections.emptyMap(), Collections.emptyMap(), 10);
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (decide(sampler, Context.root()) == SamplingDecision.RECORD_AND_SAMPLE) {
+                sampled++;
+            }
+        }
+        // one second worth of burst, plus what the elapsed time refilled
+        Assert.assertTrue(sampled >= 10 && sampled < 20);
+    }
+
+    @Test
+    public void testRateLimitingSamplerRefill() {
+        RateLimitingSampler sampler = new RateLimitingSampler(2);
+        long now = System.nanoTime();
+        Assert.assertTrue(sampler.tryAcquire(now));
+        Assert.assertTrue(sampler.tryAcquire(now));
+        Assert.assertFalse(sampler.tryAcquire(now));
+        Assert.assertTrue(sampler.tryAcquire(now + 500_000_000L));
+        Assert.assertFalse(sampler.tryAcquire(now + 500_000_000L));
+    }
+
+    private static SamplingDecision decide(EventMeshSampler sampler, Context parentContext) {
+        return sampler.shouldSample(parentContext, TRACE_ID, "span", SpanKind.SERVER, Attributes.empty(), Collections.emptyList())
+            .getDecision();
+    }
+}
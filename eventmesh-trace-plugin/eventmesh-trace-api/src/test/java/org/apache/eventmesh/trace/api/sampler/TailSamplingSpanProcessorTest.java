@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+public class TailSamplingSpanProcessorTest {
+
+    private final List<ReadableSpan> exported = new CopyOnWriteArrayList<>();
+
+    private TailSamplingSpanProcessor processor;
+
+    private SdkTracerProvider sdkTracerProvider;
+
+    private Tracer tracer;
+
+    @Before
+    public void setup() {
+        processor = new TailSamplingSpanProcessor(new CollectingSpanProcessor(), 1000, 10, 2);
+        sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        tracer = sdkTracerProvider.get("test");
+    }
+
+    @After
+    public void tearDown() {
+        sdkTracerProvider.shutdown();
+    }
+
+    @Test
+    public void testKeepFailedTrace() {
+        Span parent = tracer.spanBuilder("parent").startSpan();
+        Span child = tracer.spanBuilder("child").setParent(Context.root().with(parent)).startSpan();
+        child.end();
+        Assert.assertTrue(exported.isEmpty());
+        Assert.assertEquals(1, processor.getHeldTraces());
+
+        parent.setStatus(StatusCode.ERROR);
+        parent.end();
+        Assert.assertEquals(2, exported.size());
+
+        // a late span of a kept trace is passed on at once
+        tracer.spanBuilder("late").setParent(Context.root().with(parent)).startSpan().end();
+        Assert.assertEquals(3, exported.size());
+    }
+
+    @Test
+    public void testKeepSlowTrace() {
+        long start = System.currentTimeMillis();
+        tracer.spanBuilder("fast").setStartTimestamp(start, TimeUnit.MILLISECONDS).startSpan()
+            .end(start + 10, TimeUnit.MILLISECONDS);
+        tracer.spanBuilder("slow").setStartTimestamp(start, TimeUnit.MILLISECONDS).startSpan()
+            .end(start + 2000, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(1, exported.size());
+        Assert.assertEquals("slow", exported.get(0).getName());
+    }
+
+    @Test
+    public void testDropOldestTrace() {
+        for (int i = 0; i < 3; i++) {
+            tracer.spanBuilder("fast-" + i).startSpan().end();
+        }
+        Assert.assertTrue(exported.isEmpty());
+        Assert.assertEquals(2, processor.getHeldTraces());
+        Assert.assertEquals(1, processor.getDroppedSpans());
+    }
+
+    private class CollectingSpanProcessor implements SpanProcessor {
+
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {
+        }
+
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+
+        @Override
+        public void onEnd(ReadableSpan span) {
+            exported.add(span);
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -18,8 +18,11 @@
 package org.apache.eventmesh.trace.pinpoint;
 
 import org.apache.eventmesh.trace.api.EventMeshTraceService;
-import org.apache.eventmesh.trace.api.config.ExporterConfiguration;
 import org.apache.eventmesh.trace.api.exception.TraceException;
+import org.apache.eventmesh.trace.api.exporter.ExporterMetrics;
+import org.apache.eventmesh.trace.api.exporter.SpanProcessorFactory;
+import org.apache.eventmesh.trace.api.propagation.CloudEventGetter;
+import org.apache.eventmesh.trace.api.sampler.SamplerFactory;
 import org.apache.eventmesh.trace.pinpoint.common.PinpointConstants;
 import org.apache.eventmesh.trace.pinpoint.config.PinpointConfiguration;
 import org.apache.eventmesh.trace.pinpoint.exporter.PinpointSpanExporter;
@@ -31,6 +34,7 @@ import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 
+import io.cloudevents.CloudEvent;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
@@ -43,13 +47,24 @@ import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.SpanProcessor;
-import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
 
 /**
  * https://github.com/pinpoint-apm/pinpoint
  */
 public class PinpointTraceService implements EventMeshTraceService {
 
+    private static final TextMapGetter<Map<String, Object>> MAP_GETTER = new TextMapGetter<Map<String, Object>>() {
+        @Override
+        public Iterable<String> keys(@Nonnull Map<String, Object> carrier) {
+            return carrier.keySet();
+        }
+
+        @Override
+        public String get(Map<String, Object> carrier, @Nonnull String key) {
+            return Optional.ofNullable(carrier.get(key)).map(Objects::toString).orElse(null);
+        }
+    };
+
     private SdkTracerProvider sdkTracerProvider;
 
     private Tracer tracer;
@@ -58,28 +73,24 @@ public class PinpointTraceService implements EventMeshTraceService {
 
     protected Thread shutdownHook;
 
+    private PinpointSpanExporter spanExporter;
+
+    private final ExporterMetrics exporterMetrics = new ExporterMetrics();
+
 
     @Override
     public void init() throws TraceException {
-        long eventMeshTraceExportInterval = ExporterConfiguration.getEventMeshTraceExportInterval();
-        long eventMeshTraceExportTimeout = ExporterConfiguration.getEventMeshTraceExportTimeout();
-        int eventMeshTraceMaxExportSize = ExporterConfiguration.getEventMeshTraceMaxExportSize();
-        int eventMeshTraceMaxQueueSize = ExporterConfiguration.getEventMeshTraceMaxQueueSize();
-
-        SpanProcessor spanProcessor = BatchSpanProcessor.builder(
-                new PinpointSpanExporter(
-                    PinpointConfiguration.getAgentId(),
-                    PinpointConfiguration.getAgentName(),
-                    PinpointConfiguration.getApplicationName(),
-                    PinpointConfiguration.getGrpcTransportConfig()))
-            .setScheduleDelay(eventMeshTraceExportInterval, TimeUnit.SECONDS)
-            .setExporterTimeout(eventMeshTraceExportTimeout, TimeUnit.SECONDS)
-            .setMaxExportBatchSize(eventMeshTraceMaxExportSize)
-            .setMaxQueueSize(eventMeshTraceMaxQueueSize)
-            .build();
+        spanExporter = new PinpointSpanExporter(
+            PinpointConfiguration.getAgentId(),
+            PinpointConfiguration.getAgentName(),
+            PinpointConfiguration.getApplicationName(),
+            PinpointConfiguration.getGrpcTransportConfig());
+
+        SpanProcessor spanProcessor = SpanProcessorFactory.createSpanProcessor(spanExporter, exporterMetrics);
 
         sdkTracerProvider = SdkTracerProvider.builder()
             .addSpanProcessor(spanProcessor)
+            .setSampler(SamplerFactory.createSampler())
             .build();
 
         OpenTelemetry openTelemetry = OpenTelemetrySdk.builder()
@@ -97,19 +108,12 @@ public class PinpointTraceService implements EventMeshTraceService {
 
     @Override
     public Context extractFrom(Context context, Map<String, Object> carrier) throws TraceException {
-        textMapPropagator.extract(context, carrier, new TextMapGetter<Map<String, Object>>() {
-            @Override
-            public Iterable<String> keys(@Nonnull Map<String, Object> carrier) {
-                return carrier.keySet();
-            }
-
-            @Override
-            public String get(Map<String, Object> carrier, @Nonnull String key) {
-                return Optional.ofNullable(carrier.get(key)).map(Objects::toString).orElse(null);
-            }
-        });
-        return context;
+        return textMapPropagator.extract(context, carrier, MAP_GETTER);
+    }
 
+    @Override
+    public Context extractFrom(Context context, CloudEvent event) throws TraceException {
+        return textMapPropagator.extract(context, event, CloudEventGetter.INSTANCE);
     }
 
     @Override
@@ -144,6 +148,14 @@ public class PinpointTraceService implements EventMeshTraceService {
             .startSpan();
     }
 
+    /**
+     * the queue depth and the counters of the span export, the spans refused by the pinpoint sender are failed
+     */
+    @Override
+    public ExporterMetrics getExporterMetrics() {
+        return exporterMetrics;
+    }
+
     @Override
     public void shutdown() throws TraceException {
         sdkTracerProvider.close();
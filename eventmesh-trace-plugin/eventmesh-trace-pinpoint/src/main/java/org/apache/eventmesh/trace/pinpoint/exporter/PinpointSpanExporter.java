@@ -25,6 +25,7 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.common.utils.JsonUtils;
+import org.apache.eventmesh.trace.api.exporter.PartialSpanExporter;
 import org.apache.eventmesh.trace.pinpoint.common.PinpointConstants;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -50,7 +51,6 @@ import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.data.EventData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
-import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
 
 import com.navercorp.pinpoint.bootstrap.context.SpanId;
@@ -91,7 +91,7 @@ import com.navercorp.pinpoint.profiler.sender.grpc.SpanGrpcDataSender;
 import com.navercorp.pinpoint.profiler.sender.grpc.StreamState;
 import com.navercorp.pinpoint.profiler.util.AgentInfoFactory;
 
-public final class PinpointSpanExporter implements SpanExporter {
+public final class PinpointSpanExporter implements PartialSpanExporter {
 
     private static final ThrottlingLogger logger =
         new ThrottlingLogger(Logger.getLogger(PinpointSpanExporter.class.getName()));
@@ -240,25 +240,28 @@ public final class PinpointSpanExporter implements SpanExporter {
         return channelFactoryBuilder.build();
     }
 
+    /**
+     * Hand the whole batch to the sender, a span refused by its full queue does not abort the rest of the batch.
+     *
+     * @return the number of spans refused by the sender
+     */
     @Override
-    public CompletableResultCode export(Collection<SpanData> spans) {
-        if (spans.isEmpty()) {
-            return CompletableResultCode.ofSuccess();
-        }
+    public int exportPartially(Collection<SpanData> spans) {
+        int refused = 0;
         for (SpanData spanData : spans) {
             if (spanData == null) {
                 continue;
             }
             try {
                 if (!spanGrpcDataSender.send(toSpan(spanData))) {
-                    return CompletableResultCode.ofFailure();
+                    refused++;
                 }
             } catch (Exception e) {
                 logger.log(Level.WARNING, "Failed to export span", e);
-                return CompletableResultCode.ofFailure();
+                refused++;
             }
         }
-        return CompletableResultCode.ofSuccess();
+        return refused;
     }
 
     @Override
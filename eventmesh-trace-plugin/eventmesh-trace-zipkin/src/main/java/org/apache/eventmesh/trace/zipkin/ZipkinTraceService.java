@@ -20,8 +20,11 @@ package org.apache.eventmesh.trace.zipkin;
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
 
 import org.apache.eventmesh.trace.api.EventMeshTraceService;
-import org.apache.eventmesh.trace.api.config.ExporterConfiguration;
 import org.apache.eventmesh.trace.api.exception.TraceException;
+import org.apache.eventmesh.trace.api.exporter.ExporterMetrics;
+import org.apache.eventmesh.trace.api.exporter.SpanProcessorFactory;
+import org.apache.eventmesh.trace.api.propagation.CloudEventGetter;
+import org.apache.eventmesh.trace.api.sampler.SamplerFactory;
 import org.apache.eventmesh.trace.zipkin.common.ZipkinConstants;
 import org.apache.eventmesh.trace.zipkin.config.ZipkinConfiguration;
 
@@ -31,6 +34,7 @@ import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
+import io.cloudevents.CloudEvent;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
@@ -47,19 +51,27 @@ import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.SpanProcessor;
-import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
 
 
 /**
  *
  */
 public class ZipkinTraceService implements EventMeshTraceService {
+
+    private static final TextMapGetter<Map<String, Object>> MAP_GETTER = new TextMapGetter<Map<String, Object>>() {
+        @Override
+        public Iterable<String> keys(Map<String, Object> carrier) {
+            return carrier.keySet();
+        }
+
+        @Override
+        public String get(Map<String, Object> carrier, String key) {
+            return Optional.ofNullable(carrier.get(key)).map(Object::toString).orElse(null);
+        }
+    };
+
     private String eventMeshZipkinIP;
     private int eventMeshZipkinPort;
-    private int eventMeshTraceExportInterval;
-    private int eventMeshTraceExportTimeout;
-    private int eventMeshTraceMaxExportSize;
-    private int eventMeshTraceMaxQueueSize;
     protected SdkTracerProvider sdkTracerProvider;
 
     protected OpenTelemetry openTelemetry;
@@ -69,27 +81,20 @@ public class ZipkinTraceService implements EventMeshTraceService {
     private Tracer tracer;
     private TextMapPropagator textMapPropagator;
 
+    private final ExporterMetrics exporterMetrics = new ExporterMetrics();
+
     @Override
     public void init() {
         //zipkin's config
         eventMeshZipkinIP = ZipkinConfiguration.getEventMeshZipkinIP();
         eventMeshZipkinPort = ZipkinConfiguration.getEventMeshZipkinPort();
-        //exporter's config
-        eventMeshTraceExportInterval = ExporterConfiguration.getEventMeshTraceExportInterval();
-        eventMeshTraceExportTimeout = ExporterConfiguration.getEventMeshTraceExportTimeout();
-        eventMeshTraceMaxExportSize = ExporterConfiguration.getEventMeshTraceMaxExportSize();
-        eventMeshTraceMaxQueueSize = ExporterConfiguration.getEventMeshTraceMaxQueueSize();
 
         String httpUrl = String.format("http://%s:%s", eventMeshZipkinIP, eventMeshZipkinPort);
         ZipkinSpanExporter zipkinExporter =
             ZipkinSpanExporter.builder().setEndpoint(httpUrl + ZipkinConstants.ENDPOINT_V2_SPANS).build();
 
-        SpanProcessor spanProcessor = BatchSpanProcessor.builder(zipkinExporter)
-            .setScheduleDelay(eventMeshTraceExportInterval, TimeUnit.SECONDS)
-            .setExporterTimeout(eventMeshTraceExportTimeout, TimeUnit.SECONDS)
-            .setMaxExportBatchSize(eventMeshTraceMaxExportSize)
-            .setMaxQueueSize(eventMeshTraceMaxQueueSize)
-            .build();
+        //exporter's config, batching and sampling
+        SpanProcessor spanProcessor = SpanProcessorFactory.createSpanProcessor(zipkinExporter, exporterMetrics);
 
         //set the trace service's name
         Resource serviceNameResource =
@@ -97,6 +102,7 @@ public class ZipkinTraceService implements EventMeshTraceService {
 
         sdkTracerProvider = SdkTracerProvider.builder()
             .addSpanProcessor(spanProcessor)
+            .setSampler(SamplerFactory.createSampler())
             .setResource(Resource.getDefault().merge(serviceNameResource))
             .build();
 
@@ -115,18 +121,12 @@ public class ZipkinTraceService implements EventMeshTraceService {
 
     @Override
     public Context extractFrom(Context context, Map<String, Object> map) throws TraceException {
-        textMapPropagator.extract(context, map, new TextMapGetter<Map<String, Object>>() {
-            @Override
-            public Iterable<String> keys(Map<String, Object> carrier) {
-                return carrier.keySet();
-            }
+        return textMapPropagator.extract(context, map, MAP_GETTER);
+    }
 
-            @Override
-            public String get(Map<String, Object> carrier, String key) {
-                return Optional.ofNullable(carrier.get(key)).map(Object::toString).orElse(null);
-            }
-        });
-        return context;
+    @Override
+    public Context extractFrom(Context context, CloudEvent event) throws TraceException {
+        return textMapPropagator.extract(context, event, CloudEventGetter.INSTANCE);
     }
 
     @Override
@@ -160,6 +160,14 @@ public class ZipkinTraceService implements EventMeshTraceService {
             .startSpan();
     }
 
+    /**
+     * the queue depth and the counters of the span export
+     */
+    @Override
+    public ExporterMetrics getExporterMetrics() {
+        return exporterMetrics;
+    }
+
     @Override
     public void shutdown() {
         //todo: check the spanProcessor if it was already close
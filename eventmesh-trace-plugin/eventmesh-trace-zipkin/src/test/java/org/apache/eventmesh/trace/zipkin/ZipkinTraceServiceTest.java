@@ -20,15 +20,26 @@ package org.apache.eventmesh.trace.zipkin;
 import static org.junit.Assert.assertThrows;
 
 import java.lang.reflect.Field;
+import java.net.URI;
+import java.util.Collections;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 
 public class ZipkinTraceServiceTest {
 
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    private static final String TRACE_PARENT = "00-" + TRACE_ID + "-b7ad6b7169203331-01";
+
     @Test
     public void testInit() {
         ZipkinTraceService zipkinTraceService = new ZipkinTraceService();
@@ -55,4 +66,32 @@ public class ZipkinTraceServiceTest {
         zipkinTraceService.shutdown();
         Mockito.verify(mockSdkTracerProvider, Mockito.times(1)).close();
     }
+
+    @Test
+    public void testExtractFrom() {
+        ZipkinTraceService zipkinTraceService = new ZipkinTraceService();
+        zipkinTraceService.init();
+
+        CloudEvent event = CloudEventBuilder.v1()
+            .withId("id")
+            .withSource(URI.create("source"))
+            .withType("type")
+            .withExtension("traceparent", TRACE_PARENT)
+            .build();
+        Context context = zipkinTraceService.extractFrom(Context.root(), event);
+        Assert.assertEquals(TRACE_ID, Span.fromContext(context).getSpanContext().getTraceId());
+
+        context = zipkinTraceService.extractFrom(Context.root(), Collections.singletonMap("traceparent", TRACE_PARENT));
+        Assert.assertEquals(TRACE_ID, Span.fromContext(context).getSpanContext().getTraceId());
+    }
+
+    @Test
+    public void testExporterMetrics() {
+        ZipkinTraceService zipkinTraceService = new ZipkinTraceService();
+        zipkinTraceService.init();
+
+        zipkinTraceService.createSpan("span", SpanKind.SERVER, Context.root(), false).end();
+        Assert.assertEquals(1, zipkinTraceService.getExporterMetrics().getQueueDepth());
+        Assert.assertEquals(0, zipkinTraceService.getExporterMetrics().getDroppedSpans());
+    }
 }